@@ -0,0 +1,134 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.avro.core;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.PropertyAccessException;
+import com.espertech.esper.event.AvroBackedBean;
+import org.apache.avro.generic.GenericData;
+
+/**
+ * Event bean for an Avro binary-encoded record, that decodes only the fields that are read.
+ * <p>
+ * The start position of each field within the encoded data is found by skipping over the preceding fields
+ * and is retained, as is each decoded field value. The complete record is decoded only when the underlying
+ * record is asked for, after which field values are read from the record.
+ * </p>
+ */
+public class AvroEncodedEventBean implements EventBean, AvroGenericDataBackedEventBean, AvroBackedBean {
+    private final byte[] bytes;
+    private final AvroEncodedReader reader;
+    private final EventType eventType;
+    private final int[] offsets;
+    private final Object[] values;
+    private final boolean[] decoded;
+    private int numOffsets = 1;
+    private volatile GenericData.Record record;
+
+    public AvroEncodedEventBean(byte[] bytes, AvroEncodedReader reader, EventType eventType) {
+        this.bytes = bytes;
+        this.reader = reader;
+        this.eventType = eventType;
+        int numFields = reader.getSchema().getFields().size();
+        this.offsets = new int[numFields + 1];
+        this.values = new Object[numFields];
+        this.decoded = new boolean[numFields];
+    }
+
+    /**
+     * Returns the value of a top-level field of the event, decoding only that field for encoded events.
+     * <p>
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param eventBean event
+     * @param index     field position
+     * @return value
+     */
+    public static Object getFieldValue(EventBean eventBean, int index) {
+        if (eventBean instanceof AvroEncodedEventBean) {
+            return ((AvroEncodedEventBean) eventBean).getField(index);
+        }
+        return ((GenericData.Record) eventBean.getUnderlying()).get(index);
+    }
+
+    /**
+     * Returns the value of a top-level field.
+     *
+     * @param index field position
+     * @return value
+     */
+    public Object getField(int index) {
+        GenericData.Record current = record;
+        if (current != null) {
+            return current.get(index);
+        }
+        synchronized (this) {
+            if (decoded[index]) {
+                return values[index];
+            }
+            while (numOffsets <= index + 1) {
+                offsets[numOffsets] = reader.skipField(bytes, offsets[numOffsets - 1], numOffsets - 1);
+                numOffsets++;
+            }
+            values[index] = reader.readField(bytes, offsets[index], offsets[index + 1], index);
+            decoded[index] = true;
+            return values[index];
+        }
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        EventPropertyGetter getter = eventType.getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = eventType.getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    public GenericData.Record getProperties() {
+        GenericData.Record current = record;
+        if (current == null) {
+            synchronized (this) {
+                current = record;
+                if (current == null) {
+                    current = reader.readRecord(bytes);
+                    record = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public Object getGenericRecordDotData() {
+        return getProperties();
+    }
+
+    public void setGenericRecordDotData(Object genericRecordDotData) {
+        this.record = (GenericData.Record) genericRecordDotData;
+    }
+}
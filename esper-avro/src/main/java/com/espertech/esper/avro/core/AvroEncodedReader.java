@@ -0,0 +1,87 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.avro.core;
+
+import com.espertech.esper.client.EPException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.IOException;
+
+/**
+ * Decodes individual fields, or the complete record, of Avro binary-encoded records of a given schema.
+ */
+public class AvroEncodedReader {
+    private final Schema schema;
+    private final GenericDatumReader<Object>[] fieldReaders;
+    private final GenericDatumReader<GenericData.Record> recordReader;
+
+    public AvroEncodedReader(Schema schema) {
+        this.schema = schema;
+        this.fieldReaders = new GenericDatumReader[schema.getFields().size()];
+        for (Schema.Field field : schema.getFields()) {
+            fieldReaders[field.pos()] = new GenericDatumReader<>(field.schema());
+        }
+        this.recordReader = new GenericDatumReader<>(schema);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the position following the encoded field value.
+     *
+     * @param bytes encoded record
+     * @param pos   start position of the field value
+     * @param index field position
+     * @return end position of the field value
+     */
+    public int skipField(byte[] bytes, int pos, int index) {
+        return AvroEncodedUtil.skip(bytes, pos, schema.getFields().get(index).schema());
+    }
+
+    /**
+     * Decode a field value.
+     *
+     * @param bytes encoded record
+     * @param start start position of the field value
+     * @param end   end position of the field value
+     * @param index field position
+     * @return value
+     */
+    public Object readField(byte[] bytes, int start, int end, int index) {
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(bytes, start, end - start, null);
+        try {
+            return fieldReaders[index].read(null, decoder);
+        } catch (IOException e) {
+            throw new EPException("Failed to decode Avro field '" + schema.getFields().get(index).name() + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decode the complete record.
+     *
+     * @param bytes encoded record
+     * @return record
+     */
+    public GenericData.Record readRecord(byte[] bytes) {
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(bytes, null);
+        try {
+            return recordReader.read(null, decoder);
+        } catch (IOException e) {
+            throw new EPException("Failed to decode Avro record of schema '" + schema.getFullName() + "': " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.avro.core;
+
+import com.espertech.esper.client.EPException;
+import org.apache.avro.Schema;
+
+/**
+ * Locates values within Avro binary-encoded data by skipping over the encoded values that precede them,
+ * without decoding those values.
+ */
+public class AvroEncodedUtil {
+    /**
+     * Returns the position following the encoded value that starts at the position.
+     *
+     * @param bytes  encoded data
+     * @param pos    start position of the value
+     * @param schema schema of the value
+     * @return position after the value
+     * @throws EPException if the data ends before the value
+     */
+    public static int skip(byte[] bytes, int pos, Schema schema) throws EPException {
+        switch (schema.getType()) {
+            case NULL:
+                return pos;
+            case BOOLEAN:
+                return check(bytes, pos + 1);
+            case INT:
+            case LONG:
+            case ENUM:
+                return skipVarLong(bytes, pos);
+            case FLOAT:
+                return check(bytes, pos + 4);
+            case DOUBLE:
+                return check(bytes, pos + 8);
+            case STRING:
+            case BYTES: {
+                long length = readVarLong(bytes, pos);
+                return check(bytes, skipVarLong(bytes, pos) + (int) length);
+            }
+            case FIXED:
+                return check(bytes, pos + schema.getFixedSize());
+            case UNION: {
+                int branch = (int) readVarLong(bytes, pos);
+                return skip(bytes, skipVarLong(bytes, pos), schema.getTypes().get(branch));
+            }
+            case RECORD:
+                for (Schema.Field field : schema.getFields()) {
+                    pos = skip(bytes, pos, field.schema());
+                }
+                return pos;
+            case ARRAY:
+                return skipBlocks(bytes, pos, null, schema.getElementType());
+            case MAP:
+                return skipBlocks(bytes, pos, Schema.create(Schema.Type.STRING), schema.getValueType());
+            default:
+                throw new EPException("Unrecognized Avro schema type " + schema.getType());
+        }
+    }
+
+    // arrays and maps are a series of blocks, each a count followed by items, where a negative count is followed by the block size in bytes
+    private static int skipBlocks(byte[] bytes, int pos, Schema keySchema, Schema valueSchema) {
+        while (true) {
+            long count = readVarLong(bytes, pos);
+            pos = skipVarLong(bytes, pos);
+            if (count == 0) {
+                return pos;
+            }
+            if (count < 0) {
+                long size = readVarLong(bytes, pos);
+                pos = check(bytes, skipVarLong(bytes, pos) + (int) size);
+                continue;
+            }
+            for (long i = 0; i < count; i++) {
+                if (keySchema != null) {
+                    pos = skip(bytes, pos, keySchema);
+                }
+                pos = skip(bytes, pos, valueSchema);
+            }
+        }
+    }
+
+    private static long readVarLong(byte[] bytes, int pos) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            check(bytes, pos + 1);
+            int b = bytes[pos++] & 0xff;
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+            shift += 7;
+        }
+    }
+
+    private static int skipVarLong(byte[] bytes, int pos) {
+        while (true) {
+            check(bytes, pos + 1);
+            if ((bytes[pos++] & 0x80) == 0) {
+                return pos;
+            }
+        }
+    }
+
+    private static int check(byte[] bytes, int pos) {
+        if (pos > bytes.length || pos < 0) {
+            throw new EPException("Unexpected end of Avro-encoded data");
+        }
+        return pos;
+    }
+}
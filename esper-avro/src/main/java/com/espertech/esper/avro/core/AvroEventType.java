@@ -45,6 +45,7 @@ public class AvroEventType implements AvroSchemaEventType, EventTypeSPI {
     private String[] propertyNames;
     private HashMap<String, EventPropertyGetterSPI> propertyGetterCache;
     private Map<String, EventPropertyGetter> propertyGetterCodegeneratedCache;
+    private volatile AvroEncodedReader encodedReader;
 
     public AvroEventType(EventTypeMetadata metadata,
                          String eventTypeName,
@@ -319,6 +320,13 @@ public class AvroEventType implements AvroSchemaEventType, EventTypeSPI {
         return avroSchema;
     }
 
+    public AvroEncodedReader getEncodedReader() {
+        if (encodedReader == null) {
+            encodedReader = new AvroEncodedReader(avroSchema);
+        }
+        return encodedReader;
+    }
+
     private void init() {
         propertyNames = new String[avroSchema.getFields().size()];
         propertyDescriptors = new EventPropertyDescriptor[propertyNames.length];
@@ -111,8 +111,11 @@ public abstract class EventAdapterAvroHandlerBase implements EventAdapterAvroHan
     }
 
     public EventBean adapterForTypeAvro(Object avroGenericDataDotRecord, EventType existingType) {
+        if (avroGenericDataDotRecord instanceof byte[]) {
+            return new AvroEncodedEventBean((byte[]) avroGenericDataDotRecord, ((AvroEventType) existingType).getEncodedReader(), existingType);
+        }
         if (!(avroGenericDataDotRecord instanceof GenericData.Record)) {
-            throw new EPException("Unexpected event object type '" + (avroGenericDataDotRecord == null ? "null" : avroGenericDataDotRecord.getClass().getName()) + "' encountered, please supply a GenericData.Record");
+            throw new EPException("Unexpected event object type '" + (avroGenericDataDotRecord == null ? "null" : avroGenericDataDotRecord.getClass().getName()) + "' encountered, please supply a GenericData.Record or Avro binary-encoded record as byte[]");
         }
 
         GenericData.Record record = (GenericData.Record) avroGenericDataDotRecord;
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.avro.getter;
 
+import com.espertech.esper.avro.core.AvroEncodedEventBean;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.client.PropertyAccessException;
@@ -39,7 +40,22 @@ public class AvroEventBeanGetterNestedMultiLevel implements EventPropertyGetterS
      * @throws PropertyAccessException property access problem
      */
     public static Object getRecordValueTopWPath(GenericData.Record record, int top, int[] path) throws PropertyAccessException {
-        GenericData.Record inner = (GenericData.Record) record.get(top);
+        return getValueWPath((GenericData.Record) record.get(top), path);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     * @param eventBean event
+     * @param top top index
+     * @param path path of indexes
+     * @return value
+     * @throws PropertyAccessException property access problem
+     */
+    public static Object getEventValueTopWPath(EventBean eventBean, int top, int[] path) throws PropertyAccessException {
+        return getValueWPath((GenericData.Record) AvroEncodedEventBean.getFieldValue(eventBean, top), path);
+    }
+
+    private static Object getValueWPath(GenericData.Record inner, int[] path) throws PropertyAccessException {
         if (inner == null) {
             return null;
         }
@@ -60,7 +76,7 @@ public class AvroEventBeanGetterNestedMultiLevel implements EventPropertyGetterS
     }
 
     public Object get(EventBean eventBean) throws PropertyAccessException {
-        return getRecordValueTopWPath((GenericData.Record) eventBean.getUnderlying(), top, path);
+        return getEventValueTopWPath(eventBean, top, path);
     }
 
     public boolean isExistsProperty(EventBean eventBean) {
@@ -88,7 +104,7 @@ public class AvroEventBeanGetterNestedMultiLevel implements EventPropertyGetterS
     }
 
     public CodegenExpression eventBeanGetCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
-        return underlyingGetCodegen(castUnderlying(GenericData.Record.class, beanExpression), codegenMethodScope, codegenClassScope);
+        return staticMethod(AvroEventBeanGetterNestedMultiLevel.class, "getEventValueTopWPath", beanExpression, constant(top), constant(path));
     }
 
     public CodegenExpression eventBeanExistsCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.avro.getter;
 
+import com.espertech.esper.avro.core.AvroEncodedEventBean;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.client.PropertyAccessException;
@@ -38,7 +39,20 @@ public class AvroEventBeanGetterNestedSimple implements EventPropertyGetterSPI {
     }
 
     public Object get(EventBean eventBean) throws PropertyAccessException {
-        return get((GenericData.Record) eventBean.getUnderlying());
+        return getInner(AvroEncodedEventBean.getFieldValue(eventBean, posTop), posInner);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     * @param top value of the top-level field
+     * @param posInner inner field position
+     * @return value
+     */
+    public static Object getInner(Object top, int posInner) {
+        if (top == null) {
+            return null;
+        }
+        return ((GenericData.Record) top).get(posInner);
     }
 
     public boolean isExistsProperty(EventBean eventBean) {
@@ -66,7 +80,7 @@ public class AvroEventBeanGetterNestedSimple implements EventPropertyGetterSPI {
     }
 
     public CodegenExpression eventBeanGetCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
-        return underlyingGetCodegen(castUnderlying(GenericData.Record.class, beanExpression), codegenMethodScope, codegenClassScope);
+        return staticMethod(AvroEventBeanGetterNestedSimple.class, "getInner", staticMethod(AvroEncodedEventBean.class, "getFieldValue", beanExpression, constant(posTop)), constant(posInner));
     }
 
     public CodegenExpression eventBeanExistsCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
@@ -92,14 +106,6 @@ public class AvroEventBeanGetterNestedSimple implements EventPropertyGetterSPI {
         return localMethod(getFragmentCodegen(codegenMethodScope, codegenClassScope), underlyingExpression);
     }
 
-    private Object get(GenericData.Record record) throws PropertyAccessException {
-        GenericData.Record inner = (GenericData.Record) record.get(posTop);
-        if (inner == null) {
-            return null;
-        }
-        return inner.get(posInner);
-    }
-
     private CodegenMethodNode getCodegen(CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
         return codegenMethodScope.makeChild(Object.class, this.getClass(), codegenClassScope).addParam(GenericData.Record.class, "record").getBlock()
                 .declareVar(GenericData.Record.class, "inner", cast(GenericData.Record.class, exprDotMethod(ref("record"), "get", constant(posTop))))
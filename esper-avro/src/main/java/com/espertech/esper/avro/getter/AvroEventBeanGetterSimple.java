@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.avro.getter;
 
+import com.espertech.esper.avro.core.AvroEncodedEventBean;
 import com.espertech.esper.avro.core.AvroEventPropertyGetter;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
@@ -70,7 +71,7 @@ public class AvroEventBeanGetterSimple implements AvroEventPropertyGetter {
     }
 
     public Object get(EventBean theEvent) {
-        return getAvroFieldValue((GenericData.Record) theEvent.getUnderlying());
+        return AvroEncodedEventBean.getFieldValue(theEvent, propertyIndex);
     }
 
     public boolean isExistsProperty(EventBean eventBean) {
@@ -100,7 +101,7 @@ public class AvroEventBeanGetterSimple implements AvroEventPropertyGetter {
     }
 
     public CodegenExpression eventBeanGetCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
-        return underlyingGetCodegen(castUnderlying(GenericData.Record.class, beanExpression), codegenMethodScope, codegenClassScope);
+        return cast(propertyType, staticMethod(AvroEncodedEventBean.class, "getFieldValue", beanExpression, constant(propertyIndex)));
     }
 
     public CodegenExpression eventBeanExistsCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
@@ -0,0 +1,94 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.avro.core;
+
+import com.espertech.esper.client.EPException;
+import junit.framework.TestCase;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.espertech.esper.avro.util.support.SupportAvroUtil.makeAvroSupportEventType;
+import static org.apache.avro.SchemaBuilder.record;
+
+public class TestAvroEncodedEventBean extends TestCase {
+    public void testGet() throws Exception {
+        Schema innerSchema = record("inner").fields()
+                .requiredInt("innerInt")
+                .requiredString("innerString")
+                .endRecord();
+        Schema schema = record("typename").fields()
+                .requiredString("myString")
+                .optionalLong("myLong")
+                .name("myArray").type().array().items().intType().noDefault()
+                .name("myMap").type().map().values().doubleType().noDefault()
+                .name("myInner").type(innerSchema).noDefault()
+                .requiredBoolean("myBoolean")
+                .requiredDouble("myDouble")
+                .requiredInt("myInt")
+                .endRecord();
+        AvroEventType eventType = makeAvroSupportEventType(schema);
+
+        GenericData.Record inner = new GenericData.Record(innerSchema);
+        inner.put("innerInt", 10);
+        inner.put("innerString", "x");
+        GenericData.Record record = new GenericData.Record(schema);
+        record.put("myString", "abc");
+        record.put("myLong", -1234567890123L);
+        record.put("myArray", Arrays.asList(1, 2, 3));
+        record.put("myMap", Collections.singletonMap("k", 1.5d));
+        record.put("myInner", inner);
+        record.put("myBoolean", true);
+        record.put("myDouble", 2.5d);
+        record.put("myInt", -5);
+        byte[] bytes = encode(record);
+
+        // reading the last field skips all others
+        AvroEncodedEventBean eventBean = new AvroEncodedEventBean(bytes, eventType.getEncodedReader(), eventType);
+        assertEquals(-5, eventBean.get("myInt"));
+        assertEquals(2.5d, eventBean.get("myDouble"));
+        assertEquals(true, eventBean.get("myBoolean"));
+        assertEquals(10, eventBean.get("myInner.innerInt"));
+        assertEquals(-1234567890123L, eventBean.get("myLong"));
+        assertEquals("abc", eventBean.get("myString").toString());
+
+        // the same values as the decoded record
+        GenericData.Record decoded = (GenericData.Record) eventBean.getUnderlying();
+        for (Schema.Field field : schema.getFields()) {
+            assertEquals(record.get(field.pos()).toString(), decoded.get(field.pos()).toString());
+            assertEquals(decoded.get(field.pos()), eventBean.get(field.name()));
+        }
+
+        // missing field value
+        AvroEncodedEventBean truncated = new AvroEncodedEventBean(Arrays.copyOf(bytes, 3), eventType.getEncodedReader(), eventType);
+        try {
+            truncated.get("myInt");
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Unexpected end of Avro-encoded data", ex.getMessage());
+        }
+    }
+
+    private static byte[] encode(GenericData.Record record) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<GenericData.Record>(record.getSchema()).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.agg;
+
+import com.espertech.esper.epl.agg.aggregator.*;
+import com.espertech.esper.epl.expression.core.MinMaxTypeEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregation state by itself, without filter evaluation, views and the aggregation service. Each invocation
+ * enters one value into the aggregator and removes the value that entered a window size ago, as a data window would,
+ * and reads the aggregated value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatorBenchmark {
+
+    @Param({"sum", "avg", "count", "min"})
+    private String aggregator;
+
+    @Param({"1000"})
+    private int windowSize;
+
+    private AggregationMethod method;
+    private Double[] values;
+    private int index;
+
+    @Setup
+    public void setup() {
+        switch (aggregator) {
+            case "sum":
+                method = new AggregatorSumDouble();
+                break;
+            case "avg":
+                method = new AggregatorAvg();
+                break;
+            case "count":
+                method = new AggregatorCount();
+                break;
+            case "min":
+                method = new AggregatorMinMax(MinMaxTypeEnum.MIN);
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized aggregator '" + aggregator + "'");
+        }
+
+        values = new Double[Math.max(1024, Integer.highestOneBit(windowSize) << 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (double) ((i * 31) % 1000);
+        }
+        for (int i = 0; i < windowSize; i++) {
+            method.enter(values[index++]);
+        }
+    }
+
+    @Benchmark
+    public Object enterAndLeave() {
+        method.enter(values[index & (values.length - 1)]);
+        method.leave(values[(index - windowSize) & (values.length - 1)]);
+        index++;
+        return method.getValue();
+    }
+}
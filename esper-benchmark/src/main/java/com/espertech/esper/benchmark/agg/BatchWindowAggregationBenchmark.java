@@ -0,0 +1,83 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.agg;
+
+import com.espertech.esper.benchmark.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ungrouped and grouped aggregation over a length-batch window, so that each batch the window releases enters
+ * and leaves the aggregation as a batch, with and without byte code generation for aggregation.
+ * The time per event includes the share of the batch release.
+ * <p>
+ * End-to-end: events are sent through the runtime, see {@link AggregatorBenchmark} for the aggregators alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchWindowAggregationBenchmark {
+
+    @Param({"", "symbol"})
+    private String groupBy;
+
+    @Param({"100", "10000"})
+    private int batchSize;
+
+    @Param({"true", "false"})
+    private boolean byteCodeAggregation;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkEngineFactory.makeConfiguration();
+        configuration.getEngineDefaults().getByteCodeGeneration().setEnableAggregation(byteCodeAggregation);
+        engine = BenchmarkEngineFactory.makeEngine(BatchWindowAggregationBenchmark.class, configuration);
+        String selectGroupBy = groupBy.isEmpty() ? "" : groupBy + ", ";
+        String epl = "select " + selectGroupBy + "sum(price) as total, count(*) as cnt, avg(volume) as avgVolume " +
+                "from BenchmarkEvent#length_batch(" + batchSize + ")" + (groupBy.isEmpty() ? "" : " group by " + groupBy);
+        engine.getEPAdministrator().createEPL(epl).addListener(new BenchmarkCountingListener());
+        runtime = engine.getEPRuntime();
+
+        // runs of events of the same symbol, as when a batch collects bursts per key
+        events = new BenchmarkEvent[Integer.highestOneBit(batchSize) << 2];
+        for (int i = 0; i < events.length; i++) {
+            int bucket = (i / 8) % 10;
+            events[i] = new BenchmarkEvent("S" + bucket, bucket, i, i);
+        }
+        for (BenchmarkEvent event : events) {
+            runtime.sendEvent(event);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(events[index++ & (events.length - 1)]);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.agg;
+
+import com.espertech.esper.benchmark.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouped aggregation for single-key and multi-key group-by of different key types, with and without
+ * byte code generation for aggregation.
+ * <p>
+ * End-to-end: events are sent through the runtime, see {@link AggregatorBenchmark} for the aggregators alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupByAggregationBenchmark {
+
+    @Param({"symbol", "bucket", "symbol,bucket"})
+    private String groupBy;
+
+    @Param({"10", "1000", "100000"})
+    private int numGroups;
+
+    @Param({"true", "false"})
+    private boolean byteCodeAggregation;
+
+    @Param({"false", "true"})
+    private boolean window;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkEngineFactory.makeConfiguration();
+        configuration.getEngineDefaults().getByteCodeGeneration().setEnableAggregation(byteCodeAggregation);
+        engine = BenchmarkEngineFactory.makeEngine(GroupByAggregationBenchmark.class, configuration);
+        String epl = "select " + groupBy + ", sum(price) as total, count(*) as cnt, avg(volume) as avgVolume " +
+                "from BenchmarkEvent" + (window ? "#length(" + numGroups + ")" : "") + " group by " + groupBy;
+        engine.getEPAdministrator().createEPL(epl).addListener(new BenchmarkCountingListener());
+        runtime = engine.getEPRuntime();
+
+        events = new BenchmarkEvent[Math.max(1024, Integer.highestOneBit(numGroups) << 1)];
+        for (int i = 0; i < events.length; i++) {
+            int bucket = i % numGroups;
+            events[i] = new BenchmarkEvent("S" + bucket, bucket, i, i);
+        }
+        for (BenchmarkEvent event : events) {
+            runtime.sendEvent(event);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(events[index++ & (events.length - 1)]);
+    }
+}
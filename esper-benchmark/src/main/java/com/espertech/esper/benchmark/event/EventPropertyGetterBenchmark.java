@@ -0,0 +1,100 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.event;
+
+import com.espertech.esper.avro.util.support.SupportAvroUtil;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.event.EventAdapterService;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event property getters for each event representation, with and without byte code generation for property getters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPropertyGetterBenchmark {
+
+    @Param({"bean", "map", "objectarray", "avro"})
+    private String representation;
+
+    @Param({"false", "true"})
+    private boolean byteCodePropertyGetter;
+
+    private EPServiceProvider engine;
+    private EventBean event;
+    private EventPropertyGetter symbolGetter;
+    private EventPropertyGetter priceGetter;
+    private EventPropertyGetter volumeGetter;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkEngineFactory.makeConfiguration();
+        configuration.getEngineDefaults().getByteCodeGeneration().setEnablePropertyGetter(byteCodePropertyGetter);
+        engine = BenchmarkEngineFactory.makeEngine(EventPropertyGetterBenchmark.class, configuration);
+        EventAdapterService eventAdapterService = ((EPServiceProviderSPI) engine).getEventAdapterService();
+
+        if (representation.equals("bean")) {
+            event = eventAdapterService.adapterForBean(new BenchmarkEvent("S0", 1, 10.5, 100));
+        } else {
+            engine.getEPAdministrator().createEPL("create " + representation + " schema MyEvent(symbol string, bucket int, price double, volume long)");
+            EventType eventType = engine.getEPAdministrator().getConfiguration().getEventType("MyEvent");
+            if (representation.equals("map")) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("symbol", "S0");
+                map.put("bucket", 1);
+                map.put("price", 10.5d);
+                map.put("volume", 100L);
+                event = eventAdapterService.adapterForTypedMap(map, eventType);
+            } else if (representation.equals("objectarray")) {
+                event = eventAdapterService.adapterForTypedObjectArray(new Object[]{"S0", 1, 10.5d, 100L}, eventType);
+            } else {
+                GenericData.Record record = new GenericData.Record(SupportAvroUtil.getAvroSchema(eventType));
+                record.put("symbol", "S0");
+                record.put("bucket", 1);
+                record.put("price", 10.5d);
+                record.put("volume", 100L);
+                event = eventAdapterService.adapterForTypedAvro(record, eventType);
+            }
+        }
+        symbolGetter = event.getEventType().getGetter("symbol");
+        priceGetter = event.getEventType().getGetter("price");
+        volumeGetter = event.getEventType().getGetter("volume");
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        blackhole.consume(symbolGetter.get(event));
+        blackhole.consume(priceGetter.get(event));
+        blackhole.consume(volumeGetter.get(event));
+    }
+}
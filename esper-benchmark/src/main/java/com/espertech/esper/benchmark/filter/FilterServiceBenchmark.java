@@ -0,0 +1,85 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.filter;
+
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.filter.FilterHandle;
+import com.espertech.esper.filter.FilterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter matching through the engine filter service, with the filters registered by statements
+ * so that the filter index tree is the one the engine builds for equals, range and boolean expression filters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int numStatements;
+
+    @Param({"READMOSTLY", "READWRITE", "LOCKFREE"})
+    private ConfigurationEngineDefaults.FilterServiceProfile filterServiceProfile;
+
+    private EPServiceProvider engine;
+    private FilterService filterService;
+    private EventBean[] events;
+    private ArrayDeque<FilterHandle> matches;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkEngineFactory.makeConfiguration();
+        configuration.getEngineDefaults().getExecution().setFilterServiceProfile(filterServiceProfile);
+        engine = BenchmarkEngineFactory.makeEngine(FilterServiceBenchmark.class, configuration);
+
+        for (int i = 0; i < numStatements; i++) {
+            engine.getEPAdministrator().createEPL("select * from BenchmarkEvent(symbol='S" + i + "')");
+            engine.getEPAdministrator().createEPL("select * from BenchmarkEvent(bucket=" + i + ", price between " + i + " and " + (i + 10) + ")");
+            engine.getEPAdministrator().createEPL("select * from BenchmarkEvent(symbol='S" + i + "', volume % 7 = " + (i % 7) + ")");
+        }
+        filterService = ((EPServiceProviderSPI) engine).getFilterService();
+
+        events = new EventBean[1024];
+        for (int i = 0; i < events.length; i++) {
+            int id = i % numStatements;
+            BenchmarkEvent event = new BenchmarkEvent("S" + id, id, id + 5, i);
+            events[i] = ((EPServiceProviderSPI) engine).getEventAdapterService().adapterForBean(event);
+        }
+        matches = new ArrayDeque<>();
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public int evaluate() {
+        EventBean event = events[index++ & (events.length - 1)];
+        matches.clear();
+        filterService.evaluate(event, matches);
+        return matches.size();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.join;
+
+import com.espertech.esper.benchmark.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equi-join of two or three length windows, exercising the join set composer, the repository of the join
+ * indexes and the query strategies. Events round-robin across the streams.
+ * <p>
+ * End-to-end: events are sent through the runtime and the time includes the data windows and the listener dispatch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinBenchmark {
+
+    @Param({"2", "3"})
+    private int numStreams;
+
+    @Param({"100", "10000"})
+    private int windowSize;
+
+    @Param({"100"})
+    private int numKeys;
+
+    @Param({"false", "true"})
+    private boolean unidirectional;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.makeEngine(JoinBenchmark.class, BenchmarkEngineFactory.makeConfiguration());
+        StringBuilder epl = new StringBuilder("select s0.price, s1.price from ");
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < numStreams; i++) {
+            if (i > 0) {
+                epl.append(", ");
+                where.append(i > 1 ? " and " : " where ").append("s0.symbol = s").append(i).append(".symbol");
+            }
+            epl.append("BenchmarkEvent(bucket=").append(i).append(")");
+            if (i == 0 && unidirectional) {
+                epl.append(" as s0 unidirectional");
+            } else {
+                epl.append("#length(").append(windowSize).append(") as s").append(i);
+            }
+        }
+        engine.getEPAdministrator().createEPL(epl.append(where).toString()).addListener(new BenchmarkCountingListener());
+        runtime = engine.getEPRuntime();
+
+        events = new BenchmarkEvent[Math.max(1024, Integer.highestOneBit(windowSize * numStreams) << 1)];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new BenchmarkEvent("S" + (i / numStreams) % numKeys, i % numStreams, i, i);
+        }
+        for (BenchmarkEvent event : events) {
+            runtime.sendEvent(event);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(events[index++ & (events.length - 1)]);
+    }
+}
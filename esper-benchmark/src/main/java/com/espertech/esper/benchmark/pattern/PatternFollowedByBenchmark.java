@@ -0,0 +1,76 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.pattern;
+
+import com.espertech.esper.benchmark.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern every-followed-by correlating two events by symbol. Each start event spawns a sub-expression instance
+ * under the every-operator that waits for its end event, so that the number of active instances stays at the number of symbols.
+ * <p>
+ * End-to-end: events are sent through the runtime and the time includes the filter service and the listener dispatch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternFollowedByBenchmark {
+
+    @Param({"10", "1000"})
+    private int numActive;
+
+    @Param({"false", "true"})
+    private boolean within;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.makeEngine(PatternFollowedByBenchmark.class, BenchmarkEngineFactory.makeConfiguration());
+        String followedBy = "b=BenchmarkEvent(symbol=a.symbol, volume=1)" + (within ? " where timer:within(1 hour)" : "");
+        String epl = "select a.price, b.price from pattern [every a=BenchmarkEvent(volume=0) -> " + followedBy + "]";
+        engine.getEPAdministrator().createEPL(epl).addListener(new BenchmarkCountingListener());
+        runtime = engine.getEPRuntime();
+
+        // start events for all symbols followed by end events for all symbols
+        events = new BenchmarkEvent[numActive * 2];
+        for (int i = 0; i < numActive; i++) {
+            events[i] = new BenchmarkEvent("S" + i, i, i, 0);
+            events[numActive + i] = new BenchmarkEvent("S" + i, i, i, 1);
+        }
+        for (int i = 0; i < numActive; i++) {
+            sendEvent();
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(events[index]);
+        index = index == events.length - 1 ? 0 : index + 1;
+    }
+}
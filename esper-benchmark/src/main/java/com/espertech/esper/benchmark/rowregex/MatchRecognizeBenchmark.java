@@ -0,0 +1,85 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.rowregex;
+
+import com.espertech.esper.benchmark.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match-recognize of a rising price sequence per symbol, exercising the partitioned NFA state of the row regex view.
+ * <p>
+ * End-to-end: events are sent through the runtime and the time includes the filter service and the listener dispatch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchRecognizeBenchmark {
+
+    @Param({"1", "1000"})
+    private int numPartitions;
+
+    @Param({"A B+ C", "A B* C? D"})
+    private String pattern;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.makeEngine(MatchRecognizeBenchmark.class, BenchmarkEngineFactory.makeConfiguration());
+        StringJoiner defines = new StringJoiner(", ");
+        defines.add("A as A.volume % 10 = 0").add("B as B.price > prev(B.price)").add("C as C.volume % 10 = 5");
+        if (pattern.contains("D")) {
+            defines.add("D as D.price < prev(D.price)");
+        }
+        String epl = "select * from BenchmarkEvent " +
+                "match_recognize (" +
+                "  partition by symbol" +
+                "  measures A.price as startPrice, last(B.price) as lastPrice" +
+                "  pattern (" + pattern + ")" +
+                "  define " + defines +
+                ")";
+        engine.getEPAdministrator().createEPL(epl).addListener(new BenchmarkCountingListener());
+        runtime = engine.getEPRuntime();
+
+        events = new BenchmarkEvent[Math.max(1024, Integer.highestOneBit(numPartitions * 10) << 1)];
+        for (int i = 0; i < events.length; i++) {
+            int partition = i % numPartitions;
+            long sequence = i / numPartitions;
+            events[i] = new BenchmarkEvent("S" + partition, partition, sequence % 10, sequence);
+        }
+        for (BenchmarkEvent event : events) {
+            runtime.sendEvent(event);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(events[index++ & (events.length - 1)]);
+    }
+}
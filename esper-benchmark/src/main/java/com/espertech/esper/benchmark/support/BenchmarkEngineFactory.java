@@ -0,0 +1,52 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.support;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+
+/**
+ * Creates engine instances for benchmarks: external timer, no metrics, and the benchmark event type registered.
+ */
+public final class BenchmarkEngineFactory {
+    private BenchmarkEngineFactory() {
+    }
+
+    /**
+     * Returns a configuration that benchmarks may amend before allocating the engine.
+     *
+     * @return configuration
+     */
+    public static Configuration makeConfiguration() {
+        Configuration configuration = new Configuration();
+        configuration.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        configuration.getEngineDefaults().getLogging().setEnableExecutionDebug(false);
+        configuration.getEngineDefaults().getLogging().setEnableTimerDebug(false);
+        configuration.addEventType("BenchmarkEvent", BenchmarkEvent.class);
+        return configuration;
+    }
+
+    /**
+     * Allocates an engine for the benchmark class, the engine time being zero.
+     *
+     * @param benchmarkClass benchmark class used as the engine URI
+     * @param configuration  configuration
+     * @return engine
+     */
+    public static EPServiceProvider makeEngine(Class benchmarkClass, Configuration configuration) {
+        EPServiceProvider engine = EPServiceProviderManager.getProvider(benchmarkClass.getName(), configuration);
+        engine.initialize();
+        engine.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        return engine;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.support;
+
+/**
+ * Event class for benchmarks.
+ */
+public class BenchmarkEvent {
+    private final String symbol;
+    private final int bucket;
+    private final double price;
+    private final long volume;
+
+    public BenchmarkEvent(String symbol, int bucket, double price, long volume) {
+        this.symbol = symbol;
+        this.bucket = bucket;
+        this.price = price;
+        this.volume = volume;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getBucket() {
+        return bucket;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.view;
+
+import com.espertech.esper.benchmark.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert and expiry for the time window and length window views. Each invocation advances engine time by one millisecond
+ * and sends one event, so that once the window is filled each invocation inserts one event and expires one event.
+ * <p>
+ * End-to-end: events are sent through the runtime, see {@link LengthWindowViewBenchmark} for the view alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataWindowBenchmark {
+
+    @Param({"time", "length"})
+    private String view;
+
+    @Param({"1000", "100000"})
+    private int windowSize;
+
+    @Param({"false", "true"})
+    private boolean irstream;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkEvent[] events;
+    private long time;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.makeEngine(DataWindowBenchmark.class, BenchmarkEngineFactory.makeConfiguration());
+        String window = view.equals("time") ? "#time(" + windowSize + " msec)" : "#length(" + windowSize + ")";
+        String epl = "select " + (irstream ? "irstream " : "") + "symbol, price from BenchmarkEvent" + window;
+        engine.getEPAdministrator().createEPL(epl).addListener(new BenchmarkCountingListener());
+        runtime = engine.getEPRuntime();
+
+        events = new BenchmarkEvent[1024];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new BenchmarkEvent("S" + i, i, i, i);
+        }
+        for (int i = 0; i < windowSize; i++) {
+            sendTimeAndEvent();
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void insertAndExpire() {
+        sendTimeAndEvent();
+    }
+
+    private void sendTimeAndEvent() {
+        time++;
+        runtime.sendEvent(new CurrentTimeEvent(time));
+        runtime.sendEvent(events[(int) time & (events.length - 1)]);
+    }
+}
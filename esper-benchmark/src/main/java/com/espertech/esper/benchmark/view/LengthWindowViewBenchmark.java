@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.view;
+
+import com.espertech.esper.benchmark.support.BenchmarkEngineFactory;
+import com.espertech.esper.benchmark.support.BenchmarkEvent;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.view.window.LengthWindowView;
+import com.espertech.esper.view.window.LengthWindowViewFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert and expiry for the length window view by itself, without filter evaluation, statement locking
+ * and output dispatch. The view has no child views so that only the window maintenance is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LengthWindowViewBenchmark {
+
+    @Param({"1000", "100000"})
+    private int windowSize;
+
+    private EPServiceProvider engine;
+    private LengthWindowView view;
+    private EventBean[][] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.makeEngine(LengthWindowViewBenchmark.class, BenchmarkEngineFactory.makeConfiguration());
+        view = new LengthWindowView(null, new LengthWindowViewFactory(), windowSize, null);
+
+        events = new EventBean[1024][];
+        for (int i = 0; i < events.length; i++) {
+            BenchmarkEvent event = new BenchmarkEvent("S" + i, i, i, i);
+            events[i] = new EventBean[]{((EPServiceProviderSPI) engine).getEventAdapterService().adapterForBean(event)};
+        }
+        for (int i = 0; i < windowSize; i++) {
+            insertAndExpire();
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void insertAndExpire() {
+        view.update(events[index++ & (events.length - 1)], null);
+    }
+}
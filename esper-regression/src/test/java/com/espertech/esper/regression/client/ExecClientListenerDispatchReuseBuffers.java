@@ -0,0 +1,170 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.UpdateListener;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ExecClientListenerDispatchReuseBuffers implements RegressionExecution {
+    public void configure(Configuration configuration) throws Exception {
+        configuration.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        configuration.getEngineDefaults().getThreading().setListenerDispatchPreserveOrder(false);
+        configuration.getEngineDefaults().getThreading().setListenerDispatchReuseBuffers(true);
+        configuration.addEventType(SupportBean.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionSingleResult(epService);
+        runAssertionCombinedResults(epService);
+        runAssertionForClause(epService);
+        runAssertionNestedSend(epService);
+    }
+
+    private void runAssertionSingleResult(EPServiceProvider epService) {
+        MyCopyingListener listener = new MyCopyingListener();
+        epService.getEPAdministrator().createEPL("select irstream theString from SupportBean#length(1)").addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 1));
+        assertEquals(2, listener.getNewValues().size());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1"}, listener.getNewValues().get(0));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E2"}, listener.getNewValues().get(1));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1"}, listener.getOldValues().get(1));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionCombinedResults(EPServiceProvider epService) {
+        // each event enters both context partitions, the results of both partitions combining into a single delivery
+        epService.getEPAdministrator().createEPL("create context MyContext " +
+                "group by intPrimitive > 0 as positive, group by intPrimitive >= 0 as nonnegative from SupportBean");
+        MyCopyingListener listener = new MyCopyingListener();
+        epService.getEPAdministrator().createEPL("context MyContext select theString from SupportBean").addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 0));
+        epService.getEPRuntime().sendEvent(new SupportBean("E3", 1));
+        assertEquals(3, listener.getNewValues().size());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1", "E1"}, listener.getNewValues().get(0));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E2"}, listener.getNewValues().get(1));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E3", "E3"}, listener.getNewValues().get(2));
+
+        // combined deliveries of the same size reuse the array
+        assertSame(listener.getNewArrays().get(0), listener.getNewArrays().get(2));
+
+        // the reused array is cleared after delivery, not keeping the events reachable
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{null, null}, listener.getNewArrays().get(0));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionForClause(EPServiceProvider epService) {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        MyCopyingListener listener = new MyCopyingListener();
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select theString from SupportBean#time_batch(1) for discrete_delivery");
+        stmt.addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+        epService.getEPRuntime().sendEvent(new SupportBean("E3", 1));
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(1000));
+        assertEquals(3, listener.getNewValues().size());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1"}, listener.getNewValues().get(0));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E2"}, listener.getNewValues().get(1));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E3"}, listener.getNewValues().get(2));
+        stmt.destroy();
+
+        listener = new MyCopyingListener();
+        stmt = epService.getEPAdministrator().createEPL("select theString, intPrimitive from SupportBean#time_batch(1) for grouped_delivery(intPrimitive)");
+        stmt.addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E4", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E5", 2));
+        epService.getEPRuntime().sendEvent(new SupportBean("E6", 1));
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(2000));
+        assertEquals(2, listener.getNewValues().size());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E4", "E6"}, listener.getNewValues().get(0));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E5"}, listener.getNewValues().get(1));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionNestedSend(EPServiceProvider epService) {
+        epService.getEPAdministrator().createEPL("create context MyContext " +
+                "group by intPrimitive > 0 as positive, group by intPrimitive >= 0 as nonnegative from SupportBean");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("context MyContext select theString from SupportBean");
+
+        // the first listener sends an event while the engine delivers the combined results of the outer event
+        stmt.addListener(new UpdateListener() {
+            public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                if (newEvents[0].get("theString").equals("E1")) {
+                    epService.getEPRuntime().sendEvent(new SupportBean("E2", 1));
+                }
+            }
+        });
+        MyCopyingListener listener = new MyCopyingListener();
+        stmt.addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        assertEquals(2, listener.getNewValues().size());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E2", "E2"}, listener.getNewValues().get(0));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1", "E1"}, listener.getNewValues().get(1));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private static class MyCopyingListener implements UpdateListener {
+        private final List<Object[]> newValues = new ArrayList<>();
+        private final List<Object[]> oldValues = new ArrayList<>();
+        private final List<EventBean[]> newArrays = new ArrayList<>();
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+            newArrays.add(newEvents);
+            newValues.add(toValues(newEvents));
+            oldValues.add(toValues(oldEvents));
+        }
+
+        List<Object[]> getNewValues() {
+            return newValues;
+        }
+
+        List<Object[]> getOldValues() {
+            return oldValues;
+        }
+
+        List<EventBean[]> getNewArrays() {
+            return newArrays;
+        }
+
+        private static Object[] toValues(EventBean[] events) {
+            if (events == null) {
+                return null;
+            }
+            Object[] values = new Object[events.length];
+            for (int i = 0; i < events.length; i++) {
+                values[i] = events[i].get("theString");
+            }
+            return values;
+        }
+    }
+}
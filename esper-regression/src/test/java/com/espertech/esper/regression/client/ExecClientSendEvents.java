@@ -0,0 +1,237 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.avro.util.support.SupportAvroUtil;
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.support.EventRepresentationChoice;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+import org.apache.avro.generic.GenericData;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class ExecClientSendEvents implements RegressionExecution {
+    public void configure(Configuration configuration) throws Exception {
+        configuration.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        configuration.addEventType(SupportBean.class);
+        configuration.addPlugInSingleRowFunction("sleepMsec", ExecClientSendEvents.class.getName(), "sleepMsec");
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionOrderWithInsertInto(epService);
+        runAssertionTimeEvents(epService);
+        runAssertionUnmatched(epService);
+        for (EventRepresentationChoice rep : EventRepresentationChoice.values()) {
+            runAssertionTypedEvents(epService, rep);
+        }
+        runAssertionList(epService);
+        runAssertionLockReleasedDuringBatch(epService);
+        runAssertionInvalid(epService);
+    }
+
+    private void runAssertionOrderWithInsertInto(EPServiceProvider epService) {
+        List<String> received = new ArrayList<>();
+        EPStatement stmtA = epService.getEPAdministrator().createEPL("select theString from SupportBean");
+        stmtA.addListener(new MyRecordingListener("A", received));
+        epService.getEPAdministrator().createEPL("insert into MyStream select theString from SupportBean where intPrimitive > 0");
+        epService.getEPAdministrator().createEPL("select theString from MyStream").addListener(new MyRecordingListener("B", received));
+        EPStatement stmtCount = epService.getEPAdministrator().createEPL("select count(*) as cnt from SupportBean");
+
+        epService.getEPRuntime().sendEvents(new Object[]{new SupportBean("E1", 1), new SupportBean("E2", 0), new SupportBean("E3", 1)});
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"A:E1", "B:E1", "A:E2", "A:E3", "B:E3"}, received.toArray());
+        assertEquals(3L, stmtCount.iterator().next().get("cnt"));
+
+        // no output for most events
+        stmtA.destroy();
+        received.clear();
+        SupportBean[] events = new SupportBean[100];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new SupportBean("E" + i, i == 50 ? 1 : 0);
+        }
+        epService.getEPRuntime().sendEvents(events);
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"B:E50"}, received.toArray());
+        assertEquals(103L, stmtCount.iterator().next().get("cnt"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionTimeEvents(EPServiceProvider epService) {
+        SupportUpdateListener listener = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select count(*) as cnt from SupportBean#time(1 sec)").addListener(listener);
+
+        epService.getEPRuntime().sendEvents(new Object[]{new CurrentTimeEvent(0), new SupportBean("E1", 1), new SupportBean("E2", 1),
+            new CurrentTimeEvent(2000), new SupportBean("E3", 1)});
+        EventBean[] results = listener.getNewDataListFlattened();
+        assertEquals(4, results.length);
+        EPAssertionUtil.assertPropsPerRow(results, "cnt".split(","), new Object[][]{{1L}, {2L}, {0L}, {1L}});
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionUnmatched(EPServiceProvider epService) {
+        List<EventBean> unmatched = new ArrayList<>();
+        epService.getEPRuntime().setUnmatchedListener(theEvent -> unmatched.add(theEvent));
+        SupportUpdateListener listener = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select * from SupportBean(intPrimitive = 1)").addListener(listener);
+
+        SupportBean e1 = new SupportBean("E1", 0);
+        SupportBean e3 = new SupportBean("E3", 0);
+        epService.getEPRuntime().sendEvents(new Object[]{e1, new SupportBean("E2", 1), e3});
+        assertEquals(2, unmatched.size());
+        assertSame(e1, unmatched.get(0).getUnderlying());
+        assertSame(e3, unmatched.get(1).getUnderlying());
+        assertEquals("E2", listener.assertOneGetNewAndReset().get("theString"));
+
+        epService.getEPRuntime().setUnmatchedListener(null);
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionTypedEvents(EPServiceProvider epService, EventRepresentationChoice rep) {
+        epService.getEPAdministrator().createEPL(rep.getAnnotationText() + " create schema MySchema(p0 string, p1 int)");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select p0, p1 from MySchema(p1 > 0)").addListener(listener);
+
+        if (rep.isMapEvent()) {
+            epService.getEPRuntime().sendEvents(new Map[]{makeMap("E1", 1), makeMap("E2", 0), makeMap("E3", 3)}, "MySchema");
+        } else if (rep.isObjectArrayEvent()) {
+            epService.getEPRuntime().sendEvents(new Object[][]{{"E1", 1}, {"E2", 0}, {"E3", 3}}, "MySchema");
+        } else if (rep.isAvroEvent()) {
+            epService.getEPRuntime().sendEventsAvro(new Object[]{makeRecord(epService, "E1", 1), makeRecord(epService, "E2", 0), makeRecord(epService, "E3", 3)}, "MySchema");
+        }
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "p0,p1".split(","), new Object[][]{{"E1", 1}, {"E3", 3}});
+        listener.reset();
+
+        if (rep.isAvroEvent()) {
+            epService.getEPRuntime().sendEventsAvro(Arrays.asList(makeRecord(epService, "E4", 4), makeRecord(epService, "E5", 0)), "MySchema");
+            EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "p0,p1".split(","), new Object[][]{{"E4", 4}});
+        }
+
+        epService.getEPAdministrator().destroyAllStatements();
+        epService.getEPAdministrator().getConfiguration().removeEventType("MySchema", false);
+    }
+
+    private void runAssertionList(EPServiceProvider epService) {
+        SupportUpdateListener listener = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select theString from SupportBean(intPrimitive > 0)").addListener(listener);
+
+        List<SupportBean> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(new SupportBean("E" + i, i % 2));
+        }
+        epService.getEPRuntime().sendEvents(events);
+        EventBean[] results = listener.getNewDataListFlattened();
+        assertEquals(500, results.length);
+        assertEquals("E1", results[0].get("theString"));
+        assertEquals("E999", results[499].get("theString"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionLockReleasedDuringBatch(EPServiceProvider epService) throws Exception {
+        epService.getEPAdministrator().createEPL("select * from SupportBean(sleepMsec(intPrimitive))");
+        SupportBean[] events = new SupportBean[2000];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new SupportBean("E" + i, 1);
+        }
+
+        AtomicBoolean batchDone = new AtomicBoolean();
+        Thread sender = new Thread(() -> {
+            epService.getEPRuntime().sendEvents(events);
+            batchDone.set(true);
+        }, ExecClientSendEvents.class.getSimpleName() + "-sender");
+        sender.start();
+        Thread.sleep(200);
+
+        // statement management needs the write lock, it must not wait for the whole batch
+        epService.getEPAdministrator().createEPL("select * from SupportBean");
+        assertFalse(batchDone.get());
+
+        sender.join();
+        assertTrue(batchDone.get());
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    public static boolean sleepMsec(int msec) {
+        try {
+            Thread.sleep(msec);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private void runAssertionInvalid(EPServiceProvider epService) {
+        try {
+            epService.getEPRuntime().sendEvents(new Map[]{makeMap("E1", 1)}, "SupportBean");
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Event type named 'SupportBean' has not been defined or is not a Map event type, the name 'SupportBean' refers to a " + SupportBean.class.getName() + " event type", ex.getMessage());
+        }
+
+        try {
+            epService.getEPRuntime().sendEvents(new Object[][]{{"E1"}, null}, "SupportBean");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid null event object", ex.getMessage());
+        }
+
+        try {
+            epService.getEPRuntime().sendEvents((Object[]) null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid null event array", ex.getMessage());
+        }
+
+        try {
+            epService.getEPRuntime().sendEvents((List<?>) null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid null event list", ex.getMessage());
+        }
+    }
+
+    private Map<String, Object> makeMap(String p0, int p1) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("p0", p0);
+        map.put("p1", p1);
+        return map;
+    }
+
+    private GenericData.Record makeRecord(EPServiceProvider epService, String p0, int p1) {
+        GenericData.Record record = new GenericData.Record(SupportAvroUtil.getAvroSchema(epService, "MySchema"));
+        record.put("p0", p0);
+        record.put("p1", p1);
+        return record;
+    }
+
+    private static class MyRecordingListener implements UpdateListener {
+        private final String name;
+        private final List<String> received;
+
+        MyRecordingListener(String name, List<String> received) {
+            this.name = name;
+            this.received = received;
+        }
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+            for (EventBean event : newEvents) {
+                received.add(name + ":" + event.get("theString"));
+            }
+        }
+    }
+}
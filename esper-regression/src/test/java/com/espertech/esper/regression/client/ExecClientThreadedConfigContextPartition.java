@@ -0,0 +1,112 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.UpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExecClientThreadedConfigContextPartition implements RegressionExecution {
+    private static final int NUM_KEYS = 8;
+    private static final int NUM_EVENTS_PER_KEY = 200;
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        configuration.getEngineDefaults().getThreading().setThreadPoolContextPartitionExec(true);
+        configuration.getEngineDefaults().getThreading().setThreadPoolContextPartitionExecNumThreads(3);
+        configuration.addEventType("SupportBean", SupportBean.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        if (SupportConfigFactory.skipTest(ExecClientThreadedConfigContextPartition.class)) {
+            return;
+        }
+
+        runAssertionOrderPerPartition(epService, "create context MyContext coalesce by consistent_hash_crc32(theString) from SupportBean granularity 16 preallocate");
+        runAssertionOrderPerPartition(epService, "create context MyContext partition by theString from SupportBean");
+    }
+
+    private void runAssertionOrderPerPartition(EPServiceProvider epService, String contextEPL) throws Exception {
+        epService.getEPAdministrator().createEPL(contextEPL);
+        MyRecordingListener listener = new MyRecordingListener();
+        epService.getEPAdministrator().createEPL("context MyContext select theString, intPrimitive from SupportBean").addListener(listener);
+        EPStatement stmtCount = epService.getEPAdministrator().createEPL("select count(*) as cnt from SupportBean");
+
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            for (int key = 0; key < NUM_KEYS; key++) {
+                epService.getEPRuntime().sendEvent(new SupportBean("K" + key, i));
+            }
+        }
+
+        // statements without context execute on the sending thread
+        assertEquals((long) NUM_EVENTS_PER_KEY * NUM_KEYS, stmtCount.iterator().next().get("cnt"));
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (listener.size() < NUM_EVENTS_PER_KEY * NUM_KEYS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(NUM_EVENTS_PER_KEY * NUM_KEYS, listener.size());
+
+        // each context partition delivers its events in order, always from the same worker thread and never from the sending thread
+        String sendingThread = Thread.currentThread().getName();
+        for (int key = 0; key < NUM_KEYS; key++) {
+            List<Integer> values = listener.getValues().get("K" + key);
+            assertEquals(NUM_EVENTS_PER_KEY, values.size());
+            for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+                assertEquals(i, (int) values.get(i));
+            }
+            Set<String> threads = listener.getThreads().get("K" + key);
+            assertFalse(threads.contains(sendingThread));
+            assertEquals(1, threads.size());
+            assertTrue(threads.iterator().next().startsWith("com.espertech.esper.ContextPartitionExec-"));
+        }
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private static class MyRecordingListener implements UpdateListener {
+        private final Map<String, List<Integer>> values = new HashMap<>();
+        private final Map<String, Set<String>> threads = new HashMap<>();
+        private int size;
+
+        public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents) {
+            for (EventBean event : newEvents) {
+                String key = (String) event.get("theString");
+                values.computeIfAbsent(key, k -> new ArrayList<>()).add((Integer) event.get("intPrimitive"));
+                threads.computeIfAbsent(key, k -> new HashSet<>()).add(Thread.currentThread().getName());
+                size++;
+            }
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        public synchronized Map<String, List<Integer>> getValues() {
+            return values;
+        }
+
+        public synchronized Map<String, Set<String>> getThreads() {
+            return threads;
+        }
+    }
+}
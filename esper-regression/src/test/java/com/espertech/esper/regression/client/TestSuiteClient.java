@@ -110,6 +110,10 @@ public class TestSuiteClient extends TestCase {
         RegressionRunner.run(new ExecClientIsolationUnitConfig());
     }
 
+    public void testExecClientListenerDispatchReuseBuffers() {
+        RegressionRunner.run(new ExecClientListenerDispatchReuseBuffers());
+    }
+
     public void testExecClientMetricsReportingNW() {
         RegressionRunner.run(new ExecClientMetricsReportingNW());
     }
@@ -178,6 +182,10 @@ public class TestSuiteClient extends TestCase {
         RegressionRunner.run(new ExecClientSubscriberPerf());
     }
 
+    public void testExecClientThreadedConfigContextPartition() {
+        RegressionRunner.run(new ExecClientThreadedConfigContextPartition());
+    }
+
     public void testExecClientThreadedConfigInbound() {
         RegressionRunner.run(new ExecClientThreadedConfigInbound());
     }
@@ -210,6 +218,10 @@ public class TestSuiteClient extends TestCase {
         RegressionRunner.run(new ExecClientUnmatchedListener());
     }
 
+    public void testExecClientSendEvents() {
+        RegressionRunner.run(new ExecClientSendEvents());
+    }
+
     public void testExecClientViewPlugin() {
         RegressionRunner.run(new ExecClientViewPlugin());
     }
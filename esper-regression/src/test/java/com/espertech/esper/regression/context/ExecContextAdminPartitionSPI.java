@@ -24,6 +24,8 @@ import com.espertech.esper.core.context.mgr.ContextStatePathKey;
 import com.espertech.esper.core.service.EPContextPartitionAdminSPI;
 import com.espertech.esper.core.service.EPContextPartitionExtract;
 import com.espertech.esper.core.service.EPContextPartitionImportResult;
+import com.espertech.esper.core.service.EPContextPartitionImportable;
+import com.espertech.esper.core.service.EPContextPartitionImportableSerde;
 import com.espertech.esper.supportregression.bean.SupportBean;
 import com.espertech.esper.supportregression.bean.SupportBean_S0;
 import com.espertech.esper.supportregression.bean.SupportBean_S1;
@@ -34,6 +36,11 @@ import com.espertech.esper.supportregression.util.ContextState;
 import com.espertech.esper.supportregression.util.ContextStateCacheHook;
 import com.espertech.esper.supportregression.util.SupportContextStateCacheImpl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
@@ -512,7 +519,7 @@ public class ExecContextAdminPartitionSPI implements RegressionExecution, Contex
                 {1, makeIdentHash(CODE_FUNC_MOD64.codeFor("E4")), "+"},
                 {2, makeIdentHash(CODE_FUNC_MOD64.codeFor("E1")), "+"}});
 
-        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, extract.getImportable(), new AgentInstanceSelectorAll());
+        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, writeRead(extract.getImportable()), new AgentInstanceSelectorAll());
         assertImportsCPids(importResult.getExistingToImported(), new int[][]{{2, 1}}); // mapping 1 --> 2  (agent instance id 1 to 2)
         assertImportsCPids(importResult.getAllocatedToImported(), new int[][]{{3, 0}}); // mapping 0 --> 3 (agent instance id 0 to 3)
         assertPathInfo(getAllCPDescriptors(epService, contextName, false), new Object[][]{
@@ -560,7 +567,7 @@ public class ExecContextAdminPartitionSPI implements RegressionExecution, Contex
         assertPathInfo(getAllCPDescriptors(epService, contextName, false), new Object[][]{
                 {0, makeIdentPart("E1"), "+"}, {1, makeIdentPart("E3"), "+"}});
 
-        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, extract.getImportable(), new AgentInstanceSelectorAll());
+        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, writeRead(extract.getImportable()), new AgentInstanceSelectorAll());
         assertImportsCPids(importResult.getExistingToImported(), new int[][]{{0, 1}}); // mapping 1 --> 0  (agent instance id 1 to 2)
         assertImportsCPids(importResult.getAllocatedToImported(), new int[][]{{2, 0}}); // mapping 0 --> 2 (agent instance id 0 to 3)
         assertPathInfo(getAllCPDescriptors(epService, contextName, false), new Object[][]{
@@ -596,7 +603,7 @@ public class ExecContextAdminPartitionSPI implements RegressionExecution, Contex
         assertPathInfo(getAllCPDescriptors(epService, contextName, false), new Object[][]{
                 {0, makeIdentCat("G1"), "+"}, {1, makeIdentCat("G2"), "+"}, {2, makeIdentCat("G3"), "+"}});
 
-        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, extract.getImportable(), new AgentInstanceSelectorAll());
+        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, writeRead(extract.getImportable()), new AgentInstanceSelectorAll());
         assertImportsCPids(importResult.getExistingToImported(), new int[][]{{0, 0}, {1, 1}, {2, 2}}); // mapping 1 --> 0  (agent instance id 1 to 2)
         assertImportsCPids(importResult.getAllocatedToImported(), new int[0][]); // no new ones allocated
         assertPathInfo(getAllCPDescriptors(epService, contextName, false), new Object[][]{
@@ -629,7 +636,7 @@ public class ExecContextAdminPartitionSPI implements RegressionExecution, Contex
         epService.getEPRuntime().sendEvent(new SupportBean("S0_2", 20));
         EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), FIELDSCP, new Object[]{"S0_2", 20, 0});
 
-        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, extract.getImportable(), new AgentInstanceSelectorAll());
+        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, writeRead(extract.getImportable()), new AgentInstanceSelectorAll());
         assertImportsCPids(importResult.getExistingToImported(), new int[0][]); // no existing found
         assertImportsCPids(importResult.getAllocatedToImported(), new int[][]{{1, 0}}); // new one created is 1
 
@@ -676,7 +683,7 @@ public class ExecContextAdminPartitionSPI implements RegressionExecution, Contex
         epService.getEPRuntime().sendEvent(makeEvent("G1", 11, 1001));
         EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fieldsnested, new Object[]{"G1", 11, 1001L, 3});
 
-        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, extract.getImportable(), new AgentInstanceSelectorAll());
+        EPContextPartitionImportResult importResult = getSpi(epService).importStartPaths(contextName, writeRead(extract.getImportable()), new AgentInstanceSelectorAll());
         assertImportsCPids(importResult.getExistingToImported(), new int[][]{{2, 0}, {3, 1}}); // mapping 0 --> 2, 1 --> 3  (agent instance id 1 to 2)
         assertImportsCPids(importResult.getAllocatedToImported(), new int[][]{{4, 2}, {5, 3}});  // allocated ones
 
@@ -1209,6 +1216,21 @@ public class ExecContextAdminPartitionSPI implements RegressionExecution, Contex
         return getSpi(epService).getContextPartitionIds(contextName, selector);
     }
 
+    // moving context partitions across engines goes through the binary format
+    private static EPContextPartitionImportable writeRead(EPContextPartitionImportable importable) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            EPContextPartitionImportableSerde.write(importable, output);
+            output.close();
+            EPContextPartitionImportable read = EPContextPartitionImportableSerde.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(importable.getPaths().keySet(), read.getPaths().keySet());
+            return read;
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     private static EPContextPartitionAdminSPI getSpi(EPServiceProvider epService) {
         return (EPContextPartitionAdminSPI) epService.getEPAdministrator().getContextPartitionAdmin();
     }
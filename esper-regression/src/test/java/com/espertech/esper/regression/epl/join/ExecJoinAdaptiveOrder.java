@@ -0,0 +1,112 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.epl.join;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.bean.SupportBean_S1;
+import com.espertech.esper.supportregression.bean.SupportBean_S2;
+import com.espertech.esper.supportregression.bean.SupportBean_S3;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExecJoinAdaptiveOrder implements RegressionExecution {
+    private static final String[] FIELDS = "c0,c1,c2,c3".split(",");
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.addEventType("S0", SupportBean_S0.class);
+        configuration.addEventType("S1", SupportBean_S1.class);
+        configuration.addEventType("S2", SupportBean_S2.class);
+        configuration.addEventType("S3", SupportBean_S3.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        String select = "select s0.id as c0, s1.id as c1, s2.id as c2, s3.id as c3 from ";
+
+        // cycle between streams allowing lookups in either direction
+        tryAssertionCompare(epService, select +
+                "S0#length(20) as s0, S1#length(50) as s1, S2#length(50) as s2, S3#length(20) as s3 " +
+                "where s0.p00 = s1.p10 and s0.p01 = s2.p20 and s1.p11 = s2.p21 and s2.p20 = s3.p30");
+
+        // star with multi-key lookups
+        tryAssertionCompare(epService, select +
+                "S0#length(20) as s0, S1#length(50) as s1, S2#length(50) as s2, S3#length(50) as s3 " +
+                "where s0.p00 = s1.p10 and s0.p01 = s1.p11 and s0.p00 = s2.p20 and s0.p01 = s3.p30 and s2.p21 = s3.p31");
+    }
+
+    private void tryAssertionCompare(EPServiceProvider epService, String epl) {
+        SupportUpdateListener listenerAdaptive = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("@Hint('ADAPTIVE_JOIN_ORDER') " + epl).addListener(listenerAdaptive);
+        SupportUpdateListener listenerDefault = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL(epl).addListener(listenerDefault);
+
+        // alternate between phases in which the key cardinality of S1 and S2 differs widely, causing re-planning
+        Random random = new Random(42);
+        int numOutput = 0;
+        for (int i = 0; i < 4000; i++) {
+            boolean phaseSkewS1 = (i / 1000) % 2 == 0;
+            int s1Keys = phaseSkewS1 ? 2 : 40;
+            int s2Keys = phaseSkewS1 ? 40 : 2;
+            switch (random.nextInt(5)) {
+                case 0:
+                    epService.getEPRuntime().sendEvent(new SupportBean_S0(i, "K" + random.nextInt(2), "K" + random.nextInt(2)));
+                    break;
+                case 1:
+                case 2:
+                    epService.getEPRuntime().sendEvent(new SupportBean_S1(i, "K" + random.nextInt(s1Keys), "K" + random.nextInt(s1Keys)));
+                    break;
+                case 3:
+                    epService.getEPRuntime().sendEvent(new SupportBean_S2(i, "K" + random.nextInt(s2Keys), "K" + random.nextInt(s2Keys)));
+                    break;
+                default:
+                    epService.getEPRuntime().sendEvent(new SupportBean_S3(i, "K" + random.nextInt(2), "K" + random.nextInt(40)));
+                    break;
+            }
+
+            assertEquals(listenerDefault.isInvoked(), listenerAdaptive.isInvoked());
+            if (listenerDefault.isInvoked()) {
+                List<String> expectedNew = toSortedList(listenerDefault.getNewDataListFlattened());
+                List<String> expectedOld = toSortedList(listenerDefault.getOldDataListFlattened());
+                assertEquals("event " + i, expectedNew, toSortedList(listenerAdaptive.getNewDataListFlattened()));
+                assertEquals("event " + i, expectedOld, toSortedList(listenerAdaptive.getOldDataListFlattened()));
+                numOutput += expectedNew.size();
+            }
+            listenerDefault.reset();
+            listenerAdaptive.reset();
+        }
+        assertTrue(numOutput > 100);
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private static List<String> toSortedList(EventBean[] events) {
+        List<String> result = new ArrayList<String>();
+        for (EventBean event : events) {
+            StringBuilder builder = new StringBuilder();
+            for (String field : FIELDS) {
+                builder.append(event.get(field)).append(",");
+            }
+            result.add(builder.toString());
+        }
+        Collections.sort(result);
+        return result;
+    }
+}
@@ -177,4 +177,8 @@ public class TestSuiteJoin extends TestCase {
     public void testExecJoin5StreamPerformance() {
         RegressionRunner.run(new ExecJoin5StreamPerformance());
     }
+
+    public void testExecJoinAdaptiveOrder() {
+        RegressionRunner.run(new ExecJoinAdaptiveOrder());
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.event.avro;
+
+import com.espertech.esper.client.ConfigurationEventTypeAvro;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventSender;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.espertech.esper.avro.core.AvroConstant.PROP_JAVA_STRING_KEY;
+import static com.espertech.esper.avro.core.AvroConstant.PROP_JAVA_STRING_VALUE;
+import static org.apache.avro.SchemaBuilder.record;
+import static org.junit.Assert.*;
+
+public class ExecAvroEncodedEvent implements RegressionExecution {
+    private static final Schema INNER_SCHEMA = record("InnerSchema").fields()
+            .requiredInt("innerInt")
+            .name("innerString").type().stringBuilder().prop(PROP_JAVA_STRING_KEY, PROP_JAVA_STRING_VALUE).endString().noDefault()
+            .endRecord();
+    private static final Schema RECORD_SCHEMA = record("RecordSchema").fields()
+            .name("myString").type().stringBuilder().prop(PROP_JAVA_STRING_KEY, PROP_JAVA_STRING_VALUE).endString().noDefault()
+            .requiredInt("myInt")
+            .name("myInner").type(INNER_SCHEMA).noDefault()
+            .requiredDouble("myDouble")
+            .endRecord();
+
+    public void run(EPServiceProvider epService) throws Exception {
+        epService.getEPAdministrator().getConfiguration().addEventTypeAvro("MyEncodedEvent", new ConfigurationEventTypeAvro(RECORD_SCHEMA));
+
+        runAssertionFilterSimpleAndNested(epService);
+        runAssertionEventSender(epService);
+    }
+
+    private void runAssertionFilterSimpleAndNested(EPServiceProvider epService) throws Exception {
+        String[] fields = "c0,c1,c2,c3".split(",");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select myString as c0, myInt as c1, myInner.innerString as c2, myDouble as c3 " +
+                "from MyEncodedEvent(myString = 'A', myInt > 10, myInner.innerInt = 5, myInner.innerString like 'x%')");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        epService.getEPRuntime().sendEventAvro(encode(makeRecord("A", 11, 5, "xyz", 1.5)), "MyEncodedEvent");
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A", 11, "xyz", 1.5});
+
+        // each filter fails on one simple or nested property
+        epService.getEPRuntime().sendEventAvro(encode(makeRecord("B", 11, 5, "xyz", 1.5)), "MyEncodedEvent");
+        epService.getEPRuntime().sendEventAvro(encode(makeRecord("A", 10, 5, "xyz", 1.5)), "MyEncodedEvent");
+        epService.getEPRuntime().sendEventAvro(encode(makeRecord("A", 11, 6, "xyz", 1.5)), "MyEncodedEvent");
+        epService.getEPRuntime().sendEventAvro(encode(makeRecord("A", 11, 5, "yz", 1.5)), "MyEncodedEvent");
+        assertFalse(listener.isInvoked());
+
+        epService.getEPRuntime().sendEventAvro(encode(makeRecord("A", 20, 5, "x", 2.5)), "MyEncodedEvent");
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A", 20, "x", 2.5});
+
+        stmt.destroy();
+    }
+
+    private void runAssertionEventSender(EPServiceProvider epService) throws Exception {
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select * from MyEncodedEvent(myInner.innerInt between 1 and 3)");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        EventSender sender = epService.getEPRuntime().getEventSender("MyEncodedEvent");
+        GenericData.Record record = makeRecord("A", 1, 2, "x", 1.5);
+        sender.sendEvent(encode(record));
+        EventBean event = listener.assertOneGetNewAndReset();
+        assertEquals(2, event.get("myInner.innerInt"));
+        assertEquals("A", event.get("myString"));
+
+        // the underlying record decodes to the record sent
+        assertEquals(record, event.getUnderlying());
+
+        sender.sendEvent(encode(makeRecord("A", 1, 4, "x", 1.5)));
+        assertFalse(listener.isInvoked());
+
+        stmt.destroy();
+    }
+
+    private static GenericData.Record makeRecord(String myString, int myInt, int innerInt, String innerString, double myDouble) {
+        GenericData.Record inner = new GenericData.Record(INNER_SCHEMA);
+        inner.put("innerInt", innerInt);
+        inner.put("innerString", innerString);
+        GenericData.Record record = new GenericData.Record(RECORD_SCHEMA);
+        record.put("myString", myString);
+        record.put("myInt", myInt);
+        record.put("myInner", inner);
+        record.put("myDouble", myDouble);
+        return record;
+    }
+
+    private static byte[] encode(GenericData.Record record) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<GenericData.Record>(record.getSchema()).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+}
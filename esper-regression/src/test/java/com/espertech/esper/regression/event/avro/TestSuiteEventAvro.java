@@ -29,4 +29,8 @@ public class TestSuiteEventAvro extends TestCase {
     public void testExecAvroEventBean() {
         RegressionRunner.run(new ExecAvroEventBean());
     }
+
+    public void testExecAvroEncodedEvent() {
+        RegressionRunner.run(new ExecAvroEncodedEvent());
+    }
 }
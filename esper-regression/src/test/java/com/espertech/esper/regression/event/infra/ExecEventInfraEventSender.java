@@ -61,14 +61,14 @@ public class ExecEventInfraEventSender implements RegressionExecution {
         // XML
         runAssertionSuccess(epService, XML_TYPENAME, SupportXML.getDocument("<myevent/>").getDocumentElement());
         runAssertionInvalid(epService, XML_TYPENAME, new SupportBean(),
-                "Unexpected event object type '" + SupportBean.class.getName() + "' encountered, please supply a org.w3c.dom.Document or Element node");
+                "Unexpected event object type '" + SupportBean.class.getName() + "' encountered, please supply a org.w3c.dom.Document or Element node or XML document text");
         runAssertionInvalid(epService, XML_TYPENAME, SupportXML.getDocument("<xxxx/>"),
                 "Unexpected root element name 'xxxx' encountered, expected a root element name of 'myevent'");
 
         // Avro
         runAssertionSuccess(epService, AVRO_TYPENAME, new GenericData.Record(getAvroSchema()));
         runAssertionInvalid(epService, AVRO_TYPENAME, new SupportBean(),
-                "Unexpected event object type '" + SupportBean.class.getName() + "' encountered, please supply a GenericData.Record");
+                "Unexpected event object type '" + SupportBean.class.getName() + "' encountered, please supply a GenericData.Record or Avro binary-encoded record as byte[]");
 
         // No such type
         try {
@@ -16,20 +16,21 @@ import com.espertech.esper.client.scopetest.SupportUpdateListener;
 import com.espertech.esper.core.service.EPServiceProviderSPI;
 import com.espertech.esper.event.EventTypeMetadata;
 import com.espertech.esper.event.EventTypeSPI;
+import com.espertech.esper.supportregression.event.SupportXML;
 import com.espertech.esper.supportregression.execution.RegressionExecution;
 import com.espertech.esper.supportregression.xml.SupportXPathFunctionResolver;
 import com.espertech.esper.supportregression.xml.SupportXPathVariableResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.xpath.XPathConstants;
 import java.io.StringReader;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 
 public class ExecEventXMLNoSchemaSimpleXMLXPathProperties implements RegressionExecution {
     protected static final String XML_NOSCHEMAEVENT =
@@ -105,6 +106,57 @@ public class ExecEventXMLNoSchemaSimpleXMLXPathProperties implements RegressionE
 
         sendEvent(epService, "EventB");
         assertDataSimpleXPath(updateListener, "EventB");
+
+        // send document text, reading the simple-path properties from the stream
+        SupportUpdateListener wildcardListener = new SupportUpdateListener();
+        EPStatement wildcardStmt = epService.getEPAdministrator().createEPL("select * from TestXMLNoSchemaType");
+        wildcardStmt.addListener(wildcardListener);
+        EventSender sender = epService.getEPRuntime().getEventSender("TestXMLNoSchemaType");
+        sender.sendEvent(XML_NOSCHEMAEVENT.replaceAll("VAL1", "EventC"));
+        assertDataSimpleXPath(updateListener, "EventC");
+        updateListener.reset();
+        assertEquals("myevent", ((Node) wildcardListener.assertOneGetNewAndReset().getUnderlying()).getLocalName());
+        wildcardStmt.destroy();
+
+        // elements and attributes not found evaluate the same as for the document
+        String[] fields = "xpathElement1,xpathCountE21,xpathAttrString,xpathAttrNum,xpathAttrBool,stringCastLong,stringCastDouble,numCastInt".split(",");
+        sender.sendEvent("<myevent><element3 attrNum=\"x\"/></myevent>");
+        EventBean fromText = updateListener.assertOneGetNewAndReset();
+        epService.getEPRuntime().sendEvent(SupportXML.getDocument("<myevent><element3 attrNum=\"x\"/></myevent>"));
+        EventBean fromDocument = updateListener.assertOneGetNewAndReset();
+        for (String field : fields) {
+            assertEquals(field, fromDocument.get(field), fromText.get(field));
+        }
+        assertEquals("", fromText.get("xpathElement1"));
+        assertEquals(false, fromText.get("xpathAttrBool"));
+
+        try {
+            sender.sendEvent("<myevent><element1>");
+            fail();
+        } catch (EPException ex) {
+            assertTrue(ex.getMessage().startsWith("Failed to parse XML document"));
+        }
+        try {
+            sender.sendEvent("<otherevent/>");
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Unexpected root element name 'otherevent' encountered, expected a root element name of 'myevent'", ex.getMessage());
+        }
+
+        // document type declarations, and therefore external entities, are not processed
+        String doctype = "<!DOCTYPE myevent [<!ENTITY ext SYSTEM \"file:///etc/hostname\">]>";
+        try {
+            sender.sendEvent(doctype + "<myevent><element1>&ext;</element1></myevent>");
+            fail();
+        } catch (EPException ex) {
+            assertTrue(ex.getMessage().startsWith("Failed to parse XML document"));
+        }
+        try {
+            sender.sendEvent(doctype + "<myevent><element1>VAL1</element1></myevent>");
+            fail();
+        } catch (EPException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("DOCTYPE is disallowed"));
+        }
     }
 
     protected static void assertDataSimpleXPath(SupportUpdateListener updateListener, String element1) {
@@ -56,7 +56,7 @@ public class ExecEventXMLSchemaEventSender implements RegressionExecution {
             sender.sendEvent(new SupportBean());
             fail();
         } catch (EPException ex) {
-            assertEquals("Unexpected event object type '" + SupportBean.class.getName() + "' encountered, please supply a org.w3c.dom.Document or Element node", ex.getMessage());
+            assertEquals("Unexpected event object type '" + SupportBean.class.getName() + "' encountered, please supply a org.w3c.dom.Document or Element node or XML document text", ex.getMessage());
         }
 
         // test adding a second type for the same root element
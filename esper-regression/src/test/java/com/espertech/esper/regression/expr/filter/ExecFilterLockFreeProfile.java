@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.expr.filter;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ExecFilterLockFreeProfile implements RegressionExecution {
+    public void configure(Configuration configuration) throws Exception {
+        configuration.addEventType("SupportBean", SupportBean.class);
+        configuration.addEventType("SupportBean_S0", SupportBean_S0.class);
+        configuration.getEngineDefaults().getExecution().setFilterServiceProfile(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        SupportUpdateListener listenerOne = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select * from SupportBean(intPrimitive = 1)").addListener(listenerOne);
+        SupportUpdateListener listenerTwo = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select * from SupportBean(theString like 'E%')").addListener(listenerTwo);
+
+        // a single event matching multiple filters
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        assertEquals("E1", listenerOne.assertOneGetNewAndReset().get("theString"));
+        assertEquals("E1", listenerTwo.assertOneGetNewAndReset().get("theString"));
+
+        epService.getEPRuntime().sendEvent(new SupportBean("X1", 2));
+        assertFalse(listenerOne.isInvoked() || listenerTwo.isInvoked());
+
+        // filters changing as a pattern evaluates
+        EPStatement stmtPattern = epService.getEPAdministrator().createEPL("select a.theString as c0, b.id as c1 from pattern [every a=SupportBean -> b=SupportBean_S0(id = a.intPrimitive)]");
+        SupportUpdateListener listenerPattern = new SupportUpdateListener();
+        stmtPattern.addListener(listenerPattern);
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 10));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(11));
+        assertFalse(listenerPattern.isInvoked());
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(10));
+        assertEquals("E2", listenerPattern.assertOneGetNewAndReset().get("c0"));
+        listenerTwo.reset();
+
+        // removing a statement removes its filters
+        stmtPattern.destroy();
+        epService.getEPRuntime().sendEvent(new SupportBean("E3", 10));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(10));
+        assertFalse(listenerPattern.isInvoked());
+        assertEquals("E3", listenerTwo.assertOneGetNewAndReset().get("theString"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+}
@@ -30,6 +30,10 @@ public class TestSuiteFilter extends TestCase {
         RegressionRunner.run(new ExecFilterLargeThreading());
     }
 
+    public void testExecFilterLockFreeProfile() {
+        RegressionRunner.run(new ExecFilterLockFreeProfile());
+    }
+
     public void testExecFilterWhereClauseNoDataWindowPerformance() {
         RegressionRunner.run(new ExecFilterWhereClauseNoDataWindowPerformance());
     }
@@ -21,6 +21,7 @@ public class ExecMTContextMultiStmtStartEnd implements RegressionExecution {
     public void run(EPServiceProvider epService) throws Exception {
         runAssertion(ConfigurationEngineDefaults.FilterServiceProfile.READMOSTLY);
         runAssertion(ConfigurationEngineDefaults.FilterServiceProfile.READWRITE);
+        runAssertion(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE);
     }
 
     private void runAssertion(ConfigurationEngineDefaults.FilterServiceProfile profile) throws Exception {
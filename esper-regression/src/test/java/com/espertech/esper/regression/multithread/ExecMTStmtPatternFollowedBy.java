@@ -23,11 +23,13 @@ public class ExecMTStmtPatternFollowedBy implements RegressionExecution {
     public void run(EPServiceProvider epService) throws Exception {
         runAssertionPatternFollowedBy(ConfigurationEngineDefaults.FilterServiceProfile.READMOSTLY);
         runAssertionPatternFollowedBy(ConfigurationEngineDefaults.FilterServiceProfile.READWRITE);
+        runAssertionPatternFollowedBy(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE);
     }
 
     private void runAssertionPatternFollowedBy(ConfigurationEngineDefaults.FilterServiceProfile profile) throws InterruptedException {
 
         Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getExecution().setFilterServiceProfile(profile);
         config.addEventType("S0", SupportBean_S0.class);
         String engineURI = this.getClass().getSimpleName() + "_" + profile;
         EPServiceProvider epService = EPServiceProviderManager.getProvider(engineURI, config);
@@ -0,0 +1,138 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable.namedwindow;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.event.offheap.OffHeapEventBean;
+import com.espertech.esper.support.EventRepresentationChoice;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.bean.SupportBean_S1;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import java.util.Iterator;
+
+import static com.espertech.esper.supportregression.util.SupportMessageAssertUtil.tryInvalid;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExecNamedWindowOffHeap implements RegressionExecution {
+    public void configure(Configuration configuration) throws Exception {
+        configuration.addEventType("SupportBean", SupportBean.class);
+        configuration.addEventType("SupportBean_S0", SupportBean_S0.class);
+        configuration.addEventType("SupportBean_S1", SupportBean_S1.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionIndexedOperations(epService, EventRepresentationChoice.ARRAY);
+        runAssertionIndexedOperations(epService, EventRepresentationChoice.MAP);
+        runAssertionManyRows(epService);
+        runAssertionInvalid(epService);
+    }
+
+    private void runAssertionIndexedOperations(EPServiceProvider epService, EventRepresentationChoice rep) {
+        String windowName = "MyWindow" + rep.name();
+        String[] fields = "name,value".split(",");
+        EPStatement stmtWindow = epService.getEPAdministrator().createEPL(rep.getAnnotationText() + " create window " + windowName + "#keepall_offheap as (name string, value long)");
+        epService.getEPAdministrator().createEPL("create unique index MyWindowNameIndex on " + windowName + "(name)");
+        epService.getEPAdministrator().createEPL("create index MyWindowValueIndex on " + windowName + "(value btree)");
+        epService.getEPAdministrator().createEPL("insert into " + windowName + " select theString as name, longPrimitive as value from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0(id = 0) delete from " + windowName + " where name = p00");
+        epService.getEPAdministrator().createEPL("on SupportBean_S1 update " + windowName + " set value = value + 100 where name = p10");
+        SupportUpdateListener listenerWindow = new SupportUpdateListener();
+        stmtWindow.addListener(listenerWindow);
+
+        for (int i = 0; i < 5; i++) {
+            sendSupportBean(epService, "E" + i, i);
+        }
+        EventBean received = listenerWindow.getLastNewData()[0];
+        assertTrue(received instanceof OffHeapEventBean);
+        EPAssertionUtil.assertProps(received, fields, new Object[]{"E4", 4L});
+        listenerWindow.reset();
+        EPAssertionUtil.assertPropsPerRowAnyOrder(stmtWindow.iterator(), fields, new Object[][]{{"E0", 0L}, {"E1", 1L}, {"E2", 2L}, {"E3", 3L}, {"E4", 4L}});
+
+        // delete using the hash index
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(0, "E1"));
+        EPAssertionUtil.assertProps(listenerWindow.assertOneGetOldAndReset(), fields, new Object[]{"E1", 1L});
+
+        // update using the hash index
+        epService.getEPRuntime().sendEvent(new SupportBean_S1(0, "E2"));
+        EPAssertionUtil.assertProps(listenerWindow.getLastNewData()[0], fields, new Object[]{"E2", 102L});
+        EPAssertionUtil.assertProps(listenerWindow.getLastOldData()[0], fields, new Object[]{"E2", 2L});
+        listenerWindow.reset();
+
+        // fire-and-forget queries using the hash and btree index
+        EPAssertionUtil.assertPropsPerRow(epService.getEPRuntime().executeQuery("select * from " + windowName + " where name = 'E3'").getArray(), fields, new Object[][]{{"E3", 3L}});
+        EPAssertionUtil.assertPropsPerRowAnyOrder(epService.getEPRuntime().executeQuery("select * from " + windowName + " where value > 3").getArray(), fields, new Object[][]{{"E4", 4L}, {"E2", 102L}});
+        assertEquals(0, epService.getEPRuntime().executeQuery("select * from " + windowName + " where name = 'E1'").getArray().length);
+
+        // subquery and join lookup
+        SupportUpdateListener listenerLookup = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select (select value from " + windowName + " where name = s0.p00) as value from SupportBean_S0(id = 1) as s0").addListener(listenerLookup);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E2"));
+        assertEquals(102L, listenerLookup.assertOneGetNewAndReset().get("value"));
+
+        // rows added after removal reuse storage
+        sendSupportBean(epService, "E5", 5);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(stmtWindow.iterator(), fields, new Object[][]{{"E0", 0L}, {"E2", 102L}, {"E3", 3L}, {"E4", 4L}, {"E5", 5L}});
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionManyRows(EPServiceProvider epService) {
+        EPStatement stmtWindow = epService.getEPAdministrator().createEPL("@EventRepresentation('objectarray') create window MyWindowMany#keepall_offheap as (name string, value long)");
+        epService.getEPAdministrator().createEPL("insert into MyWindowMany select theString as name, longPrimitive as value from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0 delete from MyWindowMany where value < id");
+
+        int numRows = 20000;
+        for (int i = 0; i < numRows; i++) {
+            sendSupportBean(epService, "E" + i, i);
+        }
+        assertEquals((long) numRows, epService.getEPRuntime().executeQuery("select count(*) as cnt from MyWindowMany").getArray()[0].get("cnt"));
+
+        // delete most rows, compacting storage, and keep the remaining rows readable
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(numRows - 10));
+        EventBean[] remaining = epService.getEPRuntime().executeQuery("select * from MyWindowMany order by value").getArray();
+        assertEquals(10, remaining.length);
+        for (int i = 0; i < 10; i++) {
+            EPAssertionUtil.assertProps(remaining[i], "name,value".split(","), new Object[]{"E" + (numRows - 10 + i), (long) numRows - 10 + i});
+        }
+        assertEquals(10, countIterator(stmtWindow));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionInvalid(EPServiceProvider epService) {
+        tryInvalid(epService, "create window MyWindow#keepall_offheap as SupportBean",
+                "Error starting statement: Error attaching view to event stream: Off-heap storage requires an object-array or map event type but received event type 'MyWindow'");
+        tryInvalid(epService, "@EventRepresentation('objectarray') create window MyWindowProps#keepall_offheap as (name string, bean SupportBean)",
+                "Error starting statement: Error attaching view to event stream: Off-heap storage does not support property 'bean'");
+    }
+
+    private static int countIterator(EPStatement stmt) {
+        int count = 0;
+        for (Iterator<EventBean> it = stmt.iterator(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void sendSupportBean(EPServiceProvider epService, String theString, long longPrimitive) {
+        SupportBean bean = new SupportBean(theString, 0);
+        bean.setLongPrimitive(longPrimitive);
+        epService.getEPRuntime().sendEvent(bean);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable.namedwindow;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPException;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPAdministratorSPI;
+import com.espertech.esper.epl.lookup.EventTableIndexExplainDesc;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ExecNamedWindowSubqueryIndexShare implements RegressionExecution {
+    public void configure(Configuration configuration) throws Exception {
+        configuration.getEngineDefaults().getExecution().setNamedWindowSubqueryIndexShare(true);
+        configuration.addEventType(SupportBean.class);
+        configuration.addEventType(SupportBean_S0.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionShareAndExplain(epService);
+        runAssertionNotShared(epService);
+        runAssertionExplainInvalid(epService);
+    }
+
+    private void runAssertionShareAndExplain(EPServiceProvider epService) {
+        EPAdministratorSPI admin = (EPAdministratorSPI) epService.getEPAdministrator();
+        admin.createEPL("create window MyWindow#keepall as SupportBean");
+        admin.createEPL("insert into MyWindow select * from SupportBean");
+        admin.createEPL("@Name('idx') create index MyIndex on MyWindow(longPrimitive)");
+        epService.getEPRuntime().sendEvent(makeBean("E1", 10, 100));
+        epService.getEPRuntime().sendEvent(makeBean("E2", 20, 200));
+
+        SupportUpdateListener listenerOne = new SupportUpdateListener();
+        SupportUpdateListener listenerTwo = new SupportUpdateListener();
+        SupportUpdateListener listenerThree = new SupportUpdateListener();
+        EPStatement stmtOne = admin.createEPL("@Name('s1') select (select intPrimitive from MyWindow where theString = s0.p00) as val from SupportBean_S0 as s0");
+        stmtOne.addListener(listenerOne);
+        EPStatement stmtTwo = admin.createEPL("@Name('s2') select (select intPrimitive from MyWindow mw where mw.theString = s0.p00) as val from SupportBean_S0 as s0");
+        stmtTwo.addListener(listenerTwo);
+        admin.createEPL("@Name('s3') select (select theString from MyWindow where intPrimitive = s0.id) as val from SupportBean_S0 as s0").addListener(listenerThree);
+        admin.createEPL("@Name('s4') select (select theString from MyWindow where longPrimitive = s0.id) as val from SupportBean_S0 as s0");
+
+        // the shared index holds the events that the named window held before the statements were created
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(10, "E2"));
+        assertEquals(20, listenerOne.assertOneGetNewAndReset().get("val"));
+        assertEquals(20, listenerTwo.assertOneGetNewAndReset().get("val"));
+        assertEquals("E1", listenerThree.assertOneGetNewAndReset().get("val"));
+
+        epService.getEPRuntime().sendEvent(makeBean("E3", 30, 300));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(30, "E3"));
+        assertEquals(30, listenerOne.assertOneGetNewAndReset().get("val"));
+        assertEquals("E3", listenerThree.assertOneGetNewAndReset().get("val"));
+        listenerTwo.reset();
+
+        // statements with the same lookup share one index, the explicit index is referenced by the statement using it
+        List<EventTableIndexExplainDesc> explain = admin.explainIndexes("MyWindow");
+        assertEquals(3, explain.size());
+        assertIndex(explain, "theString", null, new String[]{"s1", "s2"});
+        assertIndex(explain, "intPrimitive", null, new String[]{"s3"});
+        assertIndex(explain, "longPrimitive", "MyIndex", new String[]{"idx", "s4"});
+
+        // destroying a statement removes its reference, and the index is removed with the last reference
+        stmtOne.destroy();
+        explain = admin.explainIndexes("MyWindow");
+        assertIndex(explain, "theString", null, new String[]{"s2"});
+
+        stmtTwo.destroy();
+        explain = admin.explainIndexes("MyWindow");
+        assertEquals(2, explain.size());
+        assertNull(findIndex(explain, "theString"));
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(20, "E1"));
+        assertEquals("E2", listenerThree.assertOneGetNewAndReset().get("val"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionNotShared(EPServiceProvider epService) {
+        EPAdministratorSPI admin = (EPAdministratorSPI) epService.getEPAdministrator();
+        admin.createEPL("create window MyWindow#keepall as SupportBean");
+        admin.createEPL("insert into MyWindow select * from SupportBean");
+
+        // hint opts out and a named window with filter consumes the named window stream
+        SupportUpdateListener listener = new SupportUpdateListener();
+        admin.createEPL("@Name('s1') @Hint('disable_window_subquery_indexshare') select (select intPrimitive from MyWindow where theString = s0.p00) as c0 " +
+                "from SupportBean_S0 as s0").addListener(listener);
+        admin.createEPL("@Name('s2') select (select sum(intPrimitive) from MyWindow(intPrimitive > 15) where theString = s0.p00) as c1 from SupportBean_S0 as s0").addListener(listener);
+        assertEquals(0, admin.explainIndexes("MyWindow").size());
+
+        epService.getEPRuntime().sendEvent(makeBean("E1", 10, 100));
+        epService.getEPRuntime().sendEvent(makeBean("E2", 20, 200));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(0, "E1"));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(0, "E2"));
+        EventBean[] events = listener.getNewDataListFlattened();
+        assertEquals(4, events.length);
+        assertEquals(10, events[0].get("c0"));
+        assertNull(events[1].get("c1"));
+        assertEquals(20, events[2].get("c0"));
+        assertEquals(20, events[3].get("c1"));
+        listener.reset();
+
+        // a subquery out of the context of the named window keeps its own index, same as without index sharing
+        admin.createEPL("create context MyContext partition by theString from SupportBean");
+        admin.createEPL("context MyContext create window MyCtxWindow#keepall as SupportBean");
+        admin.createEPL("context MyContext insert into MyCtxWindow select * from SupportBean");
+        admin.createEPL("create context MyOtherContext partition by p00 from SupportBean_S0");
+        admin.createEPL("@Name('s3') context MyOtherContext select (select count(*) from MyCtxWindow where theString = s0.p00) as c0 from SupportBean_S0 as s0");
+        assertEquals(0, admin.explainIndexes("MyCtxWindow").size());
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionExplainInvalid(EPServiceProvider epService) {
+        try {
+            ((EPAdministratorSPI) epService.getEPAdministrator()).explainIndexes("DummyWindow");
+            fail();
+        } catch (EPException ex) {
+            assertEquals("A named window or table by name 'DummyWindow' does not exist", ex.getMessage());
+        }
+    }
+
+    private static void assertIndex(List<EventTableIndexExplainDesc> explain, String property, String indexName, String[] statements) {
+        EventTableIndexExplainDesc desc = findIndex(explain, property);
+        assertNotNull(desc);
+        assertEquals(indexName, desc.getOptionalIndexName());
+        assertEquals(indexName != null, desc.isExplicit());
+        EPAssertionUtil.assertEqualsExactOrder(statements, desc.getReferringStatements());
+    }
+
+    private static EventTableIndexExplainDesc findIndex(List<EventTableIndexExplainDesc> explain, String property) {
+        for (EventTableIndexExplainDesc desc : explain) {
+            if (desc.getIndexMultiKey().getHashIndexedProps().length == 1 && desc.getIndexMultiKey().getHashIndexedProps()[0].getIndexPropName().equals(property)) {
+                return desc;
+            }
+        }
+        return null;
+    }
+
+    private static SupportBean makeBean(String theString, int intPrimitive, long longPrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setLongPrimitive(longPrimitive);
+        return bean;
+    }
+}
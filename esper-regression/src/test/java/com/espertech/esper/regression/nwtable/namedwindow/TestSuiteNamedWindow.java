@@ -44,6 +44,10 @@ public class TestSuiteNamedWindow extends TestCase {
         RegressionRunner.run(new ExecNamedWindowOM());
     }
 
+    public void testExecNamedWindowOffHeap() {
+        RegressionRunner.run(new ExecNamedWindowOffHeap());
+    }
+
     public void testExecNamedWindowOnDelete() {
         RegressionRunner.run(new ExecNamedWindowOnDelete());
     }
@@ -87,6 +91,10 @@ public class TestSuiteNamedWindow extends TestCase {
         RegressionRunner.run(new ExecNamedWindowSubquery());
     }
 
+    public void testExecNamedWindowSubqueryIndexShare() {
+        RegressionRunner.run(new ExecNamedWindowSubqueryIndexShare());
+    }
+
     public void testExecNamedWindowTypes() {
         RegressionRunner.run(new ExecNamedWindowTypes());
     }
@@ -0,0 +1,178 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable.tbl;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.*;
+
+public class ExecTableMTGroupedIntoTableWriteStripedLock implements RegressionExecution {
+    private static final Logger log = LoggerFactory.getLogger(ExecTableMTGroupedIntoTableWriteStripedLock.class);
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.addEventType(SupportBean.class);
+        configuration.addEventType(SupportBean_S0.class);
+    }
+
+    /**
+     * Table:
+     * create table varagg (key string primary key, cnt count(*), total sum(int)) with striped row locking
+     * <p>
+     * - N writers each have their own into-table statement and update all groups, round-robin, each event adding 1 to both columns.
+     * - A reader pulls a group's columns, round-robin, checking that the count and the total are the same.
+     * At the end of the test we read and assert the totals.
+     */
+    public void run(EPServiceProvider epService) throws Exception {
+        tryMT(epService, 4, 10, 5000);
+    }
+
+    private void tryMT(EPServiceProvider epService, int numThreads, int numGroups, int numEvents) throws Exception {
+        epService.getEPAdministrator().createEPL("@Hint('ENABLE_TABLE_STRIPED_LOCK') create table varagg (key string primary key, cnt count(*), total sum(int))");
+
+        String[] groups = new String[numGroups];
+        for (int i = 0; i < numGroups; i++) {
+            groups[i] = "G" + i;
+        }
+
+        Thread[] threads = new Thread[numThreads];
+        WriteRunnable[] runnables = new WriteRunnable[numThreads];
+        for (int i = 0; i < threads.length; i++) {
+            runnables[i] = new WriteRunnable(epService, groups, numEvents);
+            threads[i] = new Thread(runnables[i]);
+        }
+        ReadRunnable readRunnable = new ReadRunnable(epService, groups);
+        Thread reader = new Thread(readRunnable);
+
+        // start
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        reader.start();
+
+        // join
+        log.info("Waiting for completion");
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            assertNull(runnables[i].getException());
+        }
+        readRunnable.setShutdown(true);
+        reader.join();
+        assertNull(readRunnable.getException());
+
+        // verify
+        long expected = (long) numThreads * numEvents / numGroups;
+        SupportUpdateListener listener = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select varagg[p00].cnt as c0, varagg[p00].total as c1 from SupportBean_S0").addListener(listener);
+        for (String group : groups) {
+            epService.getEPRuntime().sendEvent(new SupportBean_S0(0, group));
+            EventBean event = listener.assertOneGetNewAndReset();
+            assertEquals(expected, event.get("c0"));
+            assertEquals((int) expected, event.get("c1"));
+        }
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    public static class WriteRunnable implements Runnable {
+
+        private final EPServiceProvider epService;
+        private final String[] groups;
+        private final int numEvents;
+
+        private RuntimeException exception;
+
+        public WriteRunnable(EPServiceProvider epService, String[] groups, int numEvents) {
+            this.epService = epService;
+            this.groups = groups;
+            this.numEvents = numEvents;
+        }
+
+        public void run() {
+            log.info("Started event send for write");
+
+            try {
+                String filter = "intBoxed=" + System.identityHashCode(this);
+                epService.getEPAdministrator().createEPL("into table varagg select count(*) as cnt, sum(intPrimitive) as total from SupportBean(" + filter + ") group by theString");
+
+                for (int i = 0; i < numEvents; i++) {
+                    SupportBean bean = new SupportBean(groups[i % groups.length], 1);
+                    bean.setIntBoxed(System.identityHashCode(this));
+                    epService.getEPRuntime().sendEvent(bean);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Exception encountered: " + ex.getMessage(), ex);
+                exception = ex;
+            }
+
+            log.info("Completed event send for write");
+        }
+
+        public RuntimeException getException() {
+            return exception;
+        }
+    }
+
+    public static class ReadRunnable implements Runnable {
+
+        private final EPServiceProvider epService;
+        private final String[] groups;
+
+        private Throwable exception;
+        private volatile boolean shutdown;
+
+        public ReadRunnable(EPServiceProvider epService, String[] groups) {
+            this.epService = epService;
+            this.groups = groups;
+        }
+
+        public void setShutdown(boolean shutdown) {
+            this.shutdown = shutdown;
+        }
+
+        public void run() {
+            log.info("Started event send for read");
+
+            try {
+                SupportUpdateListener listener = new SupportUpdateListener();
+                epService.getEPAdministrator().createEPL("select varagg[p00].cnt as c0, varagg[p00].total as c1 from SupportBean_S0(id=-1)").addListener(listener);
+
+                int numQueries = 0;
+                while (!shutdown) {
+                    epService.getEPRuntime().sendEvent(new SupportBean_S0(-1, groups[numQueries % groups.length]));
+                    EventBean event = listener.assertOneGetNewAndReset();
+                    Long count = (Long) event.get("c0");
+                    Integer total = (Integer) event.get("c1");
+                    if (count != null) {
+                        assertEquals(count.intValue(), total.intValue());
+                    }
+                    numQueries++;
+                }
+            } catch (Throwable ex) {
+                log.error("Exception encountered: " + ex.getMessage(), ex);
+                exception = ex;
+            }
+
+            log.info("Completed event send for read");
+        }
+
+        public Throwable getException() {
+            return exception;
+        }
+    }
+}
@@ -135,6 +135,10 @@ public class TestSuiteTable extends TestCase {
         RegressionRunner.run(new ExecTableMTGroupedFAFReadFAFWriteChain());
     }
 
+    public void testExecTableMTGroupedIntoTableWriteStripedLock() {
+        RegressionRunner.run(new ExecTableMTGroupedIntoTableWriteStripedLock());
+    }
+
     public void testExecTableMTGroupedJoinReadMergeWriteSecondaryIndexUpd() {
         RegressionRunner.run(new ExecTableMTGroupedJoinReadMergeWriteSecondaryIndexUpd());
     }
@@ -18,6 +18,7 @@ import com.espertech.esper.client.scopetest.SupportUpdateListener;
 import com.espertech.esper.client.soda.*;
 import com.espertech.esper.client.time.CurrentTimeEvent;
 import com.espertech.esper.client.util.DateTime;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
 import com.espertech.esper.supportregression.bean.SupportBean;
 import com.espertech.esper.supportregression.bean.SupportBeanConstants;
 import com.espertech.esper.supportregression.bean.SupportMarketDataBean;
@@ -29,6 +30,7 @@ import static org.junit.Assert.*;
 
 public class ExecPatternGuardTimerWithin implements RegressionExecution, SupportBeanConstants {
     public void run(EPServiceProvider epService) throws Exception {
+        runAssertionWithinSharedExpiry(epService);
         runAssertionOp(epService);
         runAssertionInterval10Min(epService);
         runAssertionInterval10MinVariable(epService);
@@ -338,6 +340,40 @@ public class ExecPatternGuardTimerWithin implements RegressionExecution, Support
         statement.destroy();
     }
 
+    private void runAssertionWithinSharedExpiry(EPServiceProvider epService) {
+        epService.getEPAdministrator().getConfiguration().addEventType("SB", SupportBean.class);
+        epService.getEPAdministrator().getConfiguration().addEventType("MD", SupportMarketDataBean.class);
+        EPServiceProviderSPI spi = (EPServiceProviderSPI) epService;
+        sendTimer(0, epService);
+
+        EPStatement statement = epService.getEPAdministrator().createEPL("select a.theString as c0 from pattern [every a=SB -> MD(symbol=a.theString) where timer:within(5 sec)]");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        statement.addListener(listener);
+
+        // guards started at the same time share a schedule
+        for (int i = 0; i < 100; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("A" + i, i));
+        }
+        assertEquals(1, spi.getSchedulingService().getScheduleHandleCount());
+        sendTimer(1000, epService);
+        for (int i = 0; i < 100; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("B" + i, i));
+        }
+        assertEquals(2, spi.getSchedulingService().getScheduleHandleCount());
+
+        epService.getEPRuntime().sendEvent(new SupportMarketDataBean("A5", "M1", 1d));
+        assertEquals("A5", listener.assertOneGetNewAndReset().get("c0"));
+
+        sendTimer(5000, epService);
+        assertEquals(1, spi.getSchedulingService().getScheduleHandleCount());
+        epService.getEPRuntime().sendEvent(new SupportMarketDataBean("A6", "M1", 1d));
+        epService.getEPRuntime().sendEvent(new SupportMarketDataBean("B6", "M1", 1d));
+        assertEquals("B6", listener.assertOneGetNewAndReset().get("c0"));
+
+        statement.destroy();
+        assertEquals(0, spi.getSchedulingService().getScheduleHandleCount());
+    }
+
     private void runAssertionWithinMayMaxMonthScoped(EPServiceProvider epService) {
         tryAssertionWithinMayMaxMonthScoped(epService, false);
         tryAssertionWithinMayMaxMonthScoped(epService, true);
@@ -0,0 +1,213 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.pattern;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.filter.FilterServiceSPI;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExecPatternShared implements RegressionExecution {
+    private static final String PATTERN = "every a=SupportBean -> b=SupportBean_S0(id=a.intPrimitive)";
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.getEngineDefaults().getViewResources().setShareViews(true);
+        configuration.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        configuration.addEventType("SupportBean", SupportBean.class);
+        configuration.addEventType("SupportBean_S0", SupportBean_S0.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionSharedFilter(epService);
+        runAssertionSharedTimer(epService);
+        runAssertionLateStatement(epService);
+        runAssertionNotShared(epService);
+    }
+
+    private void runAssertionSharedFilter(EPServiceProvider epService) {
+        FilterServiceSPI filterService = getFilterService(epService);
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+
+        EPStatement stmtOne = epService.getEPAdministrator().createEPL("select a.theString as c0 from pattern [" + PATTERN + "]");
+        SupportUpdateListener listenerOne = new SupportUpdateListener();
+        stmtOne.addListener(listenerOne);
+        EPStatement stmtTwo = epService.getEPAdministrator().createEPL("select b.p00 as c0 from pattern [" + PATTERN + "]");
+        SupportUpdateListener listenerTwo = new SupportUpdateListener();
+        stmtTwo.addListener(listenerTwo);
+        assertEquals(1, filterService.getFilterCountApprox());
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 10));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(10, "S1"));
+        assertEquals("E1", listenerOne.assertOneGetNewAndReset().get("c0"));
+        assertEquals("S1", listenerTwo.assertOneGetNewAndReset().get("c0"));
+
+        // a statement created after events were processed has its own pattern and does not see earlier events
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 20));
+        EPStatement stmtThree = epService.getEPAdministrator().createEPL("select a.theString as c0 from pattern [" + PATTERN + "]");
+        SupportUpdateListener listenerThree = new SupportUpdateListener();
+        stmtThree.addListener(listenerThree);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(20, "S2"));
+        assertEquals("E2", listenerOne.assertOneGetNewAndReset().get("c0"));
+        assertEquals("S2", listenerTwo.assertOneGetNewAndReset().get("c0"));
+        assertFalse(listenerThree.isInvoked());
+
+        // destroying the statement that started the shared pattern leaves the pattern running for the others
+        stmtOne.destroy();
+        epService.getEPRuntime().sendEvent(new SupportBean("E3", 30));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(30, "S3"));
+        assertEquals("S3", listenerTwo.assertOneGetNewAndReset().get("c0"));
+        assertEquals("E3", listenerThree.assertOneGetNewAndReset().get("c0"));
+        assertFalse(listenerOne.isInvoked());
+
+        // stop and start
+        stmtTwo.stop();
+        epService.getEPRuntime().sendEvent(new SupportBean("E4", 40));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(40, "S4"));
+        assertFalse(listenerTwo.isInvoked());
+        assertEquals("E4", listenerThree.assertOneGetNewAndReset().get("c0"));
+        stmtTwo.start();
+        epService.getEPRuntime().sendEvent(new SupportBean("E5", 50));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(50, "S5"));
+        assertEquals("S5", listenerTwo.assertOneGetNewAndReset().get("c0"));
+        assertEquals("E5", listenerThree.assertOneGetNewAndReset().get("c0"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+        assertEquals(0, filterService.getFilterCountApprox());
+    }
+
+    private void runAssertionSharedTimer(EPServiceProvider epService) {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        String epl = "select * from pattern [every timer:interval(10 sec)]";
+        SupportUpdateListener[] listeners = new SupportUpdateListener[3];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new SupportUpdateListener();
+            epService.getEPAdministrator().createEPL(epl, "s" + i).addListener(listeners[i]);
+        }
+
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(9999));
+        for (SupportUpdateListener listener : listeners) {
+            assertFalse(listener.isInvoked());
+        }
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(10000));
+        for (SupportUpdateListener listener : listeners) {
+            assertEquals(1, listener.getNewDataListFlattened().length);
+            listener.reset();
+        }
+
+        epService.getEPAdministrator().getStatement("s0").destroy();
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(20000));
+        assertFalse(listeners[0].isInvoked());
+        assertEquals(1, listeners[1].getNewDataListFlattened().length);
+        assertEquals(1, listeners[2].getNewDataListFlattened().length);
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionLateStatement(EPServiceProvider epService) {
+        FilterServiceSPI filterService = getFilterService(epService);
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+
+        SupportUpdateListener listenerOne = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select a.theString as c0 from pattern [" + PATTERN + "]").addListener(listenerOne);
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 10));
+        assertEquals(2, filterService.getFilterCountApprox());
+
+        // a statement created after events were sent starts its own pattern, which a statement created after it shares
+        SupportUpdateListener listenerTwo = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select a.theString as c0 from pattern [" + PATTERN + "]").addListener(listenerTwo);
+        assertEquals(3, filterService.getFilterCountApprox());
+        SupportUpdateListener listenerThree = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select b.p00 as c0 from pattern [" + PATTERN + "]").addListener(listenerThree);
+        assertEquals(3, filterService.getFilterCountApprox());
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(10, "S1"));
+        assertEquals("E1", listenerOne.assertOneGetNewAndReset().get("c0"));
+        assertFalse(listenerTwo.isInvoked() || listenerThree.isInvoked());
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 20));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(20, "S2"));
+        assertEquals("E2", listenerOne.assertOneGetNewAndReset().get("c0"));
+        assertEquals("E2", listenerTwo.assertOneGetNewAndReset().get("c0"));
+        assertEquals("S2", listenerThree.assertOneGetNewAndReset().get("c0"));
+        epService.getEPAdministrator().destroyAllStatements();
+
+        // events and time that the pattern does not match leave it joinable, unless the pattern depends on time
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean_S0]");
+        epService.getEPRuntime().sendEvent(new SupportBean("E3", 1));
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(1000));
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean_S0]");
+        assertEquals(1, filterService.getFilterCountApprox());
+        epService.getEPAdministrator().destroyAllStatements();
+
+        SupportUpdateListener listenerTimerOne = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select * from pattern [every timer:interval(10 sec)]").addListener(listenerTimerOne);
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(2000));
+        SupportUpdateListener listenerTimerTwo = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select * from pattern [every timer:interval(10 sec)]").addListener(listenerTimerTwo);
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(11000));
+        assertTrue(listenerTimerOne.getAndClearIsInvoked());
+        assertFalse(listenerTimerTwo.isInvoked());
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(12000));
+        assertFalse(listenerTimerOne.isInvoked());
+        assertTrue(listenerTimerTwo.getAndClearIsInvoked());
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private void runAssertionNotShared(EPServiceProvider epService) {
+        FilterServiceSPI filterService = getFilterService(epService);
+
+        // consuming filters, discard-partials and subqueries keep the pattern per statement
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean@consume -> b=SupportBean_S0]");
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean@consume -> b=SupportBean_S0]");
+        assertEquals(2, filterService.getFilterCountApprox());
+        epService.getEPAdministrator().destroyAllStatements();
+
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean] where (select count(*) from SupportBean_S0#lastevent) = 0");
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean] where (select count(*) from SupportBean_S0#lastevent) = 0");
+        assertEquals(4, filterService.getFilterCountApprox());
+        epService.getEPAdministrator().destroyAllStatements();
+
+        // a pattern that is a sub-expression of another pattern is not shared with it
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean]");
+        epService.getEPAdministrator().createEPL("select * from pattern [" + PATTERN + "]");
+        assertEquals(2, filterService.getFilterCountApprox());
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 10));
+        assertEquals(3, filterService.getFilterCountApprox());
+        epService.getEPAdministrator().destroyAllStatements();
+
+        // different filters are different patterns
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean(intPrimitive = 1)]");
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean(intPrimitive = 2)]");
+        assertEquals(2, filterService.getFilterCountApprox());
+        epService.getEPAdministrator().destroyAllStatements();
+
+        // statements that differ in the use of variables have their own pattern
+        epService.getEPAdministrator().createEPL("create variable int myvar = 1");
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean]");
+        epService.getEPAdministrator().createEPL("select myvar from pattern [every a=SupportBean]");
+        assertEquals(2, filterService.getFilterCountApprox());
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private static FilterServiceSPI getFilterService(EPServiceProvider epService) {
+        return (FilterServiceSPI) ((EPServiceProviderSPI) epService).getFilterService();
+    }
+}
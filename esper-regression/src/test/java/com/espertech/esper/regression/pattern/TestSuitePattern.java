@@ -146,4 +146,8 @@ public class TestSuitePattern extends TestCase {
         RegressionRunner.run(new ExecPatternUseResult());
     }
 
+    public void testExecPatternShared() {
+        RegressionRunner.run(new ExecPatternShared());
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.resultset.aggregate;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExecAggregateBatchWindow implements RegressionExecution {
+    private final static int BATCH_SIZE = 1000;
+
+    private final boolean codegen;
+
+    public ExecAggregateBatchWindow(boolean codegen) {
+        this.codegen = codegen;
+    }
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.getEngineDefaults().getByteCodeGeneration().setEnableAggregation(codegen);
+        configuration.addEventType(SupportBean.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionUngrouped(epService);
+        runAssertionGrouped(epService, "theString");
+        runAssertionGrouped(epService, "theString, boolPrimitive");
+    }
+
+    private void runAssertionUngrouped(EPServiceProvider epService) {
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select " + selectAggregates() + " from SupportBean#length_batch(" + BATCH_SIZE + ")");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        for (int batch = 0; batch < 3; batch++) {
+            Expected expected = new Expected();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                SupportBean bean = makeBean(batch, i);
+                expected.add(bean);
+                epService.getEPRuntime().sendEvent(bean);
+            }
+            EventBean[] newEvents = listener.getAndResetLastNewData();
+            assertEquals(1, newEvents.length);
+            expected.assertRow(newEvents[0]);
+        }
+
+        stmt.destroy();
+    }
+
+    private void runAssertionGrouped(EPServiceProvider epService, String groupBy) {
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select " + groupBy + ", " + selectAggregates() + " from SupportBean#length_batch(" + BATCH_SIZE + ") group by " + groupBy);
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+        boolean multiKey = groupBy.contains(",");
+
+        for (int batch = 0; batch < 3; batch++) {
+            Map<String, Expected> expected = new HashMap<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                SupportBean bean = makeBean(batch, i);
+                expected.computeIfAbsent(groupOf(bean, multiKey), k -> new Expected()).add(bean);
+                epService.getEPRuntime().sendEvent(bean);
+            }
+            EventBean[] newEvents = listener.getAndResetLastNewData();
+            assertEquals(expected.size(), newEvents.length);
+            for (EventBean row : newEvents) {
+                String group = multiKey ? row.get("theString") + "|" + row.get("boolPrimitive") : (String) row.get("theString");
+                expected.remove(group).assertRow(row);
+            }
+        }
+
+        stmt.destroy();
+    }
+
+    private static String selectAggregates() {
+        return "sum(doublePrimitive) as sumd, avg(longPrimitive) as avgl, count(*) as cnt, min(intPrimitive) as mini, max(intPrimitive) as maxi";
+    }
+
+    // events arrive in runs of the same group and groups repeat within the batch
+    private static SupportBean makeBean(int batch, int i) {
+        SupportBean bean = new SupportBean("G" + ((i / 7) % 5), (i * 31 + batch) % 997);
+        bean.setLongPrimitive(batch * BATCH_SIZE + i);
+        bean.setDoublePrimitive((batch + 1) * i * 0.25);
+        bean.setBoolPrimitive(i % 3 == 0);
+        return bean;
+    }
+
+    private static String groupOf(SupportBean bean, boolean multiKey) {
+        return multiKey ? bean.getTheString() + "|" + bean.isBoolPrimitive() : bean.getTheString();
+    }
+
+    private static class Expected {
+        private double sumDouble;
+        private long sumLong;
+        private long count;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        void add(SupportBean bean) {
+            sumDouble += bean.getDoublePrimitive();
+            sumLong += bean.getLongPrimitive();
+            count++;
+            min = Math.min(min, bean.getIntPrimitive());
+            max = Math.max(max, bean.getIntPrimitive());
+        }
+
+        void assertRow(EventBean row) {
+            assertEquals(sumDouble, row.get("sumd"));
+            assertEquals(sumLong / (double) count, (Double) row.get("avgl"), 1e-9);
+            assertEquals(count, row.get("cnt"));
+            assertEquals(min, row.get("mini"));
+            assertEquals(max, row.get("maxi"));
+        }
+    }
+}
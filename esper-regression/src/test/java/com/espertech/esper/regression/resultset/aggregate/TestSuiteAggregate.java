@@ -78,4 +78,9 @@ public class TestSuiteAggregate extends TestCase {
         RegressionRunner.run(new ExecAggregateMinMax());
     }
 
+    public void testExecAggregateBatchWindow() {
+        RegressionRunner.run(new ExecAggregateBatchWindow(true));
+        RegressionRunner.run(new ExecAggregateBatchWindow(false));
+    }
+
 }
\ No newline at end of file
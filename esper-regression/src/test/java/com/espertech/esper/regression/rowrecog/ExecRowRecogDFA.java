@@ -0,0 +1,183 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.rowrecog;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPStatementSPI;
+import com.espertech.esper.rowregex.EventRowRegexNFAView;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+import com.espertech.esper.supportregression.rowrecog.SupportRecogBean;
+import com.espertech.esper.view.View;
+import com.espertech.esper.view.Viewable;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ExecRowRecogDFA implements RegressionExecution {
+    private static final String[] SKIP_CLAUSES = new String[]{
+        "after match skip past last row",
+        "after match skip to next row",
+        "after match skip to current row"
+    };
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.addEventType("MyEvent", SupportRecogBean.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionConcatenation(epService);
+        runAssertionExecutionChoice(epService);
+        runAssertionQuantifierFallsBackToNFA(epService);
+        for (String skip : SKIP_CLAUSES) {
+            runAssertionCompareNFA(epService, "", skip, "pattern (A B C) define A as A.value = 1, B as B.value < 3, C as C.value > 0");
+            runAssertionCompareNFA(epService, "partition by cat", skip, "pattern (A B C) define A as A.value = 1, B as B.value < 3, C as C.value > 0");
+            runAssertionCompareNFA(epService, "partition by cat", skip, "pattern (A X B) define A as A.value < 2, B as B.value >= 1");
+            runAssertionCompareNFA(epService, "", skip, "pattern (B A) define A as A.value = 2");
+        }
+    }
+
+    private void runAssertionConcatenation(EPServiceProvider epService) {
+        String[] fields = "a,b,c".split(",");
+        String text = "select * from MyEvent " +
+                "match_recognize (" +
+                "  partition by cat" +
+                "  measures A.theString as a, B.theString as b, C.theString as c" +
+                "  pattern (A B C) " +
+                "  define A as A.value = 1, B as B.value = 2, C as C.value = 3" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(text);
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        sendEvent(epService, "E1", "x", 1);
+        sendEvent(epService, "E2", "y", 1);
+        sendEvent(epService, "E3", "x", 2);
+        sendEvent(epService, "E4", "y", 5);
+        sendEvent(epService, "E5", "x", 3);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E1", "E3", "E5"});
+
+        sendEvent(epService, "E6", "y", 1);
+        sendEvent(epService, "E7", "y", 1);
+        sendEvent(epService, "E8", "y", 2);
+        sendEvent(epService, "E9", "y", 3);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E7", "E8", "E9"});
+
+        sendEvent(epService, "E10", "y", 2);
+        sendEvent(epService, "E11", "y", 3);
+        assertEquals(false, listener.isInvoked());
+
+        stmt.destroy();
+    }
+
+    private void runAssertionExecutionChoice(EPServiceProvider epService) {
+        String define = " define A as A.value = 1, B as B.value = 2, C as C.value = 3)";
+        String measures = " match_recognize (measures A.theString as a pattern ";
+        assertExecution(epService, true, "select * from MyEvent" + measures + "(A B C)" + define);
+        assertExecution(epService, false, "select * from MyEvent" + measures + "(A B+ C)" + define);
+        assertExecution(epService, false, "select * from MyEvent" + measures + "(A B* C)" + define);
+        assertExecution(epService, false, "select * from MyEvent" + measures + "(A B? C)" + define);
+        assertExecution(epService, false, "select * from MyEvent" + measures + "(A (B | C))" + define);
+        assertExecution(epService, false, "select * from MyEvent#keepall" + measures + "(A B C)" + define);
+        assertExecution(epService, false, "select * from MyEvent" + measures + "(A B C)" +
+                " define A as A.value = 1, B as B.value > A.value, C as C.value = 3)");
+    }
+
+    private void runAssertionQuantifierFallsBackToNFA(EPServiceProvider epService) {
+        String[] fields = "a,b0,b1,c".split(",");
+        String text = "select * from MyEvent " +
+                "match_recognize (" +
+                "  measures A.theString as a, B[0].theString as b0, B[1].theString as b1, C.theString as c" +
+                "  pattern (A B+ C) " +
+                "  define A as A.value = 1, B as B.value = 2, C as C.value = 3" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(text);
+        assertEquals(false, isDFA(stmt));
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        sendEvent(epService, "E1", "x", 1);
+        sendEvent(epService, "E2", "x", 2);
+        sendEvent(epService, "E3", "x", 2);
+        assertEquals(false, listener.isInvoked());
+        sendEvent(epService, "E4", "x", 3);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E1", "E2", "E3", "E4"});
+
+        sendEvent(epService, "E5", "x", 1);
+        sendEvent(epService, "E6", "x", 3);
+        assertEquals(false, listener.isInvoked());
+
+        sendEvent(epService, "E7", "x", 1);
+        sendEvent(epService, "E8", "x", 2);
+        sendEvent(epService, "E9", "x", 3);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E7", "E8", null, "E9"});
+
+        stmt.destroy();
+    }
+
+    private void assertExecution(EPServiceProvider epService, boolean expectedDFA, String epl) {
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        assertEquals(epl, expectedDFA, isDFA(stmt));
+        stmt.destroy();
+    }
+
+    private static boolean isDFA(EPStatement stmt) {
+        Viewable viewable = ((EPStatementSPI) stmt).getParentView();
+        while (viewable instanceof View) {
+            if (viewable instanceof EventRowRegexNFAView) {
+                return ((EventRowRegexNFAView) viewable).getFactory().getDFA() != null;
+            }
+            viewable = ((View) viewable).getParent();
+        }
+        fail("Match-recognize view not found");
+        return false;
+    }
+
+    private void runAssertionCompareNFA(EPServiceProvider epService, String partitionBy, String skip, String patternAndDefine) {
+        String measures = "measures A.theString as a, B.theString as b";
+        String matchRecognize = " match_recognize (" + partitionBy + " " + measures + " " + skip + " " + patternAndDefine + ")";
+
+        // the unbound stream executes as a deterministic automaton, the data window requires the NFA
+        EPStatement stmtDFA = epService.getEPAdministrator().createEPL("select * from MyEvent" + matchRecognize);
+        SupportUpdateListener listenerDFA = new SupportUpdateListener();
+        stmtDFA.addListener(listenerDFA);
+        EPStatement stmtNFA = epService.getEPAdministrator().createEPL("select * from MyEvent#keepall" + matchRecognize);
+        SupportUpdateListener listenerNFA = new SupportUpdateListener();
+        stmtNFA.addListener(listenerNFA);
+
+        Random random = new Random(1000);
+        for (int i = 0; i < 2000; i++) {
+            sendEvent(epService, "E" + i, random.nextBoolean() ? "x" : "y", random.nextInt(4));
+            assertEquals(listenerNFA.isInvoked(), listenerDFA.isInvoked());
+            if (listenerNFA.isInvoked()) {
+                EventBean[] expected = listenerNFA.getAndResetLastNewData();
+                EventBean[] received = listenerDFA.getAndResetLastNewData();
+                assertEquals(expected.length, received.length);
+                for (int j = 0; j < expected.length; j++) {
+                    EPAssertionUtil.assertProps(received[j], "a,b".split(","), new Object[]{expected[j].get("a"), expected[j].get("b")});
+                }
+            }
+        }
+
+        stmtDFA.destroy();
+        stmtNFA.destroy();
+    }
+
+    private void sendEvent(EPServiceProvider epService, String theString, String cat, int value) {
+        epService.getEPRuntime().sendEvent(new SupportRecogBean(theString, cat, value));
+    }
+}
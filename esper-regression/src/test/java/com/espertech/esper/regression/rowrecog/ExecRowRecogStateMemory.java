@@ -0,0 +1,104 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.rowrecog;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPStatementSPI;
+import com.espertech.esper.rowregex.MatchRecognizeStateMemory;
+import com.espertech.esper.rowregex.MatchRecognizeStatePoolStmtSvc;
+import com.espertech.esper.supportregression.execution.RegressionExecution;
+import com.espertech.esper.supportregression.rowrecog.SupportRecogBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExecRowRecogStateMemory implements RegressionExecution {
+
+    public void configure(Configuration configuration) throws Exception {
+        configuration.addEventType("MyEvent", SupportRecogBean.class);
+    }
+
+    public void run(EPServiceProvider epService) throws Exception {
+        runAssertionPartitioned(epService);
+        runAssertionMultimatch(epService);
+    }
+
+    private void runAssertionPartitioned(EPServiceProvider epService) {
+        String text = "select * from MyEvent " +
+                "match_recognize (" +
+                "  partition by theString" +
+                "  measures A.theString as a" +
+                "  pattern (A B) " +
+                "  define A as A.value = 1, B as B.value = 2" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(text);
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+        MatchRecognizeStatePoolStmtSvc svc = ((EPStatementSPI) stmt).getStatementContext().getMatchRecognizeStatePoolStmtSvc();
+
+        MatchRecognizeStateMemory empty = svc.getStateMemory();
+        assertEquals(0, empty.getNumPartitions());
+        assertEquals(0, empty.getEstimatedBytes());
+        assertEquals(0, empty.getEstimatedBytesPerPartition());
+
+        for (int i = 0; i < 100; i++) {
+            epService.getEPRuntime().sendEvent(new SupportRecogBean("P" + i, 1));
+        }
+        MatchRecognizeStateMemory memory = svc.getStateMemory();
+        assertEquals(100, memory.getNumPartitions());
+        assertEquals(100, memory.getNumStates());
+        assertEquals(100, memory.getNumEventReferences());
+        assertTrue(memory.getEstimatedBytesPerPartition() > 0);
+        assertEquals(memory.getEstimatedBytes() / 100, memory.getEstimatedBytesPerPartition());
+
+        for (int i = 0; i < 50; i++) {
+            epService.getEPRuntime().sendEvent(new SupportRecogBean("P" + i, 2));
+        }
+        assertEquals(50, listener.getNewDataListFlattened().length);
+        MatchRecognizeStateMemory after = svc.getStateMemory();
+        assertEquals(50, after.getNumStates());
+        assertTrue(after.getEstimatedBytes() < memory.getEstimatedBytes());
+
+        stmt.destroy();
+        assertEquals(0, svc.getStateMemory().getNumPartitions());
+    }
+
+    private void runAssertionMultimatch(EPServiceProvider epService) {
+        String text = "select * from MyEvent " +
+                "match_recognize (" +
+                "  measures A.theString as a, B[0].theString as b0" +
+                "  all matches" +
+                "  pattern (A B* C) " +
+                "  define A as A.value = 1, B as B.value = 2, C as C.value = 3" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(text);
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+        MatchRecognizeStatePoolStmtSvc svc = ((EPStatementSPI) stmt).getStatementContext().getMatchRecognizeStatePoolStmtSvc();
+
+        epService.getEPRuntime().sendEvent(new SupportRecogBean("A1", 1));
+        for (int i = 0; i < 5; i++) {
+            epService.getEPRuntime().sendEvent(new SupportRecogBean("B" + i, 2));
+        }
+        MatchRecognizeStateMemory memory = svc.getStateMemory();
+        assertEquals(1, memory.getNumPartitions());
+        assertTrue(memory.getNumStates() > 0);
+        assertTrue(memory.getNumEventReferences() >= 6);
+
+        epService.getEPRuntime().sendEvent(new SupportRecogBean("C1", 3));
+        assertEquals("B0", listener.assertOneGetNewAndReset().get("b0"));
+
+        stmt.destroy();
+    }
+}
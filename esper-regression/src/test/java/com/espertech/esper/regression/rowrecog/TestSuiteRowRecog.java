@@ -113,4 +113,12 @@ public class TestSuiteRowRecog extends TestCase {
     public void testExecRowRecogVariantStream() {
         RegressionRunner.run(new ExecRowRecogVariantStream());
     }
+
+    public void testExecRowRecogStateMemory() {
+        RegressionRunner.run(new ExecRowRecogStateMemory());
+    }
+
+    public void testExecRowRecogDFA() {
+        RegressionRunner.run(new ExecRowRecogDFA());
+    }
 }
@@ -221,6 +221,24 @@ public class ConfigurationDBRef implements Serializable {
         dataCacheDesc = new ConfigurationExpiryTimeCache(maxAgeSeconds, purgeIntervalSeconds, cacheReferenceType);
     }
 
+    /**
+     * Configures a refresh-ahead cache of the given maximum age in seconds, refresh-ahead seconds, purge interval in seconds
+     * and maximum size.
+     * <p>
+     * A query result that is used when it is older than the maximum age less the refresh-ahead seconds is returned
+     * and the query is executed again by a background thread, so that results used frequently do not expire and
+     * the engine thread does not wait for the database.
+     *
+     * @param maxAgeSeconds        is the maximum number of seconds before a query result is considered stale (also known as time-to-live)
+     * @param refreshAheadSeconds  is the number of seconds before expiry from which a query result that is used gets refreshed
+     * @param purgeIntervalSeconds is the interval at which the engine purges stale data from the cache
+     * @param maxSize              is the maximum number of entries before the oldest query results are evicted, or zero for no maximum
+     * @throws ConfigurationException if the refresh-ahead seconds are negative or not less than the maximum age
+     */
+    public void setRefreshAheadCache(double maxAgeSeconds, double refreshAheadSeconds, double purgeIntervalSeconds, int maxSize) {
+        dataCacheDesc = new ConfigurationRefreshAheadCache(maxAgeSeconds, refreshAheadSeconds, purgeIntervalSeconds, maxSize);
+    }
+
     /**
      * Return a query result data cache descriptor.
      *
@@ -304,6 +304,7 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean isListenerDispatchPreserveOrder;
         private long listenerDispatchTimeout;
         private Locking listenerDispatchLocking;
+        private boolean isListenerDispatchReuseBuffers;
 
         private boolean isInsertIntoDispatchPreserveOrder;
         private long insertIntoDispatchTimeout;
@@ -320,14 +321,17 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean isThreadPoolInbound;
         private boolean isThreadPoolRouteExec;
         private boolean isThreadPoolOutbound;
+        private boolean isThreadPoolContextPartitionExec;
         private int threadPoolTimerExecNumThreads;
         private int threadPoolInboundNumThreads;
         private int threadPoolRouteExecNumThreads;
         private int threadPoolOutboundNumThreads;
+        private int threadPoolContextPartitionExecNumThreads;
         private Integer threadPoolTimerExecCapacity;
         private Integer threadPoolInboundCapacity;
         private Integer threadPoolRouteExecCapacity;
         private Integer threadPoolOutboundCapacity;
+        private Integer threadPoolContextPartitionExecCapacity;
 
         private boolean engineFairlock;
 
@@ -354,11 +358,13 @@ public class ConfigurationEngineDefaults implements Serializable {
             isThreadPoolOutbound = false;
             isThreadPoolRouteExec = false;
             isThreadPoolTimerExec = false;
+            isThreadPoolContextPartitionExec = false;
 
             threadPoolTimerExecNumThreads = 2;
             threadPoolInboundNumThreads = 2;
             threadPoolRouteExecNumThreads = 2;
             threadPoolOutboundNumThreads = 2;
+            threadPoolContextPartitionExecNumThreads = 2;
         }
 
         /**
@@ -518,6 +524,31 @@ public class ConfigurationEngineDefaults implements Serializable {
             return listenerDispatchLocking;
         }
 
+        /**
+         * Returns true to indicate that the engine reuses the event arrays that it delivers to listeners
+         * when combining multiple results of a statement into a single delivery, or false (the default) to
+         * allocate new arrays for each delivery.
+         *
+         * @return indicator whether listener dispatch reuses result buffers
+         */
+        public boolean isListenerDispatchReuseBuffers() {
+            return isListenerDispatchReuseBuffers;
+        }
+
+        /**
+         * Sets whether the engine reuses, per thread and per statement, the event arrays that it delivers to listeners.
+         * <p>
+         * When reusing buffers, the event arrays passed to listeners and subscribers are only valid for the duration of
+         * the update invocation, and listeners that retain the arrays must copy them. The setting has no effect
+         * when outbound threading is enabled.
+         * </p>
+         *
+         * @param listenerDispatchReuseBuffers true to reuse result buffers, false to allocate per delivery
+         */
+        public void setListenerDispatchReuseBuffers(boolean listenerDispatchReuseBuffers) {
+            this.isListenerDispatchReuseBuffers = listenerDispatchReuseBuffers;
+        }
+
         /**
          * Returns the blocking strategy to use when multiple threads deliver results for
          * a single statement to consuming statements of an insert-into, and the guarantee of order of delivery must be maintained.
@@ -582,6 +613,28 @@ public class ConfigurationEngineDefaults implements Serializable {
             isThreadPoolRouteExec = threadPoolRouteExec;
         }
 
+        /**
+         * Returns true for context partition execution threading enabled, the default is false for not enabled.
+         * <p>
+         * With context partition execution threading, the processing of an event by the context partitions of a context
+         * is performed by a fixed set of engine-managed threads, each context partition always being processed by the same thread.
+         * </p>
+         *
+         * @return indicator whether context partition execution threading is enabled
+         */
+        public boolean isThreadPoolContextPartitionExec() {
+            return isThreadPoolContextPartitionExec;
+        }
+
+        /**
+         * Set to true for context partition execution threading enabled, the default is false for not enabled.
+         *
+         * @param threadPoolContextPartitionExec indicator whether context partition execution threading is enabled
+         */
+        public void setThreadPoolContextPartitionExec(boolean threadPoolContextPartitionExec) {
+            isThreadPoolContextPartitionExec = threadPoolContextPartitionExec;
+        }
+
         /**
          * Returns true for outbound threading enabled, the default is false for not enabled.
          *
@@ -654,6 +707,24 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.threadPoolRouteExecNumThreads = num;
         }
 
+        /**
+         * Returns the number of threads for context partition execution threading.
+         *
+         * @return number of threads
+         */
+        public int getThreadPoolContextPartitionExecNumThreads() {
+            return threadPoolContextPartitionExecNumThreads;
+        }
+
+        /**
+         * Sets the number of threads for context partition execution threading.
+         *
+         * @param num number of threads
+         */
+        public void setThreadPoolContextPartitionExecNumThreads(int num) {
+            this.threadPoolContextPartitionExecNumThreads = num;
+        }
+
         /**
          * Returns the number of thread in the timer execution threading pool.
          *
@@ -726,6 +797,24 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.threadPoolRouteExecCapacity = capacity;
         }
 
+        /**
+         * Returns the capacity of each context partition execution thread's queue, or null if none defined (the unbounded case, default).
+         *
+         * @return capacity or null if none defined
+         */
+        public Integer getThreadPoolContextPartitionExecCapacity() {
+            return threadPoolContextPartitionExecCapacity;
+        }
+
+        /**
+         * Sets the capacity of each context partition execution thread's queue, or null if none defined (the unbounded case, default).
+         *
+         * @param capacity capacity or null if none defined
+         */
+        public void setThreadPoolContextPartitionExecCapacity(Integer capacity) {
+            this.threadPoolContextPartitionExecCapacity = capacity;
+        }
+
         /**
          * Returns the capacity of the outbound queue, or null if none defined (the unbounded case, default).
          *
@@ -1810,8 +1899,10 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean allowIsolatedService;
         private ThreadingProfile threadingProfile = ThreadingProfile.NORMAL;
         private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
+        private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTEDMAP;
         private int filterServiceMaxFilterWidth = 16;
         private int declaredExprValueCacheSize = 1;
+        private boolean namedWindowSubqueryIndexShare;
 
         private static final long serialVersionUID = 0L;
 
@@ -1936,6 +2027,24 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.filterServiceProfile = filterServiceProfile;
         }
 
+        /**
+         * Returns the scheduling service profile for tuning schedule operations.
+         *
+         * @return scheduling service profile
+         */
+        public SchedulingServiceProfile getSchedulingServiceProfile() {
+            return schedulingServiceProfile;
+        }
+
+        /**
+         * Set the scheduling service profile for tuning schedule operations.
+         *
+         * @param schedulingServiceProfile scheduling service profile
+         */
+        public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+            this.schedulingServiceProfile = schedulingServiceProfile;
+        }
+
         /**
          * Returns the maximum width for breaking up "or" expression in filters to
          * subexpressions for reverse indexing.
@@ -1973,6 +2082,26 @@ public class ConfigurationEngineDefaults implements Serializable {
         public void setDeclaredExprValueCacheSize(int declaredExprValueCacheSize) {
             this.declaredExprValueCacheSize = declaredExprValueCacheSize;
         }
+
+        /**
+         * Returns indicator whether subqueries against named windows share indexes with other statements
+         * by default, as if each named window was created with the index-sharing hint.
+         *
+         * @return indicator
+         */
+        public boolean isNamedWindowSubqueryIndexShare() {
+            return namedWindowSubqueryIndexShare;
+        }
+
+        /**
+         * Sets indicator whether subqueries against named windows share indexes with other statements
+         * by default, as if each named window was created with the index-sharing hint.
+         *
+         * @param namedWindowSubqueryIndexShare indicator
+         */
+        public void setNamedWindowSubqueryIndexShare(boolean namedWindowSubqueryIndexShare) {
+            this.namedWindowSubqueryIndexShare = namedWindowSubqueryIndexShare;
+        }
     }
 
     /**
@@ -2002,7 +2131,30 @@ public class ConfigurationEngineDefaults implements Serializable {
         /**
          * For very dynamic filters that come and go in a highly threaded environment.
          */
-        READWRITE
+        READWRITE,
+
+        /**
+         * For many threads sending events against mostly static filters: event evaluation reads copy-on-write
+         * snapshots of equals and relational filter indexes without acquiring locks, while each filter change
+         * copies the index node that it changes.
+         */
+        LOCKFREE
+    }
+
+    /**
+     * Scheduling service profile.
+     */
+    public enum SchedulingServiceProfile {
+        /**
+         * Schedules kept in a sorted map, the default.
+         */
+        SORTEDMAP,
+
+        /**
+         * For a large number of schedules that are frequently added and removed, such as for many timer-within guards
+         * or time windows: schedules are kept in a hierarchical timing wheel, and adding a schedule does not lock.
+         */
+        TIMINGWHEEL
     }
 
     /**
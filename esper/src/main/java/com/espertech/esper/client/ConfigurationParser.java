@@ -481,6 +481,15 @@ class ConfigurationParser {
                     refTypeEnum = ConfigurationCacheReferenceType.valueOf(refType.toUpperCase(Locale.ENGLISH));
                 }
                 configDBRef.setExpiryTimeCache(Double.parseDouble(maxAge), Double.parseDouble(purgeInterval), refTypeEnum);
+            } else if (subElement.getNodeName().equals("refresh-ahead-cache")) {
+                String maxAge = getRequiredAttribute(subElement, "max-age-seconds");
+                String refreshAhead = getRequiredAttribute(subElement, "refresh-ahead-seconds");
+                String purgeInterval = getRequiredAttribute(subElement, "purge-interval-seconds");
+                int maxSize = 0;
+                if (subElement.getAttributes().getNamedItem("max-size") != null) {
+                    maxSize = Integer.parseInt(subElement.getAttributes().getNamedItem("max-size").getTextContent());
+                }
+                configDBRef.setRefreshAheadCache(Double.parseDouble(maxAge), Double.parseDouble(refreshAhead), Double.parseDouble(purgeInterval), maxSize);
             } else if (subElement.getNodeName().equals("lru-cache")) {
                 String size = getRequiredAttribute(subElement, "size");
                 configDBRef.setLRUCache(Integer.parseInt(size));
@@ -900,6 +909,11 @@ class ConfigurationParser {
                     configuration.getEngineDefaults().getThreading().setListenerDispatchLocking(
                             ConfigurationEngineDefaults.Threading.Locking.valueOf(value.toUpperCase(Locale.ENGLISH)));
                 }
+
+                if (subElement.getAttributes().getNamedItem("reuse-buffers") != null) {
+                    String value = subElement.getAttributes().getNamedItem("reuse-buffers").getTextContent();
+                    configuration.getEngineDefaults().getThreading().setListenerDispatchReuseBuffers(Boolean.parseBoolean(value));
+                }
             }
             if (subElement.getNodeName().equals("insert-into-dispatch")) {
                 String preserveOrderText = getRequiredAttribute(subElement, "preserve-order");
@@ -967,6 +981,12 @@ class ConfigurationParser {
                 configuration.getEngineDefaults().getThreading().setThreadPoolRouteExecNumThreads(result.getNumThreads());
                 configuration.getEngineDefaults().getThreading().setThreadPoolRouteExecCapacity(result.getCapacity());
             }
+            if (subElement.getNodeName().equals("threadpool-contextpartitionexec")) {
+                ThreadPoolConfig result = parseThreadPoolConfig(subElement);
+                configuration.getEngineDefaults().getThreading().setThreadPoolContextPartitionExec(result.isEnabled());
+                configuration.getEngineDefaults().getThreading().setThreadPoolContextPartitionExecNumThreads(result.getNumThreads());
+                configuration.getEngineDefaults().getThreading().setThreadPoolContextPartitionExecCapacity(result.getCapacity());
+            }
         }
     }
 
@@ -1305,6 +1325,11 @@ class ConfigurationParser {
             ConfigurationEngineDefaults.FilterServiceProfile profile = ConfigurationEngineDefaults.FilterServiceProfile.valueOf(filterServiceProfileStr.toUpperCase(Locale.ENGLISH));
             configuration.getEngineDefaults().getExecution().setFilterServiceProfile(profile);
         }
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null) {
+            ConfigurationEngineDefaults.SchedulingServiceProfile profile = ConfigurationEngineDefaults.SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase(Locale.ENGLISH));
+            configuration.getEngineDefaults().getExecution().setSchedulingServiceProfile(profile);
+        }
         String filterServiceMaxFilterWidthStr = getOptionalAttribute(parentElement, "filter-service-max-filter-width");
         if (filterServiceMaxFilterWidthStr != null) {
             configuration.getEngineDefaults().getExecution().setFilterServiceMaxFilterWidth(Integer.parseInt(filterServiceMaxFilterWidthStr));
@@ -1318,6 +1343,10 @@ class ConfigurationParser {
         if (declExprValueCacheSizeStr != null) {
             configuration.getEngineDefaults().getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
         }
+        String namedWindowSubqueryIndexShareStr = getOptionalAttribute(parentElement, "named-window-subquery-indexshare");
+        if (namedWindowSubqueryIndexShareStr != null) {
+            configuration.getEngineDefaults().getExecution().setNamedWindowSubqueryIndexShare(Boolean.parseBoolean(namedWindowSubqueryIndexShareStr));
+        }
     }
 
     private static void handleDefaultScriptConfig(Configuration configuration, Element parentElement) {
@@ -0,0 +1,84 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.client;
+
+import java.io.Serializable;
+
+/**
+ * Refresh-ahead cache settings: an expiring cache that re-queries, in the background, results
+ * that are used when close to expiry.
+ */
+public class ConfigurationRefreshAheadCache implements ConfigurationDataCache, Serializable {
+    private double maxAgeSeconds;
+    private double refreshAheadSeconds;
+    private double purgeIntervalSeconds;
+    private int maxSize;
+    private static final long serialVersionUID = -2738458210476356014L;
+
+    /**
+     * Ctor.
+     *
+     * @param maxAgeSeconds        is the maximum age in seconds
+     * @param refreshAheadSeconds  is the number of seconds before expiry from which a result that is used gets refreshed
+     * @param purgeIntervalSeconds is the purge interval
+     * @param maxSize              is the maximum cache size, or zero for no maximum
+     * @throws ConfigurationException if the refresh-ahead seconds are negative or not less than the maximum age
+     */
+    public ConfigurationRefreshAheadCache(double maxAgeSeconds, double refreshAheadSeconds, double purgeIntervalSeconds, int maxSize) {
+        if (refreshAheadSeconds < 0 || refreshAheadSeconds >= maxAgeSeconds) {
+            throw new ConfigurationException("Invalid refresh-ahead cache configuration, the refresh-ahead seconds of " + refreshAheadSeconds + " must be non-negative and less than the maximum age seconds of " + maxAgeSeconds);
+        }
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.refreshAheadSeconds = refreshAheadSeconds;
+        this.purgeIntervalSeconds = purgeIntervalSeconds;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the maximum age in seconds.
+     *
+     * @return number of seconds
+     */
+    public double getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    /**
+     * Returns the number of seconds before expiry from which a result that is used gets refreshed.
+     *
+     * @return number of seconds
+     */
+    public double getRefreshAheadSeconds() {
+        return refreshAheadSeconds;
+    }
+
+    /**
+     * Returns the purge interval length.
+     *
+     * @return purge interval in seconds
+     */
+    public double getPurgeIntervalSeconds() {
+        return purgeIntervalSeconds;
+    }
+
+    /**
+     * Returns the maximum cache size.
+     *
+     * @return max cache size, or zero for no maximum
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String toString() {
+        return "RefreshAheadCacheDesc maxAgeSeconds=" + maxAgeSeconds + " refreshAheadSeconds=" + refreshAheadSeconds + " purgeIntervalSeconds=" + purgeIntervalSeconds + " maxSize=" + maxSize;
+    }
+}
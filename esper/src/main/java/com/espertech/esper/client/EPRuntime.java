@@ -77,6 +77,56 @@ public interface EPRuntime {
      */
     public void sendEvent(org.w3c.dom.Node node) throws EPException;
 
+    /**
+     * Send a batch of events represented by plain Java objects to the event stream processing runtime.
+     * <p>
+     * Events are processed in the order provided and with the same results as sending each event
+     * by means of {@link #sendEvent(Object)}, however with less overhead per event.
+     * </p>
+     *
+     * @param objects are the events to send to the runtime
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    public void sendEvents(Object[] objects) throws EPException;
+
+    /**
+     * Send a list of events represented by plain Java objects to the event stream processing runtime.
+     * <p>
+     * Events are processed in the order provided and with the same results as sending each event
+     * by means of {@link #sendEvent(Object)}, however with less overhead per event.
+     * </p>
+     *
+     * @param objects are the events to send to the runtime
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    public void sendEvents(List<?> objects) throws EPException;
+
+    /**
+     * Send a batch of maps containing event property values to the event stream processing runtime.
+     * <p>
+     * Events are processed in the order provided and with the same results as sending each event
+     * by means of {@link #sendEvent(java.util.Map, String)}, however with less overhead per event.
+     * </p>
+     *
+     * @param maps             - maps that contain event property values
+     * @param mapEventTypeName - the name for the Map event type that was previously configured
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    public void sendEvents(Map[] maps, String mapEventTypeName) throws EPException;
+
+    /**
+     * Send a batch of object arrays containing event property values to the event stream processing runtime.
+     * <p>
+     * Events are processed in the order provided and with the same results as sending each event
+     * by means of {@link #sendEvent(Object[], String)}, however with less overhead per event.
+     * </p>
+     *
+     * @param objectarrays             - arrays that contain event property values
+     * @param objectArrayEventTypeName - the name for the Object-array event type that was previously configured
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    public void sendEvents(Object[][] objectarrays, String objectArrayEventTypeName) throws EPException;
+
     /**
      * Number of events evaluated over the lifetime of the event stream processing runtime,
      * or since the last resetStats() call.
@@ -469,6 +519,32 @@ public interface EPRuntime {
      */
     void sendEventAvro(Object avroGenericDataDotRecord, String avroEventTypeName);
 
+    /**
+     * Send a batch of events represented by Avro GenericData.Record to the event stream processing runtime.
+     * <p>
+     * Events are processed in the order provided and with the same results as sending each event
+     * by means of {@link #sendEventAvro(Object, String)}, however with less overhead per event.
+     * </p>
+     *
+     * @param avroGenericDataDotRecords are the events to send to the runtime
+     * @param avroEventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    void sendEventsAvro(Object[] avroGenericDataDotRecords, String avroEventTypeName);
+
+    /**
+     * Send a list of events represented by Avro GenericData.Record to the event stream processing runtime.
+     * <p>
+     * Events are processed in the order provided and with the same results as sending each event
+     * by means of {@link #sendEventAvro(Object, String)}, however with less overhead per event.
+     * </p>
+     *
+     * @param avroGenericDataDotRecords are the events to send to the runtime
+     * @param avroEventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    void sendEventsAvro(List<?> avroGenericDataDotRecords, String avroEventTypeName);
+
     /**
      * Route the event object back to the event stream processing runtime for internal dispatching,
      * to avoid the possibility of a stack overflow due to nested calls to sendEvent.
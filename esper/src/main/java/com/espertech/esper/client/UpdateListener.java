@@ -28,6 +28,10 @@ public interface UpdateListener {
      * but either one could be null. The same is true for zero-length arrays.
      * Either newEvents or oldEvents will be non-empty. If both are non-empty, then the update is a modification
      * notification.
+     * <p>
+     * When the engine is configured to reuse listener dispatch buffers, the arrays are only valid for the duration
+     * of the invocation and a listener that retains the arrays must copy them. The engine clears the reused arrays
+     * after the listeners return, so an array retained without copying contains null elements.
      *
      * @param newEvents is any new events. This will be null or empty if the update is for old events only.
      * @param oldEvents is any old events. This will be null or empty if the update is for new events only.
@@ -77,6 +77,18 @@ public enum HintEnum {
      */
     PREFER_MERGE_JOIN("PREFER_MERGE_JOIN", false, false, false),
 
+    /**
+     * For use with joins of three or more streams to choose the lookup order by estimated cost using the
+     * row counts and distinct keys of the join indexes, re-planning when these change significantly.
+     */
+    ADAPTIVE_JOIN_ORDER("ADAPTIVE_JOIN_ORDER", false, false, false),
+
+    /**
+     * For use with create-table for tables that have primary key columns, to have into-table aggregation
+     * lock rows by a stripe of the primary key hash so that updates to different keys can proceed in parallel.
+     */
+    ENABLE_TABLE_STRIPED_LOCK("ENABLE_TABLE_STRIPED_LOCK", false, false, false),
+
     /**
      * For use everywhere where indexes are used (subquery, joins, fire-and-forget, onl-select etc.), index hint.
      */
@@ -57,6 +57,13 @@ public interface ViewableActivatorFactory {
                                     boolean discardPartialsOnMatch,
                                     boolean isCanIterateUnbound);
 
+    ViewableActivator createPatternShared(EPServicesContext services,
+                                          String patternKey,
+                                          PatternContext patternContext,
+                                          EvalRootFactoryNode rootFactoryNode,
+                                          EventType eventType,
+                                          boolean isCanIterateUnbound);
+
     ViewableActivator createNamedWindow(NamedWindowProcessor processor,
                                         NamedWindowConsumerStreamSpec streamSpec,
                                         StatementContext statementContext);
@@ -46,6 +46,10 @@ public class ViewableActivatorFactoryDefault implements ViewableActivatorFactory
         return new ViewableActivatorPattern(patternContext, rootFactoryNode, eventType, consumingFilters, suppressSameEventMatches, discardPartialsOnMatch, isCanIterateUnbound);
     }
 
+    public ViewableActivator createPatternShared(EPServicesContext services, String patternKey, PatternContext patternContext, EvalRootFactoryNode rootFactoryNode, EventType eventType, boolean isCanIterateUnbound) {
+        return new ViewableActivatorPatternShared(services, patternKey, patternContext, rootFactoryNode, eventType, isCanIterateUnbound);
+    }
+
     public ViewableActivator createNamedWindow(NamedWindowProcessor processor, NamedWindowConsumerStreamSpec streamSpec, StatementContext statementContext) {
         return new ViewableActivatorNamedWindow(processor, streamSpec.getFilterExpressions(), streamSpec.getOptPropertyEvaluator(), statementContext.getEngineImportService(), statementContext.getStatementName());
     }
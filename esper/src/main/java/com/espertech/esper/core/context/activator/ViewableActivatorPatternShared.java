@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.context.activator;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.core.service.EPServicesContext;
+import com.espertech.esper.core.service.StatementAgentInstanceFilterVersion;
+import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.pattern.*;
+import com.espertech.esper.util.StopCallback;
+import com.espertech.esper.view.EventStream;
+import com.espertech.esper.view.ZeroDepthStreamIterable;
+import com.espertech.esper.view.ZeroDepthStreamNoIterate;
+import com.espertech.esper.view.stream.PatternStreamShared;
+import com.espertech.esper.view.stream.StreamFactoryService;
+
+import java.util.Set;
+
+/**
+ * Activator for a pattern that is shared with other statements that have a structurally identical pattern.
+ * Joins the shared pattern when it is still joinable and otherwise starts the pattern and registers it for sharing.
+ * <p>
+ * Sharing is restricted to identical patterns as a whole, without sharing common prefixes or sub-expressions,
+ * and to patterns in their start state, see {@link PatternStreamShared}.
+ */
+public class ViewableActivatorPatternShared extends ViewableActivatorPattern {
+
+    private final EPServicesContext services;
+    private final String patternKey;
+
+    protected ViewableActivatorPatternShared(EPServicesContext services, String patternKey, PatternContext patternContext, EvalRootFactoryNode rootFactoryNode, EventType eventType, boolean isCanIterate) {
+        super(patternContext, rootFactoryNode, eventType, false, false, false, isCanIterate);
+        this.services = services;
+        this.patternKey = patternKey;
+    }
+
+    public ViewableActivationResult activate(AgentInstanceContext agentInstanceContext, boolean isSubselect, boolean isRecoveringResilient) {
+        final StreamFactoryService streamService = services.getStreamService();
+        final EventStream sourceEventStream = isCanIterate() ? new ZeroDepthStreamIterable(getEventType()) : new ZeroDepthStreamNoIterate(getEventType());
+
+        PatternStreamShared existing = streamService.getSharedPattern(patternKey);
+        if (existing != null && existing.isJoinable(services.getSchedulingService())) {
+            existing.addConsumer(sourceEventStream, getEventType());
+            return new ViewableActivationResult(sourceEventStream, makeStopCallback(existing, sourceEventStream), existing.getLock(), null, null, false, false, null);
+        }
+
+        // the pattern has its own handle so that it continues when the statement starting it is destroyed
+        StatementContext statementContext = agentInstanceContext.getStatementContext();
+        EPStatementAgentInstanceHandle handle = new EPStatementAgentInstanceHandle(statementContext.getEpStatementHandle(), agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock(), -1, new StatementAgentInstanceFilterVersion(), statementContext.getFilterFaultHandlerFactory());
+        AgentInstanceContext patternAgentInstanceContext = new AgentInstanceContext(statementContext, handle, -1, null, null, null);
+        PatternAgentInstanceContext patternInstanceContext = statementContext.getPatternContextFactory().createPatternAgentContext(getPatternContext(), patternAgentInstanceContext, false, null);
+        EvalRootNode rootNode = EvalNodeUtil.makeRootNodeFromFactory(getRootFactoryNode(), patternInstanceContext);
+
+        PatternStreamShared shared = new PatternStreamShared(services.getEventAdapterService(), handle, isTimeDependent(getRootFactoryNode()), services.getSchedulingService().getTime());
+        shared.addConsumer(sourceEventStream, getEventType());
+        shared.setRootState(rootNode.start(shared, getPatternContext(), isRecoveringResilient));
+        streamService.addSharedPattern(patternKey, shared);
+        return new ViewableActivationResult(sourceEventStream, makeStopCallback(shared, sourceEventStream), shared.getLock(), null, null, false, false, null);
+    }
+
+    public String getPatternKey() {
+        return patternKey;
+    }
+
+    private static boolean isTimeDependent(EvalFactoryNode rootFactoryNode) {
+        Set<EvalFactoryNode> timeNodes = EvalNodeUtil.recursiveGetChildNodes(rootFactoryNode, new EvalNodeUtilFactoryFilter() {
+            public boolean consider(EvalFactoryNode node) {
+                return node instanceof EvalObserverFactoryNode ||
+                        node instanceof EvalGuardFactoryNode ||
+                        (node instanceof EvalEveryDistinctFactoryNode && ((EvalEveryDistinctFactoryNode) node).getTimeDeltaComputation() != null);
+            }
+        });
+        return !timeNodes.isEmpty();
+    }
+
+    private StopCallback makeStopCallback(final PatternStreamShared shared, final EventStream sourceEventStream) {
+        return new StopCallback() {
+            public void stop() {
+                if (shared.removeConsumer(sourceEventStream)) {
+                    services.getStreamService().removeSharedPattern(patternKey, shared);
+                }
+            }
+        };
+    }
+}
@@ -23,6 +23,8 @@ import com.espertech.esper.core.context.subselect.SubSelectStrategyHolder;
 import com.espertech.esper.core.service.*;
 import com.espertech.esper.core.service.resource.StatementResourceHolder;
 import com.espertech.esper.core.start.EPStatementStopMethodImpl;
+import com.espertech.esper.core.thread.RouteUnitRunnable;
+import com.espertech.esper.core.thread.ThreadingOption;
 import com.espertech.esper.epl.expression.prev.ExprPreviousEvalStrategy;
 import com.espertech.esper.epl.expression.prev.ExprPreviousNode;
 import com.espertech.esper.epl.expression.prior.ExprPriorEvalStrategy;
@@ -411,10 +413,32 @@ public class StatementAgentInstanceUtil {
         };
     }
 
-    private static void process(AgentInstance agentInstance,
-                                EPServicesContext servicesContext,
-                                Collection<FilterHandle> callbacks,
-                                EventBean theEvent) {
+    private static void process(final AgentInstance agentInstance,
+                                final EPServicesContext servicesContext,
+                                final Collection<FilterHandle> callbacks,
+                                final EventBean theEvent) {
+        // the partition's worker evaluates the event ahead of any further events the partition receives
+        if ((ThreadingOption.isThreadingEnabled) && (servicesContext.getThreadingService().isContextPartitionThreading())) {
+            servicesContext.getThreadingService().submitContextPartition(agentInstance.getAgentInstanceContext().getAgentInstanceId(), new RouteUnitRunnable() {
+                public void run() {
+                    try {
+                        processInternal(agentInstance, servicesContext, callbacks, theEvent);
+                        servicesContext.getInternalEventEngineRouteDest().dispatch();
+                        servicesContext.getInternalEventEngineRouteDest().processThreadWorkQueue();
+                    } catch (RuntimeException e) {
+                        log.error("Unexpected error processing context partition execution: " + e.getMessage(), e);
+                    }
+                }
+            });
+            return;
+        }
+        processInternal(agentInstance, servicesContext, callbacks, theEvent);
+    }
+
+    private static void processInternal(AgentInstance agentInstance,
+                                        EPServicesContext servicesContext,
+                                        Collection<FilterHandle> callbacks,
+                                        EventBean theEvent) {
         AgentInstanceContext agentInstanceContext = agentInstance.getAgentInstanceContext();
         agentInstance.getAgentInstanceContext().getAgentInstanceLock().acquireWriteLock();
         try {
@@ -19,13 +19,18 @@ import com.espertech.esper.client.deploy.EPDeploymentAdmin;
 import com.espertech.esper.client.soda.*;
 import com.espertech.esper.core.deploy.EPDeploymentAdminImpl;
 import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.lookup.EventTableIndexExplainDesc;
+import com.espertech.esper.epl.named.NamedWindowProcessor;
 import com.espertech.esper.epl.specmapper.StatementSpecMapper;
 import com.espertech.esper.epl.specmapper.StatementSpecUnMapResult;
 import com.espertech.esper.epl.spec.*;
+import com.espertech.esper.epl.table.mgmt.TableMetadata;
 import com.espertech.esper.pattern.EvalFactoryNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Implementation for the admin interface.
  */
@@ -211,6 +216,21 @@ public class EPAdministratorImpl implements EPAdministratorSPI {
         return services.getStatementLifecycleSvc().getStatementNames();
     }
 
+    public List<EventTableIndexExplainDesc> explainIndexes(String namedWindowOrTableName) throws EPException {
+        // index metadata changes only while statements are created, started, stopped or destroyed, which synchronize on the lifecycle service
+        synchronized (services.getStatementLifecycleSvc()) {
+            NamedWindowProcessor processor = services.getNamedWindowMgmtService().getProcessor(namedWindowOrTableName);
+            if (processor != null) {
+                return processor.getEventTableIndexMetadataRepo().explain();
+            }
+            TableMetadata metadata = services.getTableService().getTableMetadata(namedWindowOrTableName);
+            if (metadata != null) {
+                return metadata.getEventTableIndexMetadataRepo().explain();
+            }
+        }
+        throw new EPException("A named window or table by name '" + namedWindowOrTableName + "' does not exist");
+    }
+
     public void startAllStatements() throws EPException {
         services.getStatementLifecycleSvc().startAllStatements();
     }
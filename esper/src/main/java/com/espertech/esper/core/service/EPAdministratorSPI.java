@@ -15,9 +15,12 @@ import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EPStatement;
 import com.espertech.esper.client.soda.*;
 import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.lookup.EventTableIndexExplainDesc;
 import com.espertech.esper.epl.spec.StatementSpecRaw;
 import com.espertech.esper.pattern.EvalFactoryNode;
 
+import java.util.List;
+
 /**
  * Administrative SPI.
  */
@@ -103,4 +106,13 @@ public interface EPAdministratorSPI extends EPAdministrator {
     public EPStatement createPreparedEPLStatementId(EPPreparedStatementImpl prepared, String statementName, Object userObject, int statementId) throws EPException;
 
     public String getStatementNameForId(int statementId);
+
+    /**
+     * Explain the indexes of a named window or table, listing for each index the statements that use the index.
+     *
+     * @param namedWindowOrTableName named window or table name
+     * @return index descriptions
+     * @throws EPException if no named window or table by that name exists
+     */
+    public List<EventTableIndexExplainDesc> explainIndexes(String namedWindowOrTableName) throws EPException;
 }
@@ -0,0 +1,133 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.context.ContextPartitionState;
+import com.espertech.esper.core.context.mgr.ContextStatePathKey;
+import com.espertech.esper.core.context.mgr.ContextStatePathValue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Binary format for writing context partition paths extracted by {@link EPContextPartitionAdminSPI} to a stream
+ * and reading them back for import, such as for moving context partitions to another engine.
+ * <p>
+ * Paths are written one after the other, each as its key, optional context partition id, state and binding blob,
+ * without the use of object serialization.
+ * </p>
+ * <p>
+ * Only the context partition paths are written, i.e. the same information that
+ * {@link EPContextPartitionAdminSPI#extractPaths} extracts and {@link EPContextPartitionAdminSPI#importStartPaths} imports.
+ * The state of the statements of a context partition, such as data window contents, aggregation rows
+ * and pattern state, is not part of the format: importing the paths starts the statements of each
+ * context partition without state.
+ * </p>
+ */
+public class EPContextPartitionImportableSerde {
+    private final static int MAGIC = 0x45435050;
+    private final static byte VERSION = 1;
+
+    private final static byte FLAG_CONTEXTPARTITIONID = 1;
+    private final static byte FLAG_BLOB = 2;
+
+    /**
+     * Write the paths.
+     *
+     * @param importable paths to write
+     * @param output     output
+     * @throws IOException when the output fails
+     */
+    public static void write(EPContextPartitionImportable importable, DataOutput output) throws IOException {
+        TreeMap<ContextStatePathKey, ContextStatePathValue> paths = importable.getPaths();
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeInt(paths.size());
+        for (Map.Entry<ContextStatePathKey, ContextStatePathValue> entry : paths.entrySet()) {
+            ContextStatePathKey key = entry.getKey();
+            ContextStatePathValue value = entry.getValue();
+            output.writeInt(key.getLevel());
+            output.writeInt(key.getParentPath());
+            output.writeInt(key.getSubPath());
+
+            byte flags = 0;
+            if (value.getOptionalContextPartitionId() != null) {
+                flags |= FLAG_CONTEXTPARTITIONID;
+            }
+            if (value.getBlob() != null) {
+                flags |= FLAG_BLOB;
+            }
+            output.writeByte(flags);
+            if (value.getOptionalContextPartitionId() != null) {
+                output.writeInt(value.getOptionalContextPartitionId());
+            }
+            output.writeByte(value.getState() == null ? -1 : value.getState().ordinal());
+            if (value.getBlob() != null) {
+                output.writeInt(value.getBlob().length);
+                output.write(value.getBlob());
+            }
+        }
+    }
+
+    /**
+     * Read paths previously written by {@link #write(EPContextPartitionImportable, DataOutput)}.
+     *
+     * @param input input
+     * @return paths for import
+     * @throws IOException when the input fails or is not in the expected format
+     */
+    public static EPContextPartitionImportable read(DataInput input) throws IOException {
+        int magic = input.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Input is not a context partition extract");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported context partition extract version " + version + ", expected version " + VERSION);
+        }
+
+        int numPaths = input.readInt();
+        TreeMap<ContextStatePathKey, ContextStatePathValue> paths = new TreeMap<ContextStatePathKey, ContextStatePathValue>();
+        for (int i = 0; i < numPaths; i++) {
+            int level = input.readInt();
+            int parentPath = input.readInt();
+            int subPath = input.readInt();
+
+            byte flags = input.readByte();
+            Integer optionalContextPartitionId = null;
+            if ((flags & FLAG_CONTEXTPARTITIONID) != 0) {
+                optionalContextPartitionId = input.readInt();
+            }
+            byte stateOrdinal = input.readByte();
+            ContextPartitionState state = null;
+            if (stateOrdinal != -1) {
+                if (stateOrdinal < 0 || stateOrdinal >= ContextPartitionState.values().length) {
+                    throw new IOException("Invalid context partition state " + stateOrdinal + " for path " + i);
+                }
+                state = ContextPartitionState.values()[stateOrdinal];
+            }
+            byte[] blob = null;
+            if ((flags & FLAG_BLOB) != 0) {
+                int blobLength = input.readInt();
+                if (blobLength < 0) {
+                    throw new IOException("Invalid binding length " + blobLength + " for path " + i);
+                }
+                blob = new byte[blobLength];
+                input.readFully(blob);
+            }
+            paths.put(new ContextStatePathKey(level, parentPath, subPath), new ContextStatePathValue(optionalContextPartitionId, blob, state));
+        }
+        return new EPContextPartitionImportable(paths);
+    }
+}
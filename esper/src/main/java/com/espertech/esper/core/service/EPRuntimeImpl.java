@@ -46,6 +46,10 @@ import com.espertech.esper.epl.util.StatementSpecRawAnalyzer;
 import com.espertech.esper.epl.table.mgmt.TableExprEvaluatorContext;
 import com.espertech.esper.epl.variable.VariableMetaData;
 import com.espertech.esper.epl.variable.VariableReader;
+import com.espertech.esper.event.EventAdapterServiceHelper;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.avro.AvroSchemaEventType;
+import com.espertech.esper.event.map.MapEventType;
 import com.espertech.esper.event.util.EventRendererImpl;
 import com.espertech.esper.filter.FilterHandle;
 import com.espertech.esper.filter.FilterHandleCallback;
@@ -74,6 +78,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerCallback, InternalEventRouteDest {
     protected static final Logger log = LoggerFactory.getLogger(EPRuntimeImpl.class);
     private static final int MAX_FILTER_FAULT_COUNT = 10;
+    private static final int MAX_BATCH_EVENTS_PER_LOCK = 100;
 
     protected EPServicesContext services;
     protected boolean isLatchStatementInsertStream;
@@ -319,6 +324,198 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         }
     }
 
+    public void sendEvents(Object[] events) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading())) {
+            for (Object theEvent : events) {
+                sendEvent(theEvent);
+            }
+            return;
+        }
+        processEventBatch(events, null);
+    }
+
+    public void sendEvents(List<?> events) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event list");
+        }
+        sendEvents(events.toArray());
+    }
+
+    public void sendEvents(Map[] maps, String mapEventTypeName) throws EPException {
+        checkEventBatch(maps);
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading())) {
+            for (Map map : maps) {
+                sendEvent(map, mapEventTypeName);
+            }
+            return;
+        }
+        EventType eventType = services.getEventAdapterService().getExistsTypeByName(mapEventTypeName);
+        if (!(eventType instanceof MapEventType)) {
+            throw new EPException(EventAdapterServiceHelper.getMessageExpecting(mapEventTypeName, eventType, "Map"));
+        }
+        processEventBatch(maps, eventType);
+    }
+
+    public void sendEvents(Object[][] propertyValues, String objectArrayEventTypeName) throws EPException {
+        checkEventBatch(propertyValues);
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading())) {
+            for (Object[] values : propertyValues) {
+                sendEvent(values, objectArrayEventTypeName);
+            }
+            return;
+        }
+        EventType eventType = services.getEventAdapterService().getExistsTypeByName(objectArrayEventTypeName);
+        if (!(eventType instanceof ObjectArrayEventType)) {
+            throw new EPException(EventAdapterServiceHelper.getMessageExpecting(objectArrayEventTypeName, eventType, "Object-array"));
+        }
+        processEventBatch(propertyValues, eventType);
+    }
+
+    public void sendEventsAvro(Object[] avroGenericDataDotRecords, String avroEventTypeName) throws EPException {
+        checkEventBatch(avroGenericDataDotRecords);
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading())) {
+            for (Object avroGenericDataDotRecord : avroGenericDataDotRecords) {
+                sendEventAvro(avroGenericDataDotRecord, avroEventTypeName);
+            }
+            return;
+        }
+        EventType eventType = services.getEventAdapterService().getExistsTypeByName(avroEventTypeName);
+        if (!(eventType instanceof AvroSchemaEventType)) {
+            throw new EPException(EventAdapterServiceHelper.getMessageExpecting(avroEventTypeName, eventType, "Avro"));
+        }
+        processEventBatch(avroGenericDataDotRecords, eventType);
+    }
+
+    public void sendEventsAvro(List<?> avroGenericDataDotRecords, String avroEventTypeName) throws EPException {
+        if (avroGenericDataDotRecords == null) {
+            throw new IllegalArgumentException("Invalid null event list");
+        }
+        sendEventsAvro(avroGenericDataDotRecords.toArray(), avroEventTypeName);
+    }
+
+    private void checkEventBatch(Object[] events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+        for (Object theEvent : events) {
+            if (theEvent == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+        }
+    }
+
+    /**
+     * Process a batch of events in order, with each event processed as if sent individually.
+     * <p>
+     * The main processing lock is held from one event to the next as long as processing an event does not
+     * produce output to dispatch or events to route. Otherwise the lock is released to dispatch and to work
+     * off the thread's work queue before the next event, the same as for individually-sent events.
+     * The lock is also released after a bounded number of events so that a large batch does not block
+     * statement management for the duration of the batch.
+     * </p>
+     *
+     * @param events    to process
+     * @param eventType type of the events, or null for plain Java objects, event beans and timer events
+     */
+    private void processEventBatch(Object[] events, EventType eventType) {
+        ArrayBackedCollection<FilterHandle> matches = matchesArrayThreadLocal.get();
+        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
+        DualWorkQueue queues = threadWorkQueue.getThreadQueue();
+        boolean locked = false;
+        int numLocked = 0;
+
+        try {
+            for (Object theEvent : events) {
+                if (eventType == null) {
+                    if (theEvent == null) {
+                        log.error(".sendEvents Null object supplied");
+                        continue;
+                    }
+                    if (theEvent instanceof TimerEvent) {
+                        if (locked) {
+                            services.getEventProcessingRWLock().releaseReadLock();
+                            locked = false;
+                        }
+                        processTimeEvent((TimerEvent) theEvent);
+                        continue;
+                    }
+                }
+
+                EventBean eventBean = wrapEventBatched(theEvent, eventType);
+                if (internalEventRouter.isHasPreprocessing()) {
+                    if (locked) {
+                        services.getEventProcessingRWLock().releaseReadLock();
+                        locked = false;
+                    }
+                    processWrappedEvent(eventBean);
+                    continue;
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qStimulantEvent(eventBean, services.getEngineURI());
+                    InstrumentationHelper.get().qEvent(eventBean, services.getEngineURI(), true);
+                }
+                if (!locked) {
+                    services.getEventProcessingRWLock().acquireReadLock();
+                    locked = true;
+                    numLocked = 0;
+                }
+                try {
+                    processMatches(eventBean, matches, stmtCallbacks);
+                } catch (RuntimeException ex) {
+                    matches.clear();
+                    throw new EPException(ex);
+                } finally {
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aEvent();
+                    }
+                }
+
+                // Dispatch and work off the event queue outside of the read-lock, only if there is anything to do
+                if (services.getDispatchService().isDispatchPending() ||
+                    services.getNamedWindowDispatchService().isDispatchPending() ||
+                    !queues.getFrontQueue().isEmpty() ||
+                    !queues.getBackQueue().isEmpty()) {
+                    services.getEventProcessingRWLock().releaseReadLock();
+                    locked = false;
+                    dispatch();
+                    processThreadWorkQueue();
+                } else if (++numLocked >= MAX_BATCH_EVENTS_PER_LOCK) {
+                    services.getEventProcessingRWLock().releaseReadLock();
+                    locked = false;
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aStimulantEvent();
+                }
+            }
+        } finally {
+            if (locked) {
+                services.getEventProcessingRWLock().releaseReadLock();
+            }
+        }
+    }
+
+    private EventBean wrapEventBatched(Object theEvent, EventType eventType) {
+        if (eventType == null) {
+            if (theEvent instanceof EventBean) {
+                return (EventBean) theEvent;
+            }
+            return wrapEvent(theEvent);
+        }
+        if (eventType instanceof MapEventType) {
+            return services.getEventAdapterService().adapterForTypedMap((Map<String, Object>) theEvent, eventType);
+        }
+        if (eventType instanceof ObjectArrayEventType) {
+            return services.getEventAdapterService().adapterForTypedObjectArray((Object[]) theEvent, eventType);
+        }
+        return services.getEventAdapterService().adapterForTypedAvro(theEvent, eventType);
+    }
+
     public EventBean wrapEvent(Map map, String eventTypeName) {
         return services.getEventAdapterService().adapterForMap(map, eventTypeName);
     }
@@ -882,8 +1079,11 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
     }
 
     protected void processMatches(EventBean theEvent) {
+        processMatches(theEvent, matchesArrayThreadLocal.get(), matchesPerStmtThreadLocal.get());
+    }
+
+    private void processMatches(EventBean theEvent, ArrayBackedCollection<FilterHandle> matches, Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks) {
         // get matching filters
-        ArrayBackedCollection<FilterHandle> matches = matchesArrayThreadLocal.get();
         long version = services.getFilterService().evaluate(theEvent, matches);
 
         if (ThreadLogUtil.ENABLED_TRACE) {
@@ -905,7 +1105,6 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             return;
         }
 
-        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
         Object[] matchArray = matches.getArray();
         int entryCount = matches.size();
 
@@ -943,7 +1142,9 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
                 long deltaWall = wallTimeAfter - wallTimeBefore;
                 services.getMetricsReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
             } else {
-                if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isRouteThreading())) {
+                if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isContextPartitionThreading()) && (handle.getAgentInstanceId() >= 0)) {
+                    services.getThreadingService().submitContextPartition(handle.getAgentInstanceId(), new RouteUnitSingle(this, handleCallback, theEvent, version));
+                } else if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isRouteThreading())) {
                     services.getThreadingService().submitRoute(new RouteUnitSingle(this, handleCallback, theEvent, version));
                 } else {
                     processStatementFilterSingle(handle, handleCallback, theEvent, version, 0);
@@ -975,7 +1176,9 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
                 }
                 services.getMetricsReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, size);
             } else {
-                if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isRouteThreading())) {
+                if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isContextPartitionThreading()) && (handle.getAgentInstanceId() >= 0)) {
+                    services.getThreadingService().submitContextPartition(handle.getAgentInstanceId(), new RouteUnitMultiple(this, callbackList, theEvent, handle, version));
+                } else if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isRouteThreading())) {
                     services.getThreadingService().submitRoute(new RouteUnitMultiple(this, callbackList, theEvent, handle, version));
                 } else {
                     processStatementFilterMultiple(handle, callbackList, theEvent, version, 0);
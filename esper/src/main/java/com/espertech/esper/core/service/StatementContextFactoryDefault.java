@@ -207,10 +207,12 @@ public class StatementContextFactoryDefault implements StatementContextFactory {
 
         boolean countMatchRecogStates = engineServices.getConfigSnapshot().getEngineDefaults().getMatchRecognize().getMaxStates() != null;
         MatchRecognizeStatePoolStmtSvc matchRecognizeStatePoolStmtSvc = null;
-        if (countMatchRecogStates && statementSpecRaw.getMatchRecognizeSpec() != null) {
+        if (statementSpecRaw.getMatchRecognizeSpec() != null) {
             MatchRecognizeStatePoolStmtHandler stmtCounter = new MatchRecognizeStatePoolStmtHandler();
             matchRecognizeStatePoolStmtSvc = new MatchRecognizeStatePoolStmtSvc(engineServices.getMatchRecognizeStatePoolEngineSvc(), stmtCounter);
-            engineServices.getMatchRecognizeStatePoolEngineSvc().addPatternContext(statementName, stmtCounter);
+            if (countMatchRecogStates) {
+                engineServices.getMatchRecognizeStatePoolEngineSvc().addPatternContext(statementName, stmtCounter);
+            }
         }
 
         AgentInstanceScriptContext defaultAgentInstanceScriptContext = null;
@@ -253,7 +255,8 @@ public class StatementContextFactoryDefault implements StatementContextFactory {
                 new StatementStopServiceImpl(),
                 patternContextFactory,
                 filterService,
-                new StatementResultServiceImpl(statementName, engineServices.getStatementLifecycleSvc(), engineServices.getMetricsReportingService(), engineServices.getThreadingService()),
+                new StatementResultServiceImpl(statementName, engineServices.getStatementLifecycleSvc(), engineServices.getMetricsReportingService(), engineServices.getThreadingService(),
+                        engineServices.getEngineSettingsService().getEngineSettings().getThreading().isListenerDispatchReuseBuffers()),
                 engineServices.getInternalEventEngineRouteDest(),
                 annotations,
                 statementAgentInstanceRegistry,
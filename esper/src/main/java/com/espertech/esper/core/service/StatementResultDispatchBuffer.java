@@ -0,0 +1,196 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.UniformPair;
+
+import java.util.Arrays;
+
+/**
+ * Buffer, per thread and per statement, of the results a statement indicates for dispatch to listeners,
+ * for use when the engine reuses result buffers for listener dispatch.
+ * <p>
+ * The buffer holds indicated result arrays without allocating a pair per result and, when a dispatch combines multiple results,
+ * flattens them into arrays that are pooled by length and that are reused by subsequent dispatches of the same statement on the same thread.
+ * The pair returned by take is also reused. Listeners must therefore copy arrays that they retain beyond the update invocation.
+ * </p>
+ * <p>
+ * After delivery the reused pair and arrays are cleared by {@link #release()}, so that the buffer does not keep the
+ * events of the last dispatch reachable.
+ * </p>
+ */
+public class StatementResultDispatchBuffer {
+    /**
+     * Flattened arrays up to this length are pooled, longer arrays are allocated.
+     */
+    protected static final int MAX_POOLED_LENGTH = 64;
+    private static final int POOL_SIZE = MAX_POOLED_LENGTH + 1;
+
+    private EventBean[][] pendingNew = new EventBean[4][];
+    private EventBean[][] pendingOld = new EventBean[4][];
+    private int numPending;
+
+    private final UniformPair<EventBean[]> result = new UniformPair<>(null, null);
+    private final EventBean[][] pooledNew = new EventBean[POOL_SIZE][];
+    private final EventBean[][] pooledOld = new EventBean[POOL_SIZE][];
+    private final EventBean[] single = new EventBean[1];
+    private EventBean[] takenPooledNew;
+    private EventBean[] takenPooledOld;
+    private boolean dispatching;
+
+    /**
+     * Add a result.
+     *
+     * @param newEvents insert stream events or null
+     * @param oldEvents remove stream events or null
+     */
+    public void add(EventBean[] newEvents, EventBean[] oldEvents) {
+        if (numPending == pendingNew.length) {
+            int capacity = numPending << 1;
+            EventBean[][] resizedNew = new EventBean[capacity][];
+            EventBean[][] resizedOld = new EventBean[capacity][];
+            System.arraycopy(pendingNew, 0, resizedNew, 0, numPending);
+            System.arraycopy(pendingOld, 0, resizedOld, 0, numPending);
+            pendingNew = resizedNew;
+            pendingOld = resizedOld;
+        }
+        pendingNew[numPending] = newEvents;
+        pendingOld[numPending] = oldEvents;
+        numPending++;
+    }
+
+    /**
+     * Returns true when no results are pending.
+     *
+     * @return indicator
+     */
+    public boolean isEmpty() {
+        return numPending == 0;
+    }
+
+    /**
+     * Removes the pending results and returns them as a single pair, or null when there are no events.
+     * <p>
+     * A single pending result is returned without copying. Multiple pending results are flattened into pooled arrays,
+     * unless pooling is not allowed, in which case a new pair and new arrays are allocated.
+     * </p>
+     *
+     * @param pooled true to return the reused pair and pooled arrays, false to allocate
+     * @return flattened results or null
+     */
+    public UniformPair<EventBean[]> take(boolean pooled) {
+        if (numPending == 0) {
+            return null;
+        }
+
+        int totalNew = 0;
+        int totalOld = 0;
+        for (int i = 0; i < numPending; i++) {
+            totalNew += pendingNew[i] == null ? 0 : pendingNew[i].length;
+            totalOld += pendingOld[i] == null ? 0 : pendingOld[i].length;
+        }
+
+        UniformPair<EventBean[]> flattened;
+        if (totalNew + totalOld == 0) {
+            flattened = null;
+        } else if (numPending == 1) {
+            flattened = pooled ? result : new UniformPair<EventBean[]>(null, null);
+            flattened.setFirst(pendingNew[0]);
+            flattened.setSecond(pendingOld[0]);
+        } else {
+            flattened = pooled ? result : new UniformPair<EventBean[]>(null, null);
+            flattened.setFirst(flatten(pendingNew, totalNew, pooled ? pooledNew : null));
+            flattened.setSecond(flatten(pendingOld, totalOld, pooled ? pooledOld : null));
+            if (pooled) {
+                takenPooledNew = totalNew <= MAX_POOLED_LENGTH ? flattened.getFirst() : null;
+                takenPooledOld = totalOld <= MAX_POOLED_LENGTH ? flattened.getSecond() : null;
+            }
+        }
+
+        for (int i = 0; i < numPending; i++) {
+            pendingNew[i] = null;
+            pendingOld[i] = null;
+        }
+        numPending = 0;
+        return flattened;
+    }
+
+    /**
+     * Returns a reused single-element array holding the event.
+     *
+     * @param theEvent event
+     * @return array
+     */
+    public EventBean[] single(EventBean theEvent) {
+        single[0] = theEvent;
+        return single;
+    }
+
+    /**
+     * Clears the reused pair and the reused arrays of the last pooled take, for use after the listeners returned.
+     */
+    public void release() {
+        result.setFirst(null);
+        result.setSecond(null);
+        single[0] = null;
+        if (takenPooledNew != null) {
+            Arrays.fill(takenPooledNew, null);
+            takenPooledNew = null;
+        }
+        if (takenPooledOld != null) {
+            Arrays.fill(takenPooledOld, null);
+            takenPooledOld = null;
+        }
+    }
+
+    /**
+     * Returns true while results taken from this buffer are being delivered to listeners.
+     *
+     * @return indicator
+     */
+    public boolean isDispatching() {
+        return dispatching;
+    }
+
+    /**
+     * Sets the indicator whether results taken from this buffer are being delivered to listeners.
+     *
+     * @param dispatching indicator
+     */
+    public void setDispatching(boolean dispatching) {
+        this.dispatching = dispatching;
+    }
+
+    private EventBean[] flatten(EventBean[][] pending, int total, EventBean[][] pool) {
+        if (total == 0) {
+            return null;
+        }
+        EventBean[] target;
+        if (pool != null && total <= MAX_POOLED_LENGTH) {
+            target = pool[total];
+            if (target == null) {
+                target = new EventBean[total];
+                pool[total] = target;
+            }
+        } else {
+            target = new EventBean[total];
+        }
+        int position = 0;
+        for (int i = 0; i < numPending; i++) {
+            if (pending[i] != null) {
+                System.arraycopy(pending[i], 0, target, position, pending[i].length);
+                position += pending[i].length;
+            }
+        }
+        return target;
+    }
+}
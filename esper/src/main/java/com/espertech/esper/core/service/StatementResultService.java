@@ -83,6 +83,14 @@ public interface StatementResultService {
      */
     public void indicate(UniformPair<EventBean[]> results);
 
+    /**
+     * Stores for dispatching the statement results, without allocating a pair when dispatch buffers are reused.
+     *
+     * @param newEvents is the insert stream data, or null if none
+     * @param oldEvents is the remove stream data, or null if none
+     */
+    public void indicate(EventBean[] newEvents, EventBean[] oldEvents);
+
     /**
      * Execution of result indication.
      */
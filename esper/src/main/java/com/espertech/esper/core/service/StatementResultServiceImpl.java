@@ -47,6 +47,7 @@ public class StatementResultServiceImpl implements StatementResultService {
     private final StatementLifecycleSvc statementLifecycleSvc;
     private final MetricReportingService metricReportingService;
     private final ThreadingService threadingService;
+    private final boolean reuseDispatchBuffers;
 
     // Part of the statement context
     private EPStatementSPI epStatement;
@@ -82,6 +83,15 @@ public class StatementResultServiceImpl implements StatementResultService {
         }
     };
 
+    /**
+     * Buffer for holding dispatchable events when reusing result buffers.
+     */
+    protected ThreadLocal<StatementResultDispatchBuffer> dispatchBuffers = new ThreadLocal<StatementResultDispatchBuffer>() {
+        protected synchronized StatementResultDispatchBuffer initialValue() {
+            return new StatementResultDispatchBuffer();
+        }
+    };
+
     /**
      * Ctor.
      *
@@ -94,6 +104,23 @@ public class StatementResultServiceImpl implements StatementResultService {
                                       StatementLifecycleSvc statementLifecycleSvc,
                                       MetricReportingServiceSPI metricReportingService,
                                       ThreadingService threadingService) {
+        this(statementName, statementLifecycleSvc, metricReportingService, threadingService, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param statementLifecycleSvc  handles persistence for statements
+     * @param metricReportingService for metrics reporting
+     * @param threadingService       for outbound threading
+     * @param statementName          statement name
+     * @param reuseDispatchBuffers   true to reuse the event arrays delivered to listeners
+     */
+    public StatementResultServiceImpl(String statementName,
+                                      StatementLifecycleSvc statementLifecycleSvc,
+                                      MetricReportingServiceSPI metricReportingService,
+                                      ThreadingService threadingService,
+                                      boolean reuseDispatchBuffers) {
         log.debug(".ctor");
         this.statementName = statementName;
         this.statementLifecycleSvc = statementLifecycleSvc;
@@ -104,6 +131,7 @@ public class StatementResultServiceImpl implements StatementResultService {
             this.statementOutputHooks = Collections.EMPTY_SET;
         }
         this.threadingService = threadingService;
+        this.reuseDispatchBuffers = reuseDispatchBuffers;
     }
 
     public void setContext(EPStatementSPI epStatement, EPServiceProviderSPI epServiceProvider,
@@ -183,6 +211,10 @@ public class StatementResultServiceImpl implements StatementResultService {
     // Called by OutputProcessView
     public void indicate(UniformPair<EventBean[]> results) {
         if (results != null) {
+            if (reuseDispatchBuffers) {
+                indicate(results.getFirst(), results.getSecond());
+                return;
+            }
             if ((MetricReportingPath.isMetricsEnabled) && (statementMetricHandle.isEnabled())) {
                 int numIStream = (results.getFirst() != null) ? results.getFirst().length : 0;
                 int numRStream = (results.getSecond() != null) ? results.getSecond().length : 0;
@@ -197,7 +229,28 @@ public class StatementResultServiceImpl implements StatementResultService {
         }
     }
 
+    public void indicate(EventBean[] newEvents, EventBean[] oldEvents) {
+        if (!reuseDispatchBuffers) {
+            indicate(new UniformPair<>(newEvents, oldEvents));
+            return;
+        }
+        if ((MetricReportingPath.isMetricsEnabled) && (statementMetricHandle.isEnabled())) {
+            int numIStream = (newEvents != null) ? newEvents.length : 0;
+            int numRStream = (oldEvents != null) ? oldEvents.length : 0;
+            this.metricReportingService.accountOutput(statementMetricHandle, numIStream, numRStream);
+        }
+
+        if (((newEvents != null) && (newEvents.length != 0)) || ((oldEvents != null) && (oldEvents.length != 0))) {
+            dispatchBuffers.get().add(newEvents, oldEvents);
+        }
+    }
+
     public void execute() {
+        if (reuseDispatchBuffers) {
+            executeReuseBuffers();
+            return;
+        }
+
         ArrayDeque<UniformPair<EventBean[]>> dispatches = lastResults.get();
 
         UniformPair<EventBean[]> events = EventBeanUtility.flattenList(dispatches);
@@ -219,12 +272,51 @@ public class StatementResultServiceImpl implements StatementResultService {
         dispatches.clear();
     }
 
+    private void executeReuseBuffers() {
+        StatementResultDispatchBuffer buffer = dispatchBuffers.get();
+
+        // results handed to outbound threads, or taken by a dispatch nested within a listener, are not pooled
+        boolean outbound = (ThreadingOption.isThreadingEnabled) && (threadingService.isOutboundThreading());
+        boolean pooled = !outbound && !buffer.isDispatching();
+        UniformPair<EventBean[]> events = buffer.take(pooled);
+
+        if (ExecutionPathDebugLog.isDebugEnabled && log.isDebugEnabled()) {
+            ViewSupport.dumpUpdateParams(".execute", events);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qaStatementResultExecute(events, epStatement.getStatementId(), epStatement.getName(), exprEvaluatorContext.getAgentInstanceId(), Thread.currentThread().getId());
+        }
+
+        if (outbound) {
+            threadingService.submitOutbound(new OutboundUnitRunnable(events, this));
+            return;
+        }
+
+        if (!pooled) {
+            processDispatch(events, null);
+            return;
+        }
+
+        buffer.setDispatching(true);
+        try {
+            processDispatch(events, buffer);
+        } finally {
+            buffer.setDispatching(false);
+            buffer.release();
+        }
+    }
+
     /**
      * Indicate an outbound result.
      *
      * @param events to indicate
      */
     public void processDispatch(UniformPair<EventBean[]> events) {
+        processDispatch(events, null);
+    }
+
+    private void processDispatch(UniformPair<EventBean[]> events, StatementResultDispatchBuffer buffer) {
         // Plain all-events delivery
         if (!forClauseDelivery) {
             dispatchInternal(events);
@@ -237,14 +329,14 @@ public class StatementResultServiceImpl implements StatementResultService {
             if (events != null) {
                 if (events.getFirst() != null) {
                     for (EventBean theEvent : events.getFirst()) {
-                        todeliver.setFirst(new EventBean[]{theEvent});
+                        todeliver.setFirst(buffer != null ? buffer.single(theEvent) : new EventBean[]{theEvent});
                         dispatchInternal(todeliver);
                     }
                     todeliver.setFirst(null);
                 }
                 if (events.getSecond() != null) {
                     for (EventBean theEvent : events.getSecond()) {
-                        todeliver.setSecond(new EventBean[]{theEvent});
+                        todeliver.setSecond(buffer != null ? buffer.single(theEvent) : new EventBean[]{theEvent});
                         dispatchInternal(todeliver);
                     }
                     todeliver.setSecond(null);
@@ -369,6 +461,19 @@ public class StatementResultServiceImpl implements StatementResultService {
      * Dispatches when the statement is stopped any remaining results.
      */
     public void dispatchOnStop() {
+        if (reuseDispatchBuffers) {
+            if (dispatchBuffers.get().isEmpty()) {
+                return;
+            }
+            execute();
+            dispatchBuffers = new ThreadLocal<StatementResultDispatchBuffer>() {
+                protected synchronized StatementResultDispatchBuffer initialValue() {
+                    return new StatementResultDispatchBuffer();
+                }
+            };
+            return;
+        }
+
         ArrayDeque<UniformPair<EventBean[]>> dispatches = lastResults.get();
         if (dispatches.isEmpty()) {
             return;
@@ -41,11 +41,16 @@ public class UpdateDispatchViewBlockingSpin extends UpdateDispatchViewBase {
     }
 
     public void update(EventBean[] newData, EventBean[] oldData) {
-        newResult(new UniformPair<>(newData, oldData));
+        statementResultService.indicate(newData, oldData);
+        scheduleDispatch();
     }
 
     public void newResult(UniformPair<EventBean[]> result) {
         statementResultService.indicate(result);
+        scheduleDispatch();
+    }
+
+    private void scheduleDispatch() {
         MutableBoolean waiting = isDispatchWaiting.get();
         if (!waiting.isValue()) {
             UpdateDispatchFutureSpin nextFutureSpin;
@@ -31,11 +31,16 @@ public class UpdateDispatchViewNonBlocking extends UpdateDispatchViewBase {
     }
 
     public void update(EventBean[] newData, EventBean[] oldData) {
-        newResult(new UniformPair<>(newData, oldData));
+        statementResultService.indicate(newData, oldData);
+        scheduleDispatch();
     }
 
     public void newResult(UniformPair<EventBean[]> results) {
         statementResultService.indicate(results);
+        scheduleDispatch();
+    }
+
+    private void scheduleDispatch() {
         MutableBoolean waiting = isDispatchWaiting.get();
         if (!waiting.isValue()) {
             dispatchService.addExternal(this);
@@ -136,11 +136,7 @@ public class EPStatementStartMethodHelperSubselect {
                 }
 
                 // if named-window index sharing is disabled (the default) or filter expressions are provided then consume the insert-remove stream
-                boolean disableIndexShare = HintEnum.DISABLE_WINDOW_SUBQUERY_INDEXSHARE.getHint(statementSpecContainer.getAnnotations()) != null;
-                if (disableIndexShare && processor.isVirtualDataWindow()) {
-                    disableIndexShare = false;
-                }
-                if (!namedSpec.getFilterExpressions().isEmpty() || !processor.isEnableSubqueryIndexShare() || disableIndexShare) {
+                if (!isSubqueryIndexShare(processor, namedSpec, statementSpecContainer.getAnnotations(), statementContext)) {
                     ViewableActivator activatorNamedWindow = services.getViewableActivatorFactory().createNamedWindow(processor, namedSpec, statementContext);
                     ViewFactoryChain viewFactoryChain = services.getViewService().createFactories(0, namedWindowType, namedSpec.getViewSpecs(), namedSpec.getOptions(), statementContext, true, subselect.getSubselectNumber());
                     subselect.setRawEventType(viewFactoryChain.getEventType());
@@ -812,12 +808,7 @@ public class EPStatementStartMethodHelperSubselect {
                     throw new ExprValidationException("A named window by name '" + namedSpec.getWindowName() + "' does not exist");
                 }
 
-                boolean disableIndexShare = HintEnum.DISABLE_WINDOW_SUBQUERY_INDEXSHARE.getHint(annotations) != null;
-                if (disableIndexShare && processor.isVirtualDataWindow()) {
-                    disableIndexShare = false;
-                }
-
-                if (!disableIndexShare && processor.isEnableSubqueryIndexShare()) {
+                if (isSubqueryIndexShare(processor, namedSpec, annotations, statementContext)) {
                     validateContextAssociation(statementContext, processor.getContextName(), "named window '" + processor.getNamedWindowName() + "'");
                     if (queryPlanLogging && QUERY_PLAN_LOG.isInfoEnabled()) {
                         QUERY_PLAN_LOG.info("prefering shared index");
@@ -869,6 +860,31 @@ public class EPStatementStartMethodHelperSubselect {
         return new SubSelectStrategyFactoryDesc(subSelectActivation, factory, aggregationServiceFactoryDesc, priorNodes, previousNodes, subqueryNum);
     }
 
+    private static boolean isSubqueryIndexShare(NamedWindowProcessor processor, NamedWindowConsumerStreamSpec namedSpec, Annotation[] annotations, StatementContext statementContext) {
+        if (!namedSpec.getFilterExpressions().isEmpty() || !processor.isEnableSubqueryIndexShare()) {
+            return false;
+        }
+        boolean disableIndexShare = HintEnum.DISABLE_WINDOW_SUBQUERY_INDEXSHARE.getHint(annotations) != null;
+        if (disableIndexShare && processor.isVirtualDataWindow()) {
+            disableIndexShare = false;
+        }
+        if (disableIndexShare) {
+            return false;
+        }
+
+        // when index sharing is enabled by engine default, subqueries that would not be valid against the shared index keep their own index
+        if (processor.isSubqueryIndexShareEngineDefault()) {
+            if (namedSpec.getOptPropertyEvaluator() != null) {
+                return false;
+            }
+            String optionalProvidedContextName = statementContext.getContextDescriptor() == null ? null : statementContext.getContextDescriptor().getContextName();
+            if (processor.getContextName() != null && !processor.getContextName().equals(optionalProvidedContextName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static String validateContextAssociation(StatementContext statementContext, String entityDeclaredContextName, String entityDesc)
             throws ExprValidationException {
         String optionalProvidedContextName = statementContext.getContextDescriptor() == null ? null : statementContext.getContextDescriptor().getContextName();
@@ -11,10 +11,14 @@
 package com.espertech.esper.core.start;
 
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.Audit;
+import com.espertech.esper.client.annotation.Drop;
 import com.espertech.esper.client.annotation.HookType;
 import com.espertech.esper.client.annotation.IterableUnbound;
+import com.espertech.esper.client.annotation.Priority;
 import com.espertech.esper.client.hook.SQLColumnTypeConversion;
 import com.espertech.esper.client.hook.SQLOutputRowConversion;
+import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.context.activator.ViewableActivator;
 import com.espertech.esper.core.context.activator.ViewableActivatorFactory;
 import com.espertech.esper.core.context.factory.StatementAgentInstanceFactorySelect;
@@ -59,14 +63,17 @@ import com.espertech.esper.metrics.instrumentation.InstrumentationAgent;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.pattern.EvalRootFactoryNode;
 import com.espertech.esper.pattern.PatternContext;
+import com.espertech.esper.pattern.PatternExpressionPrecedenceEnum;
 import com.espertech.esper.rowregex.EventRowRegexNFAViewFactory;
 import com.espertech.esper.type.OuterJoinType;
 import com.espertech.esper.util.StopCallback;
 import com.espertech.esper.view.HistoricalEventViewable;
 import com.espertech.esper.view.ViewFactoryChain;
 
+import java.io.StringWriter;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Starts and provides the stop method for EPL statements.
@@ -173,8 +180,14 @@ public class EPStatementStartMethodSelectUtil {
                 final EvalRootFactoryNode rootFactoryNode = services.getPatternNodeFactory().makeRootNode(patternStreamSpec.getEvalFactoryNode());
                 final PatternContext patternContext = statementContext.getPatternContextFactory().createContext(statementContext, i, rootFactoryNode, patternStreamSpec.getMatchedEventMapMeta(), true);
 
-                // create activator
-                ViewableActivator patternActivator = services.getViewableActivatorFactory().createPattern(patternContext, rootFactoryNode, eventType, EPStatementStartMethodHelperUtil.isConsumingFilters(patternStreamSpec.getEvalFactoryNode()), patternStreamSpec.isSuppressSameEventMatches(), patternStreamSpec.isDiscardPartialsOnMatch(), isCanIterateUnbound);
+                // create activator, sharing the pattern with statements that have the same pattern when possible
+                ViewableActivator patternActivator;
+                String sharedPatternKey = getSharedPatternKey(statementSpec, services, statementContext, patternStreamSpec, isJoin, hasContext);
+                if (sharedPatternKey != null) {
+                    patternActivator = services.getViewableActivatorFactory().createPatternShared(services, sharedPatternKey, patternContext, rootFactoryNode, eventType, isCanIterateUnbound);
+                } else {
+                    patternActivator = services.getViewableActivatorFactory().createPattern(patternContext, rootFactoryNode, eventType, EPStatementStartMethodHelperUtil.isConsumingFilters(patternStreamSpec.getEvalFactoryNode()), patternStreamSpec.isSuppressSameEventMatches(), patternStreamSpec.isDiscardPartialsOnMatch(), isCanIterateUnbound);
+                }
                 eventStreamParentViewableActivators[i] = patternActivator;
             } else if (streamSpec instanceof DBStatementStreamSpec) {
                 // Create view factories and parent view based on a database SQL statement
@@ -342,6 +355,60 @@ public class EPStatementStartMethodSelectUtil {
         return new EPStatementStartMethodSelectDesc(factory, subSelectStrategyCollection, viewResourceDelegateUnverified, resultSetProcessorPrototypeDesc, stopMethod, destroyCallbacks);
     }
 
+    /**
+     * Returns the structural key of the pattern for sharing the pattern between statements,
+     * or null if the pattern of the statement cannot be shared.
+     * <p>
+     * Sharing requires view sharing to be enabled and that the pattern is the only stream and does not
+     * depend on statement-specific state such as a context, subqueries or declared expressions.
+     * Statements that differ in the use of variables or tables have different keys.
+     */
+    private static String getSharedPatternKey(StatementSpecCompiled statementSpec, EPServicesContext services, StatementContext statementContext, PatternStreamSpecCompiled patternStreamSpec, boolean isJoin, boolean hasContext) {
+        if (!services.getConfigSnapshot().getEngineDefaults().getViewResources().isShareViews() || isJoin || hasContext) {
+            return null;
+        }
+        if (statementContext.getFilterService() != services.getFilterService() || statementContext.getSchedulingService() != services.getSchedulingService()) {
+            return null;
+        }
+        if (patternStreamSpec.isSuppressSameEventMatches() || patternStreamSpec.isDiscardPartialsOnMatch() || EPStatementStartMethodHelperUtil.isConsumingFilters(patternStreamSpec.getEvalFactoryNode())) {
+            return null;
+        }
+        if (AnnotationUtil.findAnnotation(statementSpec.getAnnotations(), Audit.class) != null ||
+                AnnotationUtil.findAnnotation(statementSpec.getAnnotations(), Priority.class) != null ||
+                AnnotationUtil.findAnnotation(statementSpec.getAnnotations(), Drop.class) != null) {
+            return null;
+        }
+        if ((statementSpec.getSubSelectExpressions() != null && statementSpec.getSubSelectExpressions().length > 0) ||
+                (statementSpec.getDeclaredExpressions() != null && statementSpec.getDeclaredExpressions().length > 0) ||
+                (statementSpec.getScripts() != null && statementSpec.getScripts().length > 0)) {
+            return null;
+        }
+
+        StringWriter writer = new StringWriter();
+        patternStreamSpec.getEvalFactoryNode().toEPL(writer, PatternExpressionPrecedenceEnum.MINIMUM);
+        if (!appendTagTypes(writer, "tagged", patternStreamSpec.getTaggedEventTypes()) ||
+                !appendTagTypes(writer, "array", patternStreamSpec.getArrayEventTypes())) {
+            return null;
+        }
+
+        // the shared pattern takes its handle from the statement starting it, which must agree on variable and table use
+        EPStatementHandle statementHandle = statementContext.getEpStatementHandle();
+        writer.append(" variables=").append(Boolean.toString(statementHandle.isHasVariables()));
+        writer.append(" tables=").append(Boolean.toString(statementHandle.isHasTableAccess()));
+        return writer.toString();
+    }
+
+    private static boolean appendTagTypes(StringWriter writer, String kind, Map<String, Pair<EventType, String>> tagTypes) {
+        writer.append(" ").append(kind);
+        for (Map.Entry<String, Pair<EventType, String>> entry : tagTypes.entrySet()) {
+            if (entry.getValue().getFirst().getName() == null) {
+                return false;
+            }
+            writer.append(" ").append(entry.getKey()).append("=").append(entry.getValue().getFirst().getName());
+        }
+        return true;
+    }
+
     private static void validateNoViews(StreamSpecCompiled streamSpec, String conceptName)
             throws ExprValidationException {
         if (streamSpec.getViewSpecs().length > 0) {
@@ -89,6 +89,21 @@ public interface ThreadingService {
      */
     public void submitOutbound(OutboundUnitRunnable unit);
 
+    /**
+     * Returns true for context partition execution threading enabled.
+     *
+     * @return indicator
+     */
+    public boolean isContextPartitionThreading();
+
+    /**
+     * Submit context partition work unit, the unit executing on the thread that the context partition is assigned to.
+     *
+     * @param agentInstanceId context partition id
+     * @param unit            unit of work
+     */
+    public void submitContextPartition(int agentInstanceId, RouteUnitRunnable unit);
+
     /**
      * Returns the outbound queue.
      *
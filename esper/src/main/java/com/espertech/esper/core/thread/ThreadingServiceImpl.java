@@ -29,16 +29,19 @@ public class ThreadingServiceImpl implements ThreadingService {
     private final boolean isInboundThreading;
     private final boolean isRouteThreading;
     private final boolean isOutboundThreading;
+    private final boolean isContextPartitionThreading;
 
     private BlockingQueue<Runnable> timerQueue;
     private BlockingQueue<Runnable> inboundQueue;
     private BlockingQueue<Runnable> routeQueue;
     private BlockingQueue<Runnable> outboundQueue;
+    private BlockingQueue<Runnable>[] contextPartitionQueues;
 
     private ThreadPoolExecutor timerThreadPool;
     private ThreadPoolExecutor inboundThreadPool;
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
+    private ThreadPoolExecutor[] contextPartitionThreadPools;
 
     /**
      * Ctor.
@@ -52,11 +55,13 @@ public class ThreadingServiceImpl implements ThreadingService {
             isInboundThreading = threadingConfig.isThreadPoolInbound();
             isRouteThreading = threadingConfig.isThreadPoolRouteExec();
             isOutboundThreading = threadingConfig.isThreadPoolOutbound();
+            isContextPartitionThreading = threadingConfig.isThreadPoolContextPartitionExec();
         } else {
             isTimerThreading = false;
             isInboundThreading = false;
             isRouteThreading = false;
             isOutboundThreading = false;
+            isContextPartitionThreading = false;
         }
     }
 
@@ -76,6 +81,10 @@ public class ThreadingServiceImpl implements ThreadingService {
         return isOutboundThreading;
     }
 
+    public boolean isContextPartitionThreading() {
+        return isContextPartitionThreading;
+    }
+
     public void initThreading(EPServicesContext services, EPRuntimeImpl runtime) {
         if (isInboundThreading) {
             inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
@@ -96,6 +105,17 @@ public class ThreadingServiceImpl implements ThreadingService {
             outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
             outboundThreadPool = getThreadPool(services.getEngineURI(), "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
         }
+
+        if (isContextPartitionThreading) {
+            // each context partition is assigned to a single-threaded pool so that its events are processed in order
+            int numThreads = Math.max(1, config.getThreadPoolContextPartitionExecNumThreads());
+            contextPartitionQueues = new BlockingQueue[numThreads];
+            contextPartitionThreadPools = new ThreadPoolExecutor[numThreads];
+            for (int i = 0; i < numThreads; i++) {
+                contextPartitionQueues[i] = makeQueue(config.getThreadPoolContextPartitionExecCapacity());
+                contextPartitionThreadPools[i] = getThreadPool(services.getEngineURI(), "ContextPartitionExec-" + i, contextPartitionQueues[i], 1);
+            }
+        }
     }
 
     private BlockingQueue<Runnable> makeQueue(Integer threadPoolTimerExecCapacity) {
@@ -132,6 +152,14 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
+    public void submitContextPartition(int agentInstanceId, RouteUnitRunnable unit) {
+        try {
+            contextPartitionQueues[agentInstanceId % contextPartitionQueues.length].put(unit);
+        } catch (InterruptedException e) {
+            log.info("Submit interrupted:" + e);
+        }
+    }
+
     public void submitTimerWork(TimerUnit unit) {
         try {
             timerQueue.put(unit);
@@ -185,11 +213,17 @@ public class ThreadingServiceImpl implements ThreadingService {
         if (inboundThreadPool != null) {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
+        if (contextPartitionThreadPools != null) {
+            for (int i = 0; i < contextPartitionThreadPools.length; i++) {
+                stopPool(contextPartitionThreadPools[i], contextPartitionQueues[i], "ContextPartitionExec-" + i);
+            }
+        }
 
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        contextPartitionThreadPools = null;
     }
 
     private ThreadPoolExecutor getThreadPool(String engineURI, String name, BlockingQueue<Runnable> queue, int numThreads) {
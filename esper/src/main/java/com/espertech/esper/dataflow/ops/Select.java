@@ -212,6 +212,10 @@ public class Select implements OutputProcessViewCallback, DataFlowOpLifecycle {
                 throw new UnsupportedOperationException();
             }
 
+            public ViewableActivator createPatternShared(EPServicesContext services, String patternKey, PatternContext patternContext, EvalRootFactoryNode rootFactoryNode, EventType eventType, boolean isCanIterateUnbound) {
+                throw new UnsupportedOperationException();
+            }
+
             public ViewableActivator createNamedWindow(NamedWindowProcessor processor, NamedWindowConsumerStreamSpec streamSpec, StatementContext statementContext) {
                 throw new UnsupportedOperationException();
             }
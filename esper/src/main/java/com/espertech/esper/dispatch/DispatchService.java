@@ -38,4 +38,12 @@ public interface DispatchService {
      */
     public void dispatch();
 
+    /**
+     * Returns indicator whether the current thread has Dispatchable implementations that were added
+     * since the last invocation of the dispatch method.
+     *
+     * @return indicator whether dispatch is pending
+     */
+    public boolean isDispatchPending();
+
 }
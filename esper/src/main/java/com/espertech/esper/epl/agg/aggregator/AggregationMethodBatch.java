@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.aggregator;
+
+/**
+ * Optionally implemented by aggregation states that apply a run of values in one call, keeping the state in primitive
+ * local variables for the duration of the run.
+ * <p>
+ * Applying a run has the same outcome as applying each value in order through {@link #enter} or {@link #leave}.
+ * </p>
+ */
+public interface AggregationMethodBatch extends AggregationMethod {
+    /**
+     * Apply the values as entering aggregation.
+     *
+     * @param values values
+     * @param start  index of the first value to apply
+     * @param end    index after the last value to apply
+     */
+    void enterBatch(Object[] values, int start, int end);
+
+    /**
+     * Apply the values as leaving aggregation.
+     *
+     * @param values values
+     * @param start  index of the first value to apply
+     * @param end    index after the last value to apply
+     */
+    void leaveBatch(Object[] values, int start, int end);
+}
@@ -19,7 +19,7 @@ import static com.espertech.esper.epl.agg.aggregator.AggregatorCodegenUtil.sumRe
 /**
  * Average that generates double-typed numbers.
  */
-public class AggregatorAvg implements AggregationMethod {
+public class AggregatorAvg implements AggregationMethodBatch {
     protected double sum;
     protected long cnt;
 
@@ -48,6 +48,39 @@ public class AggregatorAvg implements AggregationMethod {
         }
     }
 
+    public void enterBatch(Object[] values, int start, int end) {
+        double s = sum;
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            n++;
+            s += ((Number) values[i]).doubleValue();
+        }
+        sum = s;
+        cnt = n;
+    }
+
+    public void leaveBatch(Object[] values, int start, int end) {
+        double s = sum;
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            if (n <= 1) {
+                s = 0;
+                n = 0;
+            } else {
+                n--;
+                s -= ((Number) values[i]).doubleValue();
+            }
+        }
+        sum = s;
+        cnt = n;
+    }
+
     public Object getValue() {
         if (cnt == 0) {
             return null;
@@ -33,4 +33,18 @@ public class AggregatorAvgFilter extends AggregatorAvg {
         }
         super.leave(paramArray[0]);
     }
+
+    @Override
+    public void enterBatch(Object[] parameters, int start, int end) {
+        for (int i = start; i < end; i++) {
+            enter(parameters[i]);
+        }
+    }
+
+    @Override
+    public void leaveBatch(Object[] parameters, int start, int end) {
+        for (int i = start; i < end; i++) {
+            leave(parameters[i]);
+        }
+    }
 }
@@ -28,7 +28,7 @@ import static com.espertech.esper.codegen.model.expression.CodegenExpressionRela
 /**
  * Counts all datapoints including null values.
  */
-public class AggregatorCount implements AggregationMethod {
+public class AggregatorCount implements AggregationMethodBatch {
     protected long cnt;
 
     public static void rowMemberCodegen(boolean distinct, int column, CodegenCtor ctor, CodegenMembersColumnized membersColumnized) {
@@ -74,6 +74,14 @@ public class AggregatorCount implements AggregationMethod {
         }
     }
 
+    public void enterBatch(Object[] values, int start, int end) {
+        cnt += end - start;
+    }
+
+    public void leaveBatch(Object[] values, int start, int end) {
+        cnt = Math.max(0, cnt - (end - start));
+    }
+
     public static void applyLeaveCodegen(boolean distinct, boolean hasFilter, int column, CodegenMethodNode method, ExprForge[] forges, ExprForgeCodegenSymbol symbols, CodegenClassScope classScope) {
         if (hasFilter) {
             AggregatorCodegenUtil.prefixWithFilterCheck(forges[forges.length - 1], method, symbols, classScope);
@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Count all non-null values.
  */
-public class AggregatorCountNonNull implements AggregationMethod {
+public class AggregatorCountNonNull implements AggregationMethodBatch {
     protected long cnt;
 
     public AggregatorCountNonNull() {
@@ -35,6 +35,26 @@ public class AggregatorCountNonNull implements AggregationMethod {
         }
     }
 
+    public void enterBatch(Object[] values, int start, int end) {
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] != null) {
+                n++;
+            }
+        }
+        cnt = n;
+    }
+
+    public void leaveBatch(Object[] values, int start, int end) {
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] != null && n > 0) {
+                n--;
+            }
+        }
+        cnt = n;
+    }
+
     public void clear() {
         cnt = 0;
     }
@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for double values.
  */
-public class AggregatorSumDouble implements AggregationMethod {
+public class AggregatorSumDouble implements AggregationMethodBatch {
     protected double sum;
     protected long numDataPoints;
 
@@ -42,6 +42,39 @@ public class AggregatorSumDouble implements AggregationMethod {
         }
     }
 
+    public void enterBatch(Object[] values, int start, int end) {
+        double s = sum;
+        long n = numDataPoints;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            n++;
+            s += (Double) values[i];
+        }
+        sum = s;
+        numDataPoints = n;
+    }
+
+    public void leaveBatch(Object[] values, int start, int end) {
+        double s = sum;
+        long n = numDataPoints;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            if (n <= 1) {
+                s = 0;
+                n = 0;
+            } else {
+                n--;
+                s -= (Double) values[i];
+            }
+        }
+        sum = s;
+        numDataPoints = n;
+    }
+
     public Object getValue() {
         if (numDataPoints == 0) {
             return null;
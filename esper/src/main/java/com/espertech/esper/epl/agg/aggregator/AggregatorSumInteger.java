@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for integer values.
  */
-public class AggregatorSumInteger implements AggregationMethod {
+public class AggregatorSumInteger implements AggregationMethodBatch {
     protected int sum;
     protected long cnt;
 
@@ -42,6 +42,39 @@ public class AggregatorSumInteger implements AggregationMethod {
         }
     }
 
+    public void enterBatch(Object[] values, int start, int end) {
+        int s = sum;
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            n++;
+            s += (Integer) values[i];
+        }
+        sum = s;
+        cnt = n;
+    }
+
+    public void leaveBatch(Object[] values, int start, int end) {
+        int s = sum;
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            if (n <= 1) {
+                s = 0;
+                n = 0;
+            } else {
+                n--;
+                s -= (Integer) values[i];
+            }
+        }
+        sum = s;
+        cnt = n;
+    }
+
 
     public Object getValue() {
         if (cnt == 0) {
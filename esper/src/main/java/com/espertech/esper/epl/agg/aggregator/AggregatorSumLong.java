@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for long values.
  */
-public class AggregatorSumLong implements AggregationMethod {
+public class AggregatorSumLong implements AggregationMethodBatch {
     protected long sum;
     protected long cnt;
 
@@ -42,6 +42,39 @@ public class AggregatorSumLong implements AggregationMethod {
         }
     }
 
+    public void enterBatch(Object[] values, int start, int end) {
+        long s = sum;
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            n++;
+            s += (Long) values[i];
+        }
+        sum = s;
+        cnt = n;
+    }
+
+    public void leaveBatch(Object[] values, int start, int end) {
+        long s = sum;
+        long n = cnt;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            if (n <= 1) {
+                s = 0;
+                n = 0;
+            } else {
+                n--;
+                s -= (Long) values[i];
+            }
+        }
+        sum = s;
+        cnt = n;
+    }
+
     public Object getValue() {
         if (cnt == 0) {
             return null;
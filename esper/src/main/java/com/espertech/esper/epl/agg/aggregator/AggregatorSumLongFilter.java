@@ -33,6 +33,18 @@ public class AggregatorSumLongFilter extends AggregatorSumLong {
         }
         super.leave(paramArray[0]);
     }
-}
 
+    @Override
+    public void enterBatch(Object[] parameters, int start, int end) {
+        for (int i = start; i < end; i++) {
+            enter(parameters[i]);
+        }
+    }
 
+    @Override
+    public void leaveBatch(Object[] parameters, int start, int end) {
+        for (int i = start; i < end; i++) {
+            leave(parameters[i]);
+        }
+    }
+}
@@ -23,6 +23,10 @@ public class AggregationServiceCodegenNames {
     public final static CodegenExpressionRef REF_SUBQUERYNUMBER = ref(NAME_SUBQUERYNUMBER);
     public final static String NAME_GROUPKEY = "groupKey";
     public final static CodegenExpressionRef REF_GROUPKEY = ref(NAME_GROUPKEY);
+    public final static String NAME_GROUPKEYS = "groupKeys";
+    public final static CodegenExpressionRef REF_GROUPKEYS = ref(NAME_GROUPKEYS);
+    public final static String NAME_EVENTS = "events";
+    public final static CodegenExpressionRef REF_EVENTS = ref(NAME_EVENTS);
     public final static String NAME_AGENTINSTANCEID = "agentInstanceId";
     public final static String NAME_ROLLUPLEVEL = "rollupLevel";
     public final static CodegenExpressionRef REF_ROLLUPLEVEL = ref(NAME_ROLLUPLEVEL);
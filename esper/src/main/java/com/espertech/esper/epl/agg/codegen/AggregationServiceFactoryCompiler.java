@@ -327,6 +327,17 @@ public class AggregationServiceFactoryCompiler {
         CodegenMethodNode applyLeaveMethod = CodegenMethodNode.makeParentNode(void.class, forge.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope).addParam(EventBean[].class, NAME_EPS).addParam(Object.class, AggregationServiceCodegenNames.NAME_GROUPKEY).addParam(ExprEvaluatorContext.class, NAME_EXPREVALCONTEXT);
         forge.applyLeaveCodegen(applyLeaveMethod, classScope, namedMethods);
 
+        CodegenMethodNode applyEnterBatchMethod = null;
+        CodegenMethodNode applyLeaveBatchMethod = null;
+        boolean batch = forge instanceof AggregationServiceFactoryForgeBatch && ((AggregationServiceFactoryForgeBatch) forge).isBatchApply();
+        if (batch) {
+            AggregationServiceFactoryForgeBatch batchForge = (AggregationServiceFactoryForgeBatch) forge;
+            applyEnterBatchMethod = CodegenMethodNode.makeParentNode(void.class, forge.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope).addParam(EventBean[].class, AggregationServiceCodegenNames.NAME_EVENTS).addParam(Object[].class, AggregationServiceCodegenNames.NAME_GROUPKEYS).addParam(EventBean[].class, NAME_EPS).addParam(ExprEvaluatorContext.class, NAME_EXPREVALCONTEXT);
+            batchForge.applyEnterBatchCodegen(applyEnterBatchMethod, classScope);
+            applyLeaveBatchMethod = CodegenMethodNode.makeParentNode(void.class, forge.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope).addParam(EventBean[].class, AggregationServiceCodegenNames.NAME_EVENTS).addParam(Object[].class, AggregationServiceCodegenNames.NAME_GROUPKEYS).addParam(EventBean[].class, NAME_EPS).addParam(ExprEvaluatorContext.class, NAME_EXPREVALCONTEXT);
+            batchForge.applyLeaveBatchCodegen(applyLeaveBatchMethod, classScope);
+        }
+
         CodegenMethodNode setCurrentAccessMethod = CodegenMethodNode.makeParentNode(void.class, forge.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope).addParam(Object.class, AggregationServiceCodegenNames.NAME_GROUPKEY).addParam(int.class, AggregationServiceCodegenNames.NAME_AGENTINSTANCEID).addParam(AggregationGroupByRollupLevel.class, AggregationServiceCodegenNames.NAME_ROLLUPLEVEL);
         forge.setCurrentAccessCodegen(setCurrentAccessMethod, classScope);
 
@@ -378,6 +389,10 @@ public class AggregationServiceFactoryCompiler {
         CodegenClassMethods innerMethods = new CodegenClassMethods();
         CodegenStackGenerator.recursiveBuildStack(applyEnterMethod, "applyEnter", innerMethods);
         CodegenStackGenerator.recursiveBuildStack(applyLeaveMethod, "applyLeave", innerMethods);
+        if (batch) {
+            CodegenStackGenerator.recursiveBuildStack(applyEnterBatchMethod, "applyEnterBatch", innerMethods);
+            CodegenStackGenerator.recursiveBuildStack(applyLeaveBatchMethod, "applyLeaveBatch", innerMethods);
+        }
         CodegenStackGenerator.recursiveBuildStack(setCurrentAccessMethod, "setCurrentAccess", innerMethods);
         CodegenStackGenerator.recursiveBuildStack(clearResultsMethod, "clearResults", innerMethods);
         CodegenStackGenerator.recursiveBuildStack(setRemovedCallbackMethod, "setRemovedCallback", innerMethods);
@@ -397,7 +412,7 @@ public class AggregationServiceFactoryCompiler {
             CodegenStackGenerator.recursiveBuildStack(methodEntry.getValue(), methodEntry.getKey(), innerMethods);
         }
 
-        CodegenInnerClass innerClass = new CodegenInnerClass(AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONSERVICE, AggregationService.class, ctor, members, Collections.emptyMap(), innerMethods);
+        CodegenInnerClass innerClass = new CodegenInnerClass(AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONSERVICE, batch ? AggregationServiceBatch.class : AggregationService.class, ctor, members, Collections.emptyMap(), innerMethods);
         innerClasses.add(innerClass);
     }
 
@@ -12,7 +12,10 @@ package com.espertech.esper.epl.agg.service.common;
 
 import com.espertech.esper.epl.agg.access.AggregationServicePassThru;
 import com.espertech.esper.epl.agg.access.AggregationState;
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 
 public class AggSvcGroupByUtil {
     public static AggregationMethod[] newAggregators(AggregationMethodFactory[] prototypes) {
@@ -32,4 +35,21 @@ public class AggSvcGroupByUtil {
         }
         return row;
     }
+
+    /**
+     * Evaluate an aggregation function parameter expression for each event of a batch of single-stream events.
+     *
+     * @param evaluator            parameter expression
+     * @param events               events
+     * @param isNewData            new data indicator
+     * @param eventsPerStream      transient buffer
+     * @param exprEvaluatorContext context
+     * @param column               result for each event
+     */
+    public static void evaluateColumn(ExprEvaluator evaluator, EventBean[] events, boolean isNewData, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext, Object[] column) {
+        for (int i = 0; i < events.length; i++) {
+            eventsPerStream[0] = events[i];
+            column[i] = evaluator.evaluate(eventsPerStream, isNewData, exprEvaluatorContext);
+        }
+    }
 }
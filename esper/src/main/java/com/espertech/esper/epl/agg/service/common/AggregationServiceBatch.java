@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.common;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+
+/**
+ * Aggregation service that can apply a batch of single-stream events in one call, such as the events released by a batch window,
+ * rather than each event by itself.
+ * <p>
+ * Applying a batch has the same outcome as applying each event in order through {@link #applyEnter} or {@link #applyLeave}.
+ * </p>
+ */
+public interface AggregationServiceBatch extends AggregationService {
+    /**
+     * Apply events as entering a window (new events).
+     *
+     * @param events               events, all of the same single stream
+     * @param groupKeys            group key for each event, or null if not grouping
+     * @param eventsPerStream      transient buffer of size one for use in evaluating expressions
+     * @param exprEvaluatorContext context for expression evaluation
+     */
+    void applyEnterBatch(EventBean[] events, Object[] groupKeys, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext);
+
+    /**
+     * Apply events as leaving a window (old events).
+     *
+     * @param events               events, all of the same single stream
+     * @param groupKeys            group key for each event, or null if not grouping
+     * @param eventsPerStream      transient buffer of size one for use in evaluating expressions
+     * @param exprEvaluatorContext context for expression evaluation
+     */
+    void applyLeaveBatch(EventBean[] events, Object[] groupKeys, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext);
+}
@@ -33,6 +33,8 @@ import com.espertech.esper.epl.expression.methodagg.ExprMethodAggUtil;
 import com.espertech.esper.epl.expression.table.ExprTableNodeUtil;
 import com.espertech.esper.epl.expression.time.TimeAbacus;
 import com.espertech.esper.epl.expression.visitor.ExprNodePreviousVisitorWParent;
+import com.espertech.esper.epl.expression.visitor.ExprNodeSubselectDeclaredDotVisitor;
+import com.espertech.esper.epl.expression.visitor.ExprNodeTableAccessFinderVisitor;
 import com.espertech.esper.epl.spec.IntoTableSpec;
 import com.espertech.esper.epl.table.mgmt.TableColumnMethodPair;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
@@ -232,7 +234,8 @@ public class AggregationServiceFactoryFactory {
             // return factory
             AggregationAccessorSlotPair[] accessorPairs = AggregatorUtil.getAccessorsForForges(bindingMatchResult.getAccessors(), engineImportService, isFireAndForget, statementName);
             AggregationAgent[] agents = AggregatorUtil.getAgentForges(bindingMatchResult.getAgents(), engineImportService, isFireAndForget, statementName);
-            AggregationServiceFactoryForge serviceForge = factoryService.getTable(tableService, metadata, bindingMatchResult.getMethodPairs(), bindingMatchResult.getAccessors(), accessorPairs, isJoin, bindingMatchResult.getTargetStates(), bindingMatchResult.getAccessStateExpr(), bindingMatchResult.getAgents(), agents, groupByRollupDesc, hasGroupByClause);
+            boolean isRowLockStriped = isRowLockStriped(metadata, aggregations, hasGroupByClause, groupByRollupDesc);
+            AggregationServiceFactoryForge serviceForge = factoryService.getTable(tableService, metadata, bindingMatchResult.getMethodPairs(), bindingMatchResult.getAccessors(), accessorPairs, isJoin, bindingMatchResult.getTargetStates(), bindingMatchResult.getAccessStateExpr(), bindingMatchResult.getAgents(), agents, groupByRollupDesc, hasGroupByClause, isRowLockStriped);
             return new AggregationServiceForgeDesc(serviceForge, aggregations, groupKeyExpressions);
         }
 
@@ -546,6 +549,21 @@ public class AggregationServiceFactoryFactory {
         }
     }
 
+    // Striped row locking applies to grouped into-table without rollup, and only when aggregations
+    // do not themselves access tables or subquery, since a row lock is held while evaluating them.
+    private static boolean isRowLockStriped(TableMetadata metadata, List<AggregationServiceAggExpressionDesc> aggregations, boolean hasGroupByClause, AggregationGroupByRollupDesc groupByRollupDesc) {
+        if (!metadata.isStripedRowLock() || !hasGroupByClause || groupByRollupDesc != null) {
+            return false;
+        }
+        ExprNodeTableAccessFinderVisitor tableAccessFinder = new ExprNodeTableAccessFinderVisitor();
+        ExprNodeSubselectDeclaredDotVisitor subselectFinder = new ExprNodeSubselectDeclaredDotVisitor();
+        for (AggregationServiceAggExpressionDesc aggregation : aggregations) {
+            aggregation.getAggregationNode().accept(tableAccessFinder);
+            aggregation.getAggregationNode().accept(subselectFinder);
+        }
+        return !tableAccessFinder.isHasTableAccess() && subselectFinder.getSubselects().isEmpty();
+    }
+
     private static AggSvcGroupByReclaimAgedEvalFuncFactory getEvaluationFunction(final VariableService variableService, String hintValue, String optionalContextName)
             throws ExprValidationException {
         final VariableMetaData variableMetaData = variableService.getVariableMetaData(hintValue);
@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.common;
+
+import com.espertech.esper.codegen.base.CodegenClassScope;
+import com.espertech.esper.codegen.base.CodegenMethodNode;
+
+/**
+ * Optionally implemented by aggregation service forges that generate the batch apply methods of {@link AggregationServiceBatch}.
+ */
+public interface AggregationServiceFactoryForgeBatch extends AggregationServiceFactoryForge {
+    /**
+     * Returns indicator whether the generated service applies batches, or whether the caller should apply per event.
+     *
+     * @return true when {@link #applyEnterBatchCodegen} and {@link #applyLeaveBatchCodegen} generate the batch methods
+     */
+    boolean isBatchApply();
+
+    /**
+     * Generate the body of the batch enter method, which receives the events, the group keys (for grouped services)
+     * and the evaluation context. The generated row keeps aggregation state in primitive members.
+     *
+     * @param method      method to populate
+     * @param classScope  class scope
+     */
+    void applyEnterBatchCodegen(CodegenMethodNode method, CodegenClassScope classScope);
+
+    /**
+     * Generate the body of the batch leave method, the counterpart of {@link #applyEnterBatchCodegen}.
+     *
+     * @param method      method to populate
+     * @param classScope  class scope
+     */
+    void applyLeaveBatchCodegen(CodegenMethodNode method, CodegenClassScope classScope);
+}
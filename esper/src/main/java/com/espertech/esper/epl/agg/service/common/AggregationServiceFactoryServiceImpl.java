@@ -51,7 +51,7 @@ public class AggregationServiceFactoryServiceImpl implements AggregationServiceF
         return new AggSvcGroupByRollupForge(rowStateDesc, join, groupByRollupDesc);
     }
 
-    public AggregationServiceFactoryForge getTable(TableService tableService, TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPairForge[] accessorPairs, AggregationAccessorSlotPair[] accessors, boolean join, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgentForge[] agentForges, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc, boolean hasGroupBy) {
-        return new AggSvcGroupByWTableForge(tableService, tableMetadata, methodPairs, accessorPairs, accessors, join, targetStates, accessStateExpr, agentForges, agents, groupByRollupDesc, hasGroupBy);
+    public AggregationServiceFactoryForge getTable(TableService tableService, TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPairForge[] accessorPairs, AggregationAccessorSlotPair[] accessors, boolean join, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgentForge[] agentForges, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc, boolean hasGroupBy, boolean isRowLockStriped) {
+        return new AggSvcGroupByWTableForge(tableService, tableMetadata, methodPairs, accessorPairs, accessors, join, targetStates, accessStateExpr, agentForges, agents, groupByRollupDesc, hasGroupBy, isRowLockStriped);
     }
 }
@@ -22,6 +22,7 @@ import com.espertech.esper.epl.agg.service.common.AggregationRowStateForgeDesc;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceCodegenUtil;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceFactory;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceFactoryForge;
+import com.espertech.esper.epl.agg.service.common.AggregationServiceFactoryForgeBatch;
 
 import java.util.List;
 
@@ -32,7 +33,7 @@ import static com.espertech.esper.epl.expression.codegen.ExprForgeCodegenNames.*
 /**
  * Aggregation service for use when only first/last/window aggregation functions are used an none other.
  */
-public class AggSvcGroupAllForge implements AggregationServiceFactoryForge {
+public class AggSvcGroupAllForge implements AggregationServiceFactoryForgeBatch {
     private final static CodegenExpressionRef REF_ROW = new CodegenExpressionRef("row");
 
     protected final AggregationRowStateForgeDesc rowStateDesc;
@@ -80,6 +81,22 @@ public class AggSvcGroupAllForge implements AggregationServiceFactoryForge {
         method.getBlock().exprDotMethod(REF_ROW, "applyLeave", REF_EPS, REF_EXPREVALCONTEXT);
     }
 
+    public boolean isBatchApply() {
+        return true;
+    }
+
+    public void applyEnterBatchCodegen(CodegenMethodNode method, CodegenClassScope classScope) {
+        method.getBlock().forLoopIntSimple("i", arrayLength(REF_EVENTS))
+                .assignArrayElement(REF_EPS, constant(0), arrayAtIndex(REF_EVENTS, ref("i")))
+                .exprDotMethod(REF_ROW, "applyEnter", REF_EPS, REF_EXPREVALCONTEXT);
+    }
+
+    public void applyLeaveBatchCodegen(CodegenMethodNode method, CodegenClassScope classScope) {
+        method.getBlock().forLoopIntSimple("i", arrayLength(REF_EVENTS))
+                .assignArrayElement(REF_EPS, constant(0), arrayAtIndex(REF_EVENTS, ref("i")))
+                .exprDotMethod(REF_ROW, "applyLeave", REF_EPS, REF_EXPREVALCONTEXT);
+    }
+
     public void stopMethodCodegen(AggregationServiceFactoryForge forge, CodegenMethodNode method) {
         // no code
     }
@@ -12,6 +12,7 @@ package com.espertech.esper.epl.agg.service.groupall;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethodBatch;
 import com.espertech.esper.epl.agg.service.common.*;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
@@ -21,7 +22,7 @@ import java.util.Collection;
 /**
  * Implementation for handling aggregation without any grouping (no group-by).
  */
-public class AggSvcGroupAllImplNoAccess implements AggregationService {
+public class AggSvcGroupAllImplNoAccess implements AggregationServiceBatch {
 
     protected final AggSvcGroupAllFactory factory;
     protected final AggregationMethod[] aggregators;
@@ -69,6 +70,36 @@ public class AggSvcGroupAllImplNoAccess implements AggregationService {
         }
     }
 
+    public void applyEnterBatch(EventBean[] events, Object[] groupKeys, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        Object[] column = new Object[events.length];
+        for (int j = 0; j < factory.evaluators.length; j++) {
+            AggSvcGroupByUtil.evaluateColumn(factory.evaluators[j], events, true, eventsPerStream, exprEvaluatorContext, column);
+            AggregationMethod aggregator = aggregators[j];
+            if (aggregator instanceof AggregationMethodBatch) {
+                ((AggregationMethodBatch) aggregator).enterBatch(column, 0, column.length);
+                continue;
+            }
+            for (int i = 0; i < column.length; i++) {
+                aggregator.enter(column[i]);
+            }
+        }
+    }
+
+    public void applyLeaveBatch(EventBean[] events, Object[] groupKeys, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        Object[] column = new Object[events.length];
+        for (int j = 0; j < factory.evaluators.length; j++) {
+            AggSvcGroupByUtil.evaluateColumn(factory.evaluators[j], events, false, eventsPerStream, exprEvaluatorContext, column);
+            AggregationMethod aggregator = aggregators[j];
+            if (aggregator instanceof AggregationMethodBatch) {
+                ((AggregationMethodBatch) aggregator).leaveBatch(column, 0, column.length);
+                continue;
+            }
+            for (int i = 0; i < column.length; i++) {
+                aggregator.leave(column[i]);
+            }
+        }
+    }
+
     public void setCurrentAccess(Object groupKey, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
         // no action needed - this implementation does not group and the current row is the single group
     }
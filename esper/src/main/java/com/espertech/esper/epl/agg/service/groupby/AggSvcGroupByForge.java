@@ -25,12 +25,14 @@ import com.espertech.esper.epl.agg.service.common.AggregationRowStateEvalDesc;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceCodegenUtil;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceFactory;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceFactoryForge;
+import com.espertech.esper.epl.agg.service.common.AggregationServiceFactoryForgeBatch;
 import com.espertech.esper.epl.expression.time.TimeAbacus;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static com.espertech.esper.codegen.model.expression.CodegenExpressionBuilder.*;
 import static com.espertech.esper.codegen.model.expression.CodegenExpressionRelational.CodegenRelational.LE;
@@ -43,7 +45,7 @@ import static com.espertech.esper.epl.expression.codegen.ExprForgeCodegenNames.*
 /**
  * Implementation for handling aggregation with grouping by group-keys.
  */
-public class AggSvcGroupByForge implements AggregationServiceFactoryForge {
+public class AggSvcGroupByForge implements AggregationServiceFactoryForgeBatch {
     private final static CodegenExpressionRef REF_CURRENTROW = new CodegenExpressionRef("currentRow");
     private final static CodegenExpressionRef REF_CURRENTGROUPKEY = new CodegenExpressionRef("currentGroupKey");
     final static CodegenExpressionRef REF_AGGREGATORSPERGROUP = ref("aggregatorsPerGroup");
@@ -51,21 +53,25 @@ public class AggSvcGroupByForge implements AggregationServiceFactoryForge {
 
     protected final AggGroupByDesc aggGroupByDesc;
     protected final TimeAbacus timeAbacus;
+    protected final AggSvcGroupByKeyType groupKeyType;
+    protected final int numGroupKeys;
 
     public AggSvcGroupByForge(AggGroupByDesc aggGroupByDesc, TimeAbacus timeAbacus) {
         this.aggGroupByDesc = aggGroupByDesc;
         this.timeAbacus = timeAbacus;
+        this.groupKeyType = AggSvcGroupByKeyType.determine(aggGroupByDesc.getGroupByNodes());
+        this.numGroupKeys = aggGroupByDesc.getGroupByNodes() == null ? 0 : aggGroupByDesc.getGroupByNodes().length;
     }
 
     public AggregationServiceFactory getAggregationServiceFactory(StatementContext stmtContext, boolean isFireAndForget) {
         AggregationRowStateEvalDesc rowStateEvalDesc = aggGroupByDesc.getRowStateForgeDescs().toEval(stmtContext, isFireAndForget);
         if (aggGroupByDesc.isRefcounted()) {
-            return new AggSvcGroupByRefcountedFactory(rowStateEvalDesc, aggGroupByDesc.isJoin());
+            return new AggSvcGroupByRefcountedFactory(rowStateEvalDesc, aggGroupByDesc.isJoin(), groupKeyType, numGroupKeys);
         } else {
             if (!aggGroupByDesc.isReclaimAged()) {
-                return new AggSvcGroupByNoReclaimFactory(rowStateEvalDesc, aggGroupByDesc.isJoin());
+                return new AggSvcGroupByNoReclaimFactory(rowStateEvalDesc, aggGroupByDesc.isJoin(), groupKeyType, numGroupKeys);
             }
-            return new AggSvcGroupByReclaimAgedFactory(rowStateEvalDesc, aggGroupByDesc.isJoin(), aggGroupByDesc.getReclaimEvaluationFunctionMaxAge(), aggGroupByDesc.getReclaimEvaluationFunctionFrequency());
+            return new AggSvcGroupByReclaimAgedFactory(rowStateEvalDesc, aggGroupByDesc.isJoin(), groupKeyType, numGroupKeys, aggGroupByDesc.getReclaimEvaluationFunctionMaxAge(), aggGroupByDesc.getReclaimEvaluationFunctionFrequency());
         }
     }
 
@@ -85,7 +91,11 @@ public class AggSvcGroupByForge implements AggregationServiceFactoryForge {
         explicitMembers.add(new CodegenTypedParam(Map.class, REF_AGGREGATORSPERGROUP.getRef()));
         explicitMembers.add(new CodegenTypedParam(Object.class, REF_CURRENTGROUPKEY.getRef()));
         explicitMembers.add(new CodegenTypedParam(AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONROW_TOP, REF_CURRENTROW.getRef()));
-        ctor.getBlock().assignRef(REF_AGGREGATORSPERGROUP, newInstance(HashMap.class));
+        if (groupKeyType == AggSvcGroupByKeyType.OBJECT) {
+            ctor.getBlock().assignRef(REF_AGGREGATORSPERGROUP, newInstance(HashMap.class));
+        } else {
+            ctor.getBlock().assignRef(REF_AGGREGATORSPERGROUP, exprDotMethod(enumValue(AggSvcGroupByKeyType.class, groupKeyType.name()), "makeMap", constant(numGroupKeys)));
+        }
         if (aggGroupByDesc.isReclaimAged()) {
             AggSvcGroupByReclaimAgedImpl.ctorCodegenReclaim(ctor, explicitMembers, classScope, aggGroupByDesc.getReclaimEvaluationFunctionMaxAge(), aggGroupByDesc.getReclaimEvaluationFunctionFrequency());
         }
@@ -154,6 +164,35 @@ public class AggSvcGroupByForge implements AggregationServiceFactoryForge {
         }
     }
 
+    public boolean isBatchApply() {
+        return !hasRefCounting();
+    }
+
+    public void applyEnterBatchCodegen(CodegenMethodNode method, CodegenClassScope classScope) {
+        applyBatchCodegen(method, "applyEnter");
+    }
+
+    public void applyLeaveBatchCodegen(CodegenMethodNode method, CodegenClassScope classScope) {
+        applyBatchCodegen(method, "applyLeave");
+    }
+
+    // consecutive events of the same group, as is common for batches, share the row lookup
+    private void applyBatchCodegen(CodegenMethodNode method, String rowMethodName) {
+        CodegenBlock forEach = method.getBlock().declareVar(AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONROW_TOP, "row", constantNull())
+                .declareVar(Object.class, "rowKey", constantNull())
+                .forLoopIntSimple("i", arrayLength(AggregationServiceCodegenNames.REF_EVENTS))
+                .declareVar(Object.class, "key", arrayAtIndex(AggregationServiceCodegenNames.REF_GROUPKEYS, ref("i")));
+        forEach.ifCondition(or(equalsNull(ref("row")), not(staticMethod(Objects.class, "equals", ref("key"), ref("rowKey")))))
+                .assignRef("row", cast(AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONROW_TOP, exprDotMethod(REF_AGGREGATORSPERGROUP, "get", ref("key"))))
+                .assignRef("rowKey", ref("key"))
+                .ifCondition(equalsNull(ref("row")))
+                .assignRef("row", newInstanceInnerClass(AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONROW_TOP, ref("o")))
+                .exprDotMethod(REF_AGGREGATORSPERGROUP, "put", ref("key"), ref("row"));
+        forEach.assignArrayElement(REF_EPS, constant(0), arrayAtIndex(AggregationServiceCodegenNames.REF_EVENTS, ref("i")))
+                .exprDotMethod(ref("row"), rowMethodName, REF_EPS, REF_EXPREVALCONTEXT);
+        method.getBlock().assignRef(REF_CURRENTROW, ref("row"));
+    }
+
     public void stopMethodCodegen(AggregationServiceFactoryForge forge, CodegenMethodNode method) {
         // no code
     }
@@ -0,0 +1,407 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.groupby;
+
+import java.util.*;
+
+/**
+ * Map of group key to aggregation row that uses open addressing with linear probing, keeping keys in a representation
+ * provided by subclasses and values in a parallel array, and without allocating an entry object per group.
+ * <p>
+ * The table is allocated upon the first put. The map does not allow null values. A null key is held outside of the table.
+ * Iteration is supported however removal through iterators is not.
+ * </p>
+ *
+ * @param <V> value type
+ */
+public abstract class AggSvcGroupByKeyMap<V> extends AbstractMap<Object, V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] values;
+
+    private int size;
+    private int threshold;
+    private boolean hasNullKey;
+    private V nullKeyValue;
+    private int modCount;
+    private Set<Entry<Object, V>> entrySet;
+
+    /**
+     * Returns true if the key held in the slot equals the key, the key not being null.
+     *
+     * @param slot slot
+     * @param key  key
+     * @return indicator
+     */
+    protected abstract boolean keyEquals(int slot, Object key);
+
+    /**
+     * Returns the spread hash of the key held in the slot.
+     *
+     * @param slot slot
+     * @return hash
+     */
+    protected abstract int hashAt(int slot);
+
+    /**
+     * Returns the spread hash of the key, the key not being null.
+     *
+     * @param key key
+     * @return hash
+     */
+    protected abstract int hashOf(Object key);
+
+    /**
+     * Store the key into the slot.
+     *
+     * @param slot slot
+     * @param key  key
+     */
+    protected abstract void storeKey(int slot, Object key);
+
+    /**
+     * Copy a key from one slot to another.
+     *
+     * @param from source slot
+     * @param to   target slot
+     */
+    protected abstract void moveKey(int from, int to);
+
+    /**
+     * Clear the key held in the slot.
+     *
+     * @param slot slot
+     */
+    protected abstract void clearKey(int slot);
+
+    /**
+     * Returns the key in the slot in the same representation as provided by the group-by.
+     *
+     * @param slot slot
+     * @return key
+     */
+    protected abstract Object keyAt(int slot);
+
+    /**
+     * Allocates the key table for the capacity, returning the previous key table.
+     *
+     * @param capacity power-of-two capacity, or zero to release the key table
+     * @return previous key table or null if none
+     */
+    protected abstract Object allocateKeys(int capacity);
+
+    /**
+     * Transfer a key from the previous key table into a slot of the current key table.
+     *
+     * @param previousKeys key table returned by allocate
+     * @param previousSlot slot in the previous key table
+     * @param slot         slot in the current key table
+     */
+    protected abstract void transferKey(Object previousKeys, int previousSlot, int slot);
+
+    /**
+     * Returns the spread hash of a key in the previous key table.
+     *
+     * @param previousKeys key table returned by allocate
+     * @param previousSlot slot in the previous key table
+     * @return hash
+     */
+    protected abstract int hashAt(Object previousKeys, int previousSlot);
+
+    /**
+     * Spread a hash code so that the lower bits used for the slot index are well-distributed.
+     *
+     * @param hash hash code
+     * @return spread hash
+     */
+    protected static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return hasNullKey;
+        }
+        return findSlot(key) != -1;
+    }
+
+    public V get(Object key) {
+        if (key == null) {
+            return nullKeyValue;
+        }
+        int slot = findSlot(key);
+        return slot == -1 ? null : (V) values[slot];
+    }
+
+    public V put(Object key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not supported");
+        }
+        if (key == null) {
+            V previous = nullKeyValue;
+            if (!hasNullKey) {
+                hasNullKey = true;
+                size++;
+                modCount++;
+            }
+            nullKeyValue = value;
+            return previous;
+        }
+
+        if (values == null) {
+            allocate(INITIAL_CAPACITY);
+        }
+        int mask = values.length - 1;
+        int slot = hashOf(key) & mask;
+        while (values[slot] != null) {
+            if (keyEquals(slot, key)) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        storeKey(slot, key);
+        values[slot] = value;
+        size++;
+        modCount++;
+        if (size > threshold) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+
+    public V remove(Object key) {
+        if (key == null) {
+            if (!hasNullKey) {
+                return null;
+            }
+            V previous = nullKeyValue;
+            hasNullKey = false;
+            nullKeyValue = null;
+            size--;
+            modCount++;
+            return previous;
+        }
+        int slot = findSlot(key);
+        if (slot == -1) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeSlot(slot);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        values = null;
+        allocateKeys(0);
+        hasNullKey = false;
+        nullKeyValue = null;
+        size = 0;
+        modCount++;
+    }
+
+    public Set<Entry<Object, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<Object, V>>() {
+                public Iterator<Entry<Object, V>> iterator() {
+                    return new KeyMapIterator();
+                }
+
+                public int size() {
+                    return size;
+                }
+
+                public boolean contains(Object o) {
+                    if (!(o instanceof Entry)) {
+                        return false;
+                    }
+                    Entry entry = (Entry) o;
+                    Object value = get(entry.getKey());
+                    return value != null && value.equals(entry.getValue());
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the slot capacity, for testing purposes.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return values == null ? 0 : values.length;
+    }
+
+    private int findSlot(Object key) {
+        if (values == null) {
+            return -1;
+        }
+        int mask = values.length - 1;
+        int slot = hashOf(key) & mask;
+        while (values[slot] != null) {
+            if (keyEquals(slot, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // backward-shift deletion, moving each subsequent entry of the probe sequence into the hole if its home slot allows
+    private void removeSlot(int slot) {
+        int mask = values.length - 1;
+        int hole = slot;
+        int index = slot;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == null) {
+                break;
+            }
+            int home = hashAt(index) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                moveKey(index, hole);
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        clearKey(hole);
+        values[hole] = null;
+    }
+
+    private void allocate(int capacity) {
+        allocateKeys(capacity);
+        values = new Object[capacity];
+        threshold = (int) (capacity * 0.6);
+    }
+
+    private void resize(int capacity) {
+        Object[] previousValues = values;
+        Object previousKeys = allocateKeys(capacity);
+        values = new Object[capacity];
+        threshold = (int) (capacity * 0.6);
+        int mask = capacity - 1;
+        for (int i = 0; i < previousValues.length; i++) {
+            if (previousValues[i] == null) {
+                continue;
+            }
+            int slot = hashAt(previousKeys, i) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            transferKey(previousKeys, i, slot);
+            values[slot] = previousValues[i];
+        }
+    }
+
+    private class KeyMapIterator implements Iterator<Entry<Object, V>> {
+        private final int expectedModCount = modCount;
+        private boolean nullKeyPending = hasNullKey;
+        private int position = -1;
+
+        KeyMapIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return nullKeyPending || position < getCapacity();
+        }
+
+        public Entry<Object, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nullKeyPending) {
+                nullKeyPending = false;
+                return new KeyMapEntry(-1);
+            }
+            if (position >= getCapacity()) {
+                throw new NoSuchElementException();
+            }
+            KeyMapEntry entry = new KeyMapEntry(position);
+            advance();
+            return entry;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Iterator remove is not supported");
+        }
+
+        private void advance() {
+            position++;
+            while (position < getCapacity() && values[position] == null) {
+                position++;
+            }
+        }
+    }
+
+    private class KeyMapEntry implements Entry<Object, V> {
+        private final int slot;
+        private final Object key;
+
+        KeyMapEntry(int slot) {
+            this.slot = slot;
+            this.key = slot == -1 ? null : keyAt(slot);
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            return slot == -1 ? nullKeyValue : (V) values[slot];
+        }
+
+        public V setValue(V value) {
+            if (value == null) {
+                throw new NullPointerException("Null values are not supported");
+            }
+            V previous = getValue();
+            if (slot == -1) {
+                nullKeyValue = value;
+            } else {
+                values[slot] = value;
+            }
+            return previous;
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return Objects.equals(key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
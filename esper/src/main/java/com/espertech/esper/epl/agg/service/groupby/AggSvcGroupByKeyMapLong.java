@@ -0,0 +1,75 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.groupby;
+
+/**
+ * Group key map for a single group-by expression returning int or long values, keeping keys in a primitive long array.
+ *
+ * @param <V> value type
+ */
+public class AggSvcGroupByKeyMapLong<V> extends AggSvcGroupByKeyMap<V> {
+    private final boolean intKeys;
+    private long[] keys;
+
+    /**
+     * Ctor.
+     *
+     * @param intKeys true for keys provided as {@link Integer}, false for keys provided as {@link Long}
+     */
+    public AggSvcGroupByKeyMapLong(boolean intKeys) {
+        this.intKeys = intKeys;
+    }
+
+    protected boolean keyEquals(int slot, Object key) {
+        return keys[slot] == ((Number) key).longValue();
+    }
+
+    protected int hashAt(int slot) {
+        return spread(Long.hashCode(keys[slot]));
+    }
+
+    protected int hashOf(Object key) {
+        return spread(Long.hashCode(((Number) key).longValue()));
+    }
+
+    protected void storeKey(int slot, Object key) {
+        keys[slot] = ((Number) key).longValue();
+    }
+
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    protected void clearKey(int slot) {
+        // no action required
+    }
+
+    protected Object keyAt(int slot) {
+        if (intKeys) {
+            return Integer.valueOf((int) keys[slot]);
+        }
+        return Long.valueOf(keys[slot]);
+    }
+
+    protected Object allocateKeys(int capacity) {
+        long[] previous = keys;
+        keys = capacity == 0 ? null : new long[capacity];
+        return previous;
+    }
+
+    protected void transferKey(Object previousKeys, int previousSlot, int slot) {
+        keys[slot] = ((long[]) previousKeys)[previousSlot];
+    }
+
+    protected int hashAt(Object previousKeys, int previousSlot) {
+        return spread(Long.hashCode(((long[]) previousKeys)[previousSlot]));
+    }
+}
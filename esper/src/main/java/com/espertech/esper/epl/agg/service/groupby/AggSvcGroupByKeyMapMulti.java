@@ -0,0 +1,101 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.groupby;
+
+import com.espertech.esper.collection.MultiKeyUntyped;
+
+import java.util.Arrays;
+
+/**
+ * Group key map for multiple group-by expressions, keeping the key values of each group in a single flattened array
+ * along with the hash code, without retaining the {@link MultiKeyUntyped} instances.
+ *
+ * @param <V> value type
+ */
+public class AggSvcGroupByKeyMapMulti<V> extends AggSvcGroupByKeyMap<V> {
+    private final int numKeys;
+    private Object[] keys;
+    private int[] hashes;
+
+    /**
+     * Ctor.
+     *
+     * @param numKeys number of group-by expressions
+     */
+    public AggSvcGroupByKeyMapMulti(int numKeys) {
+        this.numKeys = numKeys;
+    }
+
+    protected boolean keyEquals(int slot, Object key) {
+        MultiKeyUntyped mk = (MultiKeyUntyped) key;
+        if (hashes[slot] != mk.hashCode()) {
+            return false;
+        }
+        int offset = slot * numKeys;
+        for (int i = 0; i < numKeys; i++) {
+            Object value = keys[offset + i];
+            Object other = mk.get(i);
+            if (value == null ? other != null : !value.equals(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected int hashAt(int slot) {
+        return spread(hashes[slot]);
+    }
+
+    protected int hashOf(Object key) {
+        return spread(key.hashCode());
+    }
+
+    protected void storeKey(int slot, Object key) {
+        MultiKeyUntyped mk = (MultiKeyUntyped) key;
+        int offset = slot * numKeys;
+        for (int i = 0; i < numKeys; i++) {
+            keys[offset + i] = mk.get(i);
+        }
+        hashes[slot] = mk.hashCode();
+    }
+
+    protected void moveKey(int from, int to) {
+        System.arraycopy(keys, from * numKeys, keys, to * numKeys, numKeys);
+        hashes[to] = hashes[from];
+    }
+
+    protected void clearKey(int slot) {
+        Arrays.fill(keys, slot * numKeys, slot * numKeys + numKeys, null);
+    }
+
+    protected Object keyAt(int slot) {
+        return new MultiKeyUntyped(Arrays.copyOfRange(keys, slot * numKeys, slot * numKeys + numKeys));
+    }
+
+    protected Object allocateKeys(int capacity) {
+        Object[] previous = keys;
+        int[] previousHashes = hashes;
+        keys = capacity == 0 ? null : new Object[capacity * numKeys];
+        hashes = capacity == 0 ? null : new int[capacity];
+        return previous == null ? null : new Object[]{previous, previousHashes};
+    }
+
+    protected void transferKey(Object previousKeys, int previousSlot, int slot) {
+        Object[] previous = (Object[]) ((Object[]) previousKeys)[0];
+        int[] previousHashes = (int[]) ((Object[]) previousKeys)[1];
+        System.arraycopy(previous, previousSlot * numKeys, keys, slot * numKeys, numKeys);
+        hashes[slot] = previousHashes[previousSlot];
+    }
+
+    protected int hashAt(Object previousKeys, int previousSlot) {
+        return spread(((int[]) ((Object[]) previousKeys)[1])[previousSlot]);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.groupby;
+
+/**
+ * Group key map for a single group-by expression returning string values.
+ *
+ * @param <V> value type
+ */
+public class AggSvcGroupByKeyMapString<V> extends AggSvcGroupByKeyMap<V> {
+    private String[] keys;
+
+    protected boolean keyEquals(int slot, Object key) {
+        return keys[slot].equals(key);
+    }
+
+    protected int hashAt(int slot) {
+        return spread(keys[slot].hashCode());
+    }
+
+    protected int hashOf(Object key) {
+        return spread(key.hashCode());
+    }
+
+    protected void storeKey(int slot, Object key) {
+        keys[slot] = (String) key;
+    }
+
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    protected void clearKey(int slot) {
+        keys[slot] = null;
+    }
+
+    protected Object keyAt(int slot) {
+        return keys[slot];
+    }
+
+    protected Object allocateKeys(int capacity) {
+        String[] previous = keys;
+        keys = capacity == 0 ? null : new String[capacity];
+        return previous;
+    }
+
+    protected void transferKey(Object previousKeys, int previousSlot, int slot) {
+        keys[slot] = ((String[]) previousKeys)[previousSlot];
+    }
+
+    protected int hashAt(Object previousKeys, int previousSlot) {
+        return spread(((String[]) previousKeys)[previousSlot].hashCode());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.groupby;
+
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Type of the group key as determined by the group-by expressions, for choosing the map holding the aggregation row of each group.
+ */
+public enum AggSvcGroupByKeyType {
+    /**
+     * Single group-by expression returning int.
+     */
+    INT,
+
+    /**
+     * Single group-by expression returning long.
+     */
+    LONG,
+
+    /**
+     * Single group-by expression returning string.
+     */
+    STRING,
+
+    /**
+     * Multiple group-by expressions each returning int, long or string.
+     */
+    MULTI,
+
+    /**
+     * Any other group-by expressions.
+     */
+    OBJECT;
+
+    /**
+     * Determine the group key type.
+     *
+     * @param groupByNodes group-by expressions
+     * @return key type
+     */
+    public static AggSvcGroupByKeyType determine(ExprNode[] groupByNodes) {
+        if (groupByNodes == null || groupByNodes.length == 0) {
+            return OBJECT;
+        }
+        if (groupByNodes.length == 1) {
+            Class type = JavaClassHelper.getBoxedType(groupByNodes[0].getForge().getEvaluationType());
+            if (type == Integer.class) {
+                return INT;
+            } else if (type == Long.class) {
+                return LONG;
+            } else if (type == String.class) {
+                return STRING;
+            }
+            return OBJECT;
+        }
+        for (ExprNode node : groupByNodes) {
+            Class type = JavaClassHelper.getBoxedType(node.getForge().getEvaluationType());
+            if (type != Integer.class && type != Long.class && type != String.class) {
+                return OBJECT;
+            }
+        }
+        return MULTI;
+    }
+
+    /**
+     * Make a map for holding aggregation rows by group key.
+     *
+     * @param numKeys number of group-by expressions
+     * @param <V>     row type
+     * @return map
+     */
+    public <V> Map<Object, V> makeMap(int numKeys) {
+        switch (this) {
+            case INT:
+                return new AggSvcGroupByKeyMapLong<>(true);
+            case LONG:
+                return new AggSvcGroupByKeyMapLong<>(false);
+            case STRING:
+                return new AggSvcGroupByKeyMapString<>();
+            case MULTI:
+                return new AggSvcGroupByKeyMapMulti<>(numKeys);
+            default:
+                return new HashMap<>();
+        }
+    }
+}
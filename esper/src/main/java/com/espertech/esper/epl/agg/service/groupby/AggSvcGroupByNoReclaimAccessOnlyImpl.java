@@ -18,7 +18,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -39,11 +38,15 @@ public class AggSvcGroupByNoReclaimAccessOnlyImpl implements AggregationService,
      * @param accessors      accessor definitions
      * @param accessAggSpecs access agg specs
      * @param isJoin         true for join, false for single-stream
+     * @param groupKeyType   group key type
+     * @param numGroupKeys   number of group-by expressions
      */
     public AggSvcGroupByNoReclaimAccessOnlyImpl(AggregationAccessorSlotPair[] accessors,
                                                 AggregationStateFactory[] accessAggSpecs,
-                                                boolean isJoin) {
-        this.accessMap = new HashMap<Object, AggregationState[]>();
+                                                boolean isJoin,
+                                                AggSvcGroupByKeyType groupKeyType,
+                                                int numGroupKeys) {
+        this.accessMap = groupKeyType.makeMap(numGroupKeys);
         this.accessors = accessors;
         this.accessAggSpecs = accessAggSpecs;
         this.isJoin = isJoin;
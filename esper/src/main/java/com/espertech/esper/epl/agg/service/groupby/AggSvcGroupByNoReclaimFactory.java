@@ -25,21 +25,25 @@ public class AggSvcGroupByNoReclaimFactory implements AggregationServiceFactory
     protected final AggregationAccessorSlotPair[] accessors;
     protected final AggregationStateFactory[] accessAggregations;
     protected final boolean isJoin;
+    protected final AggSvcGroupByKeyType groupKeyType;
+    protected final int numGroupKeys;
 
-    public AggSvcGroupByNoReclaimFactory(AggregationRowStateEvalDesc rowStateEvalDesc, boolean isJoin) {
+    public AggSvcGroupByNoReclaimFactory(AggregationRowStateEvalDesc rowStateEvalDesc, boolean isJoin, AggSvcGroupByKeyType groupKeyType, int numGroupKeys) {
         this.evaluators = rowStateEvalDesc.getMethodEvals();
         this.aggregators = rowStateEvalDesc.getMethodFactories();
         this.accessors = rowStateEvalDesc.getAccessAccessors();
         this.accessAggregations = rowStateEvalDesc.getAccessFactories();
         this.isJoin = isJoin;
+        this.groupKeyType = groupKeyType;
+        this.numGroupKeys = numGroupKeys;
     }
 
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
         if (accessAggregations.length == 0) {
-            return new AggSvcGroupByNoReclaimNoAccessImpl(evaluators, aggregators);
+            return new AggSvcGroupByNoReclaimNoAccessImpl(evaluators, aggregators, groupKeyType, numGroupKeys);
         } else if (aggregators.length == 0) {
-            return new AggSvcGroupByNoReclaimAccessOnlyImpl(accessors, accessAggregations, isJoin);
+            return new AggSvcGroupByNoReclaimAccessOnlyImpl(accessors, accessAggregations, isJoin, groupKeyType, numGroupKeys);
         }
-        return new AggSvcGroupByNoReclaimMixedAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin);
+        return new AggSvcGroupByNoReclaimMixedAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin, groupKeyType, numGroupKeys);
     }
 }
@@ -20,7 +20,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -48,17 +47,21 @@ public class AggSvcGroupByNoReclaimMixedAccessImpl extends AggregationServiceBas
      * @param accessorsFactory   accessor definitions
      * @param accessAggregations access aggs
      * @param isJoin             true for join, false for single-stream
+     * @param groupKeyType       group key type
+     * @param numGroupKeys       number of group-by expressions
      */
     public AggSvcGroupByNoReclaimMixedAccessImpl(ExprEvaluator[] evaluators,
                                                  AggregationMethodFactory[] prototypes,
                                                  AggregationAccessorSlotPair[] accessorsFactory,
                                                  AggregationStateFactory[] accessAggregations,
-                                                 boolean isJoin) {
+                                                 boolean isJoin,
+                                                 AggSvcGroupByKeyType groupKeyType,
+                                                 int numGroupKeys) {
         super(evaluators, prototypes);
         this.accessorsFactory = accessorsFactory;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationRowPair>();
+        this.aggregatorsPerGroup = groupKeyType.makeMap(numGroupKeys);
     }
 
     public void clearResults(ExprEvaluatorContext exprEvaluatorContext) {
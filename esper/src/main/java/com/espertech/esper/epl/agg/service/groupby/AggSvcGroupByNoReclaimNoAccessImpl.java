@@ -12,19 +12,20 @@ package com.espertech.esper.epl.agg.service.groupby;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethodBatch;
 import com.espertech.esper.epl.agg.service.common.*;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Implementation for handling aggregation with grouping by group-keys.
  */
-public class AggSvcGroupByNoReclaimNoAccessImpl extends AggregationServiceBaseGrouped {
+public class AggSvcGroupByNoReclaimNoAccessImpl extends AggregationServiceBaseGrouped implements AggregationServiceBatch {
     // maintain for each group a row of aggregator states that the expression node canb pull the data from via index
     private Map<Object, AggregationMethod[]> aggregatorsPerGroup;
 
@@ -39,10 +40,12 @@ public class AggSvcGroupByNoReclaimNoAccessImpl extends AggregationServiceBaseGr
      * @param evaluators - evaluate the sub-expression within the aggregate function (ie. sum(4*myNum))
      * @param prototypes - collect the aggregation state that evaluators evaluate to, act as prototypes for new aggregations
      *                   aggregation states for each group
+     * @param groupKeyType group key type
+     * @param numGroupKeys number of group-by expressions
      */
-    public AggSvcGroupByNoReclaimNoAccessImpl(ExprEvaluator[] evaluators, AggregationMethodFactory[] prototypes) {
+    public AggSvcGroupByNoReclaimNoAccessImpl(ExprEvaluator[] evaluators, AggregationMethodFactory[] prototypes, AggSvcGroupByKeyType groupKeyType, int numGroupKeys) {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethod[]>();
+        this.aggregatorsPerGroup = groupKeyType.makeMap(numGroupKeys);
     }
 
     public void clearResults(ExprEvaluatorContext exprEvaluatorContext) {
@@ -107,6 +110,76 @@ public class AggSvcGroupByNoReclaimNoAccessImpl extends AggregationServiceBaseGr
         }
     }
 
+    public void applyEnterBatch(EventBean[] events, Object[] groupKeys, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        AggregationMethod[][] rows = getRows(groupKeys);
+        Object[] column = new Object[events.length];
+        for (int j = 0; j < evaluators.length; j++) {
+            AggSvcGroupByUtil.evaluateColumn(evaluators[j], events, true, eventsPerStream, exprEvaluatorContext, column);
+            // apply each run of consecutive events of the same group in one call, when the aggregator supports it
+            int start = 0;
+            while (start < column.length) {
+                AggregationMethod aggregator = rows[start][j];
+                int end = start + 1;
+                while (end < column.length && rows[end] == rows[start]) {
+                    end++;
+                }
+                if (aggregator instanceof AggregationMethodBatch) {
+                    ((AggregationMethodBatch) aggregator).enterBatch(column, start, end);
+                } else {
+                    for (int i = start; i < end; i++) {
+                        aggregator.enter(column[i]);
+                    }
+                }
+                start = end;
+            }
+        }
+    }
+
+    public void applyLeaveBatch(EventBean[] events, Object[] groupKeys, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        AggregationMethod[][] rows = getRows(groupKeys);
+        Object[] column = new Object[events.length];
+        for (int j = 0; j < evaluators.length; j++) {
+            AggSvcGroupByUtil.evaluateColumn(evaluators[j], events, false, eventsPerStream, exprEvaluatorContext, column);
+            int start = 0;
+            while (start < column.length) {
+                AggregationMethod aggregator = rows[start][j];
+                int end = start + 1;
+                while (end < column.length && rows[end] == rows[start]) {
+                    end++;
+                }
+                if (aggregator instanceof AggregationMethodBatch) {
+                    ((AggregationMethodBatch) aggregator).leaveBatch(column, start, end);
+                } else {
+                    for (int i = start; i < end; i++) {
+                        aggregator.leave(column[i]);
+                    }
+                }
+                start = end;
+            }
+        }
+    }
+
+    // consecutive events of the same group, as is common for batches, share the row lookup
+    private AggregationMethod[][] getRows(Object[] groupKeys) {
+        AggregationMethod[][] rows = new AggregationMethod[groupKeys.length][];
+        AggregationMethod[] row = null;
+        Object rowKey = null;
+        for (int i = 0; i < groupKeys.length; i++) {
+            Object key = groupKeys[i];
+            if (row == null || !Objects.equals(key, rowKey)) {
+                row = aggregatorsPerGroup.get(key);
+                rowKey = key;
+                if (row == null) {
+                    row = AggSvcGroupByUtil.newAggregators(aggregators);
+                    aggregatorsPerGroup.put(key, row);
+                }
+            }
+            rows[i] = row;
+        }
+        currentAggregatorRow = row;
+        return rows;
+    }
+
     public void setCurrentAccess(Object groupByKey, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
         currentAggregatorRow = aggregatorsPerGroup.get(groupByKey);
         this.currentGroupKey = groupByKey;
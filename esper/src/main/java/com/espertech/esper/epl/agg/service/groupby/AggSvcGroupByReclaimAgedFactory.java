@@ -25,15 +25,19 @@ public class AggSvcGroupByReclaimAgedFactory implements AggregationServiceFactor
     protected final AggregationAccessorSlotPair[] accessors;
     protected final AggregationStateFactory[] accessAggregations;
     protected final boolean isJoin;
+    protected final AggSvcGroupByKeyType groupKeyType;
+    protected final int numGroupKeys;
     protected final AggSvcGroupByReclaimAgedEvalFuncFactory evaluationFunctionMaxAge;
     protected final AggSvcGroupByReclaimAgedEvalFuncFactory evaluationFunctionFrequency;
 
-    public AggSvcGroupByReclaimAgedFactory(AggregationRowStateEvalDesc rowStateEvalDesc, boolean isJoin, AggSvcGroupByReclaimAgedEvalFuncFactory evaluationFunctionMaxAge, AggSvcGroupByReclaimAgedEvalFuncFactory evaluationFunctionFrequency) {
+    public AggSvcGroupByReclaimAgedFactory(AggregationRowStateEvalDesc rowStateEvalDesc, boolean isJoin, AggSvcGroupByKeyType groupKeyType, int numGroupKeys, AggSvcGroupByReclaimAgedEvalFuncFactory evaluationFunctionMaxAge, AggSvcGroupByReclaimAgedEvalFuncFactory evaluationFunctionFrequency) {
         this.evaluators = rowStateEvalDesc.getMethodEvals();
         this.aggregators = rowStateEvalDesc.getMethodFactories();
         this.accessors = rowStateEvalDesc.getAccessAccessors();
         this.accessAggregations = rowStateEvalDesc.getAccessFactories();
         this.isJoin = isJoin;
+        this.groupKeyType = groupKeyType;
+        this.numGroupKeys = numGroupKeys;
         this.evaluationFunctionMaxAge = evaluationFunctionMaxAge;
         this.evaluationFunctionFrequency = evaluationFunctionFrequency;
     }
@@ -41,6 +45,6 @@ public class AggSvcGroupByReclaimAgedFactory implements AggregationServiceFactor
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
         AggSvcGroupByReclaimAgedEvalFunc max = evaluationFunctionMaxAge.make(agentInstanceContext);
         AggSvcGroupByReclaimAgedEvalFunc freq = evaluationFunctionFrequency.make(agentInstanceContext);
-        return new AggSvcGroupByReclaimAgedImpl(evaluators, aggregators, accessors, accessAggregations, isJoin, max, freq, agentInstanceContext.getStatementContext().getTimeAbacus());
+        return new AggSvcGroupByReclaimAgedImpl(evaluators, aggregators, accessors, accessAggregations, isJoin, max, freq, agentInstanceContext.getStatementContext().getTimeAbacus(), groupKeyType, numGroupKeys);
     }
 }
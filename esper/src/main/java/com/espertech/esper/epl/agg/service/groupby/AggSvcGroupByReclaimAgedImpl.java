@@ -80,14 +80,14 @@ public class AggSvcGroupByReclaimAgedImpl extends AggregationServiceBaseGrouped
     private volatile long currentMaxAge = DEFAULT_MAX_AGE_MSEC;
     private volatile long currentReclaimFrequency = DEFAULT_MAX_AGE_MSEC;
 
-    public AggSvcGroupByReclaimAgedImpl(ExprEvaluator[] evaluators, AggregationMethodFactory[] aggregators, AggregationAccessorSlotPair[] accessors, AggregationStateFactory[] accessAggregations, boolean join, AggSvcGroupByReclaimAgedEvalFunc evaluationFunctionMaxAge, AggSvcGroupByReclaimAgedEvalFunc evaluationFunctionFrequency, TimeAbacus timeAbacus) {
+    public AggSvcGroupByReclaimAgedImpl(ExprEvaluator[] evaluators, AggregationMethodFactory[] aggregators, AggregationAccessorSlotPair[] accessors, AggregationStateFactory[] accessAggregations, boolean join, AggSvcGroupByReclaimAgedEvalFunc evaluationFunctionMaxAge, AggSvcGroupByReclaimAgedEvalFunc evaluationFunctionFrequency, TimeAbacus timeAbacus, AggSvcGroupByKeyType groupKeyType, int numGroupKeys) {
         super(evaluators, aggregators);
         this.accessors = accessors;
         this.accessAggregations = accessAggregations;
         isJoin = join;
         this.evaluationFunctionMaxAge = evaluationFunctionMaxAge;
         this.evaluationFunctionFrequency = evaluationFunctionFrequency;
-        this.aggregatorsPerGroup = new HashMap<>();
+        this.aggregatorsPerGroup = groupKeyType.makeMap(numGroupKeys);
         this.timeAbacus = timeAbacus;
         removedKeys = new ArrayList<>();
     }
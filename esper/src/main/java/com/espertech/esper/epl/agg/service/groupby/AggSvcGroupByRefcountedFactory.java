@@ -25,19 +25,23 @@ public class AggSvcGroupByRefcountedFactory implements AggregationServiceFactory
     protected final AggregationAccessorSlotPair[] accessors;
     protected final AggregationStateFactory[] accessAggregations;
     protected final boolean isJoin;
+    protected final AggSvcGroupByKeyType groupKeyType;
+    protected final int numGroupKeys;
 
-    public AggSvcGroupByRefcountedFactory(AggregationRowStateEvalDesc rowStateEvalDesc, boolean isJoin) {
+    public AggSvcGroupByRefcountedFactory(AggregationRowStateEvalDesc rowStateEvalDesc, boolean isJoin, AggSvcGroupByKeyType groupKeyType, int numGroupKeys) {
         this.evaluators = rowStateEvalDesc.getMethodEvals();
         this.aggregators = rowStateEvalDesc.getMethodFactories();
         this.accessors = rowStateEvalDesc.getAccessAccessors();
         this.accessAggregations = rowStateEvalDesc.getAccessFactories();
         this.isJoin = isJoin;
+        this.groupKeyType = groupKeyType;
+        this.numGroupKeys = numGroupKeys;
     }
 
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
         if (accessAggregations.length == 0) {
-            return new AggSvcGroupByRefcountedNoAccessImpl(evaluators, aggregators);
+            return new AggSvcGroupByRefcountedNoAccessImpl(evaluators, aggregators, groupKeyType, numGroupKeys);
         }
-        return new AggSvcGroupByRefcountedWAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin);
+        return new AggSvcGroupByRefcountedWAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin, groupKeyType, numGroupKeys);
     }
 }
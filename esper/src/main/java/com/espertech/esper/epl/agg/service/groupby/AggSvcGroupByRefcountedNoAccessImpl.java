@@ -39,11 +39,15 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
      * @param evaluators - evaluate the sub-expression within the aggregate function (ie. sum(4*myNum))
      * @param prototypes - collect the aggregation state that evaluators evaluate to, act as prototypes for new aggregations
      *                   aggregation states for each group
+     * @param groupKeyType group key type
+     * @param numGroupKeys number of group-by expressions
      */
     public AggSvcGroupByRefcountedNoAccessImpl(ExprEvaluator[] evaluators,
-                                               AggregationMethodFactory[] prototypes) {
+                                               AggregationMethodFactory[] prototypes,
+                                               AggSvcGroupByKeyType groupKeyType,
+                                               int numGroupKeys) {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethodRow>();
+        this.aggregatorsPerGroup = groupKeyType.makeMap(numGroupKeys);
         removedKeys = new ArrayList<Object>();
     }
 
@@ -49,14 +49,18 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
      * @param accessors          accessor definitions
      * @param accessAggregations access aggs
      * @param isJoin             true for join, false for single-stream
+     * @param groupKeyType       group key type
+     * @param numGroupKeys       number of group-by expressions
      */
     public AggSvcGroupByRefcountedWAccessImpl(ExprEvaluator[] evaluators,
                                               AggregationMethodFactory[] prototypes,
                                               AggregationAccessorSlotPair[] accessors,
                                               AggregationStateFactory[] accessAggregations,
-                                              boolean isJoin) {
+                                              boolean isJoin,
+                                              AggSvcGroupByKeyType groupKeyType,
+                                              int numGroupKeys) {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<>();
+        this.aggregatorsPerGroup = groupKeyType.makeMap(numGroupKeys);
         this.accessors = accessors;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
@@ -34,8 +34,9 @@ public class AggSvcGroupByWTableFactory implements AggregationServiceFactory {
     private final ExprNode[] accessStateExpr;
     private final AggregationAgent[] agents;
     private final AggregationGroupByRollupDesc groupByRollupDesc;
+    private final boolean isRowLockStriped;
 
-    public AggSvcGroupByWTableFactory(TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPair[] accessors, boolean join, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc) {
+    public AggSvcGroupByWTableFactory(TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPair[] accessors, boolean join, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc, boolean isRowLockStriped) {
         this.tableMetadata = tableMetadata;
         this.methodPairs = methodPairs;
         this.accessors = accessors;
@@ -44,11 +45,16 @@ public class AggSvcGroupByWTableFactory implements AggregationServiceFactory {
         this.accessStateExpr = accessStateExpr;
         this.agents = agents;
         this.groupByRollupDesc = groupByRollupDesc;
+        this.isRowLockStriped = isRowLockStriped;
     }
 
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
         TableStateInstanceGrouped tableState = (TableStateInstanceGrouped) agentInstanceContext.getStatementContext().getTableService().getState(tableMetadata.getTableName(), agentInstanceContext.getAgentInstanceId());
         if (groupByRollupDesc == null) {
+            if (isRowLockStriped) {
+                return new AggSvcGroupByWTableRowLockImpl(tableMetadata, methodPairs, accessors, isJoin,
+                        tableState, targetStates, accessStateExpr, agents);
+            }
             return new AggSvcGroupByWTableImpl(tableMetadata, methodPairs, accessors, isJoin,
                     tableState, targetStates, accessStateExpr, agents);
         }
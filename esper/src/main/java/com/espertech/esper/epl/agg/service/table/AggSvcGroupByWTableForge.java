@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.epl.agg.service.table;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.codegen.base.CodegenClassScope;
 import com.espertech.esper.codegen.base.CodegenMember;
 import com.espertech.esper.codegen.base.CodegenMethodNode;
@@ -27,6 +28,7 @@ import com.espertech.esper.epl.agg.service.common.AggregationGroupByRollupDesc;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceFactory;
 import com.espertech.esper.epl.agg.service.common.AggregationServiceFactoryForge;
 import com.espertech.esper.epl.agg.service.common.AggregatorUtil;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.table.mgmt.*;
 
@@ -34,13 +36,12 @@ import java.util.List;
 
 import static com.espertech.esper.codegen.model.expression.CodegenExpressionBuilder.*;
 import static com.espertech.esper.epl.agg.codegen.AggregationServiceCodegenNames.CLASSNAME_AGGREGATIONSERVICE;
-import static com.espertech.esper.epl.agg.codegen.AggregationServiceCodegenNames.REF_GROUPKEY;
+import static com.espertech.esper.epl.agg.codegen.AggregationServiceCodegenNames.*;
 import static com.espertech.esper.epl.agg.service.table.AggSvcGroupByWTableCodegenUtil.REF_TABLESTATEINSTANCE;
 import static com.espertech.esper.epl.agg.service.table.AggSvcTableGetterType.*;
 import static com.espertech.esper.epl.core.resultset.codegen.ResultSetProcessorCodegenNames.NAME_AGENTINSTANCECONTEXT;
 import static com.espertech.esper.epl.core.resultset.codegen.ResultSetProcessorCodegenNames.REF_AGENTINSTANCECONTEXT;
-import static com.espertech.esper.epl.expression.codegen.ExprForgeCodegenNames.REF_EPS;
-import static com.espertech.esper.epl.expression.codegen.ExprForgeCodegenNames.REF_EXPREVALCONTEXT;
+import static com.espertech.esper.epl.expression.codegen.ExprForgeCodegenNames.*;
 
 /**
  * Implementation for handling aggregation with grouping by group-keys.
@@ -59,8 +60,9 @@ public class AggSvcGroupByWTableForge implements AggregationServiceFactoryForge
     private final AggregationAgent[] agents;
     private final AggregationGroupByRollupDesc groupByRollupDesc;
     private final boolean hasGroupBy;
+    private final boolean isRowLockStriped;
 
-    public AggSvcGroupByWTableForge(TableService tableService, TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPairForge[] accessorForges, AggregationAccessorSlotPair[] accessors, boolean join, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgentForge[] agentForges, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc, boolean hasGroupBy) {
+    public AggSvcGroupByWTableForge(TableService tableService, TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPairForge[] accessorForges, AggregationAccessorSlotPair[] accessors, boolean join, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgentForge[] agentForges, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc, boolean hasGroupBy, boolean isRowLockStriped) {
         this.tableService = tableService;
         this.tableMetadata = tableMetadata;
         this.methodPairs = methodPairs;
@@ -73,12 +75,13 @@ public class AggSvcGroupByWTableForge implements AggregationServiceFactoryForge
         this.agents = agents;
         this.groupByRollupDesc = groupByRollupDesc;
         this.hasGroupBy = hasGroupBy;
+        this.isRowLockStriped = isRowLockStriped;
     }
 
     public AggregationServiceFactory getAggregationServiceFactory(StatementContext stmtContext, boolean isFireAndForget) {
         AggregationAgent[] agents = AggregatorUtil.getAgentForges(agentForges, stmtContext.getEngineImportService(), isFireAndForget, stmtContext.getStatementName());
         if (hasGroupBy) {
-            return new AggSvcGroupByWTableFactory(tableMetadata, methodPairs, accessors, isJoin, targetStates, accessStateExpr, agents, groupByRollupDesc);
+            return new AggSvcGroupByWTableFactory(tableMetadata, methodPairs, accessors, isJoin, targetStates, accessStateExpr, agents, groupByRollupDesc, isRowLockStriped);
         } else {
             return new AggSvcGroupAllWTableFactory(tableMetadata, methodPairs, accessors, isJoin, targetStates, accessStateExpr, agents);
         }
@@ -140,6 +143,19 @@ public class AggSvcGroupByWTableForge implements AggregationServiceFactoryForge
     }
 
     public void setCurrentAccessCodegen(CodegenMethodNode method, CodegenClassScope classScope) {
+        if (isRowLockStriped) {
+            CodegenMethodNode setCurrentAccess = method.makeChild(void.class, this.getClass(), classScope).addParam(Object.class, NAME_GROUPKEY);
+            AggSvcGroupByWTableBase.setCurrentAccessCodegen(setCurrentAccess, classScope);
+            method.getBlock().declareVar(TableRowLockStriped.class, "rowLock", exprDotMethod(REF_TABLESTATEINSTANCE, "getRowLockStriped"))
+                    .exprDotMethod(ref("rowLock"), "lockRow", REF_GROUPKEY)
+                    .tryCatch()
+                        .localMethod(setCurrentAccess, REF_GROUPKEY)
+                    .tryEnd()
+                    .tryFinally()
+                        .exprDotMethod(ref("rowLock"), "unlockRow", REF_GROUPKEY)
+                    .blockEnd();
+            return;
+        }
         if (hasGroupBy) {
             if (groupByRollupDesc == null || tableMetadata.getKeyTypes().length == 1) {
                 AggSvcGroupByWTableBase.setCurrentAccessCodegen(method, classScope);
@@ -158,6 +174,9 @@ public class AggSvcGroupByWTableForge implements AggregationServiceFactoryForge
     }
 
     public void getGroupKeysCodegen(CodegenMethodNode method, CodegenClassScope classScope) {
+        if (isRowLockStriped) {
+            AggSvcGroupByWTableCodegenUtil.obtainWriteLockCodegen(method);
+        }
         method.getBlock().methodReturn(hasGroupBy ? exprDotMethod(REF_TABLESTATEINSTANCE, "getGroupKeys") : constantNull());
     }
 
@@ -174,6 +193,18 @@ public class AggSvcGroupByWTableForge implements AggregationServiceFactoryForge
     }
 
     private void applyCodegen(boolean enter, CodegenMethodNode method, CodegenClassScope classScope, CodegenNamedMethods namedMethods) {
+        if (isRowLockStriped) {
+            CodegenMethodNode applyGroupKey = AggSvcGroupByWTableBase.applyGroupKeyCodegen(enter, method, classScope, methodPairs, agentForges, agents, targetStates);
+            method.getBlock().declareVar(TableRowLockStriped.class, "rowLock", exprDotMethod(REF_TABLESTATEINSTANCE, "getRowLockStriped"))
+                    .exprDotMethod(ref("rowLock"), "lockRow", REF_GROUPKEY)
+                    .tryCatch()
+                        .localMethod(applyGroupKey, REF_EPS, REF_GROUPKEY, REF_EXPREVALCONTEXT)
+                    .tryEnd()
+                    .tryFinally()
+                        .exprDotMethod(ref("rowLock"), "unlockRow", REF_GROUPKEY)
+                    .blockEnd();
+            return;
+        }
         AggSvcGroupByWTableCodegenUtil.obtainWriteLockCodegen(method);
         if (!hasGroupBy) {
             method.getBlock().localMethod(AggSvcGroupAllWTableImpl.applyCodegen(enter, method, classScope, methodPairs, agentForges, agents, targetStates), REF_EPS, REF_EXPREVALCONTEXT);
@@ -189,6 +220,20 @@ public class AggSvcGroupByWTableForge implements AggregationServiceFactoryForge
     }
 
     public void getCodegen(AggSvcTableGetterType getterType, CodegenMethodNode method, CodegenClassScope classScope, CodegenNamedMethods namedMethods) {
+        if (isRowLockStriped) {
+            CodegenMethodNode getter = method.makeChild(method.getReturnType(), this.getClass(), classScope).addParam(int.class, NAME_COLUMN).addParam(EventBean[].class, NAME_EPS).addParam(boolean.class, NAME_ISNEWDATA).addParam(ExprEvaluatorContext.class, NAME_EXPREVALCONTEXT);
+            AggSvcGroupByWTableBase.getGroupByValueCodegen(getterType, getter, classScope, namedMethods, methodPairs.length, accessors);
+            method.getBlock().declareVar(TableRowLockStriped.class, "rowLock", exprDotMethod(REF_TABLESTATEINSTANCE, "getRowLockStriped"))
+                    .declareVar(Object.class, "rowKey", AggSvcGroupByWTableRollupMultiKeyImpl.REF_CURRENTGROUPKEY)
+                    .exprDotMethod(ref("rowLock"), "lockRow", ref("rowKey"))
+                    .tryCatch()
+                        .tryReturn(localMethod(getter, REF_COLUMN, REF_EPS, REF_ISNEWDATA, REF_EXPREVALCONTEXT))
+                    .tryFinally()
+                        .exprDotMethod(ref("rowLock"), "unlockRow", ref("rowKey"))
+                    .blockEnd()
+                    .methodEnd();
+            return;
+        }
         AggSvcGroupByWTableCodegenUtil.obtainWriteLockCodegen(method);
         if (!hasGroupBy) {
             AggSvcGroupAllWTableImpl.getGroupAllValueCodegen(getterType, method, classScope, accessors);
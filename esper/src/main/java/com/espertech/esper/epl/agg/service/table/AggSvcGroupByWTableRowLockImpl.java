@@ -0,0 +1,119 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.service.table;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.agg.access.AggregationAccessorSlotPair;
+import com.espertech.esper.epl.agg.access.AggregationAgent;
+import com.espertech.esper.epl.agg.service.common.AggregationGroupByRollupLevel;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.table.mgmt.TableColumnMethodPair;
+import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.epl.table.mgmt.TableRowLockStriped;
+import com.espertech.esper.epl.table.mgmt.TableStateInstanceGrouped;
+import com.espertech.esper.epl.table.strategy.ExprTableEvalLockUtil;
+
+import java.util.Collection;
+
+/**
+ * Implementation for handling aggregation with grouping by group-keys for tables that lock rows by stripe,
+ * holding the row lock only while the row is updated or read instead of obtaining the table-level write lock.
+ */
+public class AggSvcGroupByWTableRowLockImpl extends AggSvcGroupByWTableBase {
+    private final TableRowLockStriped rowLock;
+
+    public AggSvcGroupByWTableRowLockImpl(TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPair[] accessors, boolean join, TableStateInstanceGrouped tableStateInstance, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgent[] agents) {
+        super(tableMetadata, methodPairs, accessors, join, tableStateInstance, targetStates, accessStateExpr, agents);
+        this.rowLock = tableStateInstance.getRowLockStriped();
+    }
+
+    public void applyEnter(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        rowLock.lockRow(groupByKey);
+        try {
+            applyEnterGroupKey(eventsPerStream, groupByKey, exprEvaluatorContext);
+        } finally {
+            rowLock.unlockRow(groupByKey);
+        }
+    }
+
+    public void applyLeave(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        rowLock.lockRow(groupByKey);
+        try {
+            applyLeaveGroupKey(eventsPerStream, groupByKey, exprEvaluatorContext);
+        } finally {
+            rowLock.unlockRow(groupByKey);
+        }
+    }
+
+    public void applyEnterInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        applyEnterGroupKey(eventsPerStream, groupByKey, exprEvaluatorContext);
+    }
+
+    public void applyLeaveInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        applyLeaveGroupKey(eventsPerStream, groupByKey, exprEvaluatorContext);
+    }
+
+    public void setCurrentAccess(Object groupByKey, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
+        rowLock.lockRow(groupByKey);
+        try {
+            super.setCurrentAccess(groupByKey, agentInstanceId, rollupLevel);
+        } finally {
+            rowLock.unlockRow(groupByKey);
+        }
+    }
+
+    public Object getValue(int column, int agentInstanceId, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
+        Object rowKey = currentGroupKey;
+        rowLock.lockRow(rowKey);
+        try {
+            return super.getValue(column, agentInstanceId, eventsPerStream, isNewData, exprEvaluatorContext);
+        } finally {
+            rowLock.unlockRow(rowKey);
+        }
+    }
+
+    public Collection<EventBean> getCollectionOfEvents(int column, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        Object rowKey = currentGroupKey;
+        rowLock.lockRow(rowKey);
+        try {
+            return super.getCollectionOfEvents(column, eventsPerStream, isNewData, context);
+        } finally {
+            rowLock.unlockRow(rowKey);
+        }
+    }
+
+    public Collection<Object> getCollectionScalar(int column, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        Object rowKey = currentGroupKey;
+        rowLock.lockRow(rowKey);
+        try {
+            return super.getCollectionScalar(column, eventsPerStream, isNewData, context);
+        } finally {
+            rowLock.unlockRow(rowKey);
+        }
+    }
+
+    public EventBean getEventBean(int column, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        Object rowKey = currentGroupKey;
+        rowLock.lockRow(rowKey);
+        try {
+            return super.getEventBean(column, eventsPerStream, isNewData, context);
+        } finally {
+            rowLock.unlockRow(rowKey);
+        }
+    }
+
+    public Collection<Object> getGroupKeys(ExprEvaluatorContext exprEvaluatorContext) {
+        // iterating all rows requires the table-level lock
+        ExprTableEvalLockUtil.obtainLockUnless(tableStateInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        return super.getGroupKeys(exprEvaluatorContext);
+    }
+}
@@ -23,6 +23,7 @@ import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.collection.UniformPair;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.epl.agg.service.common.AggregationService;
+import com.espertech.esper.epl.agg.service.common.AggregationServiceBatch;
 import com.espertech.esper.epl.core.orderby.OrderByProcessor;
 import com.espertech.esper.epl.core.select.SelectExprProcessor;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
@@ -83,20 +84,40 @@ public class ResultSetProcessorUtil {
     public static void applyAggViewResult(AggregationService aggregationService, ExprEvaluatorContext exprEvaluatorContext, EventBean[] newData, EventBean[] oldData, EventBean[] eventsPerStream) {
         if (newData != null) {
             // apply new data to aggregates
-            for (int i = 0; i < newData.length; i++) {
-                eventsPerStream[0] = newData[i];
-                aggregationService.applyEnter(eventsPerStream, null, exprEvaluatorContext);
+            if (isApplyBatch(aggregationService, newData)) {
+                ((AggregationServiceBatch) aggregationService).applyEnterBatch(newData, null, eventsPerStream, exprEvaluatorContext);
+            } else {
+                for (int i = 0; i < newData.length; i++) {
+                    eventsPerStream[0] = newData[i];
+                    aggregationService.applyEnter(eventsPerStream, null, exprEvaluatorContext);
+                }
             }
         }
         if (oldData != null) {
             // apply old data to aggregates
-            for (int i = 0; i < oldData.length; i++) {
-                eventsPerStream[0] = oldData[i];
-                aggregationService.applyLeave(eventsPerStream, null, exprEvaluatorContext);
+            if (isApplyBatch(aggregationService, oldData)) {
+                ((AggregationServiceBatch) aggregationService).applyLeaveBatch(oldData, null, eventsPerStream, exprEvaluatorContext);
+            } else {
+                for (int i = 0; i < oldData.length; i++) {
+                    eventsPerStream[0] = oldData[i];
+                    aggregationService.applyLeave(eventsPerStream, null, exprEvaluatorContext);
+                }
             }
         }
     }
 
+    /**
+     * Returns true when the events, such as those released by a batch window, can be applied to the aggregation service
+     * as a batch.
+     *
+     * @param aggregationService aggregations
+     * @param events             events
+     * @return indicator
+     */
+    public static boolean isApplyBatch(AggregationService aggregationService, EventBean[] events) {
+        return events.length > 1 && aggregationService instanceof AggregationServiceBatch && !InstrumentationHelper.ENABLED;
+    }
+
     /**
      * NOTE: Code-generation-invoked method, method name and parameter order matters
      *
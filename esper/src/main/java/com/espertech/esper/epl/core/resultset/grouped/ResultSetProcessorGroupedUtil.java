@@ -20,6 +20,7 @@ import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.collection.MultiKeyUntyped;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.epl.agg.service.common.AggregationService;
+import com.espertech.esper.epl.agg.service.common.AggregationServiceBatch;
 import com.espertech.esper.codegen.core.CodegenInstanceAux;
 import com.espertech.esper.epl.core.resultset.core.ResultSetProcessorUtil;
 import com.espertech.esper.epl.core.resultset.rowperevent.ResultSetProcessorRowPerEventImpl;
@@ -52,16 +53,24 @@ public class ResultSetProcessorGroupedUtil {
         // update aggregates
         if (newData != null) {
             // apply new data to aggregates
-            for (int i = 0; i < newData.length; i++) {
-                eventsPerStream[0] = newData[i];
-                aggregationService.applyEnter(eventsPerStream, newDataMultiKey[i], agentInstanceContext);
+            if (ResultSetProcessorUtil.isApplyBatch(aggregationService, newData)) {
+                ((AggregationServiceBatch) aggregationService).applyEnterBatch(newData, newDataMultiKey, eventsPerStream, agentInstanceContext);
+            } else {
+                for (int i = 0; i < newData.length; i++) {
+                    eventsPerStream[0] = newData[i];
+                    aggregationService.applyEnter(eventsPerStream, newDataMultiKey[i], agentInstanceContext);
+                }
             }
         }
         if (oldData != null) {
             // apply old data to aggregates
-            for (int i = 0; i < oldData.length; i++) {
-                eventsPerStream[0] = oldData[i];
-                aggregationService.applyLeave(eventsPerStream, oldDataMultiKey[i], agentInstanceContext);
+            if (ResultSetProcessorUtil.isApplyBatch(aggregationService, oldData)) {
+                ((AggregationServiceBatch) aggregationService).applyLeaveBatch(oldData, oldDataMultiKey, eventsPerStream, agentInstanceContext);
+            } else {
+                for (int i = 0; i < oldData.length; i++) {
+                    eventsPerStream[0] = oldData[i];
+                    aggregationService.applyLeave(eventsPerStream, oldDataMultiKey[i], agentInstanceContext);
+                }
             }
         }
     }
@@ -13,6 +13,7 @@ package com.espertech.esper.epl.db;
 import com.espertech.esper.client.ConfigurationDataCache;
 import com.espertech.esper.client.ConfigurationExpiryTimeCache;
 import com.espertech.esper.client.ConfigurationLRUCache;
+import com.espertech.esper.client.ConfigurationRefreshAheadCache;
 import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.schedule.ScheduleBucket;
@@ -53,6 +54,12 @@ public class DataCacheFactory {
             return makeTimeCache(expCache, statementContext, epStatementAgentInstanceHandle, schedulingService, scheduleBucket, streamNum);
         }
 
+        if (cacheDesc instanceof ConfigurationRefreshAheadCache) {
+            ConfigurationRefreshAheadCache refreshCache = (ConfigurationRefreshAheadCache) cacheDesc;
+            return new DataCacheRefreshAheadImpl(refreshCache.getMaxAgeSeconds(), refreshCache.getRefreshAheadSeconds(), refreshCache.getPurgeIntervalSeconds(), refreshCache.getMaxSize(),
+                    schedulingService, scheduleBucket.allocateSlot(), epStatementAgentInstanceHandle, statementContext.getTimeAbacus());
+        }
+
         throw new IllegalStateException("Cache implementation class not configured");
     }
 
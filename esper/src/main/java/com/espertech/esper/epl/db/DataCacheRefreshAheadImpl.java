@@ -0,0 +1,225 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.db;
+
+import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.core.service.EPStatementHandleCallback;
+import com.espertech.esper.core.service.EngineLevelExtensionServicesContext;
+import com.espertech.esper.epl.expression.time.TimeAbacus;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.schedule.ScheduleHandleCallback;
+import com.espertech.esper.schedule.SchedulingService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implements an expiry-time cache that indicates when a result that is used is due for refresh, and that
+ * accepts refreshed results from a thread other than the engine thread.
+ * <p>
+ * A result is due for refresh when its age exceeds the maximum age less the refresh-ahead time. Only the first
+ * caller asking after that time is told that the result is due, so that each result is refreshed at most once.
+ * A result that failed to refresh expires at its maximum age as usual.
+ * </p>
+ * <p>
+ * The cache holds hard references and, if a maximum size is set, evicts the oldest results when the size is exceeded.
+ * </p>
+ */
+public class DataCacheRefreshAheadImpl implements DataCache, ScheduleHandleCallback {
+    private final double maxAgeSec;
+    private final double refreshAheadSec;
+    private final double purgeIntervalSec;
+    private final int maxSize;
+    private final SchedulingService schedulingService;
+    private final long scheduleSlot;
+    private final Map<Object, Item> cache = new ConcurrentHashMap<Object, Item>();
+    private final EPStatementAgentInstanceHandle epStatementAgentInstanceHandle;
+    private final TimeAbacus timeAbacus;
+
+    private boolean isScheduled;
+
+    /**
+     * Ctor.
+     *
+     * @param maxAgeSec                      is the maximum age in seconds
+     * @param refreshAheadSec                is the number of seconds before expiry from which a result is due for refresh
+     * @param purgeIntervalSec               is the purge interval in seconds
+     * @param maxSize                        is the maximum cache size, or zero for no maximum
+     * @param schedulingService              is a service for call backs at a scheduled time, for purging
+     * @param scheduleSlot                   slot for scheduling callbacks for this cache
+     * @param epStatementAgentInstanceHandle is the statements-own handle for use in registering callbacks with services
+     * @param timeAbacus                     time abacus
+     */
+    public DataCacheRefreshAheadImpl(double maxAgeSec,
+                                     double refreshAheadSec,
+                                     double purgeIntervalSec,
+                                     int maxSize,
+                                     SchedulingService schedulingService,
+                                     long scheduleSlot,
+                                     EPStatementAgentInstanceHandle epStatementAgentInstanceHandle,
+                                     TimeAbacus timeAbacus) {
+        this.maxAgeSec = maxAgeSec;
+        this.refreshAheadSec = refreshAheadSec;
+        this.purgeIntervalSec = purgeIntervalSec;
+        this.maxSize = maxSize;
+        this.schedulingService = schedulingService;
+        this.scheduleSlot = scheduleSlot;
+        this.epStatementAgentInstanceHandle = epStatementAgentInstanceHandle;
+        this.timeAbacus = timeAbacus;
+    }
+
+    public EventTable[] getCached(Object[] methodParams, int numLookupKeys) {
+        Object key = DataCacheUtil.getLookupKey(methodParams, numLookupKeys);
+        Item item = cache.get(key);
+        if (item == null) {
+            return null;
+        }
+
+        long now = schedulingService.getTime();
+        if ((now - item.getTime()) > timeAbacus.deltaForSecondsDouble(maxAgeSec)) {
+            cache.remove(key, item);
+            return null;
+        }
+
+        return item.getData();
+    }
+
+    public void put(Object[] methodParams, int numLookupKeys, EventTable[] rows) {
+        putInternal(methodParams, numLookupKeys, rows);
+
+        if (!isScheduled) {
+            EPStatementHandleCallback callback = new EPStatementHandleCallback(epStatementAgentInstanceHandle, this);
+            schedulingService.add(timeAbacus.deltaForSecondsDouble(purgeIntervalSec), callback, scheduleSlot);
+            isScheduled = true;
+        }
+    }
+
+    /**
+     * Returns true if the cached result for the keys is due for refresh and no other caller has been told so before.
+     *
+     * @param methodParams  is the keys to look up in the cache
+     * @param numLookupKeys number of method param keys, from the start, that are for cache lookup
+     * @return indicator whether the caller should refresh the result
+     */
+    public boolean isRefreshDue(Object[] methodParams, int numLookupKeys) {
+        Object key = DataCacheUtil.getLookupKey(methodParams, numLookupKeys);
+        Item item = cache.get(key);
+        if (item == null) {
+            return false;
+        }
+        long refreshAfter = timeAbacus.deltaForSecondsDouble(maxAgeSec - refreshAheadSec);
+        if ((schedulingService.getTime() - item.getTime()) < refreshAfter) {
+            return false;
+        }
+        return item.getRefreshClaimed().compareAndSet(false, true);
+    }
+
+    /**
+     * Puts a refreshed result into the cache, replacing the prior result. May be called by any thread.
+     *
+     * @param methodParams  is the keys to the cache entry
+     * @param numLookupKeys number of method param keys, from the start, that are for cache lookup
+     * @param rows          is a number of rows
+     */
+    public void putRefreshed(Object[] methodParams, int numLookupKeys, EventTable[] rows) {
+        putInternal(methodParams, numLookupKeys, rows);
+    }
+
+    public boolean isActive() {
+        return true;
+    }
+
+    /**
+     * Returns the current cache size.
+     *
+     * @return cache size
+     */
+    protected long getSize() {
+        return cache.size();
+    }
+
+    public void scheduledTrigger(EngineLevelExtensionServicesContext engineLevelExtensionServicesContext) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qHistoricalScheduledEval();
+        }
+        // purge expired
+        long now = schedulingService.getTime();
+        long maxAgeMSec = timeAbacus.deltaForSecondsDouble(maxAgeSec);
+        for (Iterator<Item> it = cache.values().iterator(); it.hasNext(); ) {
+            if ((now - it.next().getTime()) > maxAgeMSec) {
+                it.remove();
+            }
+        }
+
+        isScheduled = false;
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aHistoricalScheduledEval();
+        }
+    }
+
+    public void destroy() {
+    }
+
+    private void putInternal(Object[] methodParams, int numLookupKeys, EventTable[] rows) {
+        Object key = DataCacheUtil.getLookupKey(methodParams, numLookupKeys);
+        cache.put(key, new Item(rows, schedulingService.getTime()));
+        if (maxSize > 0 && cache.size() > maxSize) {
+            evictOldest();
+        }
+    }
+
+    // evicts down to 90% of the maximum size so that a full cache does not sort on every put
+    private synchronized void evictOldest() {
+        int numEvict = cache.size() - (maxSize - maxSize / 10);
+        if (numEvict <= 0) {
+            return;
+        }
+        List<Map.Entry<Object, Item>> entries = new ArrayList<Map.Entry<Object, Item>>(cache.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<Object, Item>>() {
+            public int compare(Map.Entry<Object, Item> o1, Map.Entry<Object, Item> o2) {
+                return Long.compare(o1.getValue().getTime(), o2.getValue().getTime());
+            }
+        });
+        for (int i = 0; i < numEvict && i < entries.size(); i++) {
+            cache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+
+    private static class Item {
+        private final EventTable[] data;
+        private final long time;
+        private final AtomicBoolean refreshClaimed = new AtomicBoolean();
+
+        public Item(EventTable[] data, long time) {
+            this.data = data;
+            this.time = time;
+        }
+
+        public EventTable[] getData() {
+            return data;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public AtomicBoolean getRefreshClaimed() {
+            return refreshClaimed;
+        }
+    }
+}
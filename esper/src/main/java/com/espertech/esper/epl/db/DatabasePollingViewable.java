@@ -16,6 +16,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.IterablesArrayIterator;
 import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.core.thread.EngineThreadFactory;
 import com.espertech.esper.epl.core.engineimport.EngineImportService;
 import com.espertech.esper.epl.core.streamtype.StreamTypeService;
 import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
@@ -33,20 +34,32 @@ import com.espertech.esper.schedule.TimeProvider;
 import com.espertech.esper.view.HistoricalEventViewable;
 import com.espertech.esper.view.View;
 import com.espertech.esper.view.ViewSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Implements a poller viewable that uses a polling strategy, a cache and
  * some input parameters extracted from event streams to perform the polling.
  */
 public class DatabasePollingViewable implements HistoricalEventViewable {
+    private static final Logger log = LoggerFactory.getLogger(DatabasePollingViewable.class);
+
     private final int myStreamNumber;
     private final PollExecStrategy pollExecStrategy;
     private final List<String> inputParameters;
     private final DataCache dataCache;
     private final EventType eventType;
     private final ThreadLocal<DataCache> dataCacheThreadLocal = new ThreadLocal<DataCache>();
+    private final PollExecStrategy refreshPollExecStrategy;
+    private final DataCacheRefreshAheadImpl refreshAheadCache;
+
+    private ExecutorService refreshExecutor;
+    private ExprEvaluatorContext refreshEvaluatorContext;
+    private boolean refreshStopped;
 
     private ExprEvaluator[] evaluators;
     private SortedSet<Integer> subordinateStreams;
@@ -84,16 +97,51 @@ public class DatabasePollingViewable implements HistoricalEventViewable {
                                    PollExecStrategy pollExecStrategy,
                                    DataCache dataCache,
                                    EventType eventType) {
+        this(myStreamNumber, inputParameters, pollExecStrategy, null, dataCache, eventType);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param myStreamNumber          is the stream number of the view
+     * @param inputParameters         are the event property names providing input parameter keys
+     * @param pollExecStrategy        is the strategy to use for retrieving results
+     * @param refreshPollExecStrategy is the strategy for refreshing cached results in the background, or null if not refreshing
+     * @param dataCache               is looked up before using the strategy
+     * @param eventType               is the type of events generated by the view
+     */
+    public DatabasePollingViewable(int myStreamNumber,
+                                   List<String> inputParameters,
+                                   PollExecStrategy pollExecStrategy,
+                                   PollExecStrategy refreshPollExecStrategy,
+                                   DataCache dataCache,
+                                   EventType eventType) {
         this.myStreamNumber = myStreamNumber;
         this.inputParameters = inputParameters;
         this.pollExecStrategy = pollExecStrategy;
+        this.refreshPollExecStrategy = refreshPollExecStrategy;
         this.dataCache = dataCache;
         this.eventType = eventType;
+        if (refreshPollExecStrategy != null && dataCache instanceof DataCacheRefreshAheadImpl) {
+            this.refreshAheadCache = (DataCacheRefreshAheadImpl) dataCache;
+        } else {
+            this.refreshAheadCache = null;
+        }
     }
 
     public void stop() {
         pollExecStrategy.destroy();
         dataCache.destroy();
+        if (refreshPollExecStrategy != null) {
+            synchronized (this) {
+                refreshStopped = true;
+                if (refreshExecutor != null) {
+                    refreshExecutor.shutdownNow();
+                    refreshExecutor = null;
+                }
+            }
+            refreshPollExecStrategy.destroy();
+        }
     }
 
     public DataCache getOptionalDataCache() {
@@ -169,6 +217,9 @@ public class DatabasePollingViewable implements HistoricalEventViewable {
                 EventTable[] multi = dataCache.getCached(lookupValues, lookupValues.length);
                 if (multi != null) {
                     result = multi;
+                    if (refreshAheadCache != null && refreshAheadCache.isRefreshDue(lookupValues, lookupValues.length)) {
+                        refresh(lookupValues, indexingStrategy);
+                    }
                     if (localDataCache != null) {
                         localDataCache.put(lookupValues, lookupValues.length, multi);
                     }
@@ -218,6 +269,36 @@ public class DatabasePollingViewable implements HistoricalEventViewable {
         return resultPerInputRow;
     }
 
+    // the engine thread continues with the cached result while the query executes on the refresh thread and connection;
+    // the lookup values are evaluated by the engine thread and the refresh thread has its own evaluator context
+    private synchronized void refresh(final Object[] lookupValues, final PollResultIndexingStrategy indexingStrategy) {
+        if (refreshStopped) {
+            return;
+        }
+        if (refreshExecutor == null) {
+            refreshExecutor = Executors.newSingleThreadExecutor(new EngineThreadFactory(statementContext.getEngineURI(), "DBRefresh", null, Thread.NORM_PRIORITY));
+            refreshEvaluatorContext = new ExprEvaluatorContextTimeOnly(statementContext.getTimeProvider());
+        }
+
+        final ExprEvaluatorContext evaluatorContext = refreshEvaluatorContext;
+        refreshExecutor.execute(new Runnable() {
+            public void run() {
+                try {
+                    refreshPollExecStrategy.start();
+                    try {
+                        List<EventBean> pollResult = refreshPollExecStrategy.poll(lookupValues, evaluatorContext);
+                        EventTable[] indexTable = indexingStrategy.index(pollResult, true, statementContext);
+                        refreshAheadCache.putRefreshed(lookupValues, lookupValues.length, indexTable);
+                    } finally {
+                        refreshPollExecStrategy.done();
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to refresh cached result for statement '" + statementContext.getStatementName() + "' lookup values " + Arrays.toString(lookupValues) + ": " + ex.getMessage(), ex);
+                }
+            }
+        });
+    }
+
     public View addView(View view) {
         view.setParent(this);
         return view;
@@ -217,10 +217,14 @@ public class DatabasePollingViewableFactory {
 
         // Get a proper connection and data cache
         ConnectionCache connectionCache;
+        ConnectionCache refreshConnectionCache = null;
         DataCache dataCache;
         try {
             connectionCache = databaseConfigService.getConnectionCache(databaseName, preparedStatementText);
             dataCache = databaseConfigService.getDataCache(databaseName, statementContext, epStatementAgentInstanceHandle, dataCacheFactory, streamNumber);
+            if (dataCache instanceof DataCacheRefreshAheadImpl) {
+                refreshConnectionCache = databaseConfigService.getConnectionCache(databaseName, preparedStatementText);
+            }
         } catch (DatabaseConfigException e) {
             String text = "Error obtaining cache configuration";
             log.error(text, e);
@@ -230,7 +234,14 @@ public class DatabasePollingViewableFactory {
         PollExecStrategyDBQuery dbPollStrategy = new PollExecStrategyDBQuery(eventAdapterService,
                 eventType, connectionCache, preparedStatementText, queryMetaData.getOutputParameters(), columnTypeConversionHook, outputRowConversionHook, enableJDBCLogging);
 
-        return new DatabasePollingViewable(streamNumber, queryMetaData.getInputParameters(), dbPollStrategy, dataCache, eventType);
+        // refreshing cached results uses its own connection so it does not contend with the engine thread
+        PollExecStrategyDBQuery refreshPollStrategy = null;
+        if (refreshConnectionCache != null) {
+            refreshPollStrategy = new PollExecStrategyDBQuery(eventAdapterService,
+                    eventType, refreshConnectionCache, preparedStatementText, queryMetaData.getOutputParameters(), columnTypeConversionHook, outputRowConversionHook, enableJDBCLogging);
+        }
+
+        return new DatabasePollingViewable(streamNumber, queryMetaData.getInputParameters(), dbPollStrategy, refreshPollStrategy, dataCache, eventType);
     }
 
     private static QueryMetaData getExampleQueryMetaData(Connection connection, String[] parameters, String sampleSQL, ColumnSettings metadataSetting, boolean isUsingMetadataSQL)
@@ -25,6 +25,8 @@ import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprForge;
 import com.espertech.esper.epl.expression.core.ExprForgeComplexityEnum;
 import com.espertech.esper.epl.expression.core.ExprPrecedenceEnum;
+import com.espertech.esper.filterspec.FilterBooleanEvaluator;
+import com.espertech.esper.filterspec.FilterBooleanEvaluatorInterpreted;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +35,7 @@ import java.util.Collections;
 import java.util.function.Supplier;
 
 import static com.espertech.esper.codegen.model.expression.CodegenExpressionBuilder.constantNull;
+import static com.espertech.esper.codegen.model.expression.CodegenExpressionBuilder.ref;
 
 public class ExprNodeCompiler {
     private final static Logger log = LoggerFactory.getLogger(ExprNodeCompiler.class);
@@ -42,25 +45,7 @@ public class ExprNodeCompiler {
             return forge.getExprEvaluator();
         }
 
-        Supplier<String> debugInformationProvider = new Supplier<String>() {
-            public String get() {
-                StringWriter writer = new StringWriter();
-                writer.append("statement '")
-                        .append(statementName)
-                        .append("' expression '");
-                try {
-                    forge.getForgeRenderable().toEPL(writer, ExprPrecedenceEnum.MINIMUM);
-                } catch (Throwable t) {
-                    log.warn("Exception rendering expression: " + t.getMessage(), t);
-                    writer.append("(exception rendering expression) ");
-                    writer.append(forge.getClass().getSimpleName());
-                }
-                writer.append("' requestor-class '")
-                        .append(compiledByClass.getSimpleName())
-                        .append("'");
-                return writer.toString();
-            }
-        };
+        Supplier<String> debugInformationProvider = getDebugInformationProvider(forge, compiledByClass, statementName);
 
         try {
             CodegenClassScope codegenClassScope = new CodegenClassScope(engineImportService.getByteCodeGeneration().isIncludeComments());
@@ -101,10 +86,97 @@ public class ExprNodeCompiler {
         }
     }
 
+    /**
+     * Allocates the evaluator for a boolean filter expression that cannot be indexed, for evaluation by the filter service.
+     * <p>
+     * Unless byte code generation for expressions is disabled, the expression is compiled into a class that returns the
+     * primitive filter result directly, and this is done for any expression that is not a constant or a plain property
+     * lookup, i.e. also for single-level expressions such as a relational operator over two properties.
+     * </p>
+     *
+     * @param forge               expression forge
+     * @param engineImportService engine imports
+     * @param compiledByClass     requestor class
+     * @param statementName       statement name
+     * @return filter evaluator
+     */
+    public static FilterBooleanEvaluator allocateFilterEvaluator(ExprForge forge, EngineImportService engineImportService, Class compiledByClass, String statementName) {
+        ExprForgeComplexityEnum complexity = forge.getComplexity();
+        Class evaluationType = forge.getEvaluationType();
+        if (!engineImportService.getByteCodeGeneration().isEnableExpression() ||
+                (complexity != ExprForgeComplexityEnum.INTER && complexity != ExprForgeComplexityEnum.SINGLE) ||
+                (evaluationType != boolean.class && evaluationType != Boolean.class)) {
+            return new FilterBooleanEvaluatorInterpreted(forge.getExprEvaluator());
+        }
+
+        Supplier<String> debugInformationProvider = getDebugInformationProvider(forge, compiledByClass, statementName);
+
+        try {
+            CodegenClassScope codegenClassScope = new CodegenClassScope(engineImportService.getByteCodeGeneration().isIncludeComments());
+            ExprForgeCodegenSymbol exprSymbol = new ExprForgeCodegenSymbol(true, null);
+            CodegenMethodNode topNode = CodegenMethodNode.makeParentNode(boolean.class, ExprNodeCompiler.class, exprSymbol, codegenClassScope).addParam(ExprForgeCodegenNames.PARAMS);
+
+            // generate expression
+            CodegenExpression expression = forge.evaluateCodegen(evaluationType, topNode, exprSymbol, codegenClassScope);
+
+            // generate code for derived symbols
+            exprSymbol.derivedSymbolsCodegen(topNode, topNode.getBlock(), codegenClassScope);
+
+            // add expression to end, a null result does not pass the filter
+            if (evaluationType == boolean.class) {
+                topNode.getBlock().methodReturn(expression);
+            } else {
+                topNode.getBlock()
+                        .declareVar(Boolean.class, "result", expression)
+                        .ifRefNullReturnFalse("result")
+                        .methodReturn(ref("result"));
+            }
+
+            // build stack
+            CodegenClassMethods methods = new CodegenClassMethods();
+            CodegenStackGenerator.recursiveBuildStack(topNode, "evaluateFilter", methods);
+
+            String className = CodeGenerationIDGenerator.generateClassName(FilterBooleanEvaluator.class);
+            CodegenClass clazz = new CodegenClass(FilterBooleanEvaluator.class, engineImportService.getCodegenCompiler().getPackageName(), className, codegenClassScope, Collections.emptyList(), null, methods, Collections.emptyList());
+            return CodegenClassGenerator.compile(clazz, engineImportService, FilterBooleanEvaluator.class, debugInformationProvider);
+        } catch (Throwable t) {
+            boolean fallback = engineImportService.getByteCodeGeneration().isEnableFallback();
+            String message = CodegenMessageUtil.getFailedCompileLogMessageWithCode(t, debugInformationProvider, fallback);
+            if (fallback) {
+                log.warn(message, t);
+            } else {
+                log.error(message, t);
+            }
+            return new FilterBooleanEvaluatorInterpreted(handleThrowable(engineImportService, t, forge, debugInformationProvider));
+        }
+    }
+
     private static ExprEvaluator handleThrowable(EngineImportService engineImportService, Throwable t, ExprForge forge, Supplier<String> debugInformationProvider) {
         if (engineImportService.getByteCodeGeneration().isEnableFallback()) {
             return forge.getExprEvaluator();
         }
         throw new EPException("Fatal exception during code-generation for " + debugInformationProvider.get() + " (see error log for further details): " + t.getMessage(), t);
     }
+
+    private static Supplier<String> getDebugInformationProvider(ExprForge forge, Class compiledByClass, String statementName) {
+        return new Supplier<String>() {
+            public String get() {
+                StringWriter writer = new StringWriter();
+                writer.append("statement '")
+                        .append(statementName)
+                        .append("' expression '");
+                try {
+                    forge.getForgeRenderable().toEPL(writer, ExprPrecedenceEnum.MINIMUM);
+                } catch (Throwable t) {
+                    log.warn("Exception rendering expression: " + t.getMessage(), t);
+                    writer.append("(exception rendering expression) ");
+                    writer.append(forge.getClass().getSimpleName());
+                }
+                writer.append("' requestor-class '")
+                        .append(compiledByClass.getSimpleName())
+                        .append("'");
+                return writer.toString();
+            }
+        };
+    }
 }
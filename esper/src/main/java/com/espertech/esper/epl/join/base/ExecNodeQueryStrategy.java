@@ -87,4 +87,13 @@ public class ExecNodeQueryStrategy implements QueryStrategy {
     protected ExecNode getExecNode() {
         return execNode;
     }
+
+    /**
+     * Sets the execution node.
+     *
+     * @param execNode execution node for building join tuple set
+     */
+    protected void setExecNode(ExecNode execNode) {
+        this.execNode = execNode;
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.base;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.MultiKey;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.join.exec.base.ExecNode;
+import com.espertech.esper.epl.join.plan.NStreamQueryPlanBuilder;
+import com.espertech.esper.epl.join.plan.NestedIterationNode;
+import com.espertech.esper.epl.join.plan.QueryPlanNode;
+import com.espertech.esper.epl.join.plan.TableLookupIndexReqKey;
+import com.espertech.esper.epl.join.table.EventTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query strategy for building a join tuple set by using one of several execution node trees that each represent
+ * a different lookup order, choosing the execution node tree with the lowest estimated cost.
+ * <p>
+ * The cost is estimated from the row counts and distinct keys of the join indexes. Statistics are inspected
+ * periodically and the lookup order is re-planned when the number of rows of any stream changed by a factor
+ * since the last time the lookup order was chosen.
+ * </p>
+ */
+public class ExecNodeQueryStrategyAdaptive extends ExecNodeQueryStrategy {
+    private final static int CHECK_INTERVAL = 64;
+    private final static int DRIFT_FACTOR = 2;
+    private final static int DRIFT_MIN_ROWS = 16;
+
+    private final QueryPlanNode[] candidates;
+    private final ExecNode[] candidateNodes;
+    private final Map<TableLookupIndexReqKey, EventTable>[] indexesPerStream;
+    private final int[] rowsAtPlan;
+    private int current;
+    private int numLookups;
+
+    /**
+     * Ctor.
+     *
+     * @param forStream        - stream the strategy is for
+     * @param numStreams       - number of streams in total
+     * @param candidates       - nested iteration plans, one for each lookup order, the first one being the initial plan
+     * @param candidateNodes   - execution nodes for the plans
+     * @param indexesPerStream - indexes per stream providing statistics
+     */
+    public ExecNodeQueryStrategyAdaptive(int forStream, int numStreams, QueryPlanNode[] candidates, ExecNode[] candidateNodes, Map<TableLookupIndexReqKey, EventTable>[] indexesPerStream) {
+        super(forStream, numStreams, candidateNodes[0]);
+        this.candidates = candidates;
+        this.candidateNodes = candidateNodes;
+        this.indexesPerStream = indexesPerStream;
+        this.rowsAtPlan = new int[numStreams];
+    }
+
+    public void lookup(EventBean[] lookupEvents, Set<MultiKey<EventBean>> joinSet, ExprEvaluatorContext exprEvaluatorContext) {
+        if (lookupEvents == null || lookupEvents.length == 0) {
+            return;
+        }
+        if (++numLookups >= CHECK_INTERVAL) {
+            numLookups = 0;
+            checkReplan();
+        }
+        super.lookup(lookupEvents, joinSet, exprEvaluatorContext);
+    }
+
+    /**
+     * Returns the index of the lookup order currently in use.
+     *
+     * @return index into the candidates
+     */
+    public int getCurrent() {
+        return current;
+    }
+
+    /**
+     * Returns the plan of the lookup order currently in use.
+     *
+     * @return plan
+     */
+    public QueryPlanNode getCurrentPlan() {
+        return candidates[current];
+    }
+
+    /**
+     * Re-plan the lookup order if the row counts drifted since the last plan.
+     */
+    protected void checkReplan() {
+        boolean drift = false;
+        int[] rows = new int[rowsAtPlan.length];
+        for (int stream = 0; stream < rows.length; stream++) {
+            if (stream == getForStream()) {
+                continue;
+            }
+            rows[stream] = NStreamQueryPlanBuilder.getNumberOfEvents(indexesPerStream[stream]);
+            if (rows[stream] == -1) {
+                return;
+            }
+            int larger = Math.max(rows[stream], rowsAtPlan[stream]);
+            int smaller = Math.min(rows[stream], rowsAtPlan[stream]);
+            if (larger >= DRIFT_MIN_ROWS && larger >= DRIFT_FACTOR * smaller) {
+                drift = true;
+            }
+        }
+        if (!drift) {
+            return;
+        }
+
+        int best = current;
+        double bestCost = NStreamQueryPlanBuilder.estimateCost((NestedIterationNode) candidates[current], indexesPerStream);
+        if (bestCost < 0) {
+            return;
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            double cost = NStreamQueryPlanBuilder.estimateCost((NestedIterationNode) candidates[i], indexesPerStream);
+            if (cost >= 0 && cost < bestCost) {
+                best = i;
+                bestCost = cost;
+            }
+        }
+        System.arraycopy(rows, 0, rowsAtPlan, 0, rows.length);
+
+        if (best != current) {
+            if (log.isDebugEnabled()) {
+                log.debug("Re-planned join order for stream " + getForStream() + " from " +
+                        Arrays.toString(((NestedIterationNode) candidates[current]).getNestingOrder()) + " to " +
+                        Arrays.toString(((NestedIterationNode) candidates[best]).getNestingOrder()) + " row counts " + Arrays.toString(rows));
+            }
+            current = best;
+            setExecNode(candidateNodes[best]);
+        }
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(ExecNodeQueryStrategyAdaptive.class);
+}
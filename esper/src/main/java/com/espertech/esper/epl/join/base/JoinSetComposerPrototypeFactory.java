@@ -124,6 +124,16 @@ public class JoinSetComposerPrototypeFactory {
                 planNode.addIndexes(usedIndexes);
             }
         }
+        if (queryPlan.getExecNodeCandidates() != null) {
+            for (QueryPlanNode[] candidates : queryPlan.getExecNodeCandidates()) {
+                if (candidates == null) {
+                    continue;
+                }
+                for (QueryPlanNode candidate : candidates) {
+                    candidate.addIndexes(usedIndexes);
+                }
+            }
+        }
         for (QueryPlanIndex indexSpec : indexSpecs) {
             if (indexSpec == null) {
                 continue;
@@ -177,6 +177,18 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
                         "' : \n" + ExecNode.print(executionNode));
             }
 
+            QueryPlanNode[] candidates = queryPlan.getExecNodeCandidates() == null ? null : queryPlan.getExecNodeCandidates()[i];
+            if (candidates != null && !isFireAndForget && !hasExternalView(externalViews)) {
+                // build the execution nodes of alternative join orders for choosing between them by cost
+                ExecNode[] candidateNodes = new ExecNode[candidates.length];
+                candidateNodes[0] = executionNode;
+                for (int j = 1; j < candidates.length; j++) {
+                    candidateNodes[j] = candidates[j].makeExec(statementName, statementId, annotations, indexesPerStream, streamTypes, streamViews, historicalStreamIndexLists, externalViews, tableSecondaryIndexLocks);
+                }
+                queryStrategies[i] = new ExecNodeQueryStrategyAdaptive(i, streamTypes.length, candidates, candidateNodes, indexesPerStream);
+                continue;
+            }
+
             queryStrategies[i] = new ExecNodeQueryStrategy(i, streamTypes.length, executionNode);
         }
 
@@ -262,6 +274,15 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
         return joinSetComposerDesc;
     }
 
+    private static boolean hasExternalView(VirtualDWView[] externalViews) {
+        for (VirtualDWView view : externalViews) {
+            if (view != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Map<TableLookupIndexReqKey, EventTable>[] removeTableIndexes(Map<TableLookupIndexReqKey, EventTable>[] indexesPerStream, TableMetadata[] tablesPerStream) {
         Map<TableLookupIndexReqKey, EventTable>[] result = new Map[indexesPerStream.length];
         for (int i = 0; i < indexesPerStream.length; i++) {
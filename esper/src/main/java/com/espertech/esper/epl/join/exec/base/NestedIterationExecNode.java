@@ -14,6 +14,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.util.IndentWriter;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,7 +28,7 @@ import java.util.List;
  * It passes a 'prototype' row (prefillPath) to each new child which contains the current partial event set.
  */
 public class NestedIterationExecNode extends ExecNode {
-    private final LinkedList<ExecNode> childNodes;
+    private final ArrayList<ExecNode> childNodes;
     private final int[] nestedStreams;
     private int nestingOrderLength;
 
@@ -38,7 +39,7 @@ public class NestedIterationExecNode extends ExecNode {
      */
     public NestedIterationExecNode(int[] nestedStreams) {
         this.nestedStreams = nestedStreams;
-        this.childNodes = new LinkedList<ExecNode>();
+        this.childNodes = new ArrayList<ExecNode>();
     }
 
     /**
@@ -16,6 +16,7 @@ import com.espertech.esper.collection.NumberSetShiftGroupEnumeration;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.expression.core.ExprIdentNode;
 import com.espertech.esper.epl.join.base.HistoricalViewableDesc;
+import com.espertech.esper.epl.join.table.EventTable;
 import com.espertech.esper.epl.join.table.HistoricalStreamIndexList;
 import com.espertech.esper.epl.lookup.*;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
@@ -105,6 +106,9 @@ import java.util.*;
  * Builds a query plan for 3 or more streams in a join.
  */
 public class NStreamQueryPlanBuilder {
+    private final static int MAX_JOIN_ORDER_CANDIDATES = 24;
+    private final static double RANGE_LOOKUP_SELECTIVITY = 3;
+
     protected static QueryPlan build(QueryGraph queryGraph,
                                      EventType[] typesPerStream,
                                      HistoricalViewableDesc historicalViewableDesc,
@@ -113,6 +117,18 @@ public class NStreamQueryPlanBuilder {
                                      boolean hasForceNestedIter,
                                      String[][][] indexedStreamsUniqueProps,
                                      TableMetadata[] tablesPerStream) {
+        return build(queryGraph, typesPerStream, historicalViewableDesc, dependencyGraph, historicalStreamIndexLists, hasForceNestedIter, indexedStreamsUniqueProps, tablesPerStream, false);
+    }
+
+    protected static QueryPlan build(QueryGraph queryGraph,
+                                     EventType[] typesPerStream,
+                                     HistoricalViewableDesc historicalViewableDesc,
+                                     DependencyGraph dependencyGraph,
+                                     HistoricalStreamIndexList[] historicalStreamIndexLists,
+                                     boolean hasForceNestedIter,
+                                     String[][][] indexedStreamsUniqueProps,
+                                     TableMetadata[] tablesPerStream,
+                                     boolean isAdaptiveJoinOrder) {
         if (log.isDebugEnabled()) {
             log.debug(".build queryGraph=" + queryGraph);
         }
@@ -132,7 +148,13 @@ public class NStreamQueryPlanBuilder {
             }
         }
 
+        // alternative join orders are only planned for joins between streams that all provide indexes
+        if (isAdaptiveJoinOrder && (historicalViewableDesc.isHasHistorical() || hasTable(tablesPerStream))) {
+            isAdaptiveJoinOrder = false;
+        }
+
         QueryPlanNode[] planNodeSpecs = new QueryPlanNode[numStreams];
+        QueryPlanNode[][] planNodeCandidates = isAdaptiveJoinOrder ? new QueryPlanNode[numStreams][] : null;
         int worstDepth = Integer.MAX_VALUE;
         for (int streamNo = 0; streamNo < numStreams; streamNo++) {
             // no plan for historical streams that are dependent upon other streams
@@ -155,13 +177,88 @@ public class NStreamQueryPlanBuilder {
             if (log.isDebugEnabled()) {
                 log.debug(".build spec=" + planNodeSpecs[streamNo]);
             }
+
+            // plan the other chains that navigate all streams via index, for choosing between them by cost at runtime
+            if (isAdaptiveJoinOrder && bestChainResult.getDepth() == numStreams - 1) {
+                List<int[]> chains = computeFullDepthPaths(streamNo, queryGraph, dependencyGraph, bestChain);
+                if (chains.size() > 1) {
+                    QueryPlanNode[] candidates = new QueryPlanNode[chains.size()];
+                    candidates[0] = planNodeSpecs[streamNo];
+                    for (int i = 1; i < candidates.length; i++) {
+                        candidates[i] = createStreamPlan(streamNo, chains.get(i), queryGraph, indexSpecs, typesPerStream, historicalViewableDesc.getHistorical(), historicalStreamIndexLists, tablesPerStream);
+                    }
+                    planNodeCandidates[streamNo] = candidates;
+                }
+            }
         }
 
         // We use the merge/nested (outer) join algorithm instead.
         if ((worstDepth < numStreams - 1) && (!hasForceNestedIter)) {
             return null;
         }
-        return new QueryPlan(indexSpecs, planNodeSpecs);
+        return new QueryPlan(indexSpecs, planNodeSpecs, planNodeCandidates);
+    }
+
+    /**
+     * Estimate the cost of performing the lookups of a nested iteration for a single lookup event, as the sum
+     * of the number of lookups and the number of intermediate rows, based on the row counts and the number
+     * of distinct keys of the indexes that the lookups use.
+     *
+     * @param node             nested iteration plan
+     * @param indexesPerStream indexes per stream
+     * @return estimated cost, or -1 if the indexes don't provide statistics
+     */
+    public static double estimateCost(NestedIterationNode node, Map<TableLookupIndexReqKey, EventTable>[] indexesPerStream) {
+        double rows = 1;
+        double cost = 0;
+        for (QueryPlanNode child : node.getChildNodes()) {
+            if (!(child instanceof TableLookupNode)) {
+                return -1;
+            }
+            TableLookupPlan plan = ((TableLookupNode) child).getLookupStrategySpec();
+            Map<TableLookupIndexReqKey, EventTable> indexes = indexesPerStream[plan.getIndexedStream()];
+            int numRows = getNumberOfEvents(indexes);
+            EventTable index = indexes == null ? null : indexes.get(plan.getIndexNum()[0]);
+            if (numRows == -1 || index == null) {
+                return -1;
+            }
+
+            double fanout;
+            if (plan instanceof FullTableScanLookupPlan) {
+                fanout = numRows;
+            } else if (plan instanceof IndexedTableLookupPlanSingle || plan instanceof IndexedTableLookupPlanMulti ||
+                    plan instanceof InKeywordTableLookupPlanSingleIdx || plan instanceof InKeywordTableLookupPlanMultiIdx) {
+                fanout = numRows == 0 ? 0 : (double) numRows / Math.max(1, index.getNumKeys());
+            } else if (plan instanceof SortedTableLookupPlan || plan instanceof CompositeTableLookupPlan) {
+                fanout = numRows / RANGE_LOOKUP_SELECTIVITY;
+            } else {
+                return -1;
+            }
+            cost += rows;
+            rows *= fanout;
+            cost += rows;
+        }
+        return cost;
+    }
+
+    /**
+     * Returns the number of events held by the indexes of a stream, taking the largest count that any index reports.
+     *
+     * @param indexes indexes of the stream
+     * @return number of events or -1 if none of the indexes reports the count
+     */
+    public static int getNumberOfEvents(Map<TableLookupIndexReqKey, EventTable> indexes) {
+        if (indexes == null) {
+            return -1;
+        }
+        int numRows = -1;
+        for (EventTable table : indexes.values()) {
+            Integer count = table.getNumberOfEvents();
+            if (count != null && count > numRows) {
+                numRows = count;
+            }
+        }
+        return numRows;
     }
 
     /**
@@ -429,6 +526,42 @@ public class NStreamQueryPlanBuilder {
         return new BestChainResult(bestDepth, bestPermutation);
     }
 
+    /**
+     * Compute the chains for lookups that access all streams via an index, starting with the best chain
+     * and in permutation order thereafter, up to a maximum number of chains.
+     *
+     * @param lookupStream    - stream to start look up
+     * @param queryGraph      - navigability between streams
+     * @param dependencyGraph - dependencies between historical streams
+     * @param bestChain       - the best chain as computed by {@link #computeBestPath}
+     * @return chains, the first being the best chain
+     */
+    protected static List<int[]> computeFullDepthPaths(int lookupStream, QueryGraph queryGraph, DependencyGraph dependencyGraph, int[] bestChain) {
+        int[] defNestingorder = buildDefaultNestingOrder(queryGraph.getNumStreams(), lookupStream);
+        Enumeration<int[]> streamEnum;
+        if (defNestingorder.length < 6) {
+            streamEnum = new NumberSetPermutationEnumeration(defNestingorder);
+        } else {
+            streamEnum = new NumberSetShiftGroupEnumeration(defNestingorder);
+        }
+
+        List<int[]> chains = new ArrayList<int[]>();
+        chains.add(bestChain);
+        while (streamEnum.hasMoreElements() && chains.size() < MAX_JOIN_ORDER_CANDIDATES) {
+            int[] permutation = streamEnum.nextElement();
+            if (containsChain(chains, permutation)) {
+                continue;
+            }
+            if (dependencyGraph != null && !isDependencySatisfied(lookupStream, permutation, dependencyGraph)) {
+                continue;
+            }
+            if (computeNavigableDepth(lookupStream, permutation, queryGraph) == queryGraph.getNumStreams() - 1) {
+                chains.add(permutation);
+            }
+        }
+        return chains;
+    }
+
     /**
      * Determine if the proposed permutation of lookups passes dependencies
      *
@@ -522,6 +655,24 @@ public class NStreamQueryPlanBuilder {
         return nestingOrder;
     }
 
+    private static boolean containsChain(List<int[]> chains, int[] chain) {
+        for (int[] existing : chains) {
+            if (Arrays.equals(existing, chain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasTable(TableMetadata[] tablesPerStream) {
+        for (TableMetadata table : tablesPerStream) {
+            if (table != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static List<QueryGraphValueEntryRange> toRangeKeyFuncs(List<SubordPropRangeKey> orderedRangeDesc) {
         List<QueryGraphValueEntryRange> result = new ArrayList<QueryGraphValueEntryRange>();
         for (SubordPropRangeKey key : orderedRangeDesc) {
@@ -65,6 +65,15 @@ public class NestedIterationNode extends QueryPlanNode {
         return childNodes;
     }
 
+    /**
+     * Returns the order of streams in nested iteration.
+     *
+     * @return nesting order
+     */
+    public int[] getNestingOrder() {
+        return nestingOrder;
+    }
+
     public ExecNode makeExec(String statementName, int statementId, Annotation[] annotations, Map<TableLookupIndexReqKey, EventTable>[] indexPerStream, EventType[] streamTypes, Viewable[] streamViews, HistoricalStreamIndexList[] historicalStreamIndexList, VirtualDWView[] viewExternal, Lock[] tableSecondaryIndexLocks) {
         if (childNodes.isEmpty()) {
             throw new IllegalStateException("Zero child nodes for nested iteration");
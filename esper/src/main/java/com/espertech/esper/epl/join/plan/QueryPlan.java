@@ -16,6 +16,7 @@ package com.espertech.esper.epl.join.plan;
 public class QueryPlan {
     private QueryPlanIndex[] indexSpecs;
     private QueryPlanNode[] execNodeSpecs;
+    private QueryPlanNode[][] execNodeCandidates;
 
     /**
      * Ctor.
@@ -24,8 +25,20 @@ public class QueryPlan {
      * @param execNodeSpecs - specs for execution nodes to create
      */
     public QueryPlan(QueryPlanIndex[] indexSpecs, QueryPlanNode[] execNodeSpecs) {
+        this(indexSpecs, execNodeSpecs, null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param indexSpecs         - specs for indexes to create
+     * @param execNodeSpecs      - specs for execution nodes to create
+     * @param execNodeCandidates - per stream the alternative execution nodes to choose from by cost, the first being the execution node spec, or null if none
+     */
+    public QueryPlan(QueryPlanIndex[] indexSpecs, QueryPlanNode[] execNodeSpecs, QueryPlanNode[][] execNodeCandidates) {
         this.indexSpecs = indexSpecs;
         this.execNodeSpecs = execNodeSpecs;
+        this.execNodeCandidates = execNodeCandidates;
     }
 
     /**
@@ -46,6 +59,15 @@ public class QueryPlan {
         return execNodeSpecs;
     }
 
+    /**
+     * Returns per stream the alternative execution node specs, or null if not planned.
+     *
+     * @return candidate execution node specs
+     */
+    public QueryPlanNode[][] getExecNodeCandidates() {
+        return execNodeCandidates;
+    }
+
     public String toString() {
         return toQueryPlan();
     }
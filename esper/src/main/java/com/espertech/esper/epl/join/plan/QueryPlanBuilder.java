@@ -93,13 +93,14 @@ public class QueryPlanBuilder {
 
         boolean hasPreferMergeJoin = HintEnum.PREFER_MERGE_JOIN.getHint(annotations) != null;
         boolean hasForceNestedIter = HintEnum.FORCE_NESTED_ITER.getHint(annotations) != null;
+        boolean isAdaptiveJoinOrder = HintEnum.ADAPTIVE_JOIN_ORDER.getHint(annotations) != null && !isFireAndForget;
         boolean isAllInnerJoins = outerJoinDescList.length == 0 || OuterJoinDesc.consistsOfAllInnerJoins(outerJoinDescList);
 
         if (isAllInnerJoins && !hasPreferMergeJoin) {
             QueryPlan queryPlan = NStreamQueryPlanBuilder.build(queryGraph, typesPerStream,
                     historicalViewableDesc, dependencyGraph, historicalStreamIndexLists,
                     hasForceNestedIter, streamJoinAnalysisResult.getUniqueKeys(),
-                    streamJoinAnalysisResult.getTablesPerStream());
+                    streamJoinAnalysisResult.getTablesPerStream(), isAdaptiveJoinOrder);
 
             if (queryPlan != null) {
                 removeUnidirectionalAndTable(queryPlan, streamJoinAnalysisResult);
@@ -125,14 +126,21 @@ public class QueryPlanBuilder {
     // Remove plans for non-unidirectional streams
     private static void removeUnidirectionalAndTable(QueryPlan queryPlan, StreamJoinAnalysisResult streamJoinAnalysisResult) {
         boolean allUnidirectional = streamJoinAnalysisResult.isUnidirectionalAll();
+        QueryPlanNode[][] candidates = queryPlan.getExecNodeCandidates();
         for (int streamNum = 0; streamNum < queryPlan.getExecNodeSpecs().length; streamNum++) {
             if (allUnidirectional) {
                 queryPlan.getExecNodeSpecs()[streamNum] = new QueryPlanNodeAllUnidirectionalOuter(streamNum);
+                if (candidates != null) {
+                    candidates[streamNum] = null;
+                }
             } else {
                 boolean unidirectional = streamJoinAnalysisResult.isUnidirectional() && !streamJoinAnalysisResult.getUnidirectionalInd()[streamNum];
                 boolean table = streamJoinAnalysisResult.getTablesPerStream()[streamNum] != null;
                 if (unidirectional || table) {
                     queryPlan.getExecNodeSpecs()[streamNum] = new QueryPlanNodeNoOp();
+                    if (candidates != null) {
+                        candidates[streamNum] = null;
+                    }
                 }
             }
         }
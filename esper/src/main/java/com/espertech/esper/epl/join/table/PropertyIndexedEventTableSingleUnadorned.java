@@ -22,6 +22,7 @@ import java.util.*;
  */
 public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEventTableSingle {
     protected final Map<Object, Set<EventBean>> propertyIndex;
+    private int numEvents;
 
     public PropertyIndexedEventTableSingleUnadorned(EventPropertyGetter propertyGetter, EventTableOrganization organization) {
         super(propertyGetter, organization);
@@ -47,7 +48,9 @@ public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEve
             propertyIndex.put(key, events);
         }
 
-        events.add(theEvent);
+        if (events.add(theEvent)) {
+            numEvents++;
+        }
     }
 
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
@@ -63,6 +66,7 @@ public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEve
             // thus did not correspond to a new-data event raised earlier.
             return;
         }
+        numEvents--;
 
         if (events.isEmpty()) {
             propertyIndex.remove(key);
@@ -79,6 +83,7 @@ public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEve
 
     public void clear() {
         propertyIndex.clear();
+        numEvents = 0;
     }
 
     public void destroy() {
@@ -86,7 +91,7 @@ public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEve
     }
 
     public Integer getNumberOfEvents() {
-        return null;
+        return numEvents;
     }
 
     public int getNumKeys() {
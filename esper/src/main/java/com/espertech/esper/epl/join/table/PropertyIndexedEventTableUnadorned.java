@@ -19,6 +19,7 @@ import java.util.*;
 
 public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTable {
     protected final Map<MultiKeyUntyped, Set<EventBean>> propertyIndex;
+    private int numEvents;
 
     public PropertyIndexedEventTableUnadorned(EventPropertyGetter[] propertyGetters, EventTableOrganization organization) {
         super(propertyGetters, organization);
@@ -45,7 +46,9 @@ public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTabl
             propertyIndex.put(key, events);
         }
 
-        events.add(theEvent);
+        if (events.add(theEvent)) {
+            numEvents++;
+        }
     }
 
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
@@ -61,6 +64,7 @@ public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTabl
             // thus did not correspond to a new-data event raised earlier.
             return;
         }
+        numEvents--;
 
         if (events.isEmpty()) {
             propertyIndex.remove(key);
@@ -77,6 +81,7 @@ public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTabl
 
     public void clear() {
         propertyIndex.clear();
+        numEvents = 0;
     }
 
     public void destroy() {
@@ -84,7 +89,7 @@ public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTabl
     }
 
     public Integer getNumberOfEvents() {
-        return null;
+        return numEvents;
     }
 
     public int getNumKeys() {
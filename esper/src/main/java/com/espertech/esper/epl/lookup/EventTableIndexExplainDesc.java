@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.lookup;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+/**
+ * Describes an index of a named window or table and the statements that use the index, for use in explaining index sharing.
+ */
+public class EventTableIndexExplainDesc {
+    private final String optionalIndexName;
+    private final IndexMultiKey indexMultiKey;
+    private final boolean primary;
+    private final boolean explicit;
+    private final String[] referringStatements;
+
+    public EventTableIndexExplainDesc(String optionalIndexName, IndexMultiKey indexMultiKey, boolean primary, boolean explicit, String[] referringStatements) {
+        this.optionalIndexName = optionalIndexName;
+        this.indexMultiKey = indexMultiKey;
+        this.primary = primary;
+        this.explicit = explicit;
+        this.referringStatements = referringStatements;
+    }
+
+    /**
+     * Returns the index name, or null for an index that the engine created on behalf of a statement.
+     *
+     * @return index name
+     */
+    public String getOptionalIndexName() {
+        return optionalIndexName;
+    }
+
+    public IndexMultiKey getIndexMultiKey() {
+        return indexMultiKey;
+    }
+
+    /**
+     * Returns indicator whether the index is the primary key index of a table, which statements do not reference.
+     *
+     * @return indicator
+     */
+    public boolean isPrimary() {
+        return primary;
+    }
+
+    /**
+     * Returns indicator whether the index was created by a create-index statement.
+     *
+     * @return indicator
+     */
+    public boolean isExplicit() {
+        return explicit;
+    }
+
+    /**
+     * Returns the names of statements using the index, sorted by name.
+     *
+     * @return statement names
+     */
+    public String[] getReferringStatements() {
+        return referringStatements;
+    }
+
+    public String toQueryPlan() {
+        StringWriter writer = new StringWriter();
+        if (optionalIndexName != null) {
+            writer.append("index '").append(optionalIndexName).append("' ");
+        }
+        writer.append(indexMultiKey.toQueryPlan());
+        if (primary) {
+            writer.append(" primary");
+        } else if (explicit) {
+            writer.append(" explicit");
+        }
+        writer.append(" statements=").append(Arrays.toString(referringStatements));
+        return writer.toString();
+    }
+
+    public String toString() {
+        return toQueryPlan();
+    }
+}
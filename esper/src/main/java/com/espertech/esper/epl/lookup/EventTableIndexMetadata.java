@@ -113,6 +113,27 @@ public class EventTableIndexMetadata {
         return null;
     }
 
+    /**
+     * Returns a description of each index and the statements that use the index, ordered by index description.
+     *
+     * @return index descriptions
+     */
+    public List<EventTableIndexExplainDesc> explain() {
+        List<EventTableIndexExplainDesc> descs = new ArrayList<EventTableIndexExplainDesc>(indexes.size());
+        for (Map.Entry<IndexMultiKey, EventTableIndexMetadataEntry> entry : indexes.entrySet()) {
+            EventTableIndexMetadataEntry value = entry.getValue();
+            String[] statements = value.isPrimary() ? new String[0] : value.getReferringStatements();
+            Arrays.sort(statements);
+            descs.add(new EventTableIndexExplainDesc(value.getOptionalIndexName(), entry.getKey(), value.isPrimary(), value.getExplicitIndexNameIfExplicit() != null, statements));
+        }
+        Collections.sort(descs, new Comparator<EventTableIndexExplainDesc>() {
+            public int compare(EventTableIndexExplainDesc o1, EventTableIndexExplainDesc o2) {
+                return o1.toQueryPlan().compareTo(o2.toQueryPlan());
+            }
+        });
+        return descs;
+    }
+
     public String[][] getUniqueIndexProps() {
         ArrayDeque<String[]> uniques = new ArrayDeque<String[]>(2);
         for (Map.Entry<IndexMultiKey, EventTableIndexMetadataEntry> entry : indexes.entrySet()) {
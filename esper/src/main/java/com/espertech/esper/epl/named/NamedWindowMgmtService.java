@@ -58,6 +58,7 @@ public interface NamedWindowMgmtService {
                                              String statementName,
                                              boolean isPrioritized,
                                              boolean isEnableSubqueryIndexShare,
+                                             boolean isSubqueryIndexShareEngineDefault,
                                              boolean isBatchingDataWindow,
                                              boolean isVirtualDataWindow,
                                              Set<String> optionalUniqueKeyProps,
@@ -101,7 +101,7 @@ public class NamedWindowMgmtServiceImpl implements NamedWindowMgmtService {
 
     public NamedWindowProcessor addProcessor(String name, String contextName, EventType eventType, StatementResultService statementResultService,
                                              ValueAddEventProcessor revisionProcessor, String eplExpression, String statementName, boolean isPrioritized,
-                                             boolean isEnableSubqueryIndexShare, boolean isBatchingDataWindow,
+                                             boolean isEnableSubqueryIndexShare, boolean isSubqueryIndexShareEngineDefault, boolean isBatchingDataWindow,
                                              boolean isVirtualDataWindow,
                                              Set<String> optionalUniqueKeyProps, String eventTypeAsName,
                                              StatementContext statementContextCreateWindow,
@@ -110,7 +110,7 @@ public class NamedWindowMgmtServiceImpl implements NamedWindowMgmtService {
             throw new ViewProcessingException("A named window by name '" + name + "' has already been created");
         }
 
-        NamedWindowProcessor processor = namedWindowDispatchService.createProcessor(name, this, namedWindowDispatchService, contextName, eventType, statementResultService, revisionProcessor, eplExpression, statementName, isPrioritized, isEnableSubqueryIndexShare, enableQueryPlanLog, metricReportingService, isBatchingDataWindow, isVirtualDataWindow, optionalUniqueKeyProps, eventTypeAsName, statementContextCreateWindow);
+        NamedWindowProcessor processor = namedWindowDispatchService.createProcessor(name, this, namedWindowDispatchService, contextName, eventType, statementResultService, revisionProcessor, eplExpression, statementName, isPrioritized, isEnableSubqueryIndexShare, isSubqueryIndexShareEngineDefault, enableQueryPlanLog, metricReportingService, isBatchingDataWindow, isVirtualDataWindow, optionalUniqueKeyProps, eventTypeAsName, statementContextCreateWindow);
         processors.put(name, processor);
 
         if (!observers.isEmpty()) {
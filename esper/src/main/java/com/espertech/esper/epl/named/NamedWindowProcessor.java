@@ -42,19 +42,21 @@ public class NamedWindowProcessor {
     private final String eplExpression;
     private final String statementName;
     private final boolean isEnableSubqueryIndexShare;
+    private final boolean isSubqueryIndexShareEngineDefault;
     private final boolean isVirtualDataWindow;
     private final Set<String> optionalUniqueKeyProps;
     private final String eventTypeAsName;
     private final EventTableIndexMetadata eventTableIndexMetadataRepo = new EventTableIndexMetadata();
     private final StatementContext statementContextCreateWindow;
 
-    public NamedWindowProcessor(String namedWindowName, NamedWindowMgmtService namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, String contextName, EventType eventType, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, String eplExpression, String statementName, boolean isPrioritized, boolean isEnableSubqueryIndexShare, boolean enableQueryPlanLog, MetricReportingService metricReportingService, boolean isBatchingDataWindow, boolean isVirtualDataWindow, Set<String> optionalUniqueKeyProps, String eventTypeAsName, StatementContext statementContextCreateWindow) {
+    public NamedWindowProcessor(String namedWindowName, NamedWindowMgmtService namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, String contextName, EventType eventType, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, String eplExpression, String statementName, boolean isPrioritized, boolean isEnableSubqueryIndexShare, boolean isSubqueryIndexShareEngineDefault, boolean enableQueryPlanLog, MetricReportingService metricReportingService, boolean isBatchingDataWindow, boolean isVirtualDataWindow, Set<String> optionalUniqueKeyProps, String eventTypeAsName, StatementContext statementContextCreateWindow) {
         this.namedWindowName = namedWindowName;
         this.contextName = contextName;
         this.eventType = eventType;
         this.eplExpression = eplExpression;
         this.statementName = statementName;
         this.isEnableSubqueryIndexShare = isEnableSubqueryIndexShare;
+        this.isSubqueryIndexShareEngineDefault = isSubqueryIndexShareEngineDefault;
         this.isVirtualDataWindow = isVirtualDataWindow;
         this.optionalUniqueKeyProps = optionalUniqueKeyProps;
         this.eventTypeAsName = eventTypeAsName;
@@ -201,6 +203,16 @@ public class NamedWindowProcessor {
         return isEnableSubqueryIndexShare;
     }
 
+    /**
+     * Returns indicator whether subquery index sharing is enabled by the engine default setting only, rather than
+     * by hint or by a virtual data window.
+     *
+     * @return indicator
+     */
+    public boolean isSubqueryIndexShareEngineDefault() {
+        return isSubqueryIndexShareEngineDefault;
+    }
+
     public StatementMetricHandle getCreateNamedWindowMetricsHandle() {
         return statementContextCreateWindow.getEpStatementHandle().getMetricsHandle();
     }
@@ -12,6 +12,7 @@ package com.espertech.esper.epl.table.mgmt;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.core.service.resource.StatementResourceHolder;
@@ -44,6 +45,7 @@ public class TableMetadata {
     private final ObjectArrayEventType publicEventType;
     private final TableMetadataInternalEventToPublic eventToPublic;
     private final boolean queryPlanLogging;
+    private final boolean stripedRowLock;
 
     private final Map<String, List<TableUpdateStrategyReceiverDesc>> stmtNameToUpdateStrategyReceivers = new HashMap<String, List<TableUpdateStrategyReceiverDesc>>();
     private final EventTableIndexMetadata eventTableIndexMetadataRepo = new EventTableIndexMetadata();
@@ -66,6 +68,7 @@ public class TableMetadata {
         this.publicEventType = publicEventType;
         this.eventToPublic = eventToPublic;
         this.queryPlanLogging = queryPlanLogging;
+        this.stripedRowLock = keyTypes.length > 0 && createTableStatementContext != null && HintEnum.ENABLE_TABLE_STRIPED_LOCK.getHint(createTableStatementContext.getAnnotations()) != null;
 
         if (keyTypes.length > 0) {
             Pair<int[], IndexMultiKey> pair = TableServiceUtil.getIndexMultikeyForKeys(tableColumns, internalEventType);
@@ -266,4 +269,8 @@ public class TableMetadata {
     public StatementContext getStatementContextCreateTable() {
         return statementContextCreateTable;
     }
+
+    public boolean isStripedRowLock() {
+        return stripedRowLock;
+    }
 }
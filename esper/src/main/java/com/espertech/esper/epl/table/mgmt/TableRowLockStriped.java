@@ -0,0 +1,117 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.table.mgmt;
+
+import com.espertech.esper.client.EPException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Table-level lock for tables that lock rows by stripe of the primary key hash.
+ * <p>
+ * Into-table aggregation locks a single row by obtaining the shared table lock and the stripe lock for the group key,
+ * for the duration of updating the row. All other table access obtains the exclusive table lock, i.e. the read lock and the write lock
+ * are both the same exclusive lock, so that readers never observe rows that are being updated.
+ * </p>
+ */
+public class TableRowLockStriped implements ReadWriteLock {
+    private static final int NUM_STRIPES = 16;
+
+    private final String tableName;
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes;
+    private final Lock exclusiveLock = new ExclusiveLock();
+
+    public TableRowLockStriped(String tableName) {
+        this.tableName = tableName;
+        this.stripes = new ReentrantLock[NUM_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock readLock() {
+        return exclusiveLock;
+    }
+
+    public Lock writeLock() {
+        return exclusiveLock;
+    }
+
+    /**
+     * Lock the row of the group key, blocking while the table is exclusively locked by another thread.
+     *
+     * @param groupKey group key
+     */
+    public void lockRow(Object groupKey) {
+        tableLock.readLock().lock();
+        stripes[getStripe(groupKey)].lock();
+    }
+
+    /**
+     * Unlock the row of the group key.
+     *
+     * @param groupKey group key
+     */
+    public void unlockRow(Object groupKey) {
+        stripes[getStripe(groupKey)].unlock();
+        tableLock.readLock().unlock();
+    }
+
+    protected static int getStripe(Object groupKey) {
+        if (groupKey == null) {
+            return 0;
+        }
+        int h = groupKey.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (NUM_STRIPES - 1);
+    }
+
+    private void checkNotHoldingRow() {
+        if (tableLock.getReadHoldCount() > 0 && !tableLock.isWriteLockedByCurrentThread()) {
+            throw new EPException("Table '" + tableName + "' cannot be locked exclusively by a thread that is updating a row of the same table");
+        }
+    }
+
+    private class ExclusiveLock implements Lock {
+        public void lock() {
+            checkNotHoldingRow();
+            tableLock.writeLock().lock();
+        }
+
+        public void lockInterruptibly() throws InterruptedException {
+            checkNotHoldingRow();
+            tableLock.writeLock().lockInterruptibly();
+        }
+
+        public boolean tryLock() {
+            checkNotHoldingRow();
+            return tableLock.writeLock().tryLock();
+        }
+
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            checkNotHoldingRow();
+            return tableLock.writeLock().tryLock(time, unit);
+        }
+
+        public void unlock() {
+            tableLock.writeLock().unlock();
+        }
+
+        public Condition newCondition() {
+            return tableLock.writeLock().newCondition();
+        }
+    }
+}
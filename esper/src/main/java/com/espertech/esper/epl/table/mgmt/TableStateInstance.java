@@ -23,13 +23,15 @@ import com.espertech.esper.event.ObjectArrayBackedEventBean;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public abstract class TableStateInstance {
 
     protected final TableMetadata tableMetadata;
     protected final AgentInstanceContext agentInstanceContext;
-    private final ReentrantReadWriteLock tableLevelRWLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock tableLevelRWLock;
+    private final TableRowLockStriped rowLockStriped;
     protected final EventTableIndexRepository indexRepository;
 
     public abstract Iterable<EventBean> getIterableTableScan();
@@ -73,6 +75,13 @@ public abstract class TableStateInstance {
         this.tableMetadata = tableMetadata;
         this.agentInstanceContext = agentInstanceContext;
         this.indexRepository = new EventTableIndexRepository(tableMetadata.getEventTableIndexMetadataRepo());
+        if (tableMetadata.isStripedRowLock()) {
+            this.rowLockStriped = new TableRowLockStriped(tableMetadata.getTableName());
+            this.tableLevelRWLock = rowLockStriped;
+        } else {
+            this.rowLockStriped = null;
+            this.tableLevelRWLock = new ReentrantReadWriteLock();
+        }
     }
 
     public TableMetadata getTableMetadata() {
@@ -83,10 +92,14 @@ public abstract class TableStateInstance {
         return agentInstanceContext;
     }
 
-    public ReentrantReadWriteLock getTableLevelRWLock() {
+    public ReadWriteLock getTableLevelRWLock() {
         return tableLevelRWLock;
     }
 
+    public TableRowLockStriped getRowLockStriped() {
+        return rowLockStriped;
+    }
+
     public EventTableIndexRepository getIndexRepository() {
         return indexRepository;
     }
@@ -15,10 +15,12 @@ import com.espertech.esper.epl.lookup.EventTableIndexRepository;
 import com.espertech.esper.event.ObjectArrayBackedEventBean;
 
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public interface TableStateInstanceGrouped {
-    ReentrantReadWriteLock getTableLevelRWLock();
+    ReadWriteLock getTableLevelRWLock();
+
+    TableRowLockStriped getRowLockStriped();
 
     ObjectArrayBackedEventBean getCreateRowIntoTable(Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
 
@@ -129,6 +129,12 @@ public class TableStateInstanceGroupedImpl extends TableStateInstance implements
     }
 
     public ObjectArrayBackedEventBean getRowForGroupKey(Object groupKey) {
+        if (getRowLockStriped() != null) {
+            // with striped row locking rows are added under the shared table lock
+            synchronized (rows) {
+                return rows.get(groupKey);
+            }
+        }
         return rows.get(groupKey);
     }
 
@@ -152,6 +158,16 @@ public class TableStateInstanceGroupedImpl extends TableStateInstance implements
     }
 
     public ObjectArrayBackedEventBean getCreateRowIntoTable(Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        if (getRowLockStriped() != null) {
+            // with striped row locking rows are added under the shared table lock
+            synchronized (rows) {
+                return getCreateRowIntoTableInternal(groupByKey, exprEvaluatorContext);
+            }
+        }
+        return getCreateRowIntoTableInternal(groupByKey, exprEvaluatorContext);
+    }
+
+    private ObjectArrayBackedEventBean getCreateRowIntoTableInternal(Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
         ObjectArrayBackedEventBean bean = getRows().get(groupByKey);
         if (bean != null) {
             return bean;
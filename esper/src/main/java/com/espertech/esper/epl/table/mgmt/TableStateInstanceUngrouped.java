@@ -13,10 +13,10 @@ package com.espertech.esper.epl.table.mgmt;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.event.ObjectArrayBackedEventBean;
 
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public interface TableStateInstanceUngrouped {
-    ReentrantReadWriteLock getTableLevelRWLock();
+    ReadWriteLock getTableLevelRWLock();
 
     ObjectArrayBackedEventBean getCreateRowIntoTable(Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
 
@@ -22,7 +22,8 @@ import com.espertech.esper.core.thread.ThreadingService;
 /**
  * Event sender for avro-backed events.
  * <p>
- * Allows sending only event objects of type GenericData.Record, does not check contents. Any other event object generates an error.
+ * Allows sending only event objects of type GenericData.Record, or the Avro binary encoding of a record as byte[], does not check contents.
+ * Any other event object generates an error.
  */
 public class EventSenderAvro implements EventSender {
     private final EPRuntimeEventSender runtimeEventSender;
@@ -18,6 +18,7 @@ import com.espertech.esper.core.thread.InboundUnitSendWrapped;
 import com.espertech.esper.core.thread.ThreadingOption;
 import com.espertech.esper.core.thread.ThreadingService;
 import com.espertech.esper.event.xml.BaseXMLEventType;
+import com.espertech.esper.event.xml.XMLEventBeanIndexed;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -25,8 +26,11 @@ import org.w3c.dom.Node;
 /**
  * Event sender for XML DOM-backed events.
  * <p>
- * Allows sending only event objects of type Node or Document, does check the root name of the XML document
- * which must match the event type root name as configured. Any other event object generates an error.
+ * Allows sending only event objects of type Node or Document, or XML document text as a String, does check the root name
+ * of the XML document which must match the event type root name as configured. Any other event object generates an error.
+ * <p>
+ * Document text is read as a stream for the XPath properties that select an element or attribute by a simple path,
+ * building the DOM document only when other properties require it.
  */
 public class EventSenderXMLDOM implements EventSender {
     private final EPRuntimeEventSender runtimeEventSender;
@@ -60,13 +64,20 @@ public class EventSenderXMLDOM implements EventSender {
     }
 
     private void sendEvent(Object node, boolean isRoute) throws EPException {
+        if (node instanceof String) {
+            String text = (String) node;
+            Object[] values = baseXMLEventType.getStreamEventParser().parse(text);
+            processEvent(new XMLEventBeanIndexed(text, values, baseXMLEventType), isRoute);
+            return;
+        }
+
         Node namedNode;
         if (node instanceof Document) {
             namedNode = ((Document) node).getDocumentElement();
         } else if (node instanceof Element) {
             namedNode = (Element) node;
         } else {
-            throw new EPException("Unexpected event object type '" + node.getClass().getName() + "' encountered, please supply a org.w3c.dom.Document or Element node");
+            throw new EPException("Unexpected event object type '" + node.getClass().getName() + "' encountered, please supply a org.w3c.dom.Document or Element node or XML document text");
         }
 
         if (validateRootElement) {
@@ -81,6 +92,10 @@ public class EventSenderXMLDOM implements EventSender {
         }
 
         EventBean theEvent = eventAdapterService.adapterForTypedDOM(namedNode, baseXMLEventType);
+        processEvent(theEvent, isRoute);
+    }
+
+    private void processEvent(EventBean theEvent, boolean isRoute) {
         if (isRoute) {
             runtimeEventSender.routeEventBean(theEvent);
         } else {
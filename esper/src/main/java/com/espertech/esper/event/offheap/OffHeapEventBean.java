@@ -0,0 +1,121 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.offheap;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.PropertyAccessException;
+
+/**
+ * Handle to an event held by an {@link OffHeapEventStore}. The handle materializes the underlying event from
+ * off-heap storage upon each access and does not retain it, unless the event was removed from the store
+ * through this handle.
+ * <p>
+ * Handles are equal when they refer to the same stored event.
+ * </p>
+ */
+public abstract class OffHeapEventBean implements EventBean {
+    private final OffHeapEventStore store;
+    private final int slot;
+    private final int generation;
+    private Object detached;
+
+    /**
+     * Ctor.
+     *
+     * @param store      store holding the event
+     * @param slot       slot of the event
+     * @param generation generation of the slot
+     */
+    protected OffHeapEventBean(OffHeapEventStore store, int slot, int generation) {
+        this.store = store;
+        this.slot = slot;
+        this.generation = generation;
+    }
+
+    public EventType getEventType() {
+        return store.getSerializer().getEventType();
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        EventPropertyGetter getter = getEventType().getGetter(property);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(property);
+        }
+        return getter.get(this);
+    }
+
+    public Object getUnderlying() {
+        Object underlying = detached;
+        if (underlying != null) {
+            return underlying;
+        }
+        return store.read(slot, generation);
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = getEventType().getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    /**
+     * Returns the store.
+     *
+     * @return store
+     */
+    public OffHeapEventStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns the slot.
+     *
+     * @return slot
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Returns the generation of the slot.
+     *
+     * @return generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Materialize and retain the underlying event, for use when the event is removed from the store.
+     */
+    protected void detach() {
+        detached = store.read(slot, generation);
+    }
+
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OffHeapEventBean)) {
+            return false;
+        }
+        OffHeapEventBean other = (OffHeapEventBean) o;
+        return slot == other.slot && generation == other.generation && store == other.store;
+    }
+
+    public int hashCode() {
+        return 31 * slot + generation;
+    }
+}
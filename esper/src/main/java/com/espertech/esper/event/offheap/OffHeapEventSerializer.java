@@ -0,0 +1,296 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.offheap;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyDescriptor;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.map.MapEventType;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes events of an object-array or map event type into a compact binary layout and materializes
+ * the underlying object-array or map from the layout.
+ * <p>
+ * The layout is a null-bitmap with one bit per property followed by the values of non-null properties
+ * in property order. Numeric, boolean and character values take their fixed width,
+ * string values are written as a length followed by the UTF-8 bytes.
+ * Only event types that have simple properties of these types are supported.
+ * </p>
+ * <p>
+ * The serializer is stateless and can be shared between threads.
+ * </p>
+ */
+public final class OffHeapEventSerializer {
+    private static final byte KIND_BOOLEAN = 0;
+    private static final byte KIND_BYTE = 1;
+    private static final byte KIND_SHORT = 2;
+    private static final byte KIND_CHAR = 3;
+    private static final byte KIND_INT = 4;
+    private static final byte KIND_LONG = 5;
+    private static final byte KIND_FLOAT = 6;
+    private static final byte KIND_DOUBLE = 7;
+    private static final byte KIND_STRING = 8;
+
+    private final EventType eventType;
+    private final boolean objectArray;
+    private final String[] propertyNames;
+    private final EventPropertyGetter[] getters;
+    private final byte[] kinds;
+    private final int[] arrayIndexes;
+    private final int arrayLength;
+    private final int nullBitmapLength;
+
+    private OffHeapEventSerializer(EventType eventType, boolean objectArray, String[] propertyNames, EventPropertyGetter[] getters, byte[] kinds, int[] arrayIndexes, int arrayLength) {
+        this.eventType = eventType;
+        this.objectArray = objectArray;
+        this.propertyNames = propertyNames;
+        this.getters = getters;
+        this.kinds = kinds;
+        this.arrayIndexes = arrayIndexes;
+        this.arrayLength = arrayLength;
+        this.nullBitmapLength = (propertyNames.length + 7) >> 3;
+    }
+
+    /**
+     * Makes a serializer for the event type.
+     *
+     * @param eventType event type
+     * @return serializer
+     * @throws IllegalArgumentException if the event type or any of its properties is not supported
+     */
+    public static OffHeapEventSerializer make(EventType eventType) throws IllegalArgumentException {
+        boolean objectArray;
+        if (eventType instanceof ObjectArrayEventType) {
+            objectArray = true;
+        } else if (eventType instanceof MapEventType) {
+            objectArray = false;
+        } else {
+            throw new IllegalArgumentException("Off-heap storage requires an object-array or map event type but received event type '" + eventType.getName() + "'");
+        }
+
+        EventPropertyDescriptor[] descriptors = eventType.getPropertyDescriptors();
+        String[] propertyNames = new String[descriptors.length];
+        EventPropertyGetter[] getters = new EventPropertyGetter[descriptors.length];
+        byte[] kinds = new byte[descriptors.length];
+        int[] arrayIndexes = new int[descriptors.length];
+        Map<String, Integer> indexes = objectArray ? ((ObjectArrayEventType) eventType).getPropertiesIndexes() : null;
+        for (int i = 0; i < descriptors.length; i++) {
+            EventPropertyDescriptor desc = descriptors[i];
+            Byte kind = desc.isFragment() || desc.isIndexed() || desc.isMapped() ? null : kindOf(desc.getPropertyType());
+            if (kind == null) {
+                throw new IllegalArgumentException("Off-heap storage does not support property '" + desc.getPropertyName() + "' of type '" + JavaClassHelper.getClassNameFullyQualPretty(desc.getPropertyType()) + "' of event type '" + eventType.getName() + "'");
+            }
+            propertyNames[i] = desc.getPropertyName();
+            getters[i] = eventType.getGetter(desc.getPropertyName());
+            kinds[i] = kind;
+            arrayIndexes[i] = objectArray ? indexes.get(desc.getPropertyName()) : i;
+        }
+        int arrayLength = objectArray ? indexes.size() : 0;
+        return new OffHeapEventSerializer(eventType, objectArray, propertyNames, getters, kinds, arrayIndexes, arrayLength);
+    }
+
+    /**
+     * Returns the event type.
+     *
+     * @return event type
+     */
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Returns true for object-array event types and false for map event types.
+     *
+     * @return indicator
+     */
+    public boolean isObjectArray() {
+        return objectArray;
+    }
+
+    /**
+     * Serialize the event into the buffer provided, allocating a larger buffer if the event does not fit.
+     *
+     * @param theEvent event to serialize
+     * @param buffer   buffer to use
+     * @return buffer holding the layout between position zero and the limit
+     */
+    public ByteBuffer serialize(EventBean theEvent, ByteBuffer buffer) {
+        buffer.clear();
+        buffer = ensure(buffer, nullBitmapLength);
+        int bitmapPosition = buffer.position();
+        for (int i = 0; i < nullBitmapLength; i++) {
+            buffer.put((byte) 0);
+        }
+
+        for (int i = 0; i < getters.length; i++) {
+            Object value = getters[i].get(theEvent);
+            if (value == null) {
+                int index = bitmapPosition + (i >> 3);
+                buffer.put(index, (byte) (buffer.get(index) | (1 << (i & 7))));
+                continue;
+            }
+            switch (kinds[i]) {
+                case KIND_BOOLEAN:
+                    buffer = ensure(buffer, 1);
+                    buffer.put((Boolean) value ? (byte) 1 : (byte) 0);
+                    break;
+                case KIND_BYTE:
+                    buffer = ensure(buffer, 1);
+                    buffer.put((Byte) value);
+                    break;
+                case KIND_SHORT:
+                    buffer = ensure(buffer, 2);
+                    buffer.putShort((Short) value);
+                    break;
+                case KIND_CHAR:
+                    buffer = ensure(buffer, 2);
+                    buffer.putChar((Character) value);
+                    break;
+                case KIND_INT:
+                    buffer = ensure(buffer, 4);
+                    buffer.putInt((Integer) value);
+                    break;
+                case KIND_LONG:
+                    buffer = ensure(buffer, 8);
+                    buffer.putLong((Long) value);
+                    break;
+                case KIND_FLOAT:
+                    buffer = ensure(buffer, 4);
+                    buffer.putFloat((Float) value);
+                    break;
+                case KIND_DOUBLE:
+                    buffer = ensure(buffer, 8);
+                    buffer.putDouble((Double) value);
+                    break;
+                default:
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    buffer = ensure(buffer, 4 + bytes.length);
+                    buffer.putInt(bytes.length);
+                    buffer.put(bytes);
+                    break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Materialize the underlying object-array or map from the layout.
+     *
+     * @param buffer buffer holding the layout
+     * @param offset offset of the layout in the buffer
+     * @return object-array or map
+     */
+    public Object deserialize(ByteBuffer buffer, int offset) {
+        Object[] values = objectArray ? new Object[arrayLength] : null;
+        Map<String, Object> map = objectArray ? null : new HashMap<String, Object>(propertyNames.length * 4 / 3 + 1);
+        int position = offset + nullBitmapLength;
+        for (int i = 0; i < kinds.length; i++) {
+            Object value;
+            if ((buffer.get(offset + (i >> 3)) & (1 << (i & 7))) != 0) {
+                value = null;
+            } else {
+                switch (kinds[i]) {
+                    case KIND_BOOLEAN:
+                        value = buffer.get(position) != 0;
+                        position += 1;
+                        break;
+                    case KIND_BYTE:
+                        value = buffer.get(position);
+                        position += 1;
+                        break;
+                    case KIND_SHORT:
+                        value = buffer.getShort(position);
+                        position += 2;
+                        break;
+                    case KIND_CHAR:
+                        value = buffer.getChar(position);
+                        position += 2;
+                        break;
+                    case KIND_INT:
+                        value = buffer.getInt(position);
+                        position += 4;
+                        break;
+                    case KIND_LONG:
+                        value = buffer.getLong(position);
+                        position += 8;
+                        break;
+                    case KIND_FLOAT:
+                        value = buffer.getFloat(position);
+                        position += 4;
+                        break;
+                    case KIND_DOUBLE:
+                        value = buffer.getDouble(position);
+                        position += 8;
+                        break;
+                    default:
+                        int length = buffer.getInt(position);
+                        position += 4;
+                        byte[] bytes = new byte[length];
+                        for (int j = 0; j < length; j++) {
+                            bytes[j] = buffer.get(position + j);
+                        }
+                        position += length;
+                        value = new String(bytes, StandardCharsets.UTF_8);
+                        break;
+                }
+            }
+            if (objectArray) {
+                values[arrayIndexes[i]] = value;
+            } else {
+                map.put(propertyNames[i], value);
+            }
+        }
+        return objectArray ? values : map;
+    }
+
+    private static Byte kindOf(Class type) {
+        Class boxed = JavaClassHelper.getBoxedType(type);
+        if (boxed == Boolean.class) {
+            return KIND_BOOLEAN;
+        } else if (boxed == Byte.class) {
+            return KIND_BYTE;
+        } else if (boxed == Short.class) {
+            return KIND_SHORT;
+        } else if (boxed == Character.class) {
+            return KIND_CHAR;
+        } else if (boxed == Integer.class) {
+            return KIND_INT;
+        } else if (boxed == Long.class) {
+            return KIND_LONG;
+        } else if (boxed == Float.class) {
+            return KIND_FLOAT;
+        } else if (boxed == Double.class) {
+            return KIND_DOUBLE;
+        } else if (boxed == String.class) {
+            return KIND_STRING;
+        }
+        return null;
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int required) {
+        if (buffer.remaining() >= required) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, buffer.position() + required));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
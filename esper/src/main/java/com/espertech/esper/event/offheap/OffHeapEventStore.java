@@ -0,0 +1,325 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.offheap;
+
+import com.espertech.esper.client.EventBean;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Store for events held outside of the Java heap in direct byte buffers, using the compact binary
+ * layout of a {@link OffHeapEventSerializer}.
+ * <p>
+ * Records are appended to chunks of direct memory. Each stored event occupies a slot that holds
+ * the address of its record and a generation number, kept in primitive arrays, and the store hands out
+ * {@link OffHeapEventBean} handles that identify the event by slot and generation and that materialize the event upon access.
+ * Slots of removed events are reused. Removed records leave unused space in their chunk, and the store rewrites
+ * the live records into new chunks when the unused space exceeds the space used by live records.
+ * </p>
+ * <p>
+ * Iteration returns events in slot order, which is not necessarily the order in which events were added.
+ * Modification and iteration require the owner to hold the lock that protects the owner's state.
+ * Materializing an event from a handle synchronizes with modification so that handles can be read by other threads.
+ * </p>
+ */
+public final class OffHeapEventStore implements Iterable<EventBean> {
+    private static final int INITIAL_SLOTS = 16;
+    private static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+    private static final int RECORD_HEADER_SIZE = 4;
+    private static final long NO_ADDRESS = -1;
+
+    private final OffHeapEventSerializer serializer;
+    private final int maxChunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+
+    private long[] addresses;
+    private int[] generations;
+    private int[] freeSlots;
+    private int numFreeSlots;
+    private int slotLimit;
+    private int size;
+
+    private long allocatedBytes;
+    private long writtenBytes;
+    private long liveBytes;
+
+    /**
+     * Ctor.
+     *
+     * @param serializer   serializer for the event type
+     * @param maxChunkSize maximum size of a chunk of direct memory
+     */
+    public OffHeapEventStore(OffHeapEventSerializer serializer, int maxChunkSize) {
+        this.serializer = serializer;
+        this.maxChunkSize = maxChunkSize;
+        this.addresses = new long[INITIAL_SLOTS];
+        this.generations = new int[INITIAL_SLOTS];
+        this.freeSlots = new int[INITIAL_SLOTS];
+    }
+
+    /**
+     * Serializes and stores the event, returning the handle to the stored event.
+     *
+     * @param theEvent event to store
+     * @return handle
+     */
+    public synchronized OffHeapEventBean add(EventBean theEvent) {
+        scratch = serializer.serialize(theEvent, scratch);
+        int length = scratch.remaining();
+        int recordSize = RECORD_HEADER_SIZE + length;
+
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < recordSize) {
+            chunk = allocateChunk(recordSize);
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | chunk.position();
+        chunk.putInt(length);
+        chunk.put(scratch);
+        writtenBytes += recordSize;
+        liveBytes += recordSize;
+
+        int slot;
+        if (numFreeSlots > 0) {
+            slot = freeSlots[--numFreeSlots];
+        } else {
+            if (slotLimit == addresses.length) {
+                growSlots();
+            }
+            slot = slotLimit++;
+        }
+        addresses[slot] = address;
+        size++;
+        return makeHandle(slot, generations[slot]);
+    }
+
+    /**
+     * Removes the event that the handle refers to, if the handle is of this store and the event is still stored.
+     * The handle retains the materialized event so that it remains readable after removal.
+     *
+     * @param handle to remove
+     * @return true if removed, or false if the event was not stored
+     */
+    public synchronized boolean remove(OffHeapEventBean handle) {
+        if (handle.getStore() != this || !isLive(handle.getSlot(), handle.getGeneration())) {
+            return false;
+        }
+        int slot = handle.getSlot();
+        handle.detach();
+
+        long address = addresses[slot];
+        ByteBuffer chunk = chunks.get((int) (address >>> 32));
+        liveBytes -= RECORD_HEADER_SIZE + chunk.getInt((int) address);
+        addresses[slot] = NO_ADDRESS;
+        generations[slot]++;
+        freeSlots[numFreeSlots++] = slot;
+        size--;
+
+        if (size == 0) {
+            releaseChunks();
+        } else if (writtenBytes - liveBytes > liveBytes && writtenBytes - liveBytes > maxChunkSize) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of events stored.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if no events are stored.
+     *
+     * @return indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory allocated.
+     *
+     * @return allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory used by the records of stored events.
+     *
+     * @return live bytes
+     */
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Returns the number of chunks of direct memory allocated.
+     *
+     * @return number of chunks
+     */
+    public int getNumChunks() {
+        return chunks.size();
+    }
+
+    /**
+     * Returns the serializer.
+     *
+     * @return serializer
+     */
+    public OffHeapEventSerializer getSerializer() {
+        return serializer;
+    }
+
+    /**
+     * Removes all events and releases the direct memory. Handles to removed events become invalid.
+     */
+    public synchronized void clear() {
+        releaseChunks();
+        numFreeSlots = 0;
+        for (int i = slotLimit - 1; i >= 0; i--) {
+            if (addresses[i] != NO_ADDRESS) {
+                addresses[i] = NO_ADDRESS;
+                generations[i]++;
+            }
+            freeSlots[numFreeSlots++] = i;
+        }
+        size = 0;
+    }
+
+    public Iterator<EventBean> iterator() {
+        return new StoreIterator();
+    }
+
+    /**
+     * Materializes the underlying of a stored event.
+     *
+     * @param slot       slot
+     * @param generation generation
+     * @return underlying object-array or map
+     * @throws IllegalStateException if the event is no longer stored
+     */
+    protected synchronized Object read(int slot, int generation) {
+        if (!isLive(slot, generation)) {
+            throw new IllegalStateException("Event has been removed from off-heap storage");
+        }
+        long address = addresses[slot];
+        return serializer.deserialize(chunks.get((int) (address >>> 32)), (int) address + RECORD_HEADER_SIZE);
+    }
+
+    private boolean isLive(int slot, int generation) {
+        return slot < slotLimit && addresses[slot] != NO_ADDRESS && generations[slot] == generation;
+    }
+
+    private OffHeapEventBean makeHandle(int slot, int generation) {
+        if (serializer.isObjectArray()) {
+            return new OffHeapObjectArrayEventBean(this, slot, generation);
+        }
+        return new OffHeapMapEventBean(this, slot, generation);
+    }
+
+    private ByteBuffer allocateChunk(int recordSize) {
+        int chunkSize = chunks.isEmpty() ? Math.min(INITIAL_CHUNK_SIZE, maxChunkSize) : Math.min(chunks.get(chunks.size() - 1).capacity() << 1, maxChunkSize);
+        ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, recordSize));
+        chunks.add(chunk);
+        allocatedBytes += chunk.capacity();
+        return chunk;
+    }
+
+    private void releaseChunks() {
+        chunks.clear();
+        allocatedBytes = 0;
+        writtenBytes = 0;
+        liveBytes = 0;
+    }
+
+    private void growSlots() {
+        int capacity = addresses.length << 1;
+        long[] newAddresses = new long[capacity];
+        int[] newGenerations = new int[capacity];
+        int[] newFreeSlots = new int[capacity];
+        System.arraycopy(addresses, 0, newAddresses, 0, slotLimit);
+        System.arraycopy(generations, 0, newGenerations, 0, slotLimit);
+        System.arraycopy(freeSlots, 0, newFreeSlots, 0, numFreeSlots);
+        addresses = newAddresses;
+        generations = newGenerations;
+        freeSlots = newFreeSlots;
+    }
+
+    // rewrite live records into new chunks, keeping slots and generations so that handles remain valid
+    private void compact() {
+        List<ByteBuffer> previous = new ArrayList<ByteBuffer>(chunks);
+        chunks.clear();
+        allocatedBytes = 0;
+        writtenBytes = 0;
+        for (int slot = 0; slot < slotLimit; slot++) {
+            long address = addresses[slot];
+            if (address == NO_ADDRESS) {
+                continue;
+            }
+            ByteBuffer source = previous.get((int) (address >>> 32));
+            int offset = (int) address;
+            int recordSize = RECORD_HEADER_SIZE + source.getInt(offset);
+
+            ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (chunk == null || chunk.remaining() < recordSize) {
+                chunk = allocateChunk(recordSize);
+            }
+            addresses[slot] = ((long) (chunks.size() - 1) << 32) | chunk.position();
+            for (int i = 0; i < recordSize; i++) {
+                chunk.put(source.get(offset + i));
+            }
+            writtenBytes += recordSize;
+        }
+    }
+
+    private class StoreIterator implements Iterator<EventBean> {
+        private int position = -1;
+
+        StoreIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return position < slotLimit;
+        }
+
+        public EventBean next() {
+            if (position >= slotLimit) {
+                throw new NoSuchElementException();
+            }
+            EventBean handle = makeHandle(position, generations[position]);
+            advance();
+            return handle;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance() {
+            position++;
+            while (position < slotLimit && addresses[position] == NO_ADDRESS) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.offheap;
+
+import com.espertech.esper.event.MappedEventBean;
+
+import java.util.Map;
+
+/**
+ * Handle to a map event held off-heap.
+ */
+public class OffHeapMapEventBean extends OffHeapEventBean implements MappedEventBean {
+
+    /**
+     * Ctor.
+     *
+     * @param store      store holding the event
+     * @param slot       slot of the event
+     * @param generation generation of the slot
+     */
+    public OffHeapMapEventBean(OffHeapEventStore store, int slot, int generation) {
+        super(store, slot, generation);
+    }
+
+    public Map<String, Object> getProperties() {
+        return (Map<String, Object>) getUnderlying();
+    }
+}
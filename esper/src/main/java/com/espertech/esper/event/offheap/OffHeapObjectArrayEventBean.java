@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.offheap;
+
+import com.espertech.esper.event.ObjectArrayBackedEventBean;
+
+/**
+ * Handle to an object-array event held off-heap.
+ */
+public class OffHeapObjectArrayEventBean extends OffHeapEventBean implements ObjectArrayBackedEventBean {
+
+    /**
+     * Ctor.
+     *
+     * @param store      store holding the event
+     * @param slot       slot of the event
+     * @param generation generation of the slot
+     */
+    public OffHeapObjectArrayEventBean(OffHeapEventStore store, int slot, int generation) {
+        super(store, slot, generation);
+    }
+
+    public Object[] getProperties() {
+        return (Object[]) getUnderlying();
+    }
+
+    public void setPropertyValues(Object[] objects) {
+        throw new UnsupportedOperationException("Events held off-heap cannot be modified");
+    }
+}
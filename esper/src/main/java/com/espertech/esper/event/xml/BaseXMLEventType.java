@@ -35,6 +35,7 @@ public abstract class BaseXMLEventType extends BaseConfigurableEventType {
 
     private String startTimestampPropertyName;
     private String endTimestampPropertyName;
+    private XMLStreamEventParser streamEventParser;
 
     /**
      * XPath namespace context.
@@ -106,6 +107,8 @@ public abstract class BaseXMLEventType extends BaseConfigurableEventType {
             namedProperties.put(desc.getDescriptor().getPropertyName(), desc);
         }
 
+        List<XMLStreamPath> streamPaths = new ArrayList<XMLStreamPath>();
+        List<XPathPropertyGetter> streamGetters = new ArrayList<XPathPropertyGetter>();
         String xpathExpression = null;
         try {
 
@@ -132,7 +135,15 @@ public abstract class BaseXMLEventType extends BaseConfigurableEventType {
                     isArray = true;
                 }
 
-                EventPropertyGetterSPI getter = new XPathPropertyGetter(property.getName(), xpathExpression, expression, property.getType(), property.getOptionalCastToType(), fragmentFactory);
+                XPathPropertyGetter getter = new XPathPropertyGetter(property.getName(), xpathExpression, expression, property.getType(), property.getOptionalCastToType(), fragmentFactory);
+                if (getter.isStreamable()) {
+                    XMLStreamPath streamPath = XMLStreamPath.compile(xpathExpression, namespaceContext);
+                    if (streamPath != null) {
+                        getter.setStreamIndex(streamPaths.size());
+                        streamPaths.add(streamPath);
+                        streamGetters.add(getter);
+                    }
+                }
                 Class returnType = SchemaUtil.toReturnType(property.getType(), property.getOptionalCastToType());
 
                 EventPropertyDescriptor desc = new EventPropertyDescriptor(property.getName(), returnType, null, false, false, isArray, false, isFragment);
@@ -143,6 +154,9 @@ public abstract class BaseXMLEventType extends BaseConfigurableEventType {
             throw new EPException("XPath expression could not be compiled for expression '" + xpathExpression + '\'', ex);
         }
 
+        String validateRootElementName = configurationEventTypeXMLDOM.isEventSenderValidatesRoot() ? rootElementName : null;
+        streamEventParser = new XMLStreamEventParser(streamPaths.toArray(new XMLStreamPath[streamPaths.size()]), streamGetters.toArray(new XPathPropertyGetter[streamGetters.size()]), validateRootElementName);
+
         super.initialize(new ArrayList<ExplicitPropertyDescriptor>(namedProperties.values()));
 
         // evaluate start and end timestamp properties if any
@@ -151,6 +165,16 @@ public abstract class BaseXMLEventType extends BaseConfigurableEventType {
         EventTypeUtility.validateTimestampProperties(this, startTimestampPropertyName, endTimestampPropertyName);
     }
 
+    /**
+     * Returns the parser for XML document text, which reads the XPath properties that select an element
+     * or attribute by a simple path from the text without building a DOM document.
+     *
+     * @return parser
+     */
+    public XMLStreamEventParser getStreamEventParser() {
+        return streamEventParser;
+    }
+
     /**
      * Returns the XPath factory used.
      *
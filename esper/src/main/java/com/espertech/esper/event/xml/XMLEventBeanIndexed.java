@@ -0,0 +1,105 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.xml;
+
+import com.espertech.esper.client.EPException;
+import com.espertech.esper.client.EventType;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.StringReader;
+
+/**
+ * EventBean wrapper for XML document text read as a stream, holding the values of the XPath properties
+ * that were read from the stream.
+ * <p>
+ * The DOM document is only built when the underlying node is asked for, such as by properties that are not
+ * read from the stream.
+ * </p>
+ */
+public class XMLEventBeanIndexed extends XMLEventBean {
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<DocumentBuilder>() {
+        protected DocumentBuilder initialValue() {
+            // document text may come from outside, therefore do not process DTDs or resolve external entities,
+            // in line with the stream parser
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setXIncludeAware(false);
+            factory.setExpandEntityReferences(false);
+            try {
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+                factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+                return factory.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new EPException("Failed to create document builder: " + e.getMessage(), e);
+            }
+        }
+    };
+
+    private final String text;
+    private volatile Object[] values;
+    private volatile Node node;
+
+    /**
+     * Ctor.
+     *
+     * @param text   is the XML document text
+     * @param values are the values of the XPath properties read from the text
+     * @param type   is the event type for this event wrapper
+     */
+    public XMLEventBeanIndexed(String text, Object[] values, EventType type) {
+        super(null, type);
+        this.text = text;
+        this.values = values;
+    }
+
+    /**
+     * Returns the values read from the stream, or null if the underlying node has since been replaced.
+     *
+     * @return values
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    public Object getUnderlying() {
+        Node result = node;
+        if (result == null) {
+            synchronized (this) {
+                result = node;
+                if (result == null) {
+                    result = parse(text);
+                    node = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public void setUnderlying(Object underlying) {
+        node = (Node) underlying;
+        values = null;
+    }
+
+    private static Node parse(String text) {
+        try {
+            DocumentBuilder builder = DOCUMENT_BUILDER.get();
+            builder.reset();
+            return builder.parse(new InputSource(new StringReader(text))).getDocumentElement();
+        } catch (Exception e) {
+            throw new EPException("Failed to parse XML document: " + e.getMessage(), e);
+        }
+    }
+}
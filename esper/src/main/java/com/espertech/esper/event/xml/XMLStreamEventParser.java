@@ -0,0 +1,144 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.xml;
+
+import com.espertech.esper.client.EPException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+
+/**
+ * Reads XML document text as a stream of elements, obtaining the values of the XPath properties that select an
+ * element or attribute by a simple path without building a DOM document.
+ * <p>
+ * As for XPath, the first element or attribute in document order that the path selects provides the value,
+ * and the value of an element is the text of the element and of all its descendants.
+ * </p>
+ */
+public class XMLStreamEventParser {
+    private final XMLStreamPath[] paths;
+    private final XPathPropertyGetter[] getters;
+    private final String rootElementName;
+    private final XMLInputFactory inputFactory;
+
+    /**
+     * Ctor.
+     *
+     * @param paths           paths, each corresponding to the getter at the same index
+     * @param getters         getters that convert the text selected by each path
+     * @param rootElementName root element name to validate, or null for no validation
+     */
+    public XMLStreamEventParser(XMLStreamPath[] paths, XPathPropertyGetter[] getters, String rootElementName) {
+        this.paths = paths;
+        this.getters = getters;
+        this.rootElementName = rootElementName;
+        this.inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Parse the document text and return the property values, in the order of the paths.
+     *
+     * @param text document text
+     * @return values
+     * @throws EPException if the text is not well-formed or the root element does not match
+     */
+    public Object[] parse(String text) throws EPException {
+        String[] texts = new String[paths.length];
+        StringBuilder[] builders = new StringBuilder[paths.length];
+        int[] matchedDepth = new int[paths.length];
+        boolean[] done = new boolean[paths.length];
+        int depth = 0;
+
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new StringReader(text));
+            while (reader.hasNext()) {
+                int eventType = reader.next();
+                if (eventType == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == 1 && rootElementName != null && !rootElementName.equals(reader.getLocalName())) {
+                        throw new EPException("Unexpected root element name '" + reader.getLocalName() + "' encountered, expected a root element name of '" + rootElementName + "'");
+                    }
+                    for (int i = 0; i < paths.length; i++) {
+                        XMLStreamPath path = paths[i];
+                        if (done[i] || matchedDepth[i] != depth - 1 || depth > path.getElements().length) {
+                            continue;
+                        }
+                        if (!path.matches(depth - 1, reader.getNamespaceURI(), reader.getLocalName())) {
+                            continue;
+                        }
+                        matchedDepth[i] = depth;
+                        if (depth < path.getElements().length) {
+                            continue;
+                        }
+                        if (path.getAttribute() != null) {
+                            texts[i] = getAttribute(reader, path.getAttribute());
+                            done[i] = texts[i] != null;
+                        } else {
+                            builders[i] = new StringBuilder();
+                        }
+                    }
+                } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+                    for (int i = 0; i < paths.length; i++) {
+                        if (done[i] || matchedDepth[i] != depth) {
+                            continue;
+                        }
+                        if (builders[i] != null) {
+                            texts[i] = builders[i].toString();
+                            builders[i] = null;
+                            done[i] = true;
+                        }
+                        matchedDepth[i] = depth - 1;
+                    }
+                    depth--;
+                } else if (eventType == XMLStreamConstants.CHARACTERS || eventType == XMLStreamConstants.CDATA || eventType == XMLStreamConstants.SPACE) {
+                    for (int i = 0; i < paths.length; i++) {
+                        if (builders[i] != null) {
+                            builders[i].append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new EPException("Failed to parse XML document: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // no action
+                }
+            }
+        }
+
+        Object[] values = new Object[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = getters[i].convertStreamText(texts[i]);
+        }
+        return values;
+    }
+
+    private static String getAttribute(XMLStreamReader reader, NamespaceNamePair attribute) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (XMLStreamPath.matches(attribute, reader.getAttributeNamespace(i), reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.xml;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+
+/**
+ * An absolute XPath location path of element child steps and an optional last attribute step,
+ * such as "/a/b/@c", matched against the elements of an XML stream instead of a DOM.
+ */
+public class XMLStreamPath {
+    private final NamespaceNamePair[] elements;
+    private final NamespaceNamePair attribute;
+
+    private XMLStreamPath(NamespaceNamePair[] elements, NamespaceNamePair attribute) {
+        this.elements = elements;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Compile an XPath expression into a path, returning null if the expression is not a simple absolute path
+     * of element names and an optional attribute name, or uses a prefix that is not known.
+     *
+     * @param xpath            expression
+     * @param namespaceContext prefixes or null if none
+     * @return path or null if the expression requires XPath evaluation
+     */
+    public static XMLStreamPath compile(String xpath, NamespaceContext namespaceContext) {
+        String text = xpath.trim();
+        if (!text.startsWith("/") || text.startsWith("//") || text.endsWith("/")) {
+            return null;
+        }
+        String[] steps = text.substring(1).split("/");
+        NamespaceNamePair attribute = null;
+        int numElements = steps.length;
+        if (steps[steps.length - 1].startsWith("@")) {
+            attribute = compileName(steps[steps.length - 1].substring(1), namespaceContext);
+            if (attribute == null) {
+                return null;
+            }
+            numElements--;
+        }
+        if (numElements == 0) {
+            return null;
+        }
+        NamespaceNamePair[] elements = new NamespaceNamePair[numElements];
+        for (int i = 0; i < numElements; i++) {
+            elements[i] = compileName(steps[i], namespaceContext);
+            if (elements[i] == null) {
+                return null;
+            }
+        }
+        return new XMLStreamPath(elements, attribute);
+    }
+
+    /**
+     * Returns the element steps.
+     *
+     * @return steps
+     */
+    public NamespaceNamePair[] getElements() {
+        return elements;
+    }
+
+    /**
+     * Returns the attribute or null if the path selects an element.
+     *
+     * @return attribute
+     */
+    public NamespaceNamePair getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns true if the element step matches the element.
+     *
+     * @param step      step index
+     * @param namespace element namespace, or null or empty for none
+     * @param localName element local name
+     * @return indicator
+     */
+    public boolean matches(int step, String namespace, String localName) {
+        return matches(elements[step], namespace, localName);
+    }
+
+    /**
+     * Returns true if the step matches the name.
+     *
+     * @param step      step
+     * @param namespace namespace, or null or empty for none
+     * @param localName local name
+     * @return indicator
+     */
+    public static boolean matches(NamespaceNamePair step, String namespace, String localName) {
+        if (!step.getName().equals(localName)) {
+            return false;
+        }
+        return step.getNamespace().equals(namespace == null ? XMLConstants.NULL_NS_URI : namespace);
+    }
+
+    // as in XPath 1.0, a name without prefix is a name without namespace
+    private static NamespaceNamePair compileName(String step, NamespaceContext namespaceContext) {
+        if (step.length() == 0) {
+            return null;
+        }
+        for (int i = 0; i < step.length(); i++) {
+            char c = step.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.' && c != ':') {
+                return null;
+            }
+        }
+        int index = step.indexOf(':');
+        if (index == -1) {
+            return new NamespaceNamePair(XMLConstants.NULL_NS_URI, step);
+        }
+        if (index != step.lastIndexOf(':') || namespaceContext == null) {
+            return null;
+        }
+        String namespace = namespaceContext.getNamespaceURI(step.substring(0, index));
+        if (namespace == null || namespace.equals(XMLConstants.NULL_NS_URI)) {
+            return null;
+        }
+        return new NamespaceNamePair(namespace, step.substring(index + 1));
+    }
+}
@@ -14,6 +14,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.PropertyAccessException;
 import com.espertech.esper.codegen.base.CodegenClassScope;
 import com.espertech.esper.codegen.base.CodegenMember;
+import com.espertech.esper.codegen.base.CodegenMethodNode;
 import com.espertech.esper.codegen.base.CodegenMethodScope;
 import com.espertech.esper.codegen.model.expression.CodegenExpression;
 import com.espertech.esper.event.EventPropertyGetterSPI;
@@ -48,6 +49,7 @@ public class XPathPropertyGetter implements EventPropertyGetterSPI {
     private final Class optionalCastToType;
     private final boolean isCastToArray;
     private final FragmentFactory fragmentFactory;
+    private int streamIndex = -1;
 
     /**
      * Ctor.
@@ -89,6 +91,12 @@ public class XPathPropertyGetter implements EventPropertyGetterSPI {
     }
 
     public Object get(EventBean eventBean) throws PropertyAccessException {
+        if (streamIndex != -1) {
+            Object[] values = getStreamValues(eventBean);
+            if (values != null) {
+                return values[streamIndex];
+            }
+        }
         Object und = eventBean.getUnderlying();
         if (und == null) {
             throw new PropertyAccessException("Unexpected null underlying event encountered, expecting org.w3c.dom.Node instance as underlying");
@@ -131,41 +139,144 @@ public class XPathPropertyGetter implements EventPropertyGetterSPI {
             if (isCastToArray) {
                 return castToArray(result, optionalCastToType, simpleTypeParser, expression);
             }
+            return castResult(result, property, optionalCastToType, simpleTypeParser);
+        } catch (XPathExpressionException e) {
+            throw new PropertyAccessException("Error getting property " + property, e);
+        }
+    }
 
-            // string results get parsed
-            if (result instanceof String) {
-                try {
-                    return simpleTypeParser.parse(result.toString());
-                } catch (RuntimeException ex) {
-                    log.warn("Error parsing XPath property named '" + property + "' expression result '" + result + " as type " + optionalCastToType.getName());
-                    return null;
-                }
+    /**
+     * Returns the values read from an XML stream for an event, or null if the event was not read from a stream.
+     * <p>
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param eventBean event
+     * @return values or null
+     */
+    public static Object[] getStreamValues(EventBean eventBean) {
+        if (eventBean instanceof XMLEventBeanIndexed) {
+            return ((XMLEventBeanIndexed) eventBean).getValues();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the XPath result type.
+     *
+     * @return result type
+     */
+    public QName getResultType() {
+        return resultType;
+    }
+
+    /**
+     * Returns the index of the value in the values read from an XML stream, or -1 when the value is always
+     * obtained by XPath evaluation.
+     *
+     * @return index or -1
+     */
+    public int getStreamIndex() {
+        return streamIndex;
+    }
+
+    /**
+     * Sets the index of the value in the values read from an XML stream.
+     *
+     * @param streamIndex index
+     */
+    public void setStreamIndex(int streamIndex) {
+        this.streamIndex = streamIndex;
+    }
+
+    /**
+     * Returns true if the getter can obtain its value from the text of the element or attribute that
+     * the expression selects, as read from an XML stream.
+     *
+     * @return indicator
+     */
+    public boolean isStreamable() {
+        if (isCastToArray || fragmentFactory != null) {
+            return false;
+        }
+        return resultType.equals(XPathConstants.STRING) || resultType.equals(XPathConstants.NUMBER) || resultType.equals(XPathConstants.BOOLEAN);
+    }
+
+    /**
+     * Convert the text of the selected element or attribute, as read from an XML stream, into the same value
+     * that XPath evaluation of the expression against the document returns.
+     *
+     * @param text string-value of the selected element or attribute, or null if no element or attribute was selected
+     * @return value
+     */
+    public Object convertStreamText(String text) {
+        Object result;
+        if (resultType.equals(XPathConstants.STRING)) {
+            result = text == null ? "" : text;
+        } else if (resultType.equals(XPathConstants.NUMBER)) {
+            result = text == null ? Double.NaN : toXPathNumber(text);
+        } else {
+            result = text != null;
+        }
+        if (optionalCastToType == null) {
+            return result;
+        }
+        return castResult(result, property, optionalCastToType, simpleTypeParser);
+    }
+
+    private static Object castResult(Object result, String property, Class optionalCastToType, SimpleTypeParser simpleTypeParser) {
+        // string results get parsed
+        if (result instanceof String) {
+            try {
+                return simpleTypeParser.parse(result.toString());
+            } catch (RuntimeException ex) {
+                log.warn("Error parsing XPath property named '" + property + "' expression result '" + result + " as type " + optionalCastToType.getName());
+                return null;
             }
+        }
 
-            // coercion
-            if (result instanceof Double) {
-                try {
-                    return JavaClassHelper.coerceBoxed((Number) result, optionalCastToType);
-                } catch (RuntimeException ex) {
-                    log.warn("Error coercing XPath property named '" + property + "' expression result '" + result + " as type " + optionalCastToType.getName());
-                    return null;
-                }
+        // coercion
+        if (result instanceof Double) {
+            try {
+                return JavaClassHelper.coerceBoxed((Number) result, optionalCastToType);
+            } catch (RuntimeException ex) {
+                log.warn("Error coercing XPath property named '" + property + "' expression result '" + result + " as type " + optionalCastToType.getName());
+                return null;
             }
+        }
 
-            // check boolean type
-            if (result instanceof Boolean) {
-                if (optionalCastToType != Boolean.class) {
-                    log.warn("Error coercing XPath property named '" + property + "' expression result '" + result + " as type " + optionalCastToType.getName());
-                    return null;
-                }
-                return result;
+        // check boolean type
+        if (result instanceof Boolean) {
+            if (optionalCastToType != Boolean.class) {
+                log.warn("Error coercing XPath property named '" + property + "' expression result '" + result + " as type " + optionalCastToType.getName());
+                return null;
             }
+            return result;
+        }
 
-            log.warn("Error processing XPath property named '" + property + "' expression result '" + result + ", not a known type");
-            return null;
-        } catch (XPathExpressionException e) {
-            throw new PropertyAccessException("Error getting property " + property, e);
+        log.warn("Error processing XPath property named '" + property + "' expression result '" + result + ", not a known type");
+        return null;
+    }
+
+    // follows the XPath 1.0 number function: optional whitespace and minus sign, digits with an optional fraction, else NaN
+    private static Double toXPathNumber(String text) {
+        String trimmed = text.trim();
+        int start = trimmed.startsWith("-") ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = start; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!digits) {
+            return Double.NaN;
         }
+        return Double.parseDouble(trimmed);
     }
 
     public static Object evaluateXPathFragment(Object und, XPathExpression expression, String expressionText, String property, FragmentFactory fragmentFactory, QName resultType) {
@@ -217,7 +328,14 @@ public class XPathPropertyGetter implements EventPropertyGetterSPI {
     }
 
     public CodegenExpression eventBeanGetCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
-        return underlyingGetCodegen(castUnderlying(Node.class, beanExpression), codegenMethodScope, codegenClassScope);
+        if (streamIndex == -1) {
+            return underlyingGetCodegen(castUnderlying(Node.class, beanExpression), codegenMethodScope, codegenClassScope);
+        }
+        CodegenMethodNode method = codegenMethodScope.makeChild(Object.class, this.getClass(), codegenClassScope).addParam(EventBean.class, "bean").getBlock()
+                .declareVar(Object[].class, "values", staticMethod(XPathPropertyGetter.class, "getStreamValues", ref("bean")))
+                .ifCondition(notEqualsNull(ref("values"))).blockReturn(arrayAtIndex(ref("values"), constant(streamIndex)))
+                .methodReturn(underlyingGetCodegen(castUnderlying(Node.class, ref("bean")), codegenMethodScope, codegenClassScope));
+        return localMethod(method, beanExpression);
     }
 
     public CodegenExpression eventBeanExistsCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
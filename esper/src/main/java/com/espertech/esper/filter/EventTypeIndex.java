@@ -29,12 +29,14 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The class performs all the locking required for multithreaded access.
  */
 public class EventTypeIndex implements EventEvaluator {
-    private Map<EventType, FilterHandleSetNode> eventTypes;
+    private volatile Map<EventType, FilterHandleSetNode> eventTypes;
     private ReadWriteLock eventTypesRWLock;
+    private final boolean copyOnWrite;
 
     public EventTypeIndex(FilterServiceGranularLockFactory lockFactory) {
         eventTypes = new HashMap<EventType, FilterHandleSetNode>();
         eventTypesRWLock = lockFactory.obtainNew();
+        copyOnWrite = lockFactory.isCopyOnWrite();
     }
 
     /**
@@ -57,7 +59,13 @@ public class EventTypeIndex implements EventEvaluator {
             if (eventTypes.containsKey(eventType)) {
                 throw new IllegalStateException("Event type already in index, add not performed, type=" + eventType);
             }
-            eventTypes.put(eventType, rootNode);
+            if (copyOnWrite) {
+                Map<EventType, FilterHandleSetNode> copy = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+                copy.put(eventType, rootNode);
+                eventTypes = copy;
+            } else {
+                eventTypes.put(eventType, rootNode);
+            }
         } finally {
             eventTypesRWLock.writeLock().unlock();
         }
@@ -67,7 +75,13 @@ public class EventTypeIndex implements EventEvaluator {
     public void removeType(EventType type) {
         eventTypesRWLock.writeLock().lock();
         try {
-            eventTypes.remove(type);
+            if (copyOnWrite) {
+                Map<EventType, FilterHandleSetNode> copy = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+                copy.remove(type);
+                eventTypes = copy;
+            } else {
+                eventTypes.remove(type);
+            }
         } finally {
             eventTypesRWLock.writeLock().unlock();
         }
@@ -131,12 +145,16 @@ public class EventTypeIndex implements EventEvaluator {
     }
 
     private void matchType(EventType eventType, EventBean eventBean, Collection<FilterHandle> matches) {
-        eventTypesRWLock.readLock().lock();
         FilterHandleSetNode rootNode = null;
-        try {
+        if (copyOnWrite) {
             rootNode = eventTypes.get(eventType);
-        } finally {
-            eventTypesRWLock.readLock().unlock();
+        } else {
+            eventTypesRWLock.readLock().lock();
+            try {
+                rootNode = eventTypes.get(eventType);
+            } finally {
+                eventTypesRWLock.readLock().unlock();
+            }
         }
 
         // If the top class node is null, no filters have yet been registered for this event type.
@@ -12,11 +12,11 @@ package com.espertech.esper.filter;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.core.engineimport.EngineImportService;
-import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.table.mgmt.TableService;
 import com.espertech.esper.filterspec.ExprNodeAdapterBase;
+import com.espertech.esper.filterspec.FilterBooleanEvaluator;
 
 import java.lang.annotation.Annotation;
 
@@ -24,7 +24,7 @@ public class ExprNodeAdapterBaseWTableAccess extends ExprNodeAdapterBase {
     private final ExprNodeAdapterBase evalBase;
     private final TableService tableService;
 
-    public ExprNodeAdapterBaseWTableAccess(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprEvaluator, ExprEvaluatorContext evaluatorContext, ExprNodeAdapterBase evalBase, TableService tableService, EngineImportService engineImportService, Annotation[] annotations) {
+    public ExprNodeAdapterBaseWTableAccess(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, FilterBooleanEvaluator exprEvaluator, ExprEvaluatorContext evaluatorContext, ExprNodeAdapterBase evalBase, TableService tableService, EngineImportService engineImportService, Annotation[] annotations) {
         super(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluator, evaluatorContext, engineImportService);
         this.evalBase = evalBase;
         this.tableService = tableService;
@@ -13,12 +13,11 @@ package com.espertech.esper.filter;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.core.service.ExprEvaluatorContextWTableAccess;
 import com.espertech.esper.epl.core.engineimport.EngineImportService;
-import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
-import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.variable.VariableService;
 import com.espertech.esper.filterspec.ExprNodeAdapterBase;
+import com.espertech.esper.filterspec.FilterBooleanEvaluator;
 import com.espertech.esper.filterspec.FilterBooleanExpressionFactory;
 import com.espertech.esper.filterspec.FilterSpecParamExprNode;
 
@@ -40,7 +39,7 @@ public class FilterBooleanExpressionFactoryImpl implements FilterBooleanExpressi
 
         // non-pattern case
         ExprNodeAdapterBase adapter;
-        ExprEvaluator exprEvaluator = ExprNodeCompiler.allocateEvaluator(exprNode.getForge(), engineImportService, this.getClass(), false, exprEvaluatorContext.getStatementName());
+        FilterBooleanEvaluator exprEvaluator = node.getExprEvaluator(engineImportService, exprEvaluatorContext.getStatementName());
 
         if (events == null) {
 
@@ -83,15 +82,15 @@ public class FilterBooleanExpressionFactoryImpl implements FilterBooleanExpressi
         return new ExprNodeAdapterBaseWTableAccess(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluator, exprEvaluatorContext, adapter, node.getTableService(), engineImportService, annotations);
     }
 
-    protected ExprNodeAdapterBase getLockableSingle(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprEvaluator, ExprEvaluatorContext exprEvaluatorContext, VariableService variableService, EngineImportService engineImportService, Annotation[] annotations, int agentInstanceId) {
+    protected ExprNodeAdapterBase getLockableSingle(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, FilterBooleanEvaluator exprEvaluator, ExprEvaluatorContext exprEvaluatorContext, VariableService variableService, EngineImportService engineImportService, Annotation[] annotations, int agentInstanceId) {
         return new ExprNodeAdapterBaseStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluator, exprEvaluatorContext, variableService, engineImportService, annotations);
     }
 
-    protected ExprNodeAdapterBase getLockableMultiStreamNoTL(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprEvaluator, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EngineImportService engineImportService, EventBean[] events, Annotation[] annotations) {
+    protected ExprNodeAdapterBase getLockableMultiStreamNoTL(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, FilterBooleanEvaluator exprEvaluator, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EngineImportService engineImportService, EventBean[] events, Annotation[] annotations) {
         return new ExprNodeAdapterMultiStreamNoTLStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluator, exprEvaluatorContext, variableServiceToUse, engineImportService, events, annotations);
     }
 
-    protected ExprNodeAdapterBase getLockableMultiStream(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprEvaluator, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EngineImportService engineImportService, EventBean[] events, Annotation[] annotations) {
+    protected ExprNodeAdapterBase getLockableMultiStream(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, FilterBooleanEvaluator exprEvaluator, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EngineImportService engineImportService, EventBean[] events, Annotation[] annotations) {
         return new ExprNodeAdapterMultiStreamStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluator, exprEvaluatorContext, variableServiceToUse, engineImportService, events, annotations);
     }
 }
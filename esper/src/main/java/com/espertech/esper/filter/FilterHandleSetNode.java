@@ -14,6 +14,8 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -23,16 +25,30 @@ import java.util.concurrent.locks.ReadWriteLock;
  * but can also be non-leaf (some indizes exist) in a filter evaluation tree.
  * Events are evaluated by asking each of the indizes to evaluate the event and by
  * adding any filter callbacks in this node to the "matches" list of callbacks.
+ * <p>
+ * When copy-on-write, changes to callbacks and indizes replace the underlying array snapshot
+ * and event evaluation iterates the current snapshot without acquiring the node lock.
  */
 public final class FilterHandleSetNode implements EventEvaluator {
     private final ReadWriteLock nodeRWLock;
+    private final boolean copyOnWrite;
     private final Set<FilterHandle> callbackSet;
     private final List<FilterParamIndexBase> indizes;
 
     public FilterHandleSetNode(ReadWriteLock nodeRWLock) {
+        this(nodeRWLock, false);
+    }
+
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean copyOnWrite) {
         this.nodeRWLock = nodeRWLock;
-        callbackSet = new LinkedHashSet<FilterHandle>();
-        indizes = new LinkedList<FilterParamIndexBase>();
+        this.copyOnWrite = copyOnWrite;
+        if (copyOnWrite) {
+            callbackSet = new CopyOnWriteArraySet<FilterHandle>();
+            indizes = new CopyOnWriteArrayList<FilterParamIndexBase>();
+        } else {
+            callbackSet = new LinkedHashSet<FilterHandle>();
+            indizes = new LinkedList<FilterParamIndexBase>();
+        }
     }
 
     /**
@@ -84,35 +100,14 @@ public final class FilterHandleSetNode implements EventEvaluator {
      * @param matches  is the list of callbacks to add to for any matches found
      */
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (copyOnWrite) {
+            matchEventInternal(theEvent, matches);
+            return;
+        }
+
         nodeRWLock.readLock().lock();
         try {
-            if (InstrumentationHelper.ENABLED) {
-                if (!indizes.isEmpty()) {
-                    InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
-                }
-            }
-
-            // Ask each of the indizes to match against the attribute values
-            for (FilterParamIndexBase index : indizes) {
-                index.matchEvent(theEvent, matches);
-            }
-
-            if (InstrumentationHelper.ENABLED) {
-                if (!indizes.isEmpty()) {
-                    InstrumentationHelper.get().aFilterHandleSetIndexes();
-                }
-            }
-
-            if (InstrumentationHelper.ENABLED) {
-                if (!callbackSet.isEmpty()) {
-                    InstrumentationHelper.get().qaFilterHandleSetCallbacks(callbackSet);
-                }
-            }
-
-            // Add each filter callback stored in this node to the matching list
-            for (FilterHandle filterCallback : callbackSet) {
-                matches.add(filterCallback);
-            }
+            matchEventInternal(theEvent, matches);
         } finally {
             nodeRWLock.readLock().unlock();
         }
@@ -180,4 +175,34 @@ public final class FilterHandleSetNode implements EventEvaluator {
     public Set<FilterHandle> getCallbackSet() {
         return callbackSet;
     }
+
+    private void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (InstrumentationHelper.ENABLED) {
+            if (!indizes.isEmpty()) {
+                InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
+            }
+        }
+
+        // Ask each of the indizes to match against the attribute values
+        for (FilterParamIndexBase index : indizes) {
+            index.matchEvent(theEvent, matches);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            if (!indizes.isEmpty()) {
+                InstrumentationHelper.get().aFilterHandleSetIndexes();
+            }
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            if (!callbackSet.isEmpty()) {
+                InstrumentationHelper.get().qaFilterHandleSetCallbacks(callbackSet);
+            }
+        }
+
+        // Add each filter callback stored in this node to the matching list
+        for (FilterHandle filterCallback : callbackSet) {
+            matches.add(filterCallback);
+        }
+    }
 }
@@ -92,6 +92,16 @@ public abstract class FilterParamIndexBase implements EventEvaluator {
      */
     public abstract ReadWriteLock getReadWriteLock();
 
+    /**
+     * Returns indicator whether the index replaces its entries by copy-on-write, allowing event evaluation
+     * to proceed without acquiring the lock. Put operations of such indexes replace any existing entry.
+     *
+     * @return copy-on-write indicator
+     */
+    public boolean isCopyOnWrite() {
+        return false;
+    }
+
     /**
      * Returns the filter operator that the index matches for.
      *
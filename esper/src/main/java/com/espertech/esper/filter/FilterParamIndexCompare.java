@@ -27,19 +27,28 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on the SortedMap implementation of TreeMap.
  * The index only accepts numeric constants. It keeps a lower and upper bounds of all constants in the index
  * for fast range checking, since the assumption is that frequently values fall within a range.
+ * <p>
+ * When copy-on-write, each change replaces the map with a changed copy so that event evaluation
+ * can read the current map without acquiring the lock.
  */
 public final class FilterParamIndexCompare extends FilterParamIndexLookupableBase {
-    private final TreeMap<Object, EventEvaluator> constantsMap;
+    private volatile TreeMap<Object, EventEvaluator> constantsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
-    private Double lowerBounds;
-    private Double upperBounds;
+    private volatile Double lowerBounds;
+    private volatile Double upperBounds;
 
     public FilterParamIndexCompare(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexCompare(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new TreeMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
 
         if ((filterOperator != FilterOperator.GREATER) &&
                 (filterOperator != FilterOperator.GREATER_OR_EQUAL) &&
@@ -54,7 +63,13 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
     }
 
     public final void put(Object filterConstant, EventEvaluator matcher) {
-        constantsMap.put(filterConstant, matcher);
+        if (!copyOnWrite) {
+            constantsMap.put(filterConstant, matcher);
+        } else {
+            TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+            copy.put(filterConstant, matcher);
+            constantsMap = copy;
+        }
 
         // Update bounds
         Double constant = ((Number) filterConstant).doubleValue();
@@ -67,8 +82,17 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
     }
 
     public final void remove(Object filterConstant) {
-        if (constantsMap.remove(filterConstant) == null) {
-            return;
+        if (!copyOnWrite) {
+            if (constantsMap.remove(filterConstant) == null) {
+                return;
+            }
+        } else {
+            if (!constantsMap.containsKey(filterConstant)) {
+                return;
+            }
+            TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+            copy.remove(filterConstant);
+            constantsMap = copy;
         }
         updateBounds();
     }
@@ -85,6 +109,10 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         return constantsMapRWLock;
     }
 
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object propertyValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
@@ -99,7 +127,9 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
 
         // A undefine lower bound indicates an empty index
-        if (lowerBounds == null) {
+        Double lowerBounds = this.lowerBounds;
+        Double upperBounds = this.upperBounds;
+        if ((lowerBounds == null) || (upperBounds == null)) {
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aFilterReverseIndex(false);
             }
@@ -133,48 +163,55 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
 
         // Look up in table
-        constantsMapRWLock.readLock().lock();
-        try {
-
-            // Get the head or tail end of the map depending on comparison type
-            Map<Object, EventEvaluator> subMap;
-
-            if ((filterOperator == FilterOperator.GREATER) ||
-                    (filterOperator == FilterOperator.GREATER_OR_EQUAL)) {
-                // At the head of the map are those with a lower numeric constants
-                subMap = constantsMap.headMap(propertyValue);
-            } else {
-                subMap = constantsMap.tailMap(propertyValue);
+        if (copyOnWrite) {
+            matchMap(constantsMap, theEvent, propertyValue, filterOperator, matches);
+        } else {
+            constantsMapRWLock.readLock().lock();
+            try {
+                matchMap(constantsMap, theEvent, propertyValue, filterOperator, matches);
+            } finally {
+                constantsMapRWLock.readLock().unlock();
             }
+        }
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aFilterReverseIndex(null);
+        }
+    }
 
-            // All entries in the subMap are elgibile, with an exception
-            EventEvaluator exactEquals = null;
-            if (filterOperator == FilterOperator.LESS) {
-                exactEquals = constantsMap.get(propertyValue);
-            }
+    private static void matchMap(TreeMap<Object, EventEvaluator> map, EventBean theEvent, Object propertyValue, FilterOperator filterOperator, Collection<FilterHandle> matches) {
+        // Get the head or tail end of the map depending on comparison type
+        Map<Object, EventEvaluator> subMap;
 
-            for (EventEvaluator matcher : subMap.values()) {
-                // For the LESS comparison type we ignore the exactly equal case
-                // The subMap is sorted ascending, thus the exactly equals case is the first
-                if (exactEquals != null) {
-                    exactEquals = null;
-                    continue;
-                }
+        if ((filterOperator == FilterOperator.GREATER) ||
+                (filterOperator == FilterOperator.GREATER_OR_EQUAL)) {
+            // At the head of the map are those with a lower numeric constants
+            subMap = map.headMap(propertyValue);
+        } else {
+            subMap = map.tailMap(propertyValue);
+        }
 
-                matcher.matchEvent(theEvent, matches);
-            }
+        // All entries in the subMap are elgibile, with an exception
+        EventEvaluator exactEquals = null;
+        if (filterOperator == FilterOperator.LESS) {
+            exactEquals = map.get(propertyValue);
+        }
 
-            if (filterOperator == FilterOperator.GREATER_OR_EQUAL) {
-                EventEvaluator matcher = constantsMap.get(propertyValue);
-                if (matcher != null) {
-                    matcher.matchEvent(theEvent, matches);
-                }
+        for (EventEvaluator matcher : subMap.values()) {
+            // For the LESS comparison type we ignore the exactly equal case
+            // The subMap is sorted ascending, thus the exactly equals case is the first
+            if (exactEquals != null) {
+                exactEquals = null;
+                continue;
             }
-        } finally {
-            constantsMapRWLock.readLock().unlock();
+
+            matcher.matchEvent(theEvent, matches);
         }
-        if (InstrumentationHelper.ENABLED) {
-            InstrumentationHelper.get().aFilterReverseIndex(null);
+
+        if (filterOperator == FilterOperator.GREATER_OR_EQUAL) {
+            EventEvaluator matcher = map.get(propertyValue);
+            if (matcher != null) {
+                matcher.matchEvent(theEvent, matches);
+            }
         }
     }
 
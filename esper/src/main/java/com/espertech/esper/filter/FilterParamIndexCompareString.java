@@ -27,16 +27,25 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on the SortedMap implementation of TreeMap.
  * The index only accepts String constants. It keeps a lower and upper bounds of all constants in the index
  * for fast range checking, since the assumption is that frequently values fall within a range.
+ * <p>
+ * When copy-on-write, each change replaces the map with a changed copy so that event evaluation
+ * can read the current map without acquiring the lock.
  */
 public final class FilterParamIndexCompareString extends FilterParamIndexLookupableBase {
-    private final TreeMap<Object, EventEvaluator> constantsMap;
+    private volatile TreeMap<Object, EventEvaluator> constantsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
     public FilterParamIndexCompareString(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexCompareString(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new TreeMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
 
         if ((filterOperator != FilterOperator.GREATER) &&
                 (filterOperator != FilterOperator.GREATER_OR_EQUAL) &&
@@ -51,11 +60,26 @@ public final class FilterParamIndexCompareString extends FilterParamIndexLookupa
     }
 
     public final void put(Object filterConstant, EventEvaluator matcher) {
-        constantsMap.put(filterConstant, matcher);
+        if (!copyOnWrite) {
+            constantsMap.put(filterConstant, matcher);
+            return;
+        }
+        TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+        copy.put(filterConstant, matcher);
+        constantsMap = copy;
     }
 
     public final void remove(Object filterConstant) {
-        constantsMap.remove(filterConstant);
+        if (!copyOnWrite) {
+            constantsMap.remove(filterConstant);
+            return;
+        }
+        if (!constantsMap.containsKey(filterConstant)) {
+            return;
+        }
+        TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+        copy.remove(filterConstant);
+        constantsMap = copy;
     }
 
     public final int sizeExpensive() {
@@ -70,6 +94,10 @@ public final class FilterParamIndexCompareString extends FilterParamIndexLookupa
         return constantsMapRWLock;
     }
 
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object propertyValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
@@ -86,49 +114,56 @@ public final class FilterParamIndexCompareString extends FilterParamIndexLookupa
         FilterOperator filterOperator = this.getFilterOperator();
 
         // Look up in table
-        constantsMapRWLock.readLock().lock();
-        try {
-
-            // Get the head or tail end of the map depending on comparison type
-            Map<Object, EventEvaluator> subMap;
-
-            if ((filterOperator == FilterOperator.GREATER) ||
-                    (filterOperator == FilterOperator.GREATER_OR_EQUAL)) {
-                // At the head of the map are those with a lower numeric constants
-                subMap = constantsMap.headMap(propertyValue);
-            } else {
-                subMap = constantsMap.tailMap(propertyValue);
+        if (copyOnWrite) {
+            matchMap(constantsMap, theEvent, propertyValue, filterOperator, matches);
+        } else {
+            constantsMapRWLock.readLock().lock();
+            try {
+                matchMap(constantsMap, theEvent, propertyValue, filterOperator, matches);
+            } finally {
+                constantsMapRWLock.readLock().unlock();
             }
+        }
 
-            // All entries in the subMap are elgibile, with an exception
-            EventEvaluator exactEquals = null;
-            if (filterOperator == FilterOperator.LESS) {
-                exactEquals = constantsMap.get(propertyValue);
-            }
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aFilterReverseIndex(null);
+        }
+    }
 
-            for (EventEvaluator matcher : subMap.values()) {
-                // For the LESS comparison type we ignore the exactly equal case
-                // The subMap is sorted ascending, thus the exactly equals case is the first
-                if (exactEquals != null) {
-                    exactEquals = null;
-                    continue;
-                }
+    private static void matchMap(TreeMap<Object, EventEvaluator> map, EventBean theEvent, Object propertyValue, FilterOperator filterOperator, Collection<FilterHandle> matches) {
+        // Get the head or tail end of the map depending on comparison type
+        Map<Object, EventEvaluator> subMap;
 
-                matcher.matchEvent(theEvent, matches);
-            }
+        if ((filterOperator == FilterOperator.GREATER) ||
+                (filterOperator == FilterOperator.GREATER_OR_EQUAL)) {
+            // At the head of the map are those with a lower numeric constants
+            subMap = map.headMap(propertyValue);
+        } else {
+            subMap = map.tailMap(propertyValue);
+        }
 
-            if (filterOperator == FilterOperator.GREATER_OR_EQUAL) {
-                EventEvaluator matcher = constantsMap.get(propertyValue);
-                if (matcher != null) {
-                    matcher.matchEvent(theEvent, matches);
-                }
+        // All entries in the subMap are elgibile, with an exception
+        EventEvaluator exactEquals = null;
+        if (filterOperator == FilterOperator.LESS) {
+            exactEquals = map.get(propertyValue);
+        }
+
+        for (EventEvaluator matcher : subMap.values()) {
+            // For the LESS comparison type we ignore the exactly equal case
+            // The subMap is sorted ascending, thus the exactly equals case is the first
+            if (exactEquals != null) {
+                exactEquals = null;
+                continue;
             }
-        } finally {
-            constantsMapRWLock.readLock().unlock();
+
+            matcher.matchEvent(theEvent, matches);
         }
 
-        if (InstrumentationHelper.ENABLED) {
-            InstrumentationHelper.get().aFilterReverseIndex(null);
+        if (filterOperator == FilterOperator.GREATER_OR_EQUAL) {
+            EventEvaluator matcher = map.get(propertyValue);
+            if (matcher != null) {
+                matcher.matchEvent(theEvent, matches);
+            }
         }
     }
 
@@ -24,7 +24,11 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
     public FilterParamIndexEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.EQUAL);
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.EQUAL, copyOnWrite);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
@@ -42,11 +46,15 @@ public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
 
         // Look up in hashtable
         EventEvaluator evaluator = null;
-        constantsMapRWLock.readLock().lock();
-        try {
+        if (copyOnWrite) {
             evaluator = constantsMap.get(attributeValue);
-        } finally {
-            constantsMapRWLock.readLock().unlock();
+        } else {
+            constantsMapRWLock.readLock().lock();
+            try {
+                evaluator = constantsMap.get(attributeValue);
+            } finally {
+                constantsMapRWLock.readLock().unlock();
+            }
         }
 
         // No listener found for the value, return
@@ -20,16 +20,21 @@ import java.util.concurrent.locks.ReadWriteLock;
 /**
  * Index for filter parameter constants to match using the equals (=) operator.
  * The implementation is based on a regular HashMap.
+ * <p>
+ * When copy-on-write, each change replaces the map with a changed copy so that event evaluation
+ * can read the current map without acquiring the lock. Changes must still hold the write lock.
  */
 public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupableBase {
-    protected final Map<Object, EventEvaluator> constantsMap;
+    protected volatile Map<Object, EventEvaluator> constantsMap;
     protected final ReadWriteLock constantsMapRWLock;
+    protected final boolean copyOnWrite;
 
-    protected FilterParamIndexEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new HashMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -37,11 +42,26 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
     }
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
-        constantsMap.put(filterConstant, evaluator);
+        if (!copyOnWrite) {
+            constantsMap.put(filterConstant, evaluator);
+            return;
+        }
+        Map<Object, EventEvaluator> copy = new HashMap<Object, EventEvaluator>(constantsMap);
+        copy.put(filterConstant, evaluator);
+        constantsMap = copy;
     }
 
     public final void remove(Object filterConstant) {
-        constantsMap.remove(filterConstant);
+        if (!copyOnWrite) {
+            constantsMap.remove(filterConstant);
+            return;
+        }
+        if (!constantsMap.containsKey(filterConstant)) {
+            return;
+        }
+        Map<Object, EventEvaluator> copy = new HashMap<Object, EventEvaluator>(constantsMap);
+        copy.remove(filterConstant);
+        constantsMap = copy;
     }
 
     public final int sizeExpensive() {
@@ -55,4 +75,8 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
     public final ReadWriteLock getReadWriteLock() {
         return constantsMapRWLock;
     }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
 }
@@ -167,7 +167,13 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
         eventTypeIndex.removeType(type);
     }
 
-    private void retryableMatchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+    /**
+     * Finds all matching filters, retrying on lock back-off.
+     *
+     * @param theEvent event
+     * @param matches  collection receiving matching filter callbacks
+     */
+    protected void retryableMatchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         // Install lock backoff exception handler that retries the evaluation.
         try {
             eventTypeIndex.matchEvent(theEvent, matches);
@@ -14,4 +14,12 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public interface FilterServiceGranularLockFactory {
     public ReadWriteLock obtainNew();
+
+    /**
+     * Returns indicator whether index nodes publish copy-on-write snapshots upon change,
+     * allowing event evaluation to read index nodes without acquiring the node lock.
+     *
+     * @return copy-on-write indicator
+     */
+    public boolean isCopyOnWrite();
 }
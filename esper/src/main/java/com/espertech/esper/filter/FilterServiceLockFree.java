@@ -0,0 +1,141 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.filterspec.FilterValueSet;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Filter service that evaluates events against copy-on-write index snapshots without acquiring locks.
+ * <p>
+ * Filter changes hold the write lock of each index node changed and publish a changed copy of the node's
+ * collections. Event evaluation takes an optimistic read of the service-wide lock, collecting matches separately,
+ * and only keeps the matches if no service-wide write lock, such as for a context partition filter swap or
+ * for take-and-apply for isolation, was held in the meantime. Otherwise evaluation repeats under the read lock.
+ * </p>
+ * <p>
+ * The service-wide write lock is reentrant for the owning thread, and that thread evaluates without the read lock.
+ * </p>
+ */
+public final class FilterServiceLockFree extends FilterServiceBase {
+    private final StampedLock lock = new StampedLock();
+    private final ThreadLocal<ArrayDeque<FilterHandle>> optimisticMatches = new ThreadLocal<ArrayDeque<FilterHandle>>() {
+        protected ArrayDeque<FilterHandle> initialValue() {
+            return new ArrayDeque<FilterHandle>();
+        }
+    };
+
+    private volatile Thread writeLockOwner;
+    private int writeLockHoldCount;
+    private long writeLockStamp;
+
+    public FilterServiceLockFree(boolean allowIsolation) {
+        super(new FilterServiceGranularLockFactoryCopyOnWrite(), allowIsolation);
+    }
+
+    public void acquireWriteLock() {
+        Thread current = Thread.currentThread();
+        if (writeLockOwner == current) {
+            writeLockHoldCount++;
+            return;
+        }
+        long stamp = lock.writeLock();
+        writeLockOwner = current;
+        writeLockStamp = stamp;
+        writeLockHoldCount = 1;
+    }
+
+    public void releaseWriteLock() {
+        if (writeLockOwner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("Write lock not held by current thread");
+        }
+        writeLockHoldCount--;
+        if (writeLockHoldCount == 0) {
+            writeLockOwner = null;
+            lock.unlockWrite(writeLockStamp);
+        }
+    }
+
+    public FilterSet take(Set<Integer> statementId) {
+        acquireWriteLock();
+        try {
+            return super.takeInternal(statementId);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    public void apply(FilterSet filterSet) {
+        acquireWriteLock();
+        try {
+            super.applyInternal(filterSet);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches) {
+        return super.evaluateInternal(theEvent, matches);
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId) {
+        return super.evaluateInternal(theEvent, matches, statementId);
+    }
+
+    public FilterServiceEntry add(FilterValueSet filterValueSet, FilterHandle callback) {
+        return super.addInternal(filterValueSet, callback);
+    }
+
+    public void remove(FilterHandle callback, FilterServiceEntry filterServiceEntry) {
+        super.removeInternal(callback, filterServiceEntry);
+    }
+
+    public void removeType(EventType type) {
+        super.removeTypeInternal(type);
+    }
+
+    protected void retryableMatchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (writeLockOwner == Thread.currentThread()) {
+            super.retryableMatchEvent(theEvent, matches);
+            return;
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            ArrayDeque<FilterHandle> optimistic = optimisticMatches.get();
+            try {
+                super.retryableMatchEvent(theEvent, optimistic);
+                if (lock.validate(stamp)) {
+                    // the engine's match collection does not support addAll
+                    for (FilterHandle handle : optimistic) {
+                        matches.add(handle);
+                    }
+                    return;
+                }
+            } finally {
+                optimistic.clear();
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            super.retryableMatchEvent(theEvent, matches);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -13,7 +13,6 @@ package com.espertech.esper.filterspec;
 import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.core.engineimport.EngineImportService;
-import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.expression.core.ExprNodeUtilityCore;
@@ -26,10 +25,10 @@ public class ExprNodeAdapterBase {
     private final int filterSpecId;
     private final int filterSpecParamPathNum;
     protected final ExprNode exprNode;
-    protected final ExprEvaluator exprNodeEval;
+    protected final FilterBooleanEvaluator exprNodeEval;
     protected final ExprEvaluatorContext evaluatorContext;
 
-    public ExprNodeAdapterBase(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprEvaluator, ExprEvaluatorContext evaluatorContext, EngineImportService engineImportService) {
+    public ExprNodeAdapterBase(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, FilterBooleanEvaluator exprEvaluator, ExprEvaluatorContext evaluatorContext, EngineImportService engineImportService) {
         this.filterSpecId = filterSpecId;
         this.filterSpecParamPathNum = filterSpecParamPathNum;
         this.exprNode = exprNode;
@@ -49,11 +48,7 @@ public class ExprNodeAdapterBase {
 
     protected boolean evaluatePerStream(EventBean[] eventsPerStream) {
         try {
-            Boolean result = (Boolean) exprNodeEval.evaluate(eventsPerStream, true, this.evaluatorContext);
-            if (result == null) {
-                return false;
-            }
-            return result;
+            return exprNodeEval.evaluateFilter(eventsPerStream, true, this.evaluatorContext);
         } catch (RuntimeException ex) {
             String message = "Error evaluating expression '" + ExprNodeUtilityCore.toExpressionStringMinPrecedenceSafe(exprNode) + "' statement '" + getStatementName() + "': " + ex.getMessage();
             log.error(message, ex);
@@ -84,4 +79,8 @@ public class ExprNodeAdapterBase {
     public ExprEvaluatorContext getEvaluatorContext() {
         return evaluatorContext;
     }
+
+    public FilterBooleanEvaluator getExprNodeEval() {
+        return exprNodeEval;
+    }
 }
@@ -0,0 +1,29 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.filterspec;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+
+/**
+ * Evaluates a boolean filter expression that cannot be indexed, returning false for a null result.
+ */
+public interface FilterBooleanEvaluator {
+    /**
+     * Evaluate the filter expression.
+     *
+     * @param eventsPerStream event tuple
+     * @param isNewData       new-data indicator
+     * @param context         expression evaluation context
+     * @return true if the expression returns true, or false if it returns false or null
+     */
+    boolean evaluateFilter(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context);
+}
@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.filterspec;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+
+/**
+ * Filter evaluator for use when the filter expression is not compiled.
+ */
+public class FilterBooleanEvaluatorInterpreted implements FilterBooleanEvaluator {
+    private final ExprEvaluator evaluator;
+
+    public FilterBooleanEvaluatorInterpreted(ExprEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    public boolean evaluateFilter(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        Boolean result = (Boolean) evaluator.evaluate(eventsPerStream, isNewData, context);
+        if (result == null) {
+            return false;
+        }
+        return result;
+    }
+
+    public ExprEvaluator getEvaluator() {
+        return evaluator;
+    }
+}
@@ -15,6 +15,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.core.engineimport.EngineImportService;
+import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.expression.core.ExprFilterSpecLookupable;
@@ -44,6 +45,7 @@ public final class FilterSpecParamExprNode extends FilterSpecParam {
 
     private int filterSpecId;
     private int filterSpecParamPathNum;
+    private transient volatile FilterBooleanEvaluator exprEvaluator;
 
     private static final long serialVersionUID = 2298436088557677833L;
 
@@ -96,6 +98,30 @@ public final class FilterSpecParamExprNode extends FilterSpecParam {
         return taggedEventTypes;
     }
 
+    /**
+     * Returns the filter evaluator for the boolean expression, compiling the expression upon first use.
+     * <p>
+     * The evaluator is shared by all filter activations of this parameter, i.e. by all context partitions and
+     * all pattern sub-expression instances, so that the expression is compiled once and not per activation.
+     * </p>
+     *
+     * @param engineImportService engine imports
+     * @param statementName       statement name
+     * @return evaluator
+     */
+    public FilterBooleanEvaluator getExprEvaluator(EngineImportService engineImportService, String statementName) {
+        FilterBooleanEvaluator evaluator = exprEvaluator;
+        if (evaluator != null) {
+            return evaluator;
+        }
+        synchronized (this) {
+            if (exprEvaluator == null) {
+                exprEvaluator = ExprNodeCompiler.allocateFilterEvaluator(exprNode.getForge(), engineImportService, FilterSpecParamExprNode.class, statementName);
+            }
+            return exprEvaluator;
+        }
+    }
+
     public final ExprNodeAdapterBase getFilterValue(MatchedEventMap matchedEvents, ExprEvaluatorContext exprEvaluatorContext, EngineImportService engineImportService, Annotation[] annotations) {
         EventBean[] events = null;
 
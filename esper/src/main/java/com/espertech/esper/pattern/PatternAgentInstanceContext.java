@@ -14,6 +14,7 @@ import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.filterspec.FilterSpecCompiled;
 import com.espertech.esper.filterspec.FilterValueSetParam;
+import com.espertech.esper.pattern.guard.TimerWithinGuardExpiryIndex;
 
 import java.util.IdentityHashMap;
 
@@ -25,6 +26,7 @@ public class PatternAgentInstanceContext {
     private final AgentInstanceContext agentInstanceContext;
     private final EvalFilterConsumptionHandler consumptionHandler;
     private final IdentityHashMap<FilterSpecCompiled, FilterValueSetParam[][]> filterAddendum;
+    private TimerWithinGuardExpiryIndex timerWithinGuardExpiryIndex;
 
     public PatternAgentInstanceContext(PatternContext patternContext, AgentInstanceContext agentInstanceContext, boolean hasConsumingFilter, IdentityHashMap<FilterSpecCompiled, FilterValueSetParam[][]> filterAddendum) {
         this.patternContext = patternContext;
@@ -57,4 +59,11 @@ public class PatternAgentInstanceContext {
     public IdentityHashMap<FilterSpecCompiled, FilterValueSetParam[][]> getFilterAddendum() {
         return filterAddendum;
     }
+
+    public TimerWithinGuardExpiryIndex getTimerWithinGuardExpiryIndex() {
+        if (timerWithinGuardExpiryIndex == null) {
+            timerWithinGuardExpiryIndex = new TimerWithinGuardExpiryIndex(this);
+        }
+        return timerWithinGuardExpiryIndex;
+    }
 }
@@ -10,52 +10,51 @@
  */
 package com.espertech.esper.pattern.guard;
 
-import com.espertech.esper.core.service.EPStatementHandleCallback;
-import com.espertech.esper.core.service.EngineLevelExtensionServicesContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.filterspec.MatchedEventMap;
-import com.espertech.esper.schedule.ScheduleHandleCallback;
 
 /**
  * Guard implementation that keeps a timer instance and quits when the timer expired,
  * letting all {@link MatchedEventMap} instances pass until then.
+ * <p>
+ * The timer is kept by the {@link TimerWithinGuardExpiryIndex} of the pattern agent instance which
+ * shares a single schedule callback between guards expiring at the same time.
  */
-public class TimerWithinGuard implements Guard, ScheduleHandleCallback {
+public class TimerWithinGuard implements Guard {
     private final long deltaTime;
     private final Quitable quitable;
     private final long scheduleSlot;
 
-    private boolean isTimerActive;
-    private EPStatementHandleCallback scheduleHandle;
+    // bucket and list links while the timer is active, maintained by the bucket
+    TimerWithinGuardBucket bucket;
+    TimerWithinGuard prev;
+    TimerWithinGuard next;
 
     /**
      * Ctor.
      *
-     * @param delta    - number of millisecond to guard expiration
-     * @param quitable - to use to indicate that the gaurd quitted
+     * @param delta        - number of millisecond to guard expiration
+     * @param quitable     - to use to indicate that the gaurd quitted
+     * @param scheduleSlot - schedule slot, shared by the guards of the same factory
      */
-    public TimerWithinGuard(long delta, Quitable quitable) {
+    public TimerWithinGuard(long delta, Quitable quitable, long scheduleSlot) {
         this.deltaTime = delta;
         this.quitable = quitable;
-        this.scheduleSlot = quitable.getContext().getPatternContext().getScheduleBucket().allocateSlot();
+        this.scheduleSlot = scheduleSlot;
     }
 
     public void startGuard() {
-        if (isTimerActive) {
+        if (bucket != null) {
             throw new IllegalStateException("Timer already active");
         }
 
         // Start the stopwatch timer
-        scheduleHandle = new EPStatementHandleCallback(quitable.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle(), this);
-        quitable.getContext().getPatternContext().getSchedulingService().add(deltaTime, scheduleHandle, scheduleSlot);
-        isTimerActive = true;
+        quitable.getContext().getTimerWithinGuardExpiryIndex().add(this, deltaTime, scheduleSlot);
     }
 
     public void stopGuard() {
-        if (isTimerActive) {
-            quitable.getContext().getPatternContext().getSchedulingService().remove(scheduleHandle, scheduleSlot);
-            scheduleHandle = null;
-            isTimerActive = false;
+        if (bucket != null) {
+            bucket.remove(this);
         }
     }
 
@@ -64,12 +63,13 @@ public class TimerWithinGuard implements Guard, ScheduleHandleCallback {
         return true;
     }
 
-    public final void scheduledTrigger(EngineLevelExtensionServicesContext engineLevelExtensionServicesContext) {
+    /**
+     * Indicate that the timer expired, the guard having been removed from its bucket.
+     */
+    void expire() {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qPatternGuardScheduledEval();
         }
-        // Timer callback is automatically removed when triggering
-        isTimerActive = false;
         quitable.guardQuit();
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aPatternGuardScheduledEval();
@@ -0,0 +1,103 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.pattern.guard;
+
+import com.espertech.esper.core.service.EPStatementHandleCallback;
+import com.espertech.esper.core.service.EngineLevelExtensionServicesContext;
+import com.espertech.esper.schedule.ScheduleHandleCallback;
+import com.espertech.esper.schedule.SchedulingService;
+
+/**
+ * Timer-within guards expiring at the same time, kept in start order in a doubly-linked list
+ * through the guards themselves and sharing a single schedule callback.
+ */
+class TimerWithinGuardBucket implements ScheduleHandleCallback {
+    private final TimerWithinGuardExpiryIndex index;
+    private final long expiryTime;
+    private final SchedulingService schedulingService;
+    private final long scheduleSlot;
+
+    private EPStatementHandleCallback scheduleHandle;
+    private TimerWithinGuard head;
+    private TimerWithinGuard tail;
+    private boolean triggered;
+
+    TimerWithinGuardBucket(TimerWithinGuardExpiryIndex index, long expiryTime, SchedulingService schedulingService, long scheduleSlot) {
+        this.index = index;
+        this.expiryTime = expiryTime;
+        this.schedulingService = schedulingService;
+        this.scheduleSlot = scheduleSlot;
+    }
+
+    void setScheduleHandle(EPStatementHandleCallback scheduleHandle) {
+        this.scheduleHandle = scheduleHandle;
+    }
+
+    long getExpiryTime() {
+        return expiryTime;
+    }
+
+    long getScheduleSlot() {
+        return scheduleSlot;
+    }
+
+    SchedulingService getSchedulingService() {
+        return schedulingService;
+    }
+
+    void add(TimerWithinGuard guard) {
+        guard.bucket = this;
+        guard.prev = tail;
+        if (tail == null) {
+            head = guard;
+        } else {
+            tail.next = guard;
+        }
+        tail = guard;
+    }
+
+    void remove(TimerWithinGuard guard) {
+        unlink(guard);
+        if (head == null && !triggered) {
+            schedulingService.remove(scheduleHandle, scheduleSlot);
+            index.removeBucket(this);
+        }
+    }
+
+    public void scheduledTrigger(EngineLevelExtensionServicesContext engineLevelExtensionServicesContext) {
+        // Timer callback is automatically removed when triggering
+        triggered = true;
+        index.removeBucket(this);
+
+        // guards quitting may stop other guards of this bucket, therefore unlink each before it quits
+        while (head != null) {
+            TimerWithinGuard guard = head;
+            unlink(guard);
+            guard.expire();
+        }
+    }
+
+    private void unlink(TimerWithinGuard guard) {
+        if (guard.prev == null) {
+            head = guard.next;
+        } else {
+            guard.prev.next = guard.next;
+        }
+        if (guard.next == null) {
+            tail = guard.prev;
+        } else {
+            guard.next.prev = guard.prev;
+        }
+        guard.prev = null;
+        guard.next = null;
+        guard.bucket = null;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.pattern.guard;
+
+import com.espertech.esper.collection.Pair;
+import com.espertech.esper.core.service.EPStatementHandleCallback;
+import com.espertech.esper.pattern.PatternAgentInstanceContext;
+import com.espertech.esper.schedule.SchedulingService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Expiry index for the timer-within guards of a pattern agent instance.
+ * <p>
+ * Guards that expire at the same time and have the same schedule slot are kept in the same bucket, and each bucket
+ * rather than each guard has a schedule callback. At high arrival rates many guards start at the same engine time with
+ * the same duration, so that the number of schedule entries is bounded by the number of distinct expiry times and slots
+ * instead of the number of guards. Keying by slot retains the order in which callbacks for the same time fire.
+ */
+public class TimerWithinGuardExpiryIndex {
+    private final PatternAgentInstanceContext context;
+    private final Map<Pair<Long, Long>, TimerWithinGuardBucket> buckets = new HashMap<Pair<Long, Long>, TimerWithinGuardBucket>();
+
+    /**
+     * Ctor.
+     *
+     * @param context pattern agent instance context
+     */
+    public TimerWithinGuardExpiryIndex(PatternAgentInstanceContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Adds the guard to the bucket for its expiry time and schedule slot, scheduling a callback if the bucket is new.
+     *
+     * @param guard        guard
+     * @param deltaTime    time until the guard expires
+     * @param scheduleSlot schedule slot of the guard
+     */
+    public void add(TimerWithinGuard guard, long deltaTime, long scheduleSlot) {
+        SchedulingService schedulingService = context.getPatternContext().getSchedulingService();
+        long expiryTime = schedulingService.getTime() + deltaTime;
+        Pair<Long, Long> key = new Pair<Long, Long>(expiryTime, scheduleSlot);
+        TimerWithinGuardBucket bucket = buckets.get(key);
+        if (bucket == null || bucket.getSchedulingService() != schedulingService) {
+            bucket = new TimerWithinGuardBucket(this, expiryTime, schedulingService, scheduleSlot);
+            EPStatementHandleCallback scheduleHandle = new EPStatementHandleCallback(context.getAgentInstanceContext().getEpStatementAgentInstanceHandle(), bucket);
+            bucket.setScheduleHandle(scheduleHandle);
+            schedulingService.add(deltaTime, scheduleHandle, scheduleSlot);
+            buckets.put(key, bucket);
+        }
+        bucket.add(guard);
+    }
+
+    /**
+     * Returns the number of buckets, each having a schedule callback.
+     *
+     * @return number of buckets
+     */
+    public int getNumBuckets() {
+        return buckets.size();
+    }
+
+    void removeBucket(TimerWithinGuardBucket bucket) {
+        Pair<Long, Long> key = new Pair<Long, Long>(bucket.getExpiryTime(), bucket.getScheduleSlot());
+        if (buckets.get(key) == bucket) {
+            buckets.remove(key);
+        }
+    }
+}
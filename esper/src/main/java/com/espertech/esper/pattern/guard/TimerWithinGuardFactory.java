@@ -15,6 +15,7 @@ import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.expression.time.ExprTimePeriod;
 import com.espertech.esper.filterspec.MatchedEventMap;
 import com.espertech.esper.pattern.*;
+import com.espertech.esper.schedule.ScheduleBucket;
 import com.espertech.esper.util.JavaClassHelper;
 
 import java.io.Serializable;
@@ -36,6 +37,9 @@ public class TimerWithinGuardFactory implements GuardFactory, Serializable {
      */
     protected transient MatchedEventConvertor convertor;
 
+    private transient ScheduleBucket scheduleBucket;
+    private transient long scheduleSlot;
+
     public void setGuardParameters(List<ExprNode> parameters, MatchedEventConvertor convertor) throws GuardParameterException {
         String errorMessage = "Timer-within guard requires a single numeric or time period parameter";
         if (parameters.size() != 1) {
@@ -64,6 +68,22 @@ public class TimerWithinGuardFactory implements GuardFactory, Serializable {
     }
 
     public Guard makeGuard(PatternAgentInstanceContext context, MatchedEventMap matchedEventMap, Quitable quitable, EvalStateNodeNumber stateNodeId, Object guardState) {
-        return new TimerWithinGuard(computeTime(matchedEventMap, context), quitable);
+        return new TimerWithinGuard(computeTime(matchedEventMap, context), quitable, getScheduleSlot(context));
+    }
+
+    /**
+     * Returns the schedule slot shared by the guards of this factory, so that guards expiring at the same
+     * time can share a schedule callback and still fire in the slot order of this guard in the pattern.
+     *
+     * @param context pattern agent instance context
+     * @return schedule slot
+     */
+    protected synchronized long getScheduleSlot(PatternAgentInstanceContext context) {
+        ScheduleBucket bucket = context.getPatternContext().getScheduleBucket();
+        if (scheduleBucket != bucket) {
+            scheduleSlot = bucket.allocateSlot();
+            scheduleBucket = bucket;
+        }
+        return scheduleSlot;
     }
 }
@@ -50,6 +50,7 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
 
     private final RegexPartitionStateRandomAccessGetter prevGetter;
     private final ObjectArrayBackedEventBean compositeEventBean;
+    private final EventBean[] dfaEventsPerStream;
 
     // state
     protected RegexPartitionStateRepo regexPartitionStateRepo;
@@ -64,6 +65,7 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         this.agentInstanceContext = agentInstanceContext;
 
         this.windowMatchedEventset = new LinkedHashSet<EventBean>();
+        this.dfaEventsPerStream = factory.dfa == null ? null : new EventBean[factory.numEventsEventsPerStreamDefine];
 
         // handle "previous" function nodes (performance-optimized for direct index access)
         if (!factory.callbacksPerIndex.isEmpty()) {
@@ -90,18 +92,26 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                     factory.partitionByEvals, agentInstanceContext);
             regexPartitionStateRepo = repoFactory.makePartitioned(prevGetter, stateRepoGroupMeta, agentInstanceContext, this, factory.matchRecognizeSpec.getInterval() != null, terminationStateCompare);
         }
+
+        MatchRecognizeStatePoolStmtSvc poolSvc = agentInstanceContext.getStatementContext().getMatchRecognizeStatePoolStmtSvc();
+        if (poolSvc != null) {
+            poolSvc.addService(this, agentInstanceContext.getAgentInstanceLock());
+        }
     }
 
     public void stop() {
         if (scheduler != null) {
             scheduler.removeSchedule();
         }
+        MatchRecognizeStatePoolStmtSvc poolSvc = agentInstanceContext.getStatementContext().getMatchRecognizeStatePoolStmtSvc();
         if (factory.isTrackMaxStates) {
             int size = regexPartitionStateRepo.getStateCount();
-            MatchRecognizeStatePoolStmtSvc poolSvc = agentInstanceContext.getStatementContext().getMatchRecognizeStatePoolStmtSvc();
             poolSvc.getEngineSvc().decreaseCount(agentInstanceContext, size);
             poolSvc.getStmtHandler().decreaseCount(size);
         }
+        if (poolSvc != null) {
+            poolSvc.removeService(this);
+        }
         regexPartitionStateRepo.destroy();
     }
 
@@ -188,11 +198,16 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         List<RegexNFAStateEntry> terminationStatesAll = null;
 
         for (EventBean newEvent : newData) {
-            List<RegexNFAStateEntry> nextStates = new ArrayList<RegexNFAStateEntry>(2);
             int eventSequenceNumber = regexPartitionStateRepo.incrementAndGetEventSequenceNum();
 
             // get state holder for this event
             RegexPartitionState partitionState = regexPartitionStateRepo.getState(newEvent, true);
+            if (factory.dfa != null) {
+                stepDFA(partitionState, newEvent, endStates, eventSequenceNumber);
+                continue;
+            }
+
+            List<RegexNFAStateEntry> nextStates = new ArrayList<RegexNFAStateEntry>(2);
             Iterator<RegexNFAStateEntry> currentStatesIterator = partitionState.getCurrentStatesIterator();
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qRegEx(newEvent, partitionState);
@@ -342,6 +357,9 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                         stateIter.remove();
                     }
                 }
+                if (partitionState.getDFAState() != null) {
+                    partitionState.getDFAState().removeBeganAtOrBefore(endState.getMatchEndEventSeqNo());
+                }
             }
         } else if (factory.matchRecognizeSpec.getSkip().getSkip() == MatchRecognizeSkipEnum.TO_NEXT_ROW) {
             Iterator<RegexNFAStateEntry> endStateIter = endStates.iterator();
@@ -360,6 +378,9 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                         stateIter.remove();
                     }
                 }
+                if (partitionState.getDFAState() != null) {
+                    partitionState.getDFAState().removeBeganAtOrBefore(endState.getMatchBeginEventSeqNo());
+                }
             }
         }
 
@@ -685,6 +706,30 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         }
     }
 
+    private void stepDFA(RegexPartitionState partitionState, EventBean theEvent, List<RegexNFAStateEntry> endStates, int eventSequenceNumber) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qRegEx(theEvent, partitionState);
+        }
+        RegexDFA dfa = factory.dfa;
+        RegexDFAPartitionState dfaState = partitionState.getDFAState();
+        if (dfaState == null) {
+            dfaState = new RegexDFAPartitionState(dfa.getLength());
+            partitionState.setDFAState(dfaState);
+        }
+
+        dfaState.addEvent(theEvent, eventSequenceNumber);
+        long next = dfa.step(dfaState.getActive(), theEvent, dfaEventsPerStream, agentInstanceContext);
+        if ((next & dfa.getAcceptBit()) != 0) {
+            endStates.add(dfa.makeEndState(dfaState, factory.numEventsEventsPerStreamDefine, partitionState.getOptionalKeys(), eventSequenceNumber));
+            next &= ~dfa.getAcceptBit();
+        }
+        dfaState.setActive(next);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aRegEx(partitionState, endStates, null);
+        }
+    }
+
     private List<RegexNFAStateEntry> step(boolean skipTrackMaxState,
                                           Iterator<RegexNFAStateEntry> currentStatesIterator,
                                           EventBean theEvent,
@@ -750,7 +795,14 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                         greedyCounts[currentState.getState().getNodeNumFlat()]++;
                     }
 
-                    RegexNFAStateEntry entry = new RegexNFAStateEntry(currentState.getMatchBeginEventSeqNo(), currentState.getMatchBeginEventTime(), currentState.getState(), eventsForState, greedyCounts, multimatches, partitionKey);
+                    RegexNFAStateEntry entry;
+                    if (copy) {
+                        entry = new RegexNFAStateEntry(currentState.getMatchBeginEventSeqNo(), currentState.getMatchBeginEventTime(), currentState.getState(), eventsForState, greedyCounts, multimatches, partitionKey);
+                    } else {
+                        // the current state is no longer referenced after this step, reuse the entry for the single next state
+                        entry = currentState;
+                        entry.setOptionalMultiMatches(multimatches);
+                    }
                     if (next instanceof RegexNFAStateEnd) {
                         entry.setMatchEndEventSeqNo(currentEventSequenceNumber);
                         endStates.add(entry);
@@ -901,7 +953,7 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         MultimatchState[] copy = new MultimatchState[multimatchStates.length];
         for (int i = 0; i < copy.length; i++) {
             if (multimatchStates[i] != null) {
-                copy[i] = new MultimatchState(multimatchStates[i]);
+                copy[i] = multimatchStates[i].share();
             }
         }
 
@@ -41,6 +41,7 @@ import com.espertech.esper.epl.spec.MatchRecognizeSpec;
 import com.espertech.esper.epl.util.ExprNodeUtilityRich;
 import com.espertech.esper.event.ObjectArrayBackedEventBean;
 import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.util.AuditPath;
 import com.espertech.esper.util.CollectionUtil;
 import com.espertech.esper.view.*;
 import org.slf4j.Logger;
@@ -54,6 +55,7 @@ import java.util.*;
  */
 public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
     private static final Logger log = LoggerFactory.getLogger(EventRowRegexNFAViewFactory.class);
+    private static final Logger QUERY_PLAN_LOG = LoggerFactory.getLogger(AuditPath.QUERYPLAN_LOG);
 
     protected final MatchRecognizeSpec matchRecognizeSpec;
     protected final LinkedHashMap<String, Pair<Integer, Boolean>> variableStreams;
@@ -84,6 +86,7 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
     protected final int numEventsEventsPerStreamDefine;
     protected final boolean isOrTerminated;
     protected final boolean isTrackMaxStates;
+    protected final RegexDFA dfa;
 
     /**
      * Ctor.
@@ -156,6 +159,7 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
         List<ExprAggregateNode> aggregateNodes = new ArrayList<ExprAggregateNode>();
         ExprEvaluatorContextStatement exprEvaluatorContext = new ExprEvaluatorContextStatement(statementContext, false);
         this.isExprRequiresMultimatchState = new boolean[variableStreams.size()];
+        boolean isDefineOwnStreamOnly = true;
 
         for (int defineIndex = 0; defineIndex < matchRecognizeSpec.getDefines().size(); defineIndex++) {
             MatchRecognizeDefineItem defineItem = matchRecognizeSpec.getDefines().get(defineIndex);
@@ -189,6 +193,12 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
             ExprNodeStreamRequiredVisitor visitor = new ExprNodeStreamRequiredVisitor();
             validated.accept(visitor);
             Set<Integer> streamsRequired = visitor.getStreamsRequired();
+            Pair<Integer, Boolean> defineStream = variableStreams.get(defineItem.getIdentifier());
+            for (int streamRequired : streamsRequired) {
+                if (defineStream == null || streamRequired != defineStream.getFirst()) {
+                    isDefineOwnStreamOnly = false;
+                }
+            }
             for (int streamRequired : streamsRequired) {
                 if (streamRequired >= variableStreams.size()) {
                     int streamNumIdent = variableStreams.get(defineItem.getIdentifier()).getFirst();
@@ -414,6 +424,25 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
 
         // flag to track max states
         this.isTrackMaxStates = matchRecognizeConfig != null && matchRecognizeConfig.getMaxStates() != null;
+
+        // execute as a deterministic automaton when the pattern is a concatenation of single-row variables and conditions
+        // do not refer to other variables, for an unbound stream without interval, "prev" or state tracking
+        if (isUnbound && !isIterateOnly && !isTrackMaxStates && isDefineOwnStreamOnly && !isDefineAsksMultimatches &&
+                callbacksPerIndex.isEmpty() && matchRecognizeSpec.getInterval() == null) {
+            dfa = RegexDFA.compile(startStates, allStates.length);
+        } else {
+            dfa = null;
+        }
+
+        boolean queryPlanLogging = statementContext.getConfigSnapshot().getEngineDefaults().getLogging().isEnableQueryPlan();
+        if ((queryPlanLogging && QUERY_PLAN_LOG.isInfoEnabled()) || log.isDebugEnabled()) {
+            String message = "Match-recognize for statement '" + statementContext.getStatementName() + "' executes " +
+                    (dfa != null ? "as a deterministic automaton (DFA)" : "as an NFA");
+            if (queryPlanLogging && QUERY_PLAN_LOG.isInfoEnabled()) {
+                QUERY_PLAN_LOG.info(message);
+            }
+            log.debug(message);
+        }
     }
 
     private ExprNode validateMeasureClause(ExprNode measureNode, StreamTypeService typeServiceMeasure, Set<String> variablesMultiple, Set<String> variablesSingle, StatementContext statementContext)
@@ -545,4 +574,13 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
     public int getNumEventsEventsPerStreamDefine() {
         return numEventsEventsPerStreamDefine;
     }
+
+    /**
+     * Returns the deterministic automaton executing the pattern, if the pattern allows.
+     *
+     * @return automaton or null when executing the NFA
+     */
+    public RegexDFA getDFA() {
+        return dfa;
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.rowregex;
+
+import com.espertech.esper.client.EventBean;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Visitor that estimates the memory held by match-recognize partition states.
+ * <p>
+ * The estimate covers the partition state objects, the partial-match entries, and the arrays that entries reference,
+ * assuming compressed object references. Arrays shared between entries are counted once. The estimate does not cover the events
+ * themselves, since events are shared with data windows and other statements, and it does not cover "prev" buffers.
+ * </p>
+ */
+public class MatchRecognizeStateMemory implements EventRowRegexNFAViewServiceVisitor {
+    private static final int PARTITION_BYTES = 72;
+    private static final int ENTRY_BYTES = 40;
+    private static final int MULTIMATCH_BYTES = 24;
+    private static final int ARRAY_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int DFA_STATE_BYTES = 32;
+
+    private final Set<EventBean[]> sharedArrays = Collections.newSetFromMap(new IdentityHashMap<EventBean[], Boolean>());
+    private long numPartitions;
+    private long numStates;
+    private long numEventReferences;
+    private long estimatedBytes;
+
+    public void visitUnpartitioned(RegexPartitionState state) {
+        visitState(state);
+    }
+
+    public void visitPartitioned(Map<Object, RegexPartitionState> states) {
+        for (RegexPartitionState state : states.values()) {
+            visitState(state);
+        }
+    }
+
+    /**
+     * Returns the number of partitions.
+     *
+     * @return partitions
+     */
+    public long getNumPartitions() {
+        return numPartitions;
+    }
+
+    /**
+     * Returns the number of partial-match states.
+     *
+     * @return states
+     */
+    public long getNumStates() {
+        return numStates;
+    }
+
+    /**
+     * Returns the number of references to events held by partial-match states.
+     *
+     * @return event references
+     */
+    public long getNumEventReferences() {
+        return numEventReferences;
+    }
+
+    /**
+     * Returns the estimated number of bytes held by partition states.
+     *
+     * @return bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns the estimated number of bytes held per partition, or zero when there are no partitions.
+     *
+     * @return bytes per partition
+     */
+    public long getEstimatedBytesPerPartition() {
+        return numPartitions == 0 ? 0 : estimatedBytes / numPartitions;
+    }
+
+    private void visitState(RegexPartitionState state) {
+        numPartitions++;
+        estimatedBytes += PARTITION_BYTES + ARRAY_BYTES + (long) REFERENCE_BYTES * state.getCurrentStatesForPrint().size();
+        for (Iterator<RegexNFAStateEntry> it = state.getCurrentStatesIterator(); it.hasNext(); ) {
+            visitEntry(it.next());
+        }
+        RegexDFAPartitionState dfaState = state.getDFAState();
+        if (dfaState != null) {
+            numStates += dfaState.getNumStates();
+            numEventReferences += dfaState.getNumEvents();
+            estimatedBytes += DFA_STATE_BYTES + ARRAY_BYTES * 2 + (long) (REFERENCE_BYTES + 4) * dfaState.getCapacity();
+        }
+    }
+
+    private void visitEntry(RegexNFAStateEntry entry) {
+        numStates++;
+        estimatedBytes += ENTRY_BYTES;
+
+        EventBean[] eventsPerStream = entry.getEventsPerStream();
+        estimatedBytes += ARRAY_BYTES + (long) REFERENCE_BYTES * eventsPerStream.length;
+        for (EventBean event : eventsPerStream) {
+            if (event != null) {
+                numEventReferences++;
+            }
+        }
+        estimatedBytes += ARRAY_BYTES + 4L * entry.getGreedycountPerState().length;
+
+        MultimatchState[] multimatches = entry.getOptionalMultiMatches();
+        if (multimatches == null) {
+            return;
+        }
+        estimatedBytes += ARRAY_BYTES + (long) REFERENCE_BYTES * multimatches.length;
+        for (MultimatchState multimatch : multimatches) {
+            if (multimatch == null) {
+                continue;
+            }
+            estimatedBytes += MULTIMATCH_BYTES;
+            numEventReferences += multimatch.getCount();
+            if (multimatch.isShared() && !sharedArrays.add(multimatch.getBuffer())) {
+                continue;
+            }
+            estimatedBytes += ARRAY_BYTES + (long) REFERENCE_BYTES * multimatch.getBuffer().length;
+        }
+    }
+}
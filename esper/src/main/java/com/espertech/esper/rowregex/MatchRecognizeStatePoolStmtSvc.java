@@ -10,10 +10,16 @@
  */
 package com.espertech.esper.rowregex;
 
+import com.espertech.esper.core.service.StatementAgentInstanceLock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class MatchRecognizeStatePoolStmtSvc {
 
     private final MatchRecognizeStatePoolEngineSvc engineSvc;
     private final MatchRecognizeStatePoolStmtHandler stmtHandler;
+    private final Map<EventRowRegexNFAViewService, StatementAgentInstanceLock> services = new ConcurrentHashMap<EventRowRegexNFAViewService, StatementAgentInstanceLock>();
 
     public MatchRecognizeStatePoolStmtSvc(MatchRecognizeStatePoolEngineSvc engineSvc, MatchRecognizeStatePoolStmtHandler stmtHandler) {
         this.engineSvc = engineSvc;
@@ -27,4 +33,43 @@ public class MatchRecognizeStatePoolStmtSvc {
     public MatchRecognizeStatePoolStmtHandler getStmtHandler() {
         return stmtHandler;
     }
+
+    /**
+     * Registers the match-recognize service of an agent instance for reporting state memory.
+     *
+     * @param service           match-recognize service
+     * @param agentInstanceLock lock of the agent instance
+     */
+    public void addService(EventRowRegexNFAViewService service, StatementAgentInstanceLock agentInstanceLock) {
+        services.put(service, agentInstanceLock);
+    }
+
+    /**
+     * Deregisters the match-recognize service of an agent instance.
+     *
+     * @param service match-recognize service
+     */
+    public void removeService(EventRowRegexNFAViewService service) {
+        services.remove(service);
+    }
+
+    /**
+     * Returns an estimate of the memory held by partition states of the statement, over all agent instances.
+     * Each agent instance is locked while its partition states are visited.
+     *
+     * @return state memory
+     */
+    public MatchRecognizeStateMemory getStateMemory() {
+        MatchRecognizeStateMemory memory = new MatchRecognizeStateMemory();
+        for (Map.Entry<EventRowRegexNFAViewService, StatementAgentInstanceLock> entry : services.entrySet()) {
+            StatementAgentInstanceLock lock = entry.getValue();
+            lock.acquireWriteLock();
+            try {
+                entry.getKey().accept(memory);
+            } finally {
+                lock.releaseWriteLock();
+            }
+        }
+        return memory;
+    }
 }
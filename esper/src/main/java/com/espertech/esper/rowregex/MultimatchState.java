@@ -15,10 +15,14 @@ import com.espertech.esper.util.CollectionUtil;
 
 /**
  * State holder for matches, backed by an array, for fast copying and writing.
+ * <p>
+ * Copies obtained from {@link #share()} share the array with the original until either one adds an event.
+ * </p>
  */
 public class MultimatchState {
     private int count;
     private EventBean[] events;
+    private boolean shared;
 
     public MultimatchState(int count, EventBean[] events) {
         this.count = count;
@@ -48,20 +52,42 @@ public class MultimatchState {
         events = copyArray;
     }
 
+    /**
+     * Returns a copy that shares the event array with this state, copying the array upon write.
+     *
+     * @return copy
+     */
+    public MultimatchState share() {
+        shared = true;
+        MultimatchState copy = new MultimatchState(count, events);
+        copy.shared = true;
+        return copy;
+    }
+
     /**
      * Add an event.
      *
      * @param theEvent to add
      */
     public void add(EventBean theEvent) {
-        if (count == events.length) {
-            EventBean[] buf = new EventBean[events.length * 2];
-            System.arraycopy(events, 0, buf, 0, events.length);
+        if (count == events.length || shared) {
+            EventBean[] buf = new EventBean[count == events.length ? events.length * 2 : events.length];
+            System.arraycopy(events, 0, buf, 0, count);
             events = buf;
+            shared = false;
         }
         events[count++] = theEvent;
     }
 
+    /**
+     * Returns true if the event array may be shared with another state.
+     *
+     * @return indicator
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
     /**
      * Returns the count of events.
      *
@@ -110,6 +136,7 @@ public class MultimatchState {
         EventBean[] array = new EventBean[count];
         System.arraycopy(events, 0, array, 0, count);
         events = array; // we hold on to the result, avoiding future shrinking
+        shared = false;
         return array;
     }
 }
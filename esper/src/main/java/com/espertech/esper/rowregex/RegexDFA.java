@@ -0,0 +1,143 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.rowregex;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic automaton for match-recognize patterns that are a concatenation of single-row variables,
+ * such as "pattern (A B C)", when no condition refers to the events matched by other variables.
+ * <p>
+ * For such patterns the set of active NFA states of a partition is represented by a bit set, wherein bit j indicates
+ * that the most recent j+1 events matched the first j+1 variables. The transition for an event shifts the
+ * bit set by one, adds the start state and retains the states whose condition the event satisfies.
+ * Each condition is evaluated at most once per event and partial matches do not allocate.
+ * </p>
+ */
+public class RegexDFA {
+    /**
+     * Maximum number of variables.
+     */
+    public static final int MAX_LENGTH = Long.SIZE;
+
+    private final RegexNFAState[] states;
+    private final int[] streamNums;
+    private final long acceptBit;
+    private final int[] greedyCounts;
+
+    private RegexDFA(RegexNFAState[] states, int numAllStates) {
+        this.states = states;
+        this.streamNums = new int[states.length];
+        for (int i = 0; i < states.length; i++) {
+            streamNums[i] = states[i].getStreamNum();
+        }
+        this.acceptBit = 1L << (states.length - 1);
+        this.greedyCounts = new int[numAllStates];
+    }
+
+    /**
+     * Compiles the automaton from the NFA start states, returning null when the pattern is not a
+     * concatenation of single-row variables.
+     *
+     * @param startStates  NFA start states
+     * @param numAllStates number of NFA states
+     * @return automaton or null if the NFA is required
+     */
+    public static RegexDFA compile(RegexNFAState[] startStates, int numAllStates) {
+        if (startStates.length != 1) {
+            return null;
+        }
+        List<RegexNFAState> chain = new ArrayList<RegexNFAState>();
+        RegexNFAState current = startStates[0];
+        while (!(current instanceof RegexNFAStateEnd)) {
+            if (!(current instanceof RegexNFAStateFilter) && !(current instanceof RegexNFAStateAnyOne)) {
+                return null;
+            }
+            if (current.isMultiple() || current.isGreedy() != null || current.isExprRequiresMultimatchState()) {
+                return null;
+            }
+            if (current.getNextStates().size() != 1 || chain.size() == MAX_LENGTH) {
+                return null;
+            }
+            chain.add(current);
+            current = current.getNextStates().get(0);
+        }
+        if (chain.isEmpty()) {
+            return null;
+        }
+        return new RegexDFA(chain.toArray(new RegexNFAState[chain.size()]), numAllStates);
+    }
+
+    /**
+     * Returns the number of variables.
+     *
+     * @return length
+     */
+    public int getLength() {
+        return states.length;
+    }
+
+    /**
+     * Returns the bit indicating a complete match.
+     *
+     * @return accept bit
+     */
+    public long getAcceptBit() {
+        return acceptBit;
+    }
+
+    /**
+     * Transition the active states for an event.
+     *
+     * @param active               active states before the event
+     * @param theEvent             event
+     * @param eventsPerStream      buffer for evaluating conditions, all elements are null upon return
+     * @param exprEvaluatorContext evaluation context
+     * @return active states after the event, including the accept bit for a complete match
+     */
+    public long step(long active, EventBean theEvent, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        long next = 0;
+        for (long candidates = (active << 1) | 1L; candidates != 0; candidates &= candidates - 1) {
+            int index = Long.numberOfTrailingZeros(candidates);
+            int streamNum = streamNums[index];
+            eventsPerStream[streamNum] = theEvent;
+            if (states[index].matches(eventsPerStream, exprEvaluatorContext)) {
+                next |= 1L << index;
+            }
+            eventsPerStream[streamNum] = null;
+        }
+        return next;
+    }
+
+    /**
+     * Returns the end state for the complete match held by the partition state.
+     *
+     * @param partitionState  partition state holding the most recent events
+     * @param numStreams      number of streams for the events-per-stream array
+     * @param partitionKey    partition key, if any
+     * @param eventSeqNo      sequence number of the last event of the match
+     * @return end state
+     */
+    public RegexNFAStateEntry makeEndState(RegexDFAPartitionState partitionState, int numStreams, Object partitionKey, int eventSeqNo) {
+        EventBean[] eventsPerStream = new EventBean[numStreams];
+        int last = states.length - 1;
+        for (int i = 0; i <= last; i++) {
+            eventsPerStream[streamNums[i]] = partitionState.getEvent(last - i);
+        }
+        RegexNFAStateEntry entry = new RegexNFAStateEntry(partitionState.getEventSeqNo(last), 0, states[last], eventsPerStream, greedyCounts, null, partitionKey);
+        entry.setMatchEndEventSeqNo(eventSeqNo);
+        return entry;
+    }
+}
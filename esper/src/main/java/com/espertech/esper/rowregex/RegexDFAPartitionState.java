@@ -0,0 +1,147 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.rowregex;
+
+import com.espertech.esper.client.EventBean;
+
+/**
+ * Partial matches of a partition for the {@link RegexDFA}, holding the active states as a bit set
+ * and the most recent events of the partition in a ring buffer.
+ */
+public class RegexDFAPartitionState {
+    private final EventBean[] events;
+    private final int[] eventSeqNos;
+    private int position;
+    private long active;
+
+    /**
+     * Ctor.
+     *
+     * @param length number of variables of the pattern
+     */
+    public RegexDFAPartitionState(int length) {
+        this.events = new EventBean[length];
+        this.eventSeqNos = new int[length];
+    }
+
+    /**
+     * Adds an event as the most recent event.
+     *
+     * @param theEvent   event
+     * @param eventSeqNo sequence number of the event
+     */
+    public void addEvent(EventBean theEvent, int eventSeqNo) {
+        position = position + 1 == events.length ? 0 : position + 1;
+        events[position] = theEvent;
+        eventSeqNos[position] = eventSeqNo;
+    }
+
+    /**
+     * Returns a recent event.
+     *
+     * @param age zero for the most recent event, one for the event before and so on
+     * @return event
+     */
+    public EventBean getEvent(int age) {
+        return events[index(age)];
+    }
+
+    /**
+     * Returns the sequence number of a recent event.
+     *
+     * @param age zero for the most recent event, one for the event before and so on
+     * @return sequence number
+     */
+    public int getEventSeqNo(int age) {
+        return eventSeqNos[index(age)];
+    }
+
+    /**
+     * Returns the active states.
+     *
+     * @return bit set of active states
+     */
+    public long getActive() {
+        return active;
+    }
+
+    /**
+     * Sets the active states, releasing the events when there are none.
+     *
+     * @param active bit set of active states
+     */
+    public void setActive(long active) {
+        if (active == 0) {
+            if (this.active == 0) {
+                events[position] = null;
+            } else {
+                for (int i = 0; i < events.length; i++) {
+                    events[i] = null;
+                }
+            }
+        }
+        this.active = active;
+    }
+
+    /**
+     * Removes the partial matches that began at or before the event sequence number.
+     *
+     * @param eventSeqNo sequence number
+     */
+    public void removeBeganAtOrBefore(int eventSeqNo) {
+        long remaining = active;
+        for (long bits = active; bits != 0; bits &= bits - 1) {
+            int age = Long.numberOfTrailingZeros(bits);
+            if (getEventSeqNo(age) <= eventSeqNo) {
+                remaining &= ~(1L << age);
+            }
+        }
+        setActive(remaining);
+    }
+
+    /**
+     * Returns the number of partial matches.
+     *
+     * @return count
+     */
+    public int getNumStates() {
+        return Long.bitCount(active);
+    }
+
+    /**
+     * Returns the number of events held.
+     *
+     * @return count
+     */
+    public int getNumEvents() {
+        int count = 0;
+        for (EventBean event : events) {
+            if (event != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the capacity of the ring buffer.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    private int index(int age) {
+        int index = position - age;
+        return index < 0 ? index + events.length : index;
+    }
+}
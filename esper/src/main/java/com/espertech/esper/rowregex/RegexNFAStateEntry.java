@@ -21,7 +21,7 @@ public class RegexNFAStateEntry {
     private RegexNFAState state;
     private final EventBean[] eventsPerStream;
     private final int[] greedycountPerState;
-    private final MultimatchState[] optionalMultiMatches;
+    private MultimatchState[] optionalMultiMatches;
     private final Object partitionKey;
     private int matchEndEventSeqNo;
 
@@ -133,6 +133,15 @@ public class RegexNFAStateEntry {
         return partitionKey;
     }
 
+    /**
+     * Sets the multirow-variable matches.
+     *
+     * @param optionalMultiMatches matches
+     */
+    public void setOptionalMultiMatches(MultimatchState[] optionalMultiMatches) {
+        this.optionalMultiMatches = optionalMultiMatches;
+    }
+
     public String toString() {
         return "Entry " + state.toString();
     }
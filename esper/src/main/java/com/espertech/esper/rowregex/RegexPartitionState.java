@@ -27,4 +27,8 @@ public interface RegexPartitionState {
     public List<RegexNFAStateEntry> getCurrentStatesForPrint();
 
     public boolean isEmptyCurrentState();
+
+    public RegexDFAPartitionState getDFAState();
+
+    public void setDFAState(RegexDFAPartitionState dfaState);
 }
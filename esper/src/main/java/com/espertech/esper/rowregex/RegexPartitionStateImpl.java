@@ -23,6 +23,7 @@ public class RegexPartitionStateImpl implements RegexPartitionState {
     private RegexPartitionStateRandomAccess randomAccess;
     private List<RegexNFAStateEntry> currentStates = new ArrayList<RegexNFAStateEntry>();
     private Object optionalKeys;
+    private RegexDFAPartitionState dfaState;
 
     /**
      * Ctor.
@@ -138,7 +139,7 @@ public class RegexPartitionStateImpl implements RegexPartitionState {
     }
 
     public int getNumStates() {
-        return currentStates.size();
+        return dfaState == null ? currentStates.size() : currentStates.size() + dfaState.getNumStates();
     }
 
     public void clearCurrentStates() {
@@ -150,7 +151,25 @@ public class RegexPartitionStateImpl implements RegexPartitionState {
     }
 
     public boolean isEmptyCurrentState() {
-        return currentStates.isEmpty();
+        return currentStates.isEmpty() && (dfaState == null || dfaState.getActive() == 0);
+    }
+
+    /**
+     * Returns the partial matches when executing the pattern as a deterministic automaton.
+     *
+     * @return state or null if not yet allocated or executing the NFA
+     */
+    public RegexDFAPartitionState getDFAState() {
+        return dfaState;
+    }
+
+    /**
+     * Sets the partial matches when executing the pattern as a deterministic automaton.
+     *
+     * @param dfaState state
+     */
+    public void setDFAState(RegexDFAPartitionState dfaState) {
+        this.dfaState = dfaState;
     }
 
     public static List<RegexNFAStateEntry> removeEventFromState(EventBean oldEvent, Iterator<RegexNFAStateEntry> states) {
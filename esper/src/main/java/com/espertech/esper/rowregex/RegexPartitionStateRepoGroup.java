@@ -12,6 +12,7 @@ package com.espertech.esper.rowregex;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByKeyType;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
@@ -20,6 +21,9 @@ import java.util.*;
 
 /**
  * Partition-by implementation for partition state.
+ * <p>
+ * Partition states are held by a map that keeps int, long and string partition keys without an entry object per partition.
+ * </p>
  */
 public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
     /**
@@ -41,7 +45,7 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
                                         RegexPartitionTerminationStateComparator terminationStateCompare) {
         this.getter = getter;
         this.meta = meta;
-        this.states = new HashMap<Object, RegexPartitionStateImpl>();
+        this.states = AggSvcGroupByKeyType.determine(meta.getPartitionExpressionNodes()).makeMap(meta.getPartitionExpressionNodes().length);
         this.optionalIntervalSchedules = keepScheduleState ? new RegexPartitionStateRepoScheduleStateImpl(terminationStateCompare) : null;
     }
 
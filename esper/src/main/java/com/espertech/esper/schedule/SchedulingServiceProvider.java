@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.schedule;
 
+import com.espertech.esper.client.ConfigurationEngineDefaults;
 import com.espertech.esper.timer.TimeSourceService;
 
 /**
@@ -20,9 +21,13 @@ public final class SchedulingServiceProvider {
      * Creates an implementation of the SchedulingService interface.
      *
      * @param timeSourceService time source provider
+     * @param profile           scheduling service profile
      * @return implementation
      */
-    public static SchedulingServiceSPI newService(TimeSourceService timeSourceService) {
+    public static SchedulingServiceSPI newService(TimeSourceService timeSourceService, ConfigurationEngineDefaults.SchedulingServiceProfile profile) {
+        if (profile == ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheel(timeSourceService);
+        }
         return new SchedulingServiceImpl(timeSourceService);
     }
 }
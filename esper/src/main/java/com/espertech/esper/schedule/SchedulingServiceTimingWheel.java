@@ -0,0 +1,555 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.schedule;
+
+import com.espertech.esper.client.util.DateTime;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.metrics.jmx.JmxGetter;
+import com.espertech.esper.timer.TimeSourceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implements the schedule service as a hierarchical timing wheel.
+ * <p>
+ * The wheel has a level for each 6 bits of the time value, each level having 64 buckets and a bitmap of
+ * occupied buckets. An entry resides at the level of the highest 6-bit digit in which its time differs from the wheel base time.
+ * When the wheel advances, the bucket at the new base digit of each level cascades its entries to lower levels.
+ * Empty time ranges are skipped using the bitmaps.
+ * <p>
+ * Adding a handle does not lock: the entry is pushed onto a pending stack that is drained into the wheel
+ * under the wheel lock by evaluation. Removing a handle marks the entry cancelled and unlinks it from the wheel if
+ * the wheel lock is available, else the entry is discarded when reached.
+ * <p>
+ * Handles due at the same time are returned in ascending schedule slot order, and handles due at different times
+ * in ascending time order.
+ */
+public final class SchedulingServiceTimingWheel implements SchedulingServiceSPI {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final long SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int NUM_LEVELS = (64 + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+    private static final int LEVEL_NONE = -1;
+    private static final int LEVEL_OVERDUE = -2;
+
+    private static final Comparator<WheelEntry> TIME_SLOT_COMPARATOR = new Comparator<WheelEntry>() {
+        public int compare(WheelEntry o1, WheelEntry o2) {
+            int compared = Long.compare(o1.time, o2.time);
+            if (compared != 0) {
+                return compared;
+            }
+            return Long.compare(o1.slot, o2.slot);
+        }
+    };
+
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final Map<ScheduleHandle, WheelEntry> entries = new ConcurrentHashMap<ScheduleHandle, WheelEntry>();
+    private final AtomicReference<WheelEntry> pending = new AtomicReference<WheelEntry>();
+
+    // guarded by wheelLock
+    private final WheelEntry[][] buckets = new WheelEntry[NUM_LEVELS][SLOTS_PER_LEVEL];
+    private final long[] occupied = new long[NUM_LEVELS];
+    private WheelEntry overdue;
+    private long base;
+    private final ArrayList<WheelEntry> fired = new ArrayList<WheelEntry>();
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    /**
+     * Constructor.
+     *
+     * @param timeSourceService time source provider
+     */
+    public SchedulingServiceTimingWheel(TimeSourceService timeSourceService) {
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.base = Math.max(0, currentTime);
+    }
+
+    public void destroy() {
+        log.debug("Destroying scheduling service");
+        wheelLock.lock();
+        try {
+            entries.clear();
+            pending.set(null);
+            for (int i = 0; i < NUM_LEVELS; i++) {
+                Arrays.fill(buckets[i], null);
+                occupied[i] = 0;
+            }
+            overdue = null;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public long getTime() {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public void setTime(long currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    public void add(long afterTime, ScheduleHandle handle, long slot) throws ScheduleServiceException {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleAdd(currentTime, afterTime, handle, slot);
+        }
+        WheelEntry entry = new WheelEntry(handle, slot, currentTime + afterTime);
+        WheelEntry existing = entries.put(handle, entry);
+        if (existing != null) {
+            cancel(existing);
+        }
+
+        // push to pending
+        WheelEntry head;
+        do {
+            head = pending.get();
+            entry.nextPending = head;
+        }
+        while (!pending.compareAndSet(head, entry));
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleAdd();
+        }
+    }
+
+    public void remove(ScheduleHandle handle, long slot) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleRemove(handle, slot);
+        }
+        WheelEntry entry = entries.remove(handle);
+        if (entry != null) {
+            // If it already has been removed then that's fine;
+            // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+            cancel(entry);
+        }
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleRemove();
+        }
+    }
+
+    public void evaluate(Collection<ScheduleHandle> handles) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleEval(currentTime);
+        }
+        wheelLock.lock();
+        try {
+            long now = currentTime;
+            prepare(now);
+
+            // overdue entries precede any entries in the wheel
+            WheelEntry entry = overdue;
+            while (entry != null) {
+                WheelEntry next = entry.next;
+                if (entry.cancelled) {
+                    unlink(entry);
+                } else if (entry.time <= now) {
+                    unlink(entry);
+                    if (entries.remove(entry.handle, entry)) {
+                        fired.add(entry);
+                    }
+                }
+                entry = next;
+            }
+            if (fired.size() > 1) {
+                Collections.sort(fired, TIME_SLOT_COMPARATOR);
+            }
+
+            advance(now);
+
+            for (WheelEntry firedEntry : fired) {
+                handles.add(firedEntry.handle);
+            }
+            fired.clear();
+        } finally {
+            wheelLock.unlock();
+        }
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleEval(handles);
+        }
+    }
+
+    public ScheduleSet take(Set<Integer> statementIds) {
+        List<ScheduleSetEntry> list = new ArrayList<ScheduleSetEntry>();
+        long currentTime = getTime();
+        for (WheelEntry entry : liveEntriesSorted()) {
+            if (statementIds.contains(entry.handle.getStatementId())) {
+                long relative = entry.time - currentTime;
+                list.add(new ScheduleSetEntry(relative, entry.slot, entry.handle));
+            }
+        }
+
+        for (ScheduleSetEntry entry : list) {
+            remove(entry.getHandle(), entry.getScheduleSlot());
+        }
+
+        return new ScheduleSet(list);
+    }
+
+    public void apply(ScheduleSet scheduleSet) {
+        for (ScheduleSetEntry entry : scheduleSet.getList()) {
+            add(entry.getTime(), entry.getHandle(), entry.getScheduleSlot());
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public int getTimeHandleCount() {
+        Set<Long> times = new HashSet<Long>();
+        for (WheelEntry entry : entries.values()) {
+            times.add(entry.time);
+        }
+        return times.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate() {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate() {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public Long getFurthestTimeHandle() {
+        Long furthest = null;
+        for (WheelEntry entry : entries.values()) {
+            if (furthest == null || entry.time > furthest) {
+                furthest = entry.time;
+            }
+        }
+        return furthest;
+    }
+
+    public int getScheduleHandleCount() {
+        return entries.size();
+    }
+
+    public boolean isScheduled(ScheduleHandle handle) {
+        return entries.containsKey(handle);
+    }
+
+    public Long getNearestTimeHandle() {
+        wheelLock.lock();
+        try {
+            prepare(currentTime);
+
+            boolean found = false;
+            long nearest = 0;
+            WheelEntry entry = overdue;
+            while (entry != null) {
+                WheelEntry next = entry.next;
+                if (entry.cancelled) {
+                    unlink(entry);
+                } else if (!found || entry.time < nearest) {
+                    nearest = entry.time;
+                    found = true;
+                }
+                entry = next;
+            }
+            if (found) {
+                return nearest;
+            }
+
+            // the first non-empty bucket holds the nearest entry, discarding buckets holding only cancelled entries
+            while (true) {
+                int level = nextLevel();
+                if (level == LEVEL_NONE) {
+                    return null;
+                }
+                int index = (int) ((nextTime(level) >>> (level * BITS_PER_LEVEL)) & SLOT_MASK);
+                entry = buckets[level][index];
+                while (entry != null) {
+                    WheelEntry next = entry.next;
+                    if (entry.cancelled) {
+                        unlink(entry);
+                    } else if (!found || entry.time < nearest) {
+                        nearest = entry.time;
+                        found = true;
+                    }
+                    entry = next;
+                }
+                if (found) {
+                    return nearest;
+                }
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public void visitSchedules(ScheduleVisitor visitor) {
+        ScheduleVisit visit = new ScheduleVisit();
+        for (WheelEntry entry : liveEntriesSorted()) {
+            visit.setTimestamp(entry.time);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    private List<WheelEntry> liveEntriesSorted() {
+        List<WheelEntry> list = new ArrayList<WheelEntry>(entries.values());
+        Collections.sort(list, TIME_SLOT_COMPARATOR);
+        return list;
+    }
+
+    private void cancel(WheelEntry entry) {
+        entry.cancelled = true;
+        if (wheelLock.tryLock()) {
+            try {
+                if (entry.level != LEVEL_NONE) {
+                    unlink(entry);
+                }
+            } finally {
+                wheelLock.unlock();
+            }
+        }
+    }
+
+    // Moves the base to follow time going backwards and drains pending entries into the wheel
+    private void prepare(long now) {
+        if (now < Long.MAX_VALUE && now + 1 < base) {
+            rebase(Math.max(0, now + 1));
+        }
+
+        WheelEntry entry = pending.getAndSet(null);
+        while (entry != null) {
+            WheelEntry next = entry.nextPending;
+            entry.nextPending = null;
+            if (!entry.cancelled) {
+                insert(entry);
+            }
+            entry = next;
+        }
+    }
+
+    // Fires all entries in the wheel up to and including the time given, in time order
+    private void advance(long now) {
+        while (true) {
+            int level = nextLevel();
+            if (level == LEVEL_NONE) {
+                break;
+            }
+            long next = nextTime(level);
+            if (next > now) {
+                break;
+            }
+            moveBase(next);
+
+            int index = (int) (base & SLOT_MASK);
+            if ((occupied[0] & (1L << index)) == 0) {
+                continue;
+            }
+
+            // all entries of the bucket are due exactly at the base time
+            int start = fired.size();
+            WheelEntry entry = buckets[0][index];
+            while (entry != null) {
+                WheelEntry following = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.level = LEVEL_NONE;
+                if (!entry.cancelled && entries.remove(entry.handle, entry)) {
+                    fired.add(entry);
+                }
+                entry = following;
+            }
+            buckets[0][index] = null;
+            occupied[0] &= ~(1L << index);
+            if (fired.size() - start > 1) {
+                Collections.sort(fired.subList(start, fired.size()), TIME_SLOT_COMPARATOR);
+            }
+        }
+
+        if (now < Long.MAX_VALUE && now + 1 > base) {
+            moveBase(now + 1);
+        }
+    }
+
+    // Returns the lowest level that has an occupied bucket at or after the base time
+    private int nextLevel() {
+        long bits = occupied[0] & (-1L << (base & SLOT_MASK));
+        if (bits != 0) {
+            return 0;
+        }
+        for (int level = 1; level < NUM_LEVELS; level++) {
+            if ((occupied[level] & aboveDigitMask(level)) != 0) {
+                return level;
+            }
+        }
+        return LEVEL_NONE;
+    }
+
+    // Returns the start time of the next occupied bucket at the given level
+    private long nextTime(int level) {
+        int shift = level * BITS_PER_LEVEL;
+        if (level == 0) {
+            long bits = occupied[0] & (-1L << (base & SLOT_MASK));
+            return (base & ~SLOT_MASK) | Long.numberOfTrailingZeros(bits);
+        }
+        long bits = occupied[level] & aboveDigitMask(level);
+        long index = Long.numberOfTrailingZeros(bits);
+        int shiftHigh = shift + BITS_PER_LEVEL;
+        long high = shiftHigh >= 64 ? 0 : (base >>> shiftHigh) << shiftHigh;
+        return high | (index << shift);
+    }
+
+    private long aboveDigitMask(int level) {
+        int digit = (int) ((base >>> (level * BITS_PER_LEVEL)) & SLOT_MASK);
+        return digit == SLOT_MASK ? 0 : -1L << (digit + 1);
+    }
+
+    // Moves the base forward, requires that no entry in the wheel is before the new base
+    private void moveBase(long newBase) {
+        base = newBase;
+        for (int level = NUM_LEVELS - 1; level > 0; level--) {
+            int index = (int) ((base >>> (level * BITS_PER_LEVEL)) & SLOT_MASK);
+            if ((occupied[level] & (1L << index)) == 0) {
+                continue;
+            }
+            WheelEntry entry = buckets[level][index];
+            buckets[level][index] = null;
+            occupied[level] &= ~(1L << index);
+            while (entry != null) {
+                WheelEntry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.level = LEVEL_NONE;
+                if (!entry.cancelled) {
+                    insert(entry);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    // Re-inserts all entries relative to a new base, used when time goes backwards
+    private void rebase(long newBase) {
+        List<WheelEntry> all = new ArrayList<WheelEntry>();
+        WheelEntry entry = overdue;
+        while (entry != null) {
+            all.add(entry);
+            entry = entry.next;
+        }
+        overdue = null;
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            long bits = occupied[level];
+            while (bits != 0) {
+                int index = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                entry = buckets[level][index];
+                while (entry != null) {
+                    all.add(entry);
+                    entry = entry.next;
+                }
+                buckets[level][index] = null;
+            }
+            occupied[level] = 0;
+        }
+
+        base = newBase;
+        for (WheelEntry existing : all) {
+            existing.prev = null;
+            existing.next = null;
+            existing.level = LEVEL_NONE;
+            if (!existing.cancelled) {
+                insert(existing);
+            }
+        }
+    }
+
+    private void insert(WheelEntry entry) {
+        long time = entry.time;
+        if (time < base) {
+            entry.level = LEVEL_OVERDUE;
+            entry.next = overdue;
+            if (overdue != null) {
+                overdue.prev = entry;
+            }
+            overdue = entry;
+            return;
+        }
+
+        long difference = time ^ base;
+        int level = difference < SLOTS_PER_LEVEL ? 0 : (63 - Long.numberOfLeadingZeros(difference)) / BITS_PER_LEVEL;
+        int index = (int) ((time >>> (level * BITS_PER_LEVEL)) & SLOT_MASK);
+        WheelEntry head = buckets[level][index];
+        entry.level = level;
+        entry.index = index;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        buckets[level][index] = entry;
+        occupied[level] |= 1L << index;
+    }
+
+    private void unlink(WheelEntry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (entry.level == LEVEL_OVERDUE) {
+            overdue = entry.next;
+        } else {
+            buckets[entry.level][entry.index] = entry.next;
+            if (entry.next == null) {
+                occupied[entry.level] &= ~(1L << entry.index);
+            }
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.level = LEVEL_NONE;
+    }
+
+    private static final class WheelEntry {
+        private final ScheduleHandle handle;
+        private final long slot;
+        private final long time;
+        private volatile boolean cancelled;
+        private WheelEntry nextPending;
+
+        // guarded by wheel lock
+        private int level = LEVEL_NONE;
+        private int index;
+        private WheelEntry prev;
+        private WheelEntry next;
+
+        WheelEntry(ScheduleHandle handle, long slot, long time) {
+            this.handle = handle;
+            this.slot = slot;
+            this.time = time;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheel.class);
+}
@@ -85,6 +85,11 @@ public enum ViewEnum {
      */
     KEEPALL_WINDOW("win", "keepall", KeepAllViewFactory.class, null),
 
+    /**
+     * Keep-all data window with off-heap storage.
+     */
+    KEEPALL_OFFHEAP_WINDOW("win", "keepall_offheap", KeepAllOffHeapViewFactory.class, null),
+
     /**
      * Size view.
      */
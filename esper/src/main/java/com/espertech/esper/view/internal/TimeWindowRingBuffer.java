@@ -0,0 +1,276 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.view.internal;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.view.DataWindowViewFactory;
+import com.espertech.esper.view.ViewDataVisitor;
+
+import java.util.*;
+
+/**
+ * Container for events and their timestamps, backed by a ring buffer of a primitive timestamp column
+ * and an event column. The time is provided as long milliseconds by client classes.
+ * Events can be expired from the window via the expireEvents method when their timestamp is before
+ * (or less then) an expiry timestamp passed in. Expiry removes the event from the window.
+ * The window allows iteration through its contents.
+ * <p>
+ * It is assumed that the timestamp passed to the add method is ascending. Adding and expiring events does not
+ * allocate other than for growing the buffer and for the array of expired events.
+ * Removed events leave an empty slot that expiry skips.
+ */
+public final class TimeWindowRingBuffer implements Iterable<EventBean> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] timestamps;
+    private EventBean[] events;
+    private int head;
+    private int count;
+    private int size;
+    private long headSequence;
+    private final Map<EventBean, Long> reverseIndex;
+
+    /**
+     * Ctor.
+     *
+     * @param isSupportRemoveStream true to indicate the time window should support effective removal of events
+     *                              in the window based on the remove stream events received, or false to not accomodate removal at all
+     */
+    public TimeWindowRingBuffer(boolean isSupportRemoveStream) {
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.events = new EventBean[INITIAL_CAPACITY];
+        this.reverseIndex = isSupportRemoveStream ? new HashMap<EventBean, Long>() : null;
+    }
+
+    /**
+     * Adjust expiry dates.
+     *
+     * @param delta delta to adjust for
+     */
+    public void adjust(long delta) {
+        int mask = timestamps.length - 1;
+        for (int i = 0; i < count; i++) {
+            timestamps[(head + i) & mask] += delta;
+        }
+    }
+
+    /**
+     * Adds event to the time window for the specified timestamp.
+     *
+     * @param timestamp - the time slot for the event
+     * @param bean      - event to add
+     */
+    public void add(long timestamp, EventBean bean) {
+        if (count == events.length) {
+            resize(events.length << 1);
+        }
+        int index = (head + count) & (events.length - 1);
+        timestamps[index] = timestamp;
+        events[index] = bean;
+        if (reverseIndex != null) {
+            reverseIndex.put(bean, headSequence + count);
+        }
+        count++;
+        size++;
+    }
+
+    /**
+     * Removes the event from the window, if remove stream handling is enabled.
+     *
+     * @param theEvent to remove
+     */
+    public void remove(EventBean theEvent) {
+        if (reverseIndex == null) {
+            throw new UnsupportedOperationException("Time window does not accept event removal");
+        }
+        Long sequence = reverseIndex.remove(theEvent);
+        if (sequence == null) {
+            return;
+        }
+        long offset = sequence - headSequence;
+        if (offset < 0 || offset >= count) {
+            return;
+        }
+        int index = (int) ((head + offset) & (events.length - 1));
+        if (events[index] != null) {
+            events[index] = null;
+            size--;
+            skipRemoved();
+        }
+    }
+
+    /**
+     * Return and remove events earlier (less) then the timestamp passed in,
+     * returning the events expired.
+     *
+     * @param expireBefore is the timestamp from which on to keep events in the window
+     * @return events expired and removed from the window, or null if none expired
+     */
+    public EventBean[] expireEvents(long expireBefore) {
+        int mask = events.length - 1;
+        int numSlots = 0;
+        int numEvents = 0;
+        while (numSlots < count && timestamps[(head + numSlots) & mask] < expireBefore) {
+            if (events[(head + numSlots) & mask] != null) {
+                numEvents++;
+            }
+            numSlots++;
+        }
+        if (numSlots == 0) {
+            return null;
+        }
+
+        EventBean[] expired = numEvents == 0 ? null : new EventBean[numEvents];
+        int outIndex = 0;
+        for (int i = 0; i < numSlots; i++) {
+            int index = (head + i) & mask;
+            EventBean bean = events[index];
+            if (bean != null) {
+                expired[outIndex++] = bean;
+                events[index] = null;
+                if (reverseIndex != null) {
+                    reverseIndex.remove(bean);
+                }
+            }
+        }
+        head = (head + numSlots) & mask;
+        count -= numSlots;
+        headSequence += numSlots;
+        size -= numEvents;
+        skipRemoved();
+
+        if (count < (events.length >> 2) && events.length > INITIAL_CAPACITY) {
+            resize(Math.max(INITIAL_CAPACITY, events.length >> 1));
+        }
+        return expired;
+    }
+
+    /**
+     * Returns event iterator.
+     *
+     * @return iterator over events currently in window
+     */
+    public Iterator<EventBean> iterator() {
+        return new RingBufferIterator();
+    }
+
+    /**
+     * Returns the oldest timestamp in the collection, requires that the window is not empty.
+     *
+     * @return oldest timestamp
+     */
+    public long getOldestTimestamp() {
+        return timestamps[head];
+    }
+
+    /**
+     * Returns true if the window is currently empty.
+     *
+     * @return true if empty, false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of events in the window.
+     *
+     * @return number of events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the reverse index, for testing purposes.
+     *
+     * @return reverse index
+     */
+    public Map<EventBean, Long> getReverseIndex() {
+        return reverseIndex;
+    }
+
+    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
+        Collection<EventBean> contents = new AbstractCollection<EventBean>() {
+            public Iterator<EventBean> iterator() {
+                return TimeWindowRingBuffer.this.iterator();
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+        viewDataVisitor.visitPrimary(contents, true, viewFactory.getViewName(), size);
+    }
+
+    // removed events at the head of the buffer are skipped so that the head slot holds the oldest event
+    private void skipRemoved() {
+        int mask = events.length - 1;
+        while (count > 0 && events[head] == null) {
+            head = (head + 1) & mask;
+            count--;
+            headSequence++;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        EventBean[] newEvents = new EventBean[capacity];
+        int mask = events.length - 1;
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) & mask;
+            newTimestamps[i] = timestamps[index];
+            newEvents[i] = events[index];
+        }
+        timestamps = newTimestamps;
+        events = newEvents;
+        head = 0;
+    }
+
+    private class RingBufferIterator implements Iterator<EventBean> {
+        private int position;
+        private EventBean next;
+
+        RingBufferIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public EventBean next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            EventBean result = next;
+            advance();
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance() {
+            int mask = events.length - 1;
+            next = null;
+            while (position < count) {
+                EventBean candidate = events[(head + position) & mask];
+                position++;
+                if (candidate != null) {
+                    next = candidate;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.view.stream;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.core.service.EPStatementDispatch;
+import com.espertech.esper.core.service.StatementAgentInstanceLock;
+import com.espertech.esper.event.EventAdapterService;
+import com.espertech.esper.pattern.EvalRootState;
+import com.espertech.esper.pattern.PatternMatchCallback;
+import com.espertech.esper.schedule.SchedulingService;
+import com.espertech.esper.view.EventStream;
+
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A pattern that is evaluated once for multiple statements that have a structurally identical pattern,
+ * with each match inserted into the event stream of each consuming statement.
+ * <p>
+ * Only the whole pattern is shared. Patterns that have a common prefix or a common sub-expression
+ * but are not identical as a whole are evaluated separately.
+ * <p>
+ * The pattern has its own agent instance handle so that it outlives the statement that started it,
+ * and its lock is the lock of the statement that started it, which all consuming statements share.
+ * <p>
+ * A statement may only join the pattern while the pattern is in its start state, i.e. no filter or schedule callback
+ * of the pattern was processed and, for a pattern that observes or guards by time, time did not advance
+ * since the pattern started. Each consuming statement thereby sees the same matches as its own pattern would produce.
+ * A statement that cannot join starts a new shared pattern that statements starting later may join.
+ */
+public class PatternStreamShared implements PatternMatchCallback, EPStatementDispatch {
+    private final EventAdapterService eventAdapterService;
+    private final EPStatementAgentInstanceHandle handle;
+    private final boolean timeDependent;
+    private final long startTime;
+    private final CopyOnWriteArrayList<Consumer> consumers = new CopyOnWriteArrayList<Consumer>();
+    private EvalRootState rootState;
+    private volatile boolean evaluated;
+
+    /**
+     * Ctor.
+     *
+     * @param eventAdapterService event adapter service
+     * @param handle              the pattern's own handle for use in registering callbacks with services
+     * @param timeDependent       true if the pattern has an observer, guard or other node whose state depends on time
+     * @param startTime           engine time when the pattern started
+     */
+    public PatternStreamShared(EventAdapterService eventAdapterService, EPStatementAgentInstanceHandle handle, boolean timeDependent, long startTime) {
+        this.eventAdapterService = eventAdapterService;
+        this.handle = handle;
+        this.timeDependent = timeDependent;
+        this.startTime = startTime;
+        handle.setOptionalDispatchable(this);
+    }
+
+    public void matchFound(Map<String, Object> matchEvent, EventBean optionalTriggeringEvent) {
+        for (Consumer consumer : consumers) {
+            EventBean compositeEvent = eventAdapterService.adapterForTypedMap(matchEvent, consumer.eventType);
+            consumer.stream.insert(compositeEvent);
+        }
+    }
+
+    /**
+     * Invoked after the filter or schedule callbacks of the pattern were processed, after which the pattern
+     * may no longer be in its start state.
+     */
+    public void execute() {
+        evaluated = true;
+    }
+
+    /**
+     * Returns true if a statement may join the pattern, i.e. the pattern is still in its start state.
+     *
+     * @param schedulingService scheduling service
+     * @return indicator
+     */
+    public boolean isJoinable(SchedulingService schedulingService) {
+        if (evaluated) {
+            return false;
+        }
+        return !timeDependent || schedulingService.getTime() == startTime;
+    }
+
+    /**
+     * Adds a consuming statement's stream.
+     *
+     * @param stream    stream to insert matches into
+     * @param eventType consuming statement's pattern event type
+     */
+    public void addConsumer(EventStream stream, EventType eventType) {
+        consumers.add(new Consumer(stream, eventType));
+    }
+
+    /**
+     * Removes a consuming statement's stream, stopping the pattern when it is the last consumer.
+     *
+     * @param stream stream to remove
+     * @return true if the pattern stopped since no consumers remain
+     */
+    public boolean removeConsumer(EventStream stream) {
+        for (Consumer consumer : consumers) {
+            if (consumer.stream == stream) {
+                consumers.remove(consumer);
+                break;
+            }
+        }
+        if (!consumers.isEmpty()) {
+            return false;
+        }
+        if (rootState != null) {
+            rootState.stop();
+            rootState = null;
+        }
+        // cause any remaining schedules and filters to be ignored
+        handle.setDestroyed(true);
+        handle.getStatementFilterVersion().setStmtFilterVersion(Long.MAX_VALUE);
+        return true;
+    }
+
+    /**
+     * Returns the number of consuming statements.
+     *
+     * @return count
+     */
+    public int getNumConsumers() {
+        return consumers.size();
+    }
+
+    /**
+     * Returns the lock shared by all consuming statements.
+     *
+     * @return lock
+     */
+    public StatementAgentInstanceLock getLock() {
+        return handle.getStatementAgentInstanceLock();
+    }
+
+    public void setRootState(EvalRootState rootState) {
+        this.rootState = rootState;
+    }
+
+    private static class Consumer {
+        private final EventStream stream;
+        private final EventType eventType;
+
+        Consumer(EventStream stream, EventType eventType) {
+            this.stream = stream;
+            this.eventType = eventType;
+        }
+    }
+}
@@ -74,6 +74,30 @@ public interface StreamFactoryService {
      */
     public void dropStream(FilterSpecCompiled filterSpec, FilterService filterService, boolean isJoin, boolean hasOrderBy, boolean filterWithSameTypeSubselect, boolean stateless);
 
+    /**
+     * Returns the pattern stream shared between statements for the structural key of the pattern, or null if none.
+     *
+     * @param patternKey structural key of the pattern
+     * @return shared pattern stream or null
+     */
+    public PatternStreamShared getSharedPattern(String patternKey);
+
+    /**
+     * Registers a pattern stream for sharing between statements, replacing any pattern stream for the same key.
+     *
+     * @param patternKey structural key of the pattern
+     * @param pattern    shared pattern stream
+     */
+    public void addSharedPattern(String patternKey, PatternStreamShared pattern);
+
+    /**
+     * Removes the pattern stream from sharing, if it is the pattern stream registered for the key.
+     *
+     * @param patternKey structural key of the pattern
+     * @param pattern    shared pattern stream
+     */
+    public void removeSharedPattern(String patternKey, PatternStreamShared pattern);
+
     /**
      * Destroy the service.
      */
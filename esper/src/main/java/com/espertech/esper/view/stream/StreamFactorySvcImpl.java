@@ -30,7 +30,9 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.Map;
 
 
 /**
@@ -65,6 +67,9 @@ public class StreamFactorySvcImpl implements StreamFactoryService {
     // Using a reference-counted map for non-join statements
     private final RefCountedMap<FilterSpecCompiled, StreamEntry> eventStreamsRefCounted;
 
+    // Pattern streams shared between statements by structural key of the pattern
+    private final Map<String, PatternStreamShared> sharedPatterns;
+
     private final String engineURI;
     private final boolean isReuseViews;
 
@@ -78,12 +83,28 @@ public class StreamFactorySvcImpl implements StreamFactoryService {
         this.engineURI = engineURI;
         this.eventStreamsRefCounted = new RefCountedMap<FilterSpecCompiled, StreamEntry>();
         this.eventStreamsIdentity = new IdentityHashMap<Object, StreamEntry>();
+        this.sharedPatterns = new HashMap<String, PatternStreamShared>();
         this.isReuseViews = isReuseViews;
     }
 
     public void destroy() {
         eventStreamsRefCounted.clear();
         eventStreamsIdentity.clear();
+        sharedPatterns.clear();
+    }
+
+    public PatternStreamShared getSharedPattern(String patternKey) {
+        return sharedPatterns.get(patternKey);
+    }
+
+    public void addSharedPattern(String patternKey, PatternStreamShared pattern) {
+        sharedPatterns.put(patternKey, pattern);
+    }
+
+    public void removeSharedPattern(String patternKey, PatternStreamShared pattern) {
+        if (sharedPatterns.get(patternKey) == pattern) {
+            sharedPatterns.remove(patternKey);
+        }
     }
 
     /**
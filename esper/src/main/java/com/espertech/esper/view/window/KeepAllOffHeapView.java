@@ -0,0 +1,130 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.view.window;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.ViewUpdatedCollection;
+import com.espertech.esper.event.offheap.OffHeapEventBean;
+import com.espertech.esper.event.offheap.OffHeapEventStore;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.view.*;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * This view is a keep-all data window that keeps all events added in off-heap storage.
+ * <p>
+ * The view stores each arriving event into an {@link OffHeapEventStore} and posts the handles to the stored events
+ * to child views, so that index tables of named windows only refer to handles. The events removed by the view are the events
+ * of the remove-stream that are handles of the same store, such as the events deleted from a named window.
+ * </p>
+ */
+public class KeepAllOffHeapView extends ViewSupport implements DataWindowView, StoppableView {
+    private final KeepAllOffHeapViewFactory keepAllOffHeapViewFactory;
+    private final OffHeapEventStore store;
+    private final ViewUpdatedCollection viewUpdatedCollection;
+
+    public KeepAllOffHeapView(KeepAllOffHeapViewFactory keepAllOffHeapViewFactory, OffHeapEventStore store, ViewUpdatedCollection viewUpdatedCollection) {
+        this.keepAllOffHeapViewFactory = keepAllOffHeapViewFactory;
+        this.store = store;
+        this.viewUpdatedCollection = viewUpdatedCollection;
+    }
+
+    public ViewFactory getViewFactory() {
+        return keepAllOffHeapViewFactory;
+    }
+
+    /**
+     * Returns true if the window is empty, or false if not empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    /**
+     * Returns the store holding the events.
+     *
+     * @return store
+     */
+    public OffHeapEventStore getStore() {
+        return store;
+    }
+
+    public final EventType getEventType() {
+        // The event type is the parent view's event type
+        return parent.getEventType();
+    }
+
+    public final void update(EventBean[] newData, EventBean[] oldData) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qViewProcessIRStream(this, keepAllOffHeapViewFactory.getViewName(), newData, oldData);
+        }
+
+        EventBean[] stored = null;
+        if (newData != null) {
+            stored = new EventBean[newData.length];
+            for (int i = 0; i < newData.length; i++) {
+                stored[i] = store.add(newData[i]);
+            }
+        }
+
+        if (oldData != null) {
+            for (EventBean anOldData : oldData) {
+                if (anOldData instanceof OffHeapEventBean) {
+                    store.remove((OffHeapEventBean) anOldData);
+                }
+            }
+        }
+
+        // update event buffer for access by expressions, if any
+        if (viewUpdatedCollection != null) {
+            viewUpdatedCollection.update(stored, oldData);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qViewIndicate(this, keepAllOffHeapViewFactory.getViewName(), stored, oldData);
+        }
+        updateChildren(stored, oldData);
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aViewIndicate();
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aViewProcessIRStream();
+        }
+    }
+
+    public final Iterator<EventBean> iterator() {
+        return store.iterator();
+    }
+
+    public void stop() {
+        store.clear();
+    }
+
+    public void visitView(ViewDataVisitor viewDataVisitor) {
+        Collection<EventBean> contents = new AbstractCollection<EventBean>() {
+            public Iterator<EventBean> iterator() {
+                return store.iterator();
+            }
+
+            public int size() {
+                return store.size();
+            }
+        };
+        viewDataVisitor.visitPrimary(contents, true, keepAllOffHeapViewFactory.getViewName(), null);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.view.window;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.ViewUpdatedCollection;
+import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.core.context.util.AgentInstanceViewFactoryChainContext;
+import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.event.offheap.OffHeapEventSerializer;
+import com.espertech.esper.event.offheap.OffHeapEventStore;
+import com.espertech.esper.view.*;
+
+import java.util.List;
+
+/**
+ * Factory for {@link KeepAllOffHeapView}.
+ */
+public class KeepAllOffHeapViewFactory implements DataWindowViewFactory, DataWindowViewWithPrevious {
+    /**
+     * Maximum size of a chunk of direct memory.
+     */
+    public final static int MAX_CHUNK_SIZE = 1024 * 1024;
+
+    private EventType eventType;
+    private OffHeapEventSerializer serializer;
+
+    public void setViewParameters(ViewFactoryContext viewFactoryContext, List<ExprNode> expressionParameters) throws ViewParameterException {
+        ViewFactorySupport.validateNoParameters(getViewName(), expressionParameters);
+    }
+
+    public void attach(EventType parentEventType, StatementContext statementContext, ViewFactory optionalParentFactory, List<ViewFactory> parentViewFactories) throws ViewParameterException {
+        this.eventType = parentEventType;
+        try {
+            this.serializer = OffHeapEventSerializer.make(parentEventType);
+        } catch (IllegalArgumentException ex) {
+            throw new ViewParameterException(ex.getMessage());
+        }
+    }
+
+    public Object makePreviousGetter() {
+        return new RandomAccessByIndexGetter();
+    }
+
+    public View makeView(AgentInstanceViewFactoryChainContext agentInstanceViewFactoryContext) {
+        ViewUpdatedCollection randomAccess = agentInstanceViewFactoryContext.getStatementContext().getViewServicePreviousFactory().getOptPreviousExprRandomAccess(agentInstanceViewFactoryContext);
+        return new KeepAllOffHeapView(this, new OffHeapEventStore(serializer, MAX_CHUNK_SIZE), randomAccess);
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public boolean canReuse(View view, AgentInstanceContext agentInstanceContext) {
+        if (!(view instanceof KeepAllOffHeapView)) {
+            return false;
+        }
+
+        KeepAllOffHeapView myView = (KeepAllOffHeapView) view;
+        return myView.isEmpty();
+    }
+
+    public String getViewName() {
+        return "Keep-All-Off-Heap";
+    }
+}
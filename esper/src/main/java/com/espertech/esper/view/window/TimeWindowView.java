@@ -12,7 +12,7 @@ package com.espertech.esper.view.window;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
-import com.espertech.esper.view.internal.TimeWindow;
+import com.espertech.esper.view.internal.TimeWindowRingBuffer;
 import com.espertech.esper.collection.ViewUpdatedCollection;
 import com.espertech.esper.core.context.util.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.core.service.EPStatementHandleCallback;
@@ -24,13 +24,12 @@ import com.espertech.esper.schedule.ScheduleHandleCallback;
 import com.espertech.esper.util.StopCallback;
 import com.espertech.esper.view.*;
 
-import java.util.ArrayDeque;
 import java.util.Iterator;
 
 /**
  * This view is a moving timeWindow extending the specified amount of milliseconds into the past.
  * The view bases the timeWindow on the time obtained from the scheduling service.
- * All incoming events receive a timestamp and are placed in a sorted map by timestamp.
+ * All incoming events receive a timestamp and are placed in a ring buffer in timestamp order.
  * The view does not care about old data published by the parent view to this view.
  * <p>
  * Events leave or expire from the time timeWindow by means of a scheduled callback registered with the
@@ -41,7 +40,7 @@ import java.util.Iterator;
 public class TimeWindowView extends ViewSupport implements DataWindowView, ScheduleAdjustmentCallback, StoppableView, StopCallback {
     private final TimeWindowViewFactory timeWindowViewFactory;
     private final ExprTimePeriodEvalDeltaConst timeDeltaComputation;
-    protected final TimeWindow timeWindow;
+    protected final TimeWindowRingBuffer timeWindow;
     private final ViewUpdatedCollection viewUpdatedCollection;
     protected final AgentInstanceViewFactoryChainContext agentInstanceContext;
     private final long scheduleSlot;
@@ -62,7 +61,7 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Sched
         this.timeDeltaComputation = timeDeltaComputation;
         this.viewUpdatedCollection = viewUpdatedCollection;
         this.scheduleSlot = agentInstanceContext.getStatementContext().getScheduleBucket().allocateSlot();
-        this.timeWindow = new TimeWindow(agentInstanceContext.isRemoveStream());
+        this.timeWindow = new TimeWindowRingBuffer(agentInstanceContext.isRemoveStream());
 
         ScheduleHandleCallback callback = new ScheduleHandleCallback() {
             public void scheduledTrigger(EngineLevelExtensionServicesContext extensionServicesContext) {
@@ -156,12 +155,11 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Sched
 
         // Remove from the timeWindow any events that have an older or timestamp then the given timestamp
         // The window extends from X to (X - millisecondsBeforeExpiry + 1)
-        ArrayDeque<EventBean> expired = timeWindow.expireEvents(expireBeforeTimestamp);
+        EventBean[] oldEvents = timeWindow.expireEvents(expireBeforeTimestamp);
 
         // If there are child views, fireStatementStopped update method
         if (this.hasViews()) {
-            if ((expired != null) && (!expired.isEmpty())) {
-                EventBean[] oldEvents = expired.toArray(new EventBean[expired.size()]);
+            if (oldEvents != null) {
                 if (viewUpdatedCollection != null) {
                     viewUpdatedCollection.update(null, oldEvents);
                 }
@@ -183,7 +181,7 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Sched
         if (timeWindow.isEmpty()) {
             return;
         }
-        Long oldestTimestamp = timeWindow.getOldestTimestamp();
+        long oldestTimestamp = timeWindow.getOldestTimestamp();
         long currentTimestamp = agentInstanceContext.getStatementContext().getSchedulingService().getTime();
         long scheduleTime = timeDeltaComputation.deltaAdd(oldestTimestamp) + oldestTimestamp - currentTimestamp;
         scheduleCallback(scheduleTime);
@@ -12,6 +12,8 @@ package com.espertech.esper.client;
 
 import junit.framework.TestCase;
 
+import java.io.ByteArrayInputStream;
+
 public class TestConfigurationDBRef extends TestCase {
     public void testTypeMapping() {
         tryInvalid("sometype", "Unsupported java type 'sometype' when expecting any of: [String, BigDecimal, Boolean, Byte, Short, Int, Long, Float, Double, ByteArray, SqlDate, SqlTime, SqlTimestamp]");
@@ -20,6 +22,38 @@ public class TestConfigurationDBRef extends TestCase {
         config.addSqlTypesBinding(1, "int");
     }
 
+    public void testRefreshAheadCache() throws Exception {
+        ConfigurationDBRef config = new ConfigurationDBRef();
+        config.setRefreshAheadCache(60, 10, 120, 0);
+        assertEquals(10d, ((ConfigurationRefreshAheadCache) config.getDataCacheDesc()).getRefreshAheadSeconds());
+
+        String message = "Invalid refresh-ahead cache configuration, the refresh-ahead seconds of 60.0 must be non-negative and less than the maximum age seconds of 60.0";
+        tryInvalidRefreshAhead(60, 60, message);
+        tryInvalidRefreshAhead(60, 70, "Invalid refresh-ahead cache configuration, the refresh-ahead seconds of 70.0 must be non-negative and less than the maximum age seconds of 60.0");
+        tryInvalidRefreshAhead(60, -1, "Invalid refresh-ahead cache configuration, the refresh-ahead seconds of -1.0 must be non-negative and less than the maximum age seconds of 60.0");
+
+        // rejected when parsed
+        String xml = "<esper-configuration><database-reference name=\"db1\">" +
+                "<drivermanager-connection class-name=\"my.Driver\" url=\"jdbc:x\" user=\"u\" password=\"p\"/>" +
+                "<refresh-ahead-cache max-age-seconds=\"60\" refresh-ahead-seconds=\"60\" purge-interval-seconds=\"120\"/>" +
+                "</database-reference></esper-configuration>";
+        try {
+            ConfigurationParser.doConfigure(new Configuration(), new ByteArrayInputStream(xml.getBytes("UTF-8")), "test");
+            fail();
+        } catch (ConfigurationException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private void tryInvalidRefreshAhead(double maxAgeSeconds, double refreshAheadSeconds, String text) {
+        try {
+            new ConfigurationDBRef().setRefreshAheadCache(maxAgeSeconds, refreshAheadSeconds, 120, 0);
+            fail();
+        } catch (ConfigurationException ex) {
+            assertEquals(text, ex.getMessage());
+        }
+    }
+
     private void tryInvalid(String type, String text) {
         try {
             ConfigurationDBRef config = new ConfigurationDBRef();
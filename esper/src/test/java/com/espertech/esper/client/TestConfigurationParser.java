@@ -45,6 +45,7 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(100, config.getEngineDefaults().getThreading().getInternalTimerMsecResolution());
         assertEquals(ConfigurationEngineDefaults.Threading.Locking.SPIN, config.getEngineDefaults().getThreading().getInsertIntoDispatchLocking());
         assertEquals(ConfigurationEngineDefaults.Threading.Locking.SPIN, config.getEngineDefaults().getThreading().getListenerDispatchLocking());
+        assertFalse(config.getEngineDefaults().getThreading().isListenerDispatchReuseBuffers());
         assertFalse(config.getEngineDefaults().getThreading().isThreadPoolInbound());
         assertFalse(config.getEngineDefaults().getThreading().isThreadPoolOutbound());
         assertFalse(config.getEngineDefaults().getThreading().isThreadPoolRouteExec());
@@ -56,6 +57,9 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolInboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolOutboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolRouteExecCapacity());
+        assertFalse(config.getEngineDefaults().getThreading().isThreadPoolContextPartitionExec());
+        assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolContextPartitionExecNumThreads());
+        assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolContextPartitionExecCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolTimerExecCapacity());
         assertFalse(config.getEngineDefaults().getThreading().isEngineFairlock());
         assertFalse(config.getEngineDefaults().getMetricsReporting().isJmxEngineMetrics());
@@ -95,8 +99,10 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(config.getEngineDefaults().getExecution().isAllowIsolatedService());
         assertEquals(ConfigurationEngineDefaults.ThreadingProfile.NORMAL, config.getEngineDefaults().getExecution().getThreadingProfile());
         assertEquals(ConfigurationEngineDefaults.FilterServiceProfile.READMOSTLY, config.getEngineDefaults().getExecution().getFilterServiceProfile());
+        assertEquals(ConfigurationEngineDefaults.SchedulingServiceProfile.SORTEDMAP, config.getEngineDefaults().getExecution().getSchedulingServiceProfile());
         assertEquals(16, config.getEngineDefaults().getExecution().getFilterServiceMaxFilterWidth());
         assertEquals(1, config.getEngineDefaults().getExecution().getDeclaredExprValueCacheSize());
+        assertFalse(config.getEngineDefaults().getExecution().isNamedWindowSubqueryIndexShare());
         ConfigurationEngineDefaults.ByteCodeGeneration codegen = config.getEngineDefaults().getByteCodeGeneration();
         assertEquals(true, codegen.isEnableAggregation());
         assertEquals(true, codegen.isEnableResultSet());
@@ -297,6 +303,11 @@ public class TestConfigurationParser extends TestCase {
         assertEquals("mypassword", dsFactory.getProperties().getProperty("password"));
         assertEquals("com.mysql.jdbc.Driver", dsFactory.getProperties().getProperty("driverClassName"));
         assertEquals("2", dsFactory.getProperties().getProperty("initialSize"));
+        ConfigurationRefreshAheadCache refreshCache = (ConfigurationRefreshAheadCache) configDBRef.getDataCacheDesc();
+        assertEquals(30.0, refreshCache.getMaxAgeSeconds());
+        assertEquals(5.5, refreshCache.getRefreshAheadSeconds());
+        assertEquals(60.0, refreshCache.getPurgeIntervalSeconds());
+        assertEquals(1000, refreshCache.getMaxSize());
 
         // assert custom view implementations
         List<ConfigurationPlugInView> configViews = config.getPlugInViews();
@@ -406,6 +417,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(config.getEngineDefaults().getThreading().isListenerDispatchPreserveOrder());
         assertEquals(2000, config.getEngineDefaults().getThreading().getListenerDispatchTimeout());
         assertEquals(ConfigurationEngineDefaults.Threading.Locking.SUSPEND, config.getEngineDefaults().getThreading().getListenerDispatchLocking());
+        assertTrue(config.getEngineDefaults().getThreading().isListenerDispatchReuseBuffers());
         assertTrue(config.getEngineDefaults().getThreading().isThreadPoolInbound());
         assertTrue(config.getEngineDefaults().getThreading().isThreadPoolOutbound());
         assertTrue(config.getEngineDefaults().getThreading().isThreadPoolRouteExec());
@@ -418,6 +430,9 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(1500, (int) config.getEngineDefaults().getThreading().getThreadPoolOutboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) config.getEngineDefaults().getThreading().getThreadPoolRouteExecCapacity());
+        assertTrue(config.getEngineDefaults().getThreading().isThreadPoolContextPartitionExec());
+        assertEquals(5, config.getEngineDefaults().getThreading().getThreadPoolContextPartitionExecNumThreads());
+        assertEquals(2500, (int) config.getEngineDefaults().getThreading().getThreadPoolContextPartitionExecCapacity());
 
         assertFalse(config.getEngineDefaults().getThreading().isInternalTimerEnabled());
         assertEquals(1234567, config.getEngineDefaults().getThreading().getInternalTimerMsecResolution());
@@ -464,8 +479,10 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(config.getEngineDefaults().getExecution().isAllowIsolatedService());
         assertEquals(ConfigurationEngineDefaults.ThreadingProfile.LARGE, config.getEngineDefaults().getExecution().getThreadingProfile());
         assertEquals(ConfigurationEngineDefaults.FilterServiceProfile.READWRITE, config.getEngineDefaults().getExecution().getFilterServiceProfile());
+        assertEquals(ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL, config.getEngineDefaults().getExecution().getSchedulingServiceProfile());
         assertEquals(100, config.getEngineDefaults().getExecution().getFilterServiceMaxFilterWidth());
         assertEquals(101, config.getEngineDefaults().getExecution().getDeclaredExprValueCacheSize());
+        assertTrue(config.getEngineDefaults().getExecution().isNamedWindowSubqueryIndexShare());
 
         ConfigurationMetricsReporting metrics = config.getEngineDefaults().getMetricsReporting();
         assertTrue(metrics.isEnableMetricsReporting());
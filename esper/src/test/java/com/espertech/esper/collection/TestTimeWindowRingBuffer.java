@@ -0,0 +1,129 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.view.internal.TimeWindowRingBuffer;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestTimeWindowRingBuffer extends TestCase {
+    private final TimeWindowRingBuffer window = new TimeWindowRingBuffer(false);
+    private final TimeWindowRingBuffer windowRemovable = new TimeWindowRingBuffer(true);
+    private final EventBean[] beans = new EventBean[6];
+
+    public void setUp() {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = createBean();
+        }
+    }
+
+    public void testAdd() {
+        assertTrue(window.isEmpty());
+
+        window.add(19, beans[0]);
+        assertEquals(19L, window.getOldestTimestamp());
+        assertFalse(window.isEmpty());
+        window.add(19, beans[1]);
+        window.add(20, beans[2]);
+        window.add(20, beans[3]);
+        window.add(21, beans[4]);
+        window.add(22, beans[5]);
+        assertEquals(19L, window.getOldestTimestamp());
+        assertEquals(6, window.size());
+        EPAssertionUtil.assertEqualsExactOrder(beans, window.iterator());
+
+        assertNull(window.expireEvents(19));
+
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1]}, window.expireEvents(20));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[2], beans[3]}, window.expireEvents(21));
+        assertFalse(window.isEmpty());
+        assertEquals(21L, window.getOldestTimestamp());
+
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[4]}, window.expireEvents(22));
+        assertEquals(22L, window.getOldestTimestamp());
+
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[5]}, window.expireEvents(23));
+        assertTrue(window.isEmpty());
+        assertNull(window.expireEvents(23));
+        assertTrue(window.isEmpty());
+        assertFalse(window.iterator().hasNext());
+    }
+
+    public void testAddRemove() {
+        windowRemovable.add(19, beans[0]);
+        windowRemovable.add(19, beans[1]);
+        windowRemovable.add(20, beans[2]);
+        windowRemovable.add(20, beans[3]);
+        windowRemovable.add(21, beans[4]);
+        windowRemovable.add(22, beans[5]);
+
+        windowRemovable.remove(beans[4]);
+        windowRemovable.remove(beans[0]);
+        windowRemovable.remove(beans[3]);
+        windowRemovable.remove(beans[3]);
+        assertEquals(3, windowRemovable.size());
+        assertEquals(19L, windowRemovable.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[1], beans[2], beans[5]}, windowRemovable.iterator());
+
+        assertNull(windowRemovable.expireEvents(19));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[1]}, windowRemovable.expireEvents(20));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[2]}, windowRemovable.expireEvents(21));
+        assertFalse(windowRemovable.isEmpty());
+        assertEquals(22L, windowRemovable.getOldestTimestamp());
+
+        assertNull(windowRemovable.expireEvents(22));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[5]}, windowRemovable.expireEvents(23));
+        assertTrue(windowRemovable.isEmpty());
+        assertNull(windowRemovable.expireEvents(23));
+
+        assertEquals(0, windowRemovable.getReverseIndex().size());
+    }
+
+    public void testWrapAndResize() {
+        List<EventBean> expected = new ArrayList<EventBean>();
+        long timestamp = 0;
+        for (int round = 0; round < 5; round++) {
+            // grow well beyond the initial capacity while the head is not at the start of the buffer
+            for (int i = 0; i < 100; i++) {
+                EventBean bean = createBean();
+                windowRemovable.add(timestamp++, bean);
+                expected.add(bean);
+            }
+            EventBean removed = expected.remove(50);
+            windowRemovable.remove(removed);
+            EPAssertionUtil.assertEqualsExactOrder(expected.toArray(), windowRemovable.iterator());
+
+            // expire most, shrinking the buffer
+            EventBean[] expired = windowRemovable.expireEvents(timestamp - 10);
+            EPAssertionUtil.assertEqualsExactOrder(expected.subList(0, expired.length).toArray(), expired);
+            expected.subList(0, expired.length).clear();
+            assertEquals(expected.size(), windowRemovable.size());
+            assertEquals(timestamp - 10, windowRemovable.getOldestTimestamp());
+            EPAssertionUtil.assertEqualsExactOrder(expected.toArray(), windowRemovable.iterator());
+        }
+        assertEquals(expected.size(), windowRemovable.getReverseIndex().size());
+
+        windowRemovable.adjust(5);
+        assertEquals(timestamp - 5, windowRemovable.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(expected.toArray(), windowRemovable.expireEvents(Long.MAX_VALUE));
+        assertTrue(windowRemovable.isEmpty());
+    }
+
+    private EventBean createBean() {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.context.ContextPartitionState;
+import com.espertech.esper.core.context.mgr.ContextStatePathKey;
+import com.espertech.esper.core.context.mgr.ContextStatePathValue;
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TestEPContextPartitionImportableSerde extends TestCase {
+
+    public void testWriteRead() throws IOException {
+        TreeMap<ContextStatePathKey, ContextStatePathValue> paths = new TreeMap<ContextStatePathKey, ContextStatePathValue>();
+        paths.put(new ContextStatePathKey(1, 0, 1), new ContextStatePathValue(null, null, null));
+        paths.put(new ContextStatePathKey(1, 0, 2), new ContextStatePathValue(10, new byte[]{1, 2, 3}, ContextPartitionState.STARTED));
+        paths.put(new ContextStatePathKey(2, 2, 1), new ContextStatePathValue(11, new byte[0], ContextPartitionState.STOPPED));
+
+        EPContextPartitionImportable result = EPContextPartitionImportableSerde.read(toInput(write(new EPContextPartitionImportable(paths))));
+        assertEquals(paths.size(), result.getPaths().size());
+        Iterator<Map.Entry<ContextStatePathKey, ContextStatePathValue>> it = result.getPaths().entrySet().iterator();
+        for (Map.Entry<ContextStatePathKey, ContextStatePathValue> expected : paths.entrySet()) {
+            Map.Entry<ContextStatePathKey, ContextStatePathValue> actual = it.next();
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue().getOptionalContextPartitionId(), actual.getValue().getOptionalContextPartitionId());
+            assertEquals(expected.getValue().getState(), actual.getValue().getState());
+            assertTrue(Arrays.equals(expected.getValue().getBlob(), actual.getValue().getBlob()));
+        }
+    }
+
+    public void testWriteReadEmpty() throws IOException {
+        TreeMap<ContextStatePathKey, ContextStatePathValue> paths = new TreeMap<ContextStatePathKey, ContextStatePathValue>();
+        EPContextPartitionImportable result = EPContextPartitionImportableSerde.read(toInput(write(new EPContextPartitionImportable(paths))));
+        assertTrue(result.getPaths().isEmpty());
+    }
+
+    public void testInvalid() throws IOException {
+        byte[] valid = write(makeSinglePath(new byte[]{5}));
+
+        // magic number
+        byte[] bytes = valid.clone();
+        bytes[0] = 0;
+        tryInvalid(bytes, "Input is not a context partition extract");
+
+        // version
+        bytes = valid.clone();
+        bytes[4] = 9;
+        tryInvalid(bytes, "Unsupported context partition extract version 9, expected version 1");
+
+        // state: magic (4), version (1), count (4), key (12), flags (1), partition id (4)
+        int stateOffset = 4 + 1 + 4 + 12 + 1 + 4;
+        bytes = valid.clone();
+        bytes[stateOffset] = 2;
+        tryInvalid(bytes, "Invalid context partition state 2 for path 0");
+        bytes[stateOffset] = -2;
+        tryInvalid(bytes, "Invalid context partition state -2 for path 0");
+
+        // binding length
+        bytes = valid.clone();
+        bytes[stateOffset + 1] = (byte) 0xFF;
+        tryInvalid(bytes, "Invalid binding length -16777215 for path 0");
+
+        // truncated
+        tryInvalid(Arrays.copyOf(valid, valid.length - 1), null);
+    }
+
+    private void tryInvalid(byte[] bytes, String message) {
+        try {
+            EPContextPartitionImportableSerde.read(toInput(bytes));
+            fail();
+        } catch (EOFException ex) {
+            assertNull(message);
+        } catch (IOException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private static EPContextPartitionImportable makeSinglePath(byte[] blob) {
+        TreeMap<ContextStatePathKey, ContextStatePathValue> paths = new TreeMap<ContextStatePathKey, ContextStatePathValue>();
+        paths.put(new ContextStatePathKey(1, 0, 1), new ContextStatePathValue(1, blob, ContextPartitionState.STARTED));
+        return new EPContextPartitionImportable(paths);
+    }
+
+    private static byte[] write(EPContextPartitionImportable importable) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        EPContextPartitionImportableSerde.write(importable, output);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static DataInput toInput(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -12,6 +12,7 @@ package com.espertech.esper.core.service;
 
 import com.espertech.esper.client.ConfigurationEngineDefaults;
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.UpdateListener;
 import com.espertech.esper.client.scopetest.SupportUpdateListener;
 import com.espertech.esper.collection.UniformPair;
 import com.espertech.esper.core.thread.ThreadingServiceImpl;
@@ -30,6 +31,7 @@ public class TestUpdateDispatchView extends TestCase {
     private SupportUpdateListener listenerTwo;
     private DispatchService dispatchService;
     private StatementResultServiceImpl statementResultService;
+    private MyCopyingListener copyingListener = new MyCopyingListener();
 
     public void setUp() {
         MetricReportingPath.setMetricsEnabled(false);
@@ -78,7 +80,69 @@ public class TestUpdateDispatchView extends TestCase {
         assertTrue(listenerTwo.getLastOldData()[1] == oldDataTwo[0]);
     }
 
+    public void testReuseBuffers() {
+        StatementResultServiceImpl reuseResultService = new StatementResultServiceImpl("name", null, null, new ThreadingServiceImpl(new ConfigurationEngineDefaults.Threading()), true);
+        reuseResultService.setUpdateListeners(makeListenerSet(), false);
+        reuseResultService.setSelectClause(new Class[1], new String[1], false, new ExprEvaluator[1], new SupportExprEvaluatorContext(null));
+        reuseResultService.setContext(new SupportEPStatementSPI(), null, false, false, false, false, null);
+        UpdateDispatchViewNonBlocking view = new UpdateDispatchViewNonBlocking(reuseResultService, dispatchService);
+
+        // single result is delivered as provided
+        EventBean[] newData = makeEvents("new");
+        view.update(newData, null);
+        dispatchService.dispatch();
+        assertSame(newData, listenerOne.getLastNewData());
+        assertNull(listenerOne.getLastOldData());
+        listenerOne.reset();
+
+        // multiple results are flattened into a pooled array, reused by the next dispatch of the same length
+        EventBean[] newDataOne = makeEvents("new1");
+        EventBean[] newDataTwo = makeEvents("new2");
+        EventBean[] oldDataTwo = makeEvents("old2");
+        view.update(newDataOne, null);
+        view.newResult(new UniformPair<EventBean[]>(newDataTwo, oldDataTwo));
+        dispatchService.dispatch();
+        EventBean[] delivered = listenerOne.getLastNewData();
+        assertEquals(2, delivered.length);
+        assertSame(newDataOne[0], copyingListener.lastNew[0]);
+        assertSame(newDataTwo[0], copyingListener.lastNew[1]);
+        assertSame(oldDataTwo[0], copyingListener.lastOld[0]);
+        listenerOne.reset();
+
+        // the pooled arrays are cleared after delivery
+        assertNull(delivered[0]);
+        assertNull(delivered[1]);
+
+        EventBean[] newDataThree = makeEvents("new3");
+        EventBean[] newDataFour = makeEvents("new4");
+        view.update(newDataThree, null);
+        view.update(newDataFour, null);
+        dispatchService.dispatch();
+        assertSame(delivered, listenerOne.getLastNewData());
+        assertSame(newDataThree[0], copyingListener.lastNew[0]);
+        assertSame(newDataFour[0], copyingListener.lastNew[1]);
+        assertNull(listenerOne.getLastOldData());
+        assertNull(delivered[0]);
+    }
+
+    private EPStatementListenerSet makeListenerSet() {
+        EPStatementListenerSet listenerSet = new EPStatementListenerSet();
+        listenerSet.addListener(listenerOne);
+        listenerSet.addListener(copyingListener);
+        return listenerSet;
+    }
+
     private EventBean[] makeEvents(String text) {
         return new EventBean[]{SupportEventBeanFactory.createObject(text)};
     }
+
+    private static class MyCopyingListener implements UpdateListener {
+        private EventBean[] lastNew;
+        private EventBean[] lastOld;
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+            lastNew = newEvents == null ? null : newEvents.clone();
+            lastOld = oldEvents == null ? null : oldEvents.clone();
+        }
+    }
 }
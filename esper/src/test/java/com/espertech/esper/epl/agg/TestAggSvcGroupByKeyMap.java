@@ -0,0 +1,156 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg;
+
+import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByKeyMap;
+import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByKeyMapLong;
+import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByKeyMapMulti;
+import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByKeyMapString;
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.function.Function;
+
+public class TestAggSvcGroupByKeyMap extends TestCase {
+
+    public void testLongKeys() {
+        AggSvcGroupByKeyMap<String> map = new AggSvcGroupByKeyMapLong<>(false);
+        assertEquals(0, map.getCapacity());
+        assertNull(map.get(1L));
+        assertFalse(map.containsKey(1L));
+
+        assertNull(map.put(1L, "a"));
+        assertNull(map.put(-1L, "b"));
+        assertNull(map.put(Long.MAX_VALUE, "c"));
+        assertNull(map.put(null, "d"));
+        assertEquals("a", map.put(1L, "e"));
+        assertEquals(4, map.size());
+        assertEquals("e", map.get(1L));
+        assertEquals("d", map.get(null));
+        assertEquals("c", map.get(Long.MAX_VALUE));
+
+        Map<Object, String> expected = new HashMap<>();
+        expected.put(1L, "e");
+        expected.put(-1L, "b");
+        expected.put(Long.MAX_VALUE, "c");
+        expected.put(null, "d");
+        assertEquals(expected, map);
+        assertEquals(expected, new HashMap<>(map));
+        for (Object key : map.keySet()) {
+            assertTrue(key == null || key.getClass() == Long.class);
+        }
+
+        assertEquals("d", map.remove(null));
+        assertEquals("b", map.remove(-1L));
+        assertNull(map.remove(-1L));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.getCapacity());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    public void testIntKeys() {
+        AggSvcGroupByKeyMap<String> map = new AggSvcGroupByKeyMapLong<>(true);
+        map.put(10, "a");
+        map.put(-5, "b");
+        for (Object key : map.keySet()) {
+            assertEquals(Integer.class, key.getClass());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(10, -5)), map.keySet());
+    }
+
+    public void testStringKeys() {
+        AggSvcGroupByKeyMap<String> map = new AggSvcGroupByKeyMapString<>();
+        map.put("E1", "a");
+        map.put("E2", "b");
+        assertEquals("a", map.get("E1"));
+        assertNull(map.get("E3"));
+        assertEquals(new HashSet<>(Arrays.asList("E1", "E2")), map.keySet());
+    }
+
+    public void testMultiKeys() {
+        AggSvcGroupByKeyMap<String> map = new AggSvcGroupByKeyMapMulti<>(2);
+        map.put(new MultiKeyUntyped("x", 1), "a");
+        map.put(new MultiKeyUntyped("x", null), "b");
+        map.put(new MultiKeyUntyped(null, 1), "c");
+        assertEquals("a", map.get(new MultiKeyUntyped("x", 1)));
+        assertEquals("b", map.get(new MultiKeyUntyped("x", null)));
+        assertEquals("c", map.get(new MultiKeyUntyped(null, 1)));
+        assertNull(map.get(new MultiKeyUntyped("x", 2)));
+        assertTrue(map.keySet().contains(new MultiKeyUntyped("x", 1)));
+        assertEquals(new HashSet<>(Arrays.asList(new MultiKeyUntyped("x", 1), new MultiKeyUntyped("x", null), new MultiKeyUntyped(null, 1))), map.keySet());
+    }
+
+    public void testEntrySetValue() {
+        AggSvcGroupByKeyMap<String> map = new AggSvcGroupByKeyMapString<>();
+        map.put("E1", "a");
+        for (Map.Entry<Object, String> entry : map.entrySet()) {
+            entry.setValue("b");
+        }
+        assertEquals("b", map.get("E1"));
+
+        Iterator<Object> it = map.keySet().iterator();
+        it.next();
+        try {
+            it.remove();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+
+        map.put("E2", "c");
+        try {
+            for (Object key : map.keySet()) {
+                map.put("E3", "d");
+            }
+            fail();
+        } catch (ConcurrentModificationException ex) {
+            // expected
+        }
+    }
+
+    public void testRandomizedAgainstHashMap() {
+        Random random = new Random(1234);
+        assertRandomized(random, new AggSvcGroupByKeyMapLong<>(false), r -> r.nextInt(10) == 0 ? null : (long) r.nextInt(2000) * 1000003L);
+        assertRandomized(random, new AggSvcGroupByKeyMapLong<>(true), r -> r.nextInt(10) == 0 ? null : r.nextInt(2000) - 1000);
+        assertRandomized(random, new AggSvcGroupByKeyMapString<>(), r -> r.nextInt(10) == 0 ? null : "S" + r.nextInt(2000));
+        assertRandomized(random, new AggSvcGroupByKeyMapMulti<>(3), r -> new MultiKeyUntyped("S" + r.nextInt(20), r.nextInt(10) == 0 ? null : r.nextInt(10), (long) r.nextInt(10)));
+    }
+
+    private void assertRandomized(Random random, AggSvcGroupByKeyMap<Integer> map, Function<Random, Object> keyGen) {
+        Map<Object, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            Object key = keyGen.apply(random);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else if (op < 9) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+            if (i % 5000 == 0) {
+                assertEquals(expected, map);
+                assertEquals(expected, new HashMap<>(map));
+            }
+        }
+        assertEquals(expected, map);
+        for (Object key : new ArrayList<>(expected.keySet())) {
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+}
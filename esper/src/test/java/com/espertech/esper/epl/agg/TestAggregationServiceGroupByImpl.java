@@ -13,6 +13,7 @@ package com.espertech.esper.epl.agg;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.collection.MultiKeyUntyped;
 import com.espertech.esper.core.support.SupportStatementContextFactory;
+import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByKeyType;
 import com.espertech.esper.epl.agg.service.groupby.AggSvcGroupByNoReclaimNoAccessImpl;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
@@ -32,7 +33,7 @@ public class TestAggregationServiceGroupByImpl extends TestCase {
         }
         ExprEvaluator[] evaluators = new ExprEvaluator[]{new SupportExprNode(5).getForge().getExprEvaluator(), new SupportExprNode(2).getForge().getExprEvaluator()};
 
-        service = new AggSvcGroupByNoReclaimNoAccessImpl(evaluators, aggregators);
+        service = new AggSvcGroupByNoReclaimNoAccessImpl(evaluators, aggregators, AggSvcGroupByKeyType.MULTI, 2);
 
         groupOneKey = new MultiKeyUntyped(new Object[]{"x", "y1"});
         groupTwoKey = new MultiKeyUntyped(new Object[]{"x", "y2"});
@@ -0,0 +1,50 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg;
+
+import com.espertech.esper.epl.agg.aggregator.*;
+import junit.framework.TestCase;
+
+public class TestBatchAggregator extends TestCase {
+    public void testBatchSameAsSingle() {
+        assertBatch(new AggregatorSumDouble(), new AggregatorSumDouble(), new Object[]{1.5d, null, 2d, 4.25d, null, 8d});
+        assertBatch(new AggregatorSumLong(), new AggregatorSumLong(), new Object[]{10L, null, 20L, 30L, null, 40L});
+        assertBatch(new AggregatorSumInteger(), new AggregatorSumInteger(), new Object[]{1, null, 2, 3, null, 4});
+        assertBatch(new AggregatorAvg(), new AggregatorAvg(), new Object[]{100, null, 150, 200, null, 250});
+        assertBatch(new AggregatorCount(), new AggregatorCount(), new Object[]{"a", null, "b", "c", null, "d"});
+        assertBatch(new AggregatorCountNonNull(), new AggregatorCountNonNull(), new Object[]{"a", null, "b", "c", null, "d"});
+    }
+
+    private void assertBatch(AggregationMethodBatch batch, AggregationMethod single, Object[] values) {
+        batch.enterBatch(values, 0, values.length);
+        for (Object value : values) {
+            single.enter(value);
+        }
+        assertEquals(single.getValue(), batch.getValue());
+
+        batch.leaveBatch(values, 1, 4);
+        for (int i = 1; i < 4; i++) {
+            single.leave(values[i]);
+        }
+        assertEquals(single.getValue(), batch.getValue());
+
+        // leaving more than entered clears the state the same way
+        batch.leaveBatch(values, 0, values.length);
+        for (Object value : values) {
+            single.leave(value);
+        }
+        assertEquals(single.getValue(), batch.getValue());
+
+        batch.enterBatch(values, 2, 3);
+        single.enter(values[2]);
+        assertEquals(single.getValue(), batch.getValue());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.db;
+
+import com.espertech.esper.core.support.SupportSchedulingServiceImpl;
+import com.espertech.esper.epl.expression.time.TimeAbacusMilliseconds;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.join.table.UnindexedEventTableImpl;
+import com.espertech.esper.schedule.SchedulingServiceImpl;
+import com.espertech.esper.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+public class TestDataCacheRefreshAheadImpl extends TestCase {
+    private SupportSchedulingServiceImpl scheduler;
+    private DataCacheRefreshAheadImpl cache;
+    private EventTable[] lists = new EventTable[10];
+
+    public void setUp() {
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new UnindexedEventTableImpl(0);
+        }
+    }
+
+    public void testRefreshDue() {
+        scheduler = new SupportSchedulingServiceImpl();
+        cache = new DataCacheRefreshAheadImpl(10, 2, 1000, 0, scheduler, 1, null, TimeAbacusMilliseconds.INSTANCE);   // age 10 sec, refresh 2 sec ahead
+
+        assertFalse(cache.isRefreshDue(make("a"), 1));
+
+        scheduler.setTime(5000);
+        cache.put(make("a"), 1, new EventTable[]{lists[0]}); // a at 5 sec
+
+        scheduler.setTime(12999);
+        assertFalse(cache.isRefreshDue(make("a"), 1));
+
+        scheduler.setTime(13000);
+        assertTrue(cache.isRefreshDue(make("a"), 1));
+        assertFalse(cache.isRefreshDue(make("a"), 1));  // only once
+        assertSame(lists[0], cache.getCached(make("a"), 1)[0]);
+
+        // refreshed result is used and is not due
+        scheduler.setTime(14000);
+        cache.putRefreshed(make("a"), 1, new EventTable[]{lists[1]}); // a at 14 sec
+        assertSame(lists[1], cache.getCached(make("a"), 1)[0]);
+        assertFalse(cache.isRefreshDue(make("a"), 1));
+
+        scheduler.setTime(22000);
+        assertTrue(cache.isRefreshDue(make("a"), 1));
+
+        // result not refreshed expires
+        scheduler.setTime(24000);
+        assertSame(lists[1], cache.getCached(make("a"), 1)[0]);
+        scheduler.setTime(24001);
+        assertNull(cache.getCached(make("a"), 1));
+        assertFalse(cache.isRefreshDue(make("a"), 1));
+    }
+
+    public void testPurgeInterval() {
+        SchedulingServiceImpl scheduler = new SchedulingServiceImpl(new TimeSourceServiceImpl());
+        cache = new DataCacheRefreshAheadImpl(10, 2, 20, 0, scheduler, 1, null, TimeAbacusMilliseconds.INSTANCE);   // age 10 sec, purge 20 seconds
+
+        scheduler.setTime(5000);
+        cache.put(make("a"), 1, new EventTable[]{lists[0]}); // a at 5 sec
+
+        scheduler.setTime(20000);
+        cache.put(make("b"), 1, new EventTable[]{lists[1]}); // b at 20 sec
+
+        scheduler.setTime(26000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduler);
+        assertEquals(1, cache.getSize());
+        assertSame(lists[1], cache.getCached(make("b"), 1)[0]);
+    }
+
+    public void testMaxSize() {
+        scheduler = new SupportSchedulingServiceImpl();
+        cache = new DataCacheRefreshAheadImpl(100, 10, 1000, 5, scheduler, 1, null, TimeAbacusMilliseconds.INSTANCE);
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.setTime(1000 * i);
+            cache.put(make("k" + i), 1, new EventTable[]{lists[i]});
+        }
+        assertEquals(5, cache.getSize());
+
+        scheduler.setTime(5000);
+        cache.put(make("k5"), 1, new EventTable[]{lists[5]});
+        assertEquals(5, cache.getSize());
+        assertNull(cache.getCached(make("k0"), 1));
+        assertSame(lists[1], cache.getCached(make("k1"), 1)[0]);
+        assertSame(lists[5], cache.getCached(make("k5"), 1)[0]);
+    }
+
+    private Object[] make(String key) {
+        return new Object[]{key};
+    }
+}
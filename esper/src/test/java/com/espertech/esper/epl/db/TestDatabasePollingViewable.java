@@ -16,9 +16,13 @@ import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.core.support.SupportEngineImportServiceFactory;
 import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.core.support.SupportSchedulingServiceImpl;
 import com.espertech.esper.core.support.SupportStatementContextFactory;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContextTimeOnly;
 import com.espertech.esper.epl.expression.core.ExprIdentNodeImpl;
 import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.expression.time.TimeAbacusMilliseconds;
 import com.espertech.esper.epl.join.pollindex.PollResultIndexingStrategy;
 import com.espertech.esper.epl.join.table.EventTable;
 import com.espertech.esper.epl.join.table.UnindexedEventTableList;
@@ -27,6 +31,7 @@ import com.espertech.esper.supportunit.epl.SupportStreamTypeSvc3Stream;
 import junit.framework.TestCase;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class TestDatabasePollingViewable extends TestCase {
     private DatabasePollingViewable pollingViewable;
@@ -75,6 +80,53 @@ public class TestDatabasePollingViewable extends TestCase {
         assertTrue(resultRows[1][0].isEmpty());
     }
 
+    public void testRefreshAhead() throws Exception {
+        SupportSchedulingServiceImpl scheduler = new SupportSchedulingServiceImpl();
+        DataCacheRefreshAheadImpl dataCache = new DataCacheRefreshAheadImpl(10, 2, 1000, 0, scheduler, 1, null, TimeAbacusMilliseconds.INSTANCE);
+
+        Map<MultiKey<Object>, List<EventBean>> pollResults = new HashMap<MultiKey<Object>, List<EventBean>>();
+        pollResults.put(new MultiKey<Object>(new Object[]{500}), new LinkedList<EventBean>());
+        SupportPollingStrategy pollingStrategy = new SupportPollingStrategy(pollResults);
+
+        Map<MultiKey<Object>, List<EventBean>> refreshResults = new HashMap<MultiKey<Object>, List<EventBean>>();
+        refreshResults.put(new MultiKey<Object>(new Object[]{500}), Collections.singletonList(makeEvent(1)));
+        final List<ExprEvaluatorContext> refreshContexts = new CopyOnWriteArrayList<ExprEvaluatorContext>();
+        SupportPollingStrategy refreshStrategy = new SupportPollingStrategy(refreshResults) {
+            public List<EventBean> poll(Object[] lookupValues, ExprEvaluatorContext exprEvaluatorContext) {
+                refreshContexts.add(exprEvaluatorContext);
+                return super.poll(lookupValues, exprEvaluatorContext);
+            }
+        };
+
+        DatabasePollingViewable viewable = new DatabasePollingViewable(1, Arrays.asList(new String[]{"s0.intPrimitive"}), pollingStrategy, refreshStrategy, dataCache, pollingViewable.getEventType());
+        Map<Integer, List<ExprNode>> sqlParameters = new HashMap<Integer, List<ExprNode>>();
+        sqlParameters.put(1, Collections.singletonList((ExprNode) new ExprIdentNodeImpl("intPrimitive", "s0")));
+        viewable.validate(SupportEngineImportServiceFactory.make(), new SupportStreamTypeSvc3Stream(), null, null, null, null, null, null, null, sqlParameters, null, SupportStatementContextFactory.makeContext());
+
+        EventBean[][] input = new EventBean[][]{{makeEvent(500), null}};
+        assertTrue(viewable.poll(input, indexingStrategy, null)[0][0].isEmpty());
+
+        // due for refresh: the cached result is returned and the refreshed result replaces it
+        scheduler.setTime(8000);
+        assertTrue(viewable.poll(input, indexingStrategy, null)[0][0].isEmpty());
+        long start = System.currentTimeMillis();
+        while (dataCache.getCached(new Object[]{500}, 1)[0].isEmpty() && System.currentTimeMillis() - start < 5000) {
+            Thread.sleep(10);
+        }
+        assertFalse(viewable.poll(input, indexingStrategy, null)[0][0].isEmpty());
+
+        // the refresh thread evaluates with its own context
+        assertEquals(1, refreshContexts.size());
+        assertTrue(refreshContexts.get(0) instanceof ExprEvaluatorContextTimeOnly);
+
+        // no refresh after stop
+        viewable.stop();
+        scheduler.setTime(16500);
+        assertFalse(viewable.poll(input, indexingStrategy, null)[0][0].isEmpty());
+        Thread.sleep(100);
+        assertEquals(1, refreshContexts.size());
+    }
+
     private EventBean makeEvent(int intPrimitive) {
         SupportBean bean = new SupportBean();
         bean.setIntPrimitive(intPrimitive);
@@ -10,19 +10,30 @@
  */
 package com.espertech.esper.epl.join.plan;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.core.support.SupportEventAdapterService;
 import com.espertech.esper.epl.expression.core.ExprIdentNode;
 import com.espertech.esper.epl.expression.core.ExprIdentNodeImpl;
+import com.espertech.esper.epl.join.base.ExecNodeQueryStrategyAdaptive;
 import com.espertech.esper.epl.join.base.HistoricalViewableDesc;
+import com.espertech.esper.epl.join.exec.base.ExecNode;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.join.table.PropertyIndexedEventTableFactory;
+import com.espertech.esper.epl.join.table.PropertyIndexedEventTableSingleFactory;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.epl.virtualdw.VirtualDWView;
 import com.espertech.esper.supportunit.bean.*;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import com.espertech.esper.util.DependencyGraph;
+import com.espertech.esper.view.Viewable;
 import junit.framework.TestCase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class TestNStreamQueryPlanBuilder extends TestCase {
     private EventType[] typesPerStream;
@@ -153,6 +164,104 @@ public class TestNStreamQueryPlanBuilder extends TestCase {
         assertTrue(NStreamQueryPlanBuilder.isDependencySatisfied(3, new int[]{1, 0, 2, 4}, graph));
     }
 
+    public void testAdaptiveJoinOrder() {
+        QueryGraph triangle = new QueryGraph(3, null, false);
+        triangle.addStrictEquals(0, "p00", make(0, "p00"), 1, "p10", make(1, "p10"));
+        triangle.addStrictEquals(0, "p01", make(0, "p01"), 2, "p20", make(2, "p20"));
+        triangle.addStrictEquals(1, "p11", make(1, "p11"), 2, "p21", make(2, "p21"));
+        EventType[] types = Arrays.copyOf(typesPerStream, 3);
+        DependencyGraph noDependencies = new DependencyGraph(3, false);
+
+        List<int[]> chains = NStreamQueryPlanBuilder.computeFullDepthPaths(0, triangle, noDependencies, new int[]{1, 2});
+        assertEquals(2, chains.size());
+        assertTrue(Arrays.equals(new int[]{1, 2}, chains.get(0)));
+        assertTrue(Arrays.equals(new int[]{2, 1}, chains.get(1)));
+
+        QueryPlan plan = NStreamQueryPlanBuilder.build(triangle, types, new HistoricalViewableDesc(3), noDependencies, null, false, new String[3][][], new TableMetadata[3]);
+        assertNull(plan.getExecNodeCandidates());
+
+        plan = NStreamQueryPlanBuilder.build(triangle, types, new HistoricalViewableDesc(3), noDependencies, null, false, new String[3][][], new TableMetadata[3], true);
+        QueryPlanNode[] candidates = plan.getExecNodeCandidates()[0];
+        assertEquals(2, candidates.length);
+        assertSame(plan.getExecNodeSpecs()[0], candidates[0]);
+        assertTrue(Arrays.equals(new int[]{1, 2}, ((NestedIterationNode) candidates[0]).getNestingOrder()));
+        assertTrue(Arrays.equals(new int[]{2, 1}, ((NestedIterationNode) candidates[1]).getNestingOrder()));
+
+        Map<TableLookupIndexReqKey, EventTable>[] indexes = makeIndexes(plan.getIndexSpecs(), types);
+        assertEquals(0, NStreamQueryPlanBuilder.getNumberOfEvents(indexes[1]));
+        assertEquals(1d, NStreamQueryPlanBuilder.estimateCost((NestedIterationNode) candidates[0], indexes));
+
+        ExecNode[] execNodes = new ExecNode[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            execNodes[i] = candidates[i].makeExec("ABC", 1, null, indexes, types, new Viewable[3], null, new VirtualDWView[3], new ReentrantLock[3]);
+        }
+        ExecNodeQueryStrategyAdaptive strategy = new ExecNodeQueryStrategyAdaptive(0, 3, candidates, execNodes, indexes);
+
+        // all S1 events share the key of stream 0 while S2 events have distinct keys, so looking up S2 first is cheaper
+        for (int i = 0; i < 100; i++) {
+            add(indexes[1], SupportEventBeanFactory.createObject(new SupportBean_S1(i, "A", "K" + i)));
+            add(indexes[2], SupportEventBeanFactory.createObject(new SupportBean_S2(i, "K" + i, "K" + i)));
+        }
+        assertEquals(100, NStreamQueryPlanBuilder.getNumberOfEvents(indexes[1]));
+        double costViaOne = NStreamQueryPlanBuilder.estimateCost((NestedIterationNode) candidates[0], indexes);
+        double costViaTwo = NStreamQueryPlanBuilder.estimateCost((NestedIterationNode) candidates[1], indexes);
+        assertTrue(costViaTwo < costViaOne);
+
+        EventBean[] lookupEvents = new EventBean[]{SupportEventBeanFactory.createObject(new SupportBean_S0(1, "A", "K5"))};
+        Set<MultiKey<EventBean>> expected = new HashSet<MultiKey<EventBean>>();
+        for (int i = 0; i < 64; i++) {
+            Set<MultiKey<EventBean>> joinSet = new HashSet<MultiKey<EventBean>>();
+            strategy.lookup(lookupEvents, joinSet, null);
+            removeNonMatching(joinSet);
+            assertEquals(1, joinSet.size());
+            if (i == 0) {
+                expected.addAll(joinSet);
+            } else {
+                assertEquals(expected, joinSet);
+            }
+        }
+        assertEquals(1, strategy.getCurrent());
+        assertSame(candidates[1], strategy.getCurrentPlan());
+    }
+
+    private Map<TableLookupIndexReqKey, EventTable>[] makeIndexes(QueryPlanIndex[] indexSpecs, EventType[] types) {
+        Map<TableLookupIndexReqKey, EventTable>[] indexes = new Map[indexSpecs.length];
+        for (int stream = 0; stream < indexSpecs.length; stream++) {
+            indexes[stream] = new LinkedHashMap<TableLookupIndexReqKey, EventTable>();
+            for (Map.Entry<TableLookupIndexReqKey, QueryPlanIndexItem> entry : indexSpecs[stream].getItems().entrySet()) {
+                String[] props = entry.getValue().getIndexProps();
+                EventTable table;
+                if (props.length == 1) {
+                    table = new PropertyIndexedEventTableSingleFactory(stream, types[stream], props[0], false, null).makeEventTables(null, null)[0];
+                } else {
+                    table = new PropertyIndexedEventTableFactory(stream, types[stream], props, false, null).makeEventTables(null, null)[0];
+                }
+                indexes[stream].put(entry.getKey(), table);
+            }
+        }
+        return indexes;
+    }
+
+    // the lookups of a join order evaluate only the criteria along its path, the remaining criteria are evaluated by the join filter
+    private void removeNonMatching(Set<MultiKey<EventBean>> joinSet) {
+        Iterator<MultiKey<EventBean>> it = joinSet.iterator();
+        while (it.hasNext()) {
+            EventBean[] row = it.next().getArray();
+            SupportBean_S0 s0 = (SupportBean_S0) row[0].getUnderlying();
+            SupportBean_S1 s1 = (SupportBean_S1) row[1].getUnderlying();
+            SupportBean_S2 s2 = (SupportBean_S2) row[2].getUnderlying();
+            if (!s0.getP00().equals(s1.getP10()) || !s0.getP01().equals(s2.getP20()) || !s1.getP11().equals(s2.getP21())) {
+                it.remove();
+            }
+        }
+    }
+
+    private void add(Map<TableLookupIndexReqKey, EventTable> indexes, EventBean theEvent) {
+        for (EventTable table : indexes.values()) {
+            table.add(new EventBean[]{theEvent}, null);
+        }
+    }
+
     private ExprIdentNode make(int stream, String p) {
         return new ExprIdentNodeImpl(typesPerStream[stream], p, stream);
     }
@@ -114,7 +114,10 @@ public class TestPropertyIndexedEventTable extends TestCase {
     }
 
     public void testMixed() {
+        assertEquals(6, (int) index.getNumberOfEvents());
         index.remove(new EventBean[]{testEvents[1]}, null);
+        index.remove(new EventBean[]{testEvents[1]}, null);
+        assertEquals(5, (int) index.getNumberOfEvents());
         Set<EventBean> result = index.lookup(new Object[]{1, "b"});
         assertEquals(1, result.size());
         assertTrue(result.contains(testEvents[4]));
@@ -135,10 +138,14 @@ public class TestPropertyIndexedEventTable extends TestCase {
         result = index.lookup(new Object[]{1, "b"});
         assertEquals(1, result.size());
         assertTrue(result.contains(testEvents[1]));
+        assertEquals(5, (int) index.getNumberOfEvents());
 
         // iterate
         underlying = EPAssertionUtil.iteratorToArrayUnderlying(index.iterator());
         EPAssertionUtil.assertEqualsAnyOrder(new Object[]{testEventsUnd[0], testEventsUnd[1], testEventsUnd[2], testEventsUnd[3], testEventsUnd[5]}, underlying);
+
+        index.clear();
+        assertEquals(0, (int) index.getNumberOfEvents());
     }
 
     public void testIterator() {
@@ -10,21 +10,33 @@
  */
 package com.espertech.esper.epl.spec;
 
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.codegen.compile.CodegenCompilerJanino;
+import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.service.speccompiled.StreamSpecCompiler;
+import com.espertech.esper.core.support.SupportEngineImportServiceFactory;
 import com.espertech.esper.core.support.SupportStatementContextFactory;
+import com.espertech.esper.epl.agg.factory.AggregationFactoryFactoryDefault;
+import com.espertech.esper.epl.core.engineimport.EngineImportService;
+import com.espertech.esper.epl.core.engineimport.EngineImportServiceImpl;
+import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
 import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.epl.expression.ops.ExprAndNode;
+import com.espertech.esper.epl.expression.time.TimeAbacusMilliseconds;
 import com.espertech.esper.epl.parse.EPLTreeWalkerListener;
 import com.espertech.esper.filter.*;
 import com.espertech.esper.filterspec.*;
 import com.espertech.esper.supportunit.bean.SupportBean;
 import com.espertech.esper.supportunit.epl.parse.SupportParserHelper;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import junit.framework.TestCase;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.TimeZone;
 
 public class TestFilterStreamSpecRaw extends TestCase {
     public void testNoExpr() throws Exception {
@@ -46,6 +58,47 @@ public class TestFilterStreamSpecRaw extends TestCase {
         assertEquals(FilterSpecCompiler.PROPERTY_NAME_BOOLEAN_EXPRESSION, exprNode.getLookupable().getExpression());
         assertEquals(FilterOperator.BOOLEAN_EXPRESSION, exprNode.getFilterOperator());
         assertTrue(exprNode.getExprNode() instanceof ExprAndNode);
+
+        // filter activations share the evaluator compiled for the parameter
+        AgentInstanceContext context = SupportStatementContextFactory.makeAgentInstanceContext();
+        EngineImportService engineImportService = context.getStatementContext().getEngineImportService();
+        ExprNodeAdapterBase first = exprNode.getFilterValue(null, context, engineImportService, null);
+        ExprNodeAdapterBase second = exprNode.getFilterValue(null, context, engineImportService, null);
+        assertNotSame(first, second);
+        assertSame(first.getExprNodeEval(), second.getExprNodeEval());
+        assertTrue(first.evaluate(makeEvent(4, 9)));
+        assertFalse(second.evaluate(makeEvent(3, 9)));
+        assertFalse(second.evaluate(makeEvent(4, 8)));
+        assertFalse(second.evaluate(makeEvent(4, null)));
+    }
+
+    public void testFilterEvaluatorCompiled() throws Exception {
+        FilterStreamSpecRaw raw = makeSpec("select * from " + SupportBean.class.getName() +
+                "(intPrimitive-1>2 and intBoxed-5>3)");
+        FilterSpecParamExprNode exprNode = (FilterSpecParamExprNode) compile(raw).getParameters()[0][0];
+
+        // interpreted when byte code generation is disabled
+        FilterBooleanEvaluator interpreted = ExprNodeCompiler.allocateFilterEvaluator(exprNode.getExprNode().getForge(), SupportEngineImportServiceFactory.make(), getClass(), "s0");
+        assertTrue(interpreted instanceof FilterBooleanEvaluatorInterpreted);
+
+        ConfigurationEngineDefaults.ByteCodeGeneration byteCodeGeneration = new ConfigurationEngineDefaults.ByteCodeGeneration();
+        byteCodeGeneration.setEnableFallback(false);
+        EngineImportService engineImportService = new EngineImportServiceImpl(true, true, true, false, null, TimeZone.getDefault(), TimeAbacusMilliseconds.INSTANCE, ConfigurationEngineDefaults.ThreadingProfile.NORMAL, null, AggregationFactoryFactoryDefault.INSTANCE, byteCodeGeneration, "default", new CodegenCompilerJanino("default", false, true));
+        FilterBooleanEvaluator compiled = ExprNodeCompiler.allocateFilterEvaluator(exprNode.getExprNode().getForge(), engineImportService, getClass(), "s0");
+        assertFalse(compiled instanceof FilterBooleanEvaluatorInterpreted);
+
+        for (FilterBooleanEvaluator evaluator : new FilterBooleanEvaluator[]{interpreted, compiled}) {
+            assertTrue(evaluator.evaluateFilter(new EventBean[]{makeEvent(4, 9)}, true, null));
+            assertFalse(evaluator.evaluateFilter(new EventBean[]{makeEvent(3, 9)}, true, null));
+            assertFalse(evaluator.evaluateFilter(new EventBean[]{makeEvent(4, 8)}, true, null));
+            assertFalse(evaluator.evaluateFilter(new EventBean[]{makeEvent(4, null)}, true, null));
+        }
+    }
+
+    private static EventBean makeEvent(int intPrimitive, Integer intBoxed) {
+        SupportBean bean = new SupportBean("E1", intPrimitive);
+        bean.setIntBoxed(intBoxed);
+        return SupportEventBeanFactory.createObject(bean);
     }
 
     public void testInvalid() throws Exception {
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.table.mgmt;
+
+import com.espertech.esper.client.EPException;
+import junit.framework.TestCase;
+
+public class TestTableRowLockStriped extends TestCase {
+    private TableRowLockStriped lock;
+
+    public void setUp() {
+        lock = new TableRowLockStriped("MyTable");
+    }
+
+    public void testExclusive() {
+        assertSame(lock.readLock(), lock.writeLock());
+
+        // a thread holding the exclusive lock may update rows
+        lock.writeLock().lock();
+        lock.lockRow("A");
+        lock.unlockRow("A");
+        lock.writeLock().unlock();
+    }
+
+    public void testRowLockNoUpgrade() {
+        lock.lockRow("A");
+        try {
+            lock.readLock().lock();
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Table 'MyTable' cannot be locked exclusively by a thread that is updating a row of the same table", ex.getMessage());
+        } finally {
+            lock.unlockRow("A");
+        }
+
+        // row lock released
+        assertTrue(lock.writeLock().tryLock());
+        lock.writeLock().unlock();
+    }
+
+    public void testRowLockOtherThread() throws Exception {
+        lock.lockRow(null);
+        final boolean[] acquired = new boolean[2];
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                acquired[0] = lock.writeLock().tryLock();
+                lock.lockRow("B");
+                lock.unlockRow("B");
+                acquired[1] = true;
+            }
+        });
+        thread.start();
+        thread.join();
+        lock.unlockRow(null);
+
+        // the exclusive lock is not available while a row is locked, however other rows can be locked
+        assertFalse(acquired[0]);
+        assertTrue(acquired[1]);
+    }
+}
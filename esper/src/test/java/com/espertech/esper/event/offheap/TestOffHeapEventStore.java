@@ -0,0 +1,167 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.offheap;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.event.EventTypeMetadata;
+import com.espertech.esper.event.arr.ObjectArrayEventBean;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestOffHeapEventStore extends TestCase {
+    private EventType objectArrayType;
+
+    public void setUp() {
+        Map<String, Object> typeRep = new LinkedHashMap<String, Object>();
+        typeRep.put("id", String.class);
+        typeRep.put("intPrimitive", int.class);
+        typeRep.put("longBoxed", Long.class);
+        typeRep.put("doublePrimitive", double.class);
+        typeRep.put("boolBoxed", Boolean.class);
+        typeRep.put("charPrimitive", char.class);
+        typeRep.put("shortBoxed", Short.class);
+        typeRep.put("byteBoxed", Byte.class);
+        typeRep.put("floatBoxed", Float.class);
+        EventTypeMetadata metadata = EventTypeMetadata.createNonPojoApplicationType(EventTypeMetadata.ApplicationType.OBJECTARR, "testtype", true, true, true, false, false);
+        objectArrayType = new ObjectArrayEventType(metadata, "testtype", 1, SupportEventAdapterService.getService(), typeRep, null, null, null);
+    }
+
+    public void testObjectArray() {
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerializer.make(objectArrayType), 1024);
+        Object[] values = new Object[]{"E\u00e91", 10, 100L, 1.5d, true, 'x', (short) 2, (byte) 3, 4.5f};
+        OffHeapEventBean handle = store.add(new ObjectArrayEventBean(values, objectArrayType));
+        assertTrue(handle instanceof OffHeapObjectArrayEventBean);
+        assertEquals(objectArrayType, handle.getEventType());
+        assertTrue(Arrays.equals(values, (Object[]) handle.getUnderlying()));
+        assertNotSame(handle.getUnderlying(), handle.getUnderlying());
+        assertEquals("E\u00e91", handle.get("id"));
+        assertEquals(100L, handle.get("longBoxed"));
+
+        Object[] nulls = new Object[]{null, 11, null, 2.5d, null, 'y', null, null, null};
+        OffHeapEventBean handleNulls = store.add(new ObjectArrayEventBean(nulls, objectArrayType));
+        assertTrue(Arrays.equals(nulls, ((OffHeapObjectArrayEventBean) handleNulls).getProperties()));
+
+        assertEquals(2, store.size());
+        List<EventBean> contents = toList(store);
+        assertEquals(Arrays.asList(handle, handleNulls), contents);
+        assertEquals(handle.hashCode(), contents.get(0).hashCode());
+    }
+
+    public void testMap() {
+        Map<String, Object> typeRep = new LinkedHashMap<String, Object>();
+        typeRep.put("id", String.class);
+        typeRep.put("value", long.class);
+        EventType mapType = SupportEventTypeFactory.createMapType(typeRep);
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerializer.make(mapType), 1024);
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("id", "E1");
+        values.put("value", 5L);
+        OffHeapEventBean handle = store.add(SupportEventAdapterService.getService().adapterForTypedMap(values, mapType));
+        assertTrue(handle instanceof OffHeapMapEventBean);
+        assertEquals(values, ((OffHeapMapEventBean) handle).getProperties());
+        assertEquals(5L, handle.get("value"));
+    }
+
+    public void testRemoveAndCompact() {
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerializer.make(objectArrayType), 1024);
+        List<OffHeapEventBean> handles = new ArrayList<OffHeapEventBean>();
+        for (int i = 0; i < 1000; i++) {
+            handles.add(store.add(makeEvent("E" + i, i)));
+        }
+        assertEquals(1000, store.size());
+        long allocated = store.getAllocatedBytes();
+        assertTrue(store.getNumChunks() > 1);
+
+        // removed events remain readable through the handle used for removal, but not through other handles
+        EventBean otherHandle = toList(store).get(0);
+        assertEquals(handles.get(0), otherHandle);
+        assertTrue(store.remove(handles.get(0)));
+        assertFalse(store.remove(handles.get(0)));
+        assertEquals("E0", handles.get(0).get("id"));
+        try {
+            otherHandle.get("id");
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        // remove most events, compacting the records
+        for (int i = 1; i < 1000; i++) {
+            if (i % 10 != 0) {
+                store.remove(handles.get(i));
+            }
+        }
+        assertEquals(99, store.size());
+        assertTrue(store.getAllocatedBytes() < allocated);
+        assertEquals(99, toList(store).size());
+        for (int i = 10; i < 1000; i += 10) {
+            assertEquals("E" + i, handles.get(i).get("id"));
+            assertEquals(i, handles.get(i).get("intPrimitive"));
+        }
+
+        // slots are reused with a new generation
+        OffHeapEventBean added = store.add(makeEvent("N1", -1));
+        assertEquals(handles.get(999).getSlot(), added.getSlot());
+        assertFalse(added.equals(handles.get(999)));
+        assertEquals("N1", added.get("id"));
+        assertEquals(100, store.size());
+
+        store.clear();
+        assertTrue(store.isEmpty());
+        assertEquals(0, store.getAllocatedBytes());
+        assertFalse(store.iterator().hasNext());
+        try {
+            added.getUnderlying();
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertEquals("N2", store.add(makeEvent("N2", 1)).get("id"));
+    }
+
+    public void testUnsupportedType() {
+        try {
+            OffHeapEventSerializer.make(SupportEventTypeFactory.createBeanType(SupportBean.class));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().startsWith("Off-heap storage requires an object-array or map event type"));
+        }
+
+        Map<String, Object> typeRep = new LinkedHashMap<String, Object>();
+        typeRep.put("id", String.class);
+        typeRep.put("bean", SupportBean.class);
+        try {
+            OffHeapEventSerializer.make(SupportEventTypeFactory.createMapType(typeRep));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().startsWith("Off-heap storage does not support property 'bean'"));
+        }
+    }
+
+    private EventBean makeEvent(String id, int intPrimitive) {
+        return new ObjectArrayEventBean(new Object[]{id, intPrimitive, null, 0d, null, 'a', null, null, null}, objectArrayType);
+    }
+
+    private static List<EventBean> toList(OffHeapEventStore store) {
+        List<EventBean> list = new ArrayList<EventBean>();
+        for (EventBean event : store) {
+            list.add(event);
+        }
+        return list;
+    }
+}
@@ -10,17 +10,21 @@
  */
 package com.espertech.esper.filter;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.filterspec.FilterOperator;
 import com.espertech.esper.filterspec.FilterSpecCompiled;
 import com.espertech.esper.filterspec.FilterValueSet;
 import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
 import com.espertech.esper.supportunit.filter.SupportFilterHandle;
 import com.espertech.esper.supportunit.filter.SupportFilterSpecBuilder;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -30,6 +34,108 @@ public class TestFilterServiceMT extends TestCase {
     public void testFilterService() throws Exception {
         runAssertionAddRemoveFilter(new FilterServiceLockCoarse(false));
         runAssertionAddRemoveFilter(new FilterServiceLockFine(false));
+        runAssertionAddRemoveFilter(new FilterServiceLockFree(false));
+    }
+
+    public void testFilterServiceLockFreeEvaluateWhileChanging() throws Exception {
+        final FilterService service = new FilterServiceLockFree(false);
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        final FilterValueSet filterValuesStatic = SupportFilterSpecBuilder.build(eventType, new Object[]{"theString", FilterOperator.EQUAL, "E1", "intPrimitive", FilterOperator.GREATER, 5}).getValueSet(null, null, null, null, null);
+        final FilterValueSet filterValuesDynamic = SupportFilterSpecBuilder.build(eventType, new Object[]{"theString", FilterOperator.EQUAL, "E1", "intPrimitive", FilterOperator.LESS, 100}).getValueSet(null, null, null, null, null);
+        final SupportFilterHandle handleStatic = new SupportFilterHandle();
+        service.add(filterValuesStatic, handleStatic);
+        final EventBean theEvent = SupportEventBeanFactory.createObject(new SupportBean("E1", 10));
+
+        Callable callables[] = new Callable[4];
+        for (int i = 0; i < callables.length; i++) {
+            final boolean writer = i == 0;
+            callables[i] = new Callable() {
+                public Object call() throws Exception {
+                    SupportFilterHandle handle = new SupportFilterHandle();
+                    List<FilterHandle> matches = new ArrayList<FilterHandle>();
+                    for (int i = 0; i < 10000; i++) {
+                        if (writer) {
+                            FilterServiceEntry entry = service.add(filterValuesDynamic, handle);
+                            service.remove(handle, entry);
+                        } else {
+                            matches.clear();
+                            service.evaluate(theEvent, matches);
+                            if (!matches.contains(handleStatic)) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+
+        Object[] result = tryMT(callables);
+        EPAssertionUtil.assertAllBooleanTrue(result);
+    }
+
+    public void testFilterServiceLockFreeSwapUnderWriteLock() throws Exception {
+        final FilterServiceLockFree service = new FilterServiceLockFree(false);
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        final FilterValueSet filterValuesOne = SupportFilterSpecBuilder.build(eventType, new Object[]{"theString", FilterOperator.EQUAL, "E1"}).getValueSet(null, null, null, null, null);
+        final FilterValueSet filterValuesTwo = SupportFilterSpecBuilder.build(eventType, new Object[]{"intPrimitive", FilterOperator.GREATER, 5}).getValueSet(null, null, null, null, null);
+        final SupportFilterHandle handleOne = new SupportFilterHandle();
+        final SupportFilterHandle handleTwo = new SupportFilterHandle();
+        final FilterServiceEntry[] entry = new FilterServiceEntry[]{service.add(filterValuesOne, handleOne)};
+        final EventBean theEvent = SupportEventBeanFactory.createObject(new SupportBean("E1", 10));
+
+        // the writer replaces one filter by the other under the service write lock, so that readers always match exactly one
+        Callable callables[] = new Callable[4];
+        for (int i = 0; i < callables.length; i++) {
+            final boolean writer = i == 0;
+            callables[i] = new Callable() {
+                public Object call() throws Exception {
+                    List<FilterHandle> matches = new ArrayList<FilterHandle>();
+                    for (int i = 0; i < 20000; i++) {
+                        if (writer) {
+                            service.acquireWriteLock();
+                            try {
+                                boolean isOne = i % 2 == 0;
+                                service.remove(isOne ? handleOne : handleTwo, entry[0]);
+                                entry[0] = isOne ? service.add(filterValuesTwo, handleTwo) : service.add(filterValuesOne, handleOne);
+                            } finally {
+                                service.releaseWriteLock();
+                            }
+                        } else {
+                            matches.clear();
+                            service.evaluate(theEvent, matches);
+                            if (matches.size() != 1) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+
+        Object[] result = tryMT(callables);
+        EPAssertionUtil.assertAllBooleanTrue(result);
+    }
+
+    public void testFilterServiceLockFreeWriteLockReentrant() {
+        FilterServiceLockFree service = new FilterServiceLockFree(false);
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        FilterValueSet filterValues = SupportFilterSpecBuilder.build(eventType, new Object[]{"theString", FilterOperator.EQUAL, "E1"}).getValueSet(null, null, null, null, null);
+        SupportFilterHandle handle = new SupportFilterHandle();
+        List<FilterHandle> matches = new ArrayList<FilterHandle>();
+
+        service.acquireWriteLock();
+        service.acquireWriteLock();
+        service.add(filterValues, handle);
+        service.evaluate(SupportEventBeanFactory.createObject(new SupportBean("E1", 10)), matches);
+        service.releaseWriteLock();
+        service.releaseWriteLock();
+        assertEquals(1, matches.size());
+
+        matches.clear();
+        service.evaluate(SupportEventBeanFactory.createObject(new SupportBean("E1", 10)), matches);
+        assertEquals(1, matches.size());
     }
 
     private void runAssertionAddRemoveFilter(final FilterService service) throws Exception {
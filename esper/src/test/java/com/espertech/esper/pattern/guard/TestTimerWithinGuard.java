@@ -25,15 +25,16 @@ public class TestTimerWithinGuard extends TestCase {
     private TimerWithinGuard guard;
     private SchedulingService scheduleService;
     private SupportQuitable quitable;
+    private PatternAgentInstanceContext agentInstanceContext;
 
     public void setUp() {
         StatementContext stmtContext = SupportStatementContextFactory.makeContext(new SchedulingServiceImpl(new TimeSourceServiceImpl()));
         scheduleService = stmtContext.getSchedulingService();
-        PatternAgentInstanceContext agentInstanceContext = SupportPatternContextFactory.makePatternAgentInstanceContext(scheduleService);
+        agentInstanceContext = SupportPatternContextFactory.makePatternAgentInstanceContext(scheduleService);
 
         quitable = new SupportQuitable(agentInstanceContext);
 
-        guard = new TimerWithinGuard(1000, quitable);
+        guard = new TimerWithinGuard(1000, quitable, allocateSlot());
     }
 
     public void testInspect() {
@@ -69,6 +70,74 @@ public class TestTimerWithinGuard extends TestCase {
         assertEquals(0, quitable.getAndResetQuitCounter());
     }
 
+    public void testSharedExpiry() {
+        SchedulingServiceImpl schedulingServiceImpl = (SchedulingServiceImpl) scheduleService;
+        scheduleService.setTime(0);
+        SupportQuitable[] quitables = new SupportQuitable[4];
+        TimerWithinGuard[] guards = new TimerWithinGuard[4];
+        long slot = allocateSlot();
+        for (int i = 0; i < guards.length; i++) {
+            quitables[i] = new SupportQuitable(agentInstanceContext);
+            guards[i] = new TimerWithinGuard(1000, quitables[i], slot);
+        }
+
+        // guards started at the same time share a schedule
+        guards[0].startGuard();
+        guards[1].startGuard();
+        guards[2].startGuard();
+        assertEquals(1, schedulingServiceImpl.getScheduleHandleCount());
+        assertEquals(1, agentInstanceContext.getTimerWithinGuardExpiryIndex().getNumBuckets());
+
+        scheduleService.setTime(500);
+        guards[3].startGuard();
+        assertEquals(2, schedulingServiceImpl.getScheduleHandleCount());
+
+        guards[1].stopGuard();
+        scheduleService.setTime(1000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertEquals(1, quitables[0].getAndResetQuitCounter());
+        assertEquals(0, quitables[1].getAndResetQuitCounter());
+        assertEquals(1, quitables[2].getAndResetQuitCounter());
+        assertEquals(0, quitables[3].getAndResetQuitCounter());
+        assertEquals(1, schedulingServiceImpl.getScheduleHandleCount());
+
+        // stopping the last guard of a bucket removes its schedule
+        guards[3].stopGuard();
+        assertEquals(0, schedulingServiceImpl.getScheduleHandleCount());
+        assertEquals(0, agentInstanceContext.getTimerWithinGuardExpiryIndex().getNumBuckets());
+
+        // guards can restart after expiry
+        guards[0].startGuard();
+        scheduleService.setTime(2000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertEquals(2, quitables[0].getAndResetQuitCounter());
+    }
+
+    public void testExpiryPerSlot() {
+        SchedulingServiceImpl schedulingServiceImpl = (SchedulingServiceImpl) scheduleService;
+        scheduleService.setTime(0);
+        SupportQuitable quitableOne = new SupportQuitable(agentInstanceContext);
+        SupportQuitable quitableTwo = new SupportQuitable(agentInstanceContext);
+        TimerWithinGuard guardOne = new TimerWithinGuard(1000, quitableOne, allocateSlot());
+        TimerWithinGuard guardTwo = new TimerWithinGuard(1000, quitableTwo, allocateSlot());
+
+        // guards expiring at the same time with different slots do not share a schedule
+        guardOne.startGuard();
+        guardTwo.startGuard();
+        assertEquals(2, schedulingServiceImpl.getScheduleHandleCount());
+        assertEquals(2, agentInstanceContext.getTimerWithinGuardExpiryIndex().getNumBuckets());
+
+        guardOne.stopGuard();
+        assertEquals(1, schedulingServiceImpl.getScheduleHandleCount());
+        assertEquals(1, agentInstanceContext.getTimerWithinGuardExpiryIndex().getNumBuckets());
+
+        scheduleService.setTime(1000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertEquals(0, quitableOne.getAndResetQuitCounter());
+        assertEquals(1, quitableTwo.getAndResetQuitCounter());
+        assertEquals(0, agentInstanceContext.getTimerWithinGuardExpiryIndex().getNumBuckets());
+    }
+
     public void testInvalid() {
         try {
             guard.startGuard();
@@ -78,4 +147,8 @@ public class TestTimerWithinGuard extends TestCase {
             // Expected exception
         }
     }
+
+    private long allocateSlot() {
+        return agentInstanceContext.getPatternContext().getScheduleBucket().allocateSlot();
+    }
 }
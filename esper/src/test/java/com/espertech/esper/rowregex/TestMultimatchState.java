@@ -0,0 +1,63 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.rowregex;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+public class TestMultimatchState extends TestCase {
+    private final EventBean[] beans = new EventBean[5];
+
+    public void setUp() {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = SupportEventBeanFactory.createObject(new SupportBean("E" + i, i));
+        }
+    }
+
+    public void testShareCopyOnWrite() {
+        MultimatchState state = new MultimatchState(beans[0]);
+        state.add(beans[1]);
+
+        MultimatchState copy = state.share();
+        assertSame(state.getBuffer(), copy.getBuffer());
+        assertTrue(state.isShared());
+        assertTrue(copy.isShared());
+
+        copy.add(beans[2]);
+        assertNotSame(state.getBuffer(), copy.getBuffer());
+        assertFalse(copy.isShared());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1]}, state.getShrinkEventArray());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1], beans[2]}, copy.getShrinkEventArray());
+
+        state.add(beans[3]);
+        state.add(beans[4]);
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1], beans[3], beans[4]}, state.getShrinkEventArray());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1], beans[2]}, copy.getShrinkEventArray());
+        assertFalse(copy.containsEvent(beans[3]));
+    }
+
+    public void testShareFullBuffer() {
+        MultimatchState state = new MultimatchState(beans[0]);
+        state.add(beans[1]);
+        state.add(beans[2]);
+        MultimatchState copy = state.share();
+
+        state.add(beans[3]);
+        copy.add(beans[4]);
+        assertEquals(4, state.getCount());
+        assertEquals(4, copy.getCount());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1], beans[2], beans[3]}, state.getShrinkEventArray());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1], beans[2], beans[4]}, copy.getShrinkEventArray());
+    }
+}
@@ -23,9 +23,17 @@ import com.espertech.esperio.db.core.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.naming.NamingException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 public class EsperIODBAdapter {
     private final static Logger log = LoggerFactory.getLogger(EsperIODBAdapter.class);
@@ -35,6 +43,8 @@ public class EsperIODBAdapter {
 
     private DatabaseConfigServiceImpl databaseConfigSvc;
     private ExecutorServices executorFactory;
+    private List<EventBatchCollector> batchCollectors;
+    private ScheduledExecutorService batchFlushService;
 
     /**
      * Quickstart constructor.
@@ -65,13 +75,14 @@ public class EsperIODBAdapter {
 
         databaseConfigSvc = new DatabaseConfigServiceImpl(config.getJdbcConnections(), null, null, engineSPI.getEngineImportService());
         executorFactory = new ExecutorServices(engineSPI, config.getExecutors());
+        batchCollectors = new ArrayList<EventBatchCollector>();
 
         // Handle Upserts
         for (UpsertQuery upsert : config.getUpsertQueries()) {
             RunnableUpsertFactory upsertFactory = getUpsertFactory(engineSPI, upsert, databaseConfigSvc);
 
             try {
-                EsperIODBBaseSubscription subs = new EsperIODBBaseSubscription(upsertFactory, executorFactory.getConfiguredExecutor(upsert.getExecutorName()));
+                EsperIODBBaseSubscription subs = makeSubscription(engineSPI, upsertFactory, upsertFactory.getContext().getName(), upsert.getExecutorName(), upsert.getBatchSize(), upsert.getBatchIntervalSec());
                 subs.seteventTypeName(upsert.getStream());
                 subs.setSubscriptionName(upsertFactory.getContext().getName());
                 subs.registerAdapter(engineSPI);
@@ -85,7 +96,7 @@ public class EsperIODBAdapter {
             RunnableDMLFactory dmlFactory = getDMLFactory(engineSPI, dml, databaseConfigSvc);
 
             try {
-                EsperIODBBaseSubscription subs = new EsperIODBBaseSubscription(dmlFactory, executorFactory.getConfiguredExecutor(dml.getExecutorName()));
+                EsperIODBBaseSubscription subs = makeSubscription(engineSPI, dmlFactory, dmlFactory.getContext().getName(), dml.getExecutorName(), dml.getBatchSize(), dml.getBatchIntervalSec());
                 subs.seteventTypeName(dml.getStream());
                 subs.setSubscriptionName(dmlFactory.getContext().getName());
                 subs.registerAdapter(engineSPI);
@@ -99,6 +110,47 @@ public class EsperIODBAdapter {
         }
     }
 
+    private EsperIODBBaseSubscription makeSubscription(EPServiceProviderSPI engineSPI, RunnableFactory runnableFactory, String name, String executorName, Integer batchSize, Double batchIntervalSec) {
+        Executor executor = executorFactory.getConfiguredExecutor(executorName);
+        if (batchSize == null && batchIntervalSec == null) {
+            return new EsperIODBBaseSubscription(runnableFactory, executor);
+        }
+        if (batchSize != null && batchSize <= 0) {
+            throw new ConfigurationException("Batch size for '" + name + "' must be a positive number");
+        }
+
+        final EventBatchCollector collector = new EventBatchCollector(name, runnableFactory, executor, batchSize == null ? Integer.MAX_VALUE : batchSize);
+        batchCollectors.add(collector);
+        if (batchIntervalSec != null && batchIntervalSec > 0) {
+            if (batchFlushService == null) {
+                batchFlushService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "esperio-db-batch-flush-" + engineURI);
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            long intervalMSec = (long) (batchIntervalSec * 1000);
+            batchFlushService.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        collector.flush();
+                    } catch (Throwable t) {
+                        log.error("Error flushing batch for '" + collector.getName() + "' :" + t.getMessage(), t);
+                    }
+                }
+            }, intervalMSec, intervalMSec, TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            engineSPI.getContext().bind("EsperIODBAdapter/EventBatchCollector/" + name, collector);
+        } catch (NamingException e) {
+            log.error("Error binding batch collector: " + e.getMessage(), e);
+        }
+        return new EsperIODBBaseSubscription(collector);
+    }
+
     private RunnableUpsertFactory getUpsertFactory(EPServiceProviderSPI engineSPI, UpsertQuery upsert, DatabaseConfigServiceImpl databaseConfigSvc) {
         String upsertName = upsert.getName();
         if (upsertName == null) {
@@ -209,6 +261,14 @@ public class EsperIODBAdapter {
             log.debug("Destroying Esper DB Adapter");
         }
 
+        if (batchFlushService != null) {
+            batchFlushService.shutdown();
+        }
+        if (batchCollectors != null) {
+            for (EventBatchCollector collector : batchCollectors) {
+                collector.flush();
+            }
+        }
         executorFactory.destroy();
     }
 }
@@ -22,6 +22,8 @@ public class UpsertQuery {
     private String executorName;
     private Integer retry;
     private Double retryIntervalSec;
+    private Integer batchSize;
+    private Double batchIntervalSec;
 
     private List<Column> keys;
     private List<Column> values;
@@ -102,4 +104,20 @@ public class UpsertQuery {
     public void setRetryIntervalSec(Double retryIntervalSec) {
         this.retryIntervalSec = retryIntervalSec;
     }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Double getBatchIntervalSec() {
+        return batchIntervalSec;
+    }
+
+    public void setBatchIntervalSec(Double batchIntervalSec) {
+        this.batchIntervalSec = batchIntervalSec;
+    }
 }
\ No newline at end of file
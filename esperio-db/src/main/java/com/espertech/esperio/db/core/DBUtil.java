@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Blob;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -42,6 +43,53 @@ public class DBUtil {
         return rs.getObject(index);
     }
 
+    /**
+     * Prepares the connection for executing a batch, turning off auto-commit so that the batch commits as a whole.
+     *
+     * @param connection db connection
+     * @return indicator whether the connection was in auto-commit mode, to pass to commit or rollback
+     * @throws SQLException if the connection could not be changed
+     */
+    public static boolean beginBatch(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        return autoCommit;
+    }
+
+    /**
+     * Commits a batch if the connection was in auto-commit mode, and restores auto-commit.
+     *
+     * @param connection db connection
+     * @param autoCommit indicator returned by begin
+     * @throws SQLException if the commit failed
+     */
+    public static void commitBatch(Connection connection, boolean autoCommit) throws SQLException {
+        if (autoCommit) {
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Rolls back a batch if the connection was in auto-commit mode, and restores auto-commit.
+     *
+     * @param connection db connection
+     * @param autoCommit indicator returned by begin
+     */
+    public static void rollbackBatch(Connection connection, boolean autoCommit) {
+        if (!autoCommit) {
+            return;
+        }
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException ex) {
+            log.warn("Failed to roll back batch: " + ex.getMessage(), ex);
+        }
+    }
+
     private static byte[] getBlobValue(Blob blob) throws SQLException {
         if (blob == null) {
             return null;
@@ -61,4 +61,48 @@ public class DMLStatement {
             }
         }
     }
+
+    /**
+     * Execute the statement for each event as a single JDBC batch, in a transaction of its own when the
+     * connection is in auto-commit mode.
+     *
+     * @param connection db connection
+     * @param eventBeans events
+     * @throws StoreExceptionDBRel when the batch failed, in which case no row of the batch has been committed
+     */
+    public void executeBatch(Connection connection, EventBean[] eventBeans) {
+        PreparedStatement statement = null;
+        boolean autoCommit = false;
+        try {
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Executing '" + dmlSQL + ") for a batch of " + eventBeans.length + " events");
+            }
+            autoCommit = DBUtil.beginBatch(connection);
+            statement = connection.prepareStatement(dmlSQL);
+            for (EventBean eventBean : eventBeans) {
+                for (Map.Entry<Integer, BindingEntry> entry : bindings.entrySet()) {
+                    Object value = entry.getValue().getGetter().get(eventBean);
+                    statement.setObject(entry.getKey(), value);
+                }
+                statement.addBatch();
+            }
+
+            int[] rows = statement.executeBatch();
+            DBUtil.commitBatch(connection, autoCommit);
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Execution yielded " + rows.length + " update counts");
+            }
+        } catch (SQLException ex) {
+            DBUtil.rollbackBatch(connection, autoCommit);
+            String message = "Failed to invoke : " + dmlSQL + " :" + ex.getMessage();
+            log.error(message, ex);
+            storeExceptionHandler.handle(message, ex);
+            throw new StoreExceptionDBRel(message, ex);
+        } finally {
+            try {
+                if (statement != null) statement.close();
+            } catch (SQLException e) {
+            }
+        }
+    }
 }
@@ -24,13 +24,25 @@ public class EsperIODBBaseSubscription extends BaseSubscription {
 
     private final RunnableFactory runnableFactory;
     private final Executor executor;
+    private final EventBatchCollector batchCollector;
 
     public EsperIODBBaseSubscription(RunnableFactory runnableFactory, Executor executor) {
         this.runnableFactory = runnableFactory;
         this.executor = executor;
+        this.batchCollector = null;
+    }
+
+    public EsperIODBBaseSubscription(EventBatchCollector batchCollector) {
+        this.runnableFactory = null;
+        this.executor = null;
+        this.batchCollector = batchCollector;
     }
 
     public void matchFound(EventBean theEvent, Collection<FilterHandleCallback> allStmtMatches) {
+        if (batchCollector != null) {
+            batchCollector.add(theEvent);
+            return;
+        }
         try {
             Runnable runnable = runnableFactory.makeRunnable(theEvent);
             executor.execute(runnable);
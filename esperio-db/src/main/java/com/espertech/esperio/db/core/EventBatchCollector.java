@@ -0,0 +1,147 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db.core;
+
+import com.espertech.esper.client.EventBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects events into batches for writing to the database, handing a batch to the executor when the batch size
+ * is reached or, when flushed periodically, when the batch interval has passed.
+ * <p>
+ * Each batch is written using its own connection, so that with a multi-threaded executor batches are
+ * written in parallel while further events are collected.
+ * </p>
+ * <p>
+ * Provides counters for monitoring whether the database keeps up: the number of batches handed to the executor that
+ * have not yet completed indicates backlog.
+ * </p>
+ */
+public class EventBatchCollector {
+    private final static Logger log = LoggerFactory.getLogger(EventBatchCollector.class);
+
+    private final String name;
+    private final RunnableFactory runnableFactory;
+    private final Executor executor;
+    private final int batchSize;
+
+    private final AtomicLong numEventsReceived = new AtomicLong();
+    private final AtomicLong numBatchesSubmitted = new AtomicLong();
+    private final AtomicLong numBatchesCompleted = new AtomicLong();
+    private final AtomicLong numEventsCompleted = new AtomicLong();
+
+    private List<EventBean> pending;
+
+    public EventBatchCollector(String name, RunnableFactory runnableFactory, Executor executor, int batchSize) {
+        this.name = name;
+        this.runnableFactory = runnableFactory;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.pending = new ArrayList<EventBean>();
+    }
+
+    public void add(EventBean theEvent) {
+        EventBean[] batch = null;
+        synchronized (this) {
+            pending.add(theEvent);
+            if (pending.size() >= batchSize) {
+                batch = takePending();
+            }
+        }
+        numEventsReceived.incrementAndGet();
+        if (batch != null) {
+            submit(batch);
+        }
+    }
+
+    /**
+     * Hand the events collected so far, if any, to the executor.
+     */
+    public void flush() {
+        EventBean[] batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        submit(batch);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public synchronized int getNumEventsPending() {
+        return pending.size();
+    }
+
+    public long getNumEventsReceived() {
+        return numEventsReceived.get();
+    }
+
+    public long getNumEventsCompleted() {
+        return numEventsCompleted.get();
+    }
+
+    public long getNumBatchesSubmitted() {
+        return numBatchesSubmitted.get();
+    }
+
+    public long getNumBatchesCompleted() {
+        return numBatchesCompleted.get();
+    }
+
+    /**
+     * Returns the number of batches handed to the executor that have not completed, either queued or executing.
+     *
+     * @return batches in flight
+     */
+    public long getNumBatchesInFlight() {
+        return numBatchesSubmitted.get() - numBatchesCompleted.get();
+    }
+
+    private EventBean[] takePending() {
+        EventBean[] batch = pending.toArray(new EventBean[pending.size()]);
+        pending = new ArrayList<EventBean>();
+        return batch;
+    }
+
+    private void submit(final EventBean[] batch) {
+        final Runnable runnable = runnableFactory.makeRunnable(batch);
+        numBatchesSubmitted.incrementAndGet();
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        runnable.run();
+                    } finally {
+                        numEventsCompleted.addAndGet(batch.length);
+                        numBatchesCompleted.incrementAndGet();
+                    }
+                }
+            });
+        } catch (Throwable t) {
+            numBatchesCompleted.incrementAndGet();
+            log.error("Error executing database action for batch of " + batch.length + " events of '" + name + "' :" + t.getMessage(), t);
+        }
+    }
+}
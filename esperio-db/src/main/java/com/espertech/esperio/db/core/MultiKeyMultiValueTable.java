@@ -18,10 +18,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MultiKeyMultiValueTable {
     private final static Logger log = LoggerFactory.getLogger(MultiKeyMultiValueTable.class);
@@ -358,6 +361,100 @@ public class MultiKeyMultiValueTable {
         }
     }
 
+    /**
+     * Update rows, and insert the rows that were not found, using a JDBC batch for the updates and one for the inserts,
+     * in a single transaction when the connection is in auto-commit mode.
+     * <p>
+     * For rows of the same key only the last values are written, as they would when updating or inserting row-by-row.
+     * </p>
+     *
+     * @param connection db connection
+     * @param keys       key values per row
+     * @param values     column values per row
+     * @throws StoreExceptionDBRel failed operation, in which case no row has been committed
+     */
+    public void updateInsertValues(Connection connection, List<Object[]> keys, List<Object[]> values) throws StoreExceptionDBRel {
+        Map<List<Object>, Integer> positions = new HashMap<List<Object>, Integer>();
+        List<Object[]> rowKeys = new ArrayList<Object[]>(keys.size());
+        List<Object[]> rowValues = new ArrayList<Object[]>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            List<Object> key = Arrays.asList(keys.get(i));
+            Integer position = positions.get(key);
+            if (position == null) {
+                positions.put(key, rowKeys.size());
+                rowKeys.add(keys.get(i));
+                rowValues.add(values.get(i));
+            } else {
+                rowValues.set(position, values.get(i));
+            }
+        }
+
+        boolean autoCommit = false;
+        try {
+            autoCommit = DBUtil.beginBatch(connection);
+            int[] counts = runBatch(connection, updateSQL, rowValues, rowKeys);
+
+            List<Object[]> insertKeys = new ArrayList<Object[]>();
+            List<Object[]> insertValues = new ArrayList<Object[]>();
+            List<Integer> unknown = new ArrayList<Integer>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    insertKeys.add(rowKeys.get(i));
+                    insertValues.add(rowValues.get(i));
+                } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(i);
+                }
+            }
+            if (!insertKeys.isEmpty()) {
+                runBatch(connection, insertSQL, insertKeys, insertValues);
+            }
+
+            // the driver does not report whether the row was found, repeating the update is harmless
+            for (int index : unknown) {
+                updateInsertValue(connection, rowKeys.get(index), rowValues.get(index));
+            }
+            DBUtil.commitBatch(connection, autoCommit);
+        } catch (SQLException ex) {
+            DBUtil.rollbackBatch(connection, autoCommit);
+            String message = "Failed to invoke batch upsert against table " + tableName + " :" + ex.getMessage();
+            log.error(message, ex);
+            storeExceptionHandler.handle(message, ex);
+            throw new StoreExceptionDBRel(message, ex);
+        } catch (RuntimeException ex) {
+            DBUtil.rollbackBatch(connection, autoCommit);
+            throw ex;
+        }
+    }
+
+    // binds the first then the second set of values of each row
+    private int[] runBatch(Connection connection, String query, List<Object[]> first, List<Object[]> second) throws SQLException {
+        PreparedStatement statement = null;
+        try {
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Executing query '" + query + "' for a batch of " + first.size() + " rows");
+            }
+            statement = connection.prepareStatement(query);
+            for (int row = 0; row < first.size(); row++) {
+                int index = 1;
+                for (Object value : first.get(row)) {
+                    statement.setObject(index, value);
+                    index++;
+                }
+                for (Object value : second.get(row)) {
+                    statement.setObject(index, value);
+                    index++;
+                }
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } finally {
+            try {
+                if (statement != null) statement.close();
+            } catch (SQLException e) {
+            }
+        }
+    }
+
     private boolean runDelete(Connection connection, String query, Object[] keys) {
         PreparedStatement statement = null;
         try {
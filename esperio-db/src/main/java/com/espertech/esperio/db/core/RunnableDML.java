@@ -24,15 +24,23 @@ public class RunnableDML implements Runnable {
 
     private final RunnableDMLContext context;
     private final EventBean theEvent;
+    private final EventBean[] events;
 
     public RunnableDML(RunnableDMLContext context, EventBean theEvent) {
         this.context = context;
         this.theEvent = theEvent;
+        this.events = null;
+    }
+
+    public RunnableDML(RunnableDMLContext context, EventBean[] events) {
+        this.context = context;
+        this.theEvent = null;
+        this.events = events;
     }
 
     public void run() {
         if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled() && (ExecutionPathDebugLog.isTimerDebugEnabled))) {
-            log.debug("Executing DML work unit for event " + theEvent);
+            log.debug("Executing DML work unit for " + (events == null ? "event " + theEvent : "batch of " + events.length + " events"));
         }
 
         int retryMax = context.getRetry() == null ? 1 : context.getRetry();
@@ -67,7 +75,11 @@ public class RunnableDML implements Runnable {
     private void tryDML() throws DatabaseConfigException, SQLException {
         Connection connection = context.getConnectionFactory().getConnection();
         try {
-            context.getDmlStatement().execute(connection, theEvent);
+            if (events == null) {
+                context.getDmlStatement().execute(connection, theEvent);
+            } else {
+                context.getDmlStatement().executeBatch(connection, events);
+            }
         } finally {
             connection.close();
         }
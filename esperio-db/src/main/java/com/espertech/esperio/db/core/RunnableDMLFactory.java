@@ -30,4 +30,8 @@ public class RunnableDMLFactory implements RunnableFactory {
     public Runnable makeRunnable(EventBean theEvent) {
         return new RunnableDML(context, theEvent);
     }
+
+    public Runnable makeRunnable(EventBean[] events) {
+        return new RunnableDML(context, events);
+    }
 }
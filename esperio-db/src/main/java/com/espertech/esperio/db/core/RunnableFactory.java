@@ -14,4 +14,6 @@ import com.espertech.esper.client.EventBean;
 
 public interface RunnableFactory {
     public Runnable makeRunnable(EventBean theEvent);
+
+    public Runnable makeRunnable(EventBean[] events);
 }
@@ -18,21 +18,31 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RunnableUpsert implements Runnable {
     private final static Logger log = LoggerFactory.getLogger(RunnableUpsert.class);
 
     private final RunnableUpsertContext context;
     private final EventBean theEvent;
+    private final EventBean[] events;
 
     public RunnableUpsert(RunnableUpsertContext context, EventBean theEvent) {
         this.context = context;
         this.theEvent = theEvent;
+        this.events = null;
+    }
+
+    public RunnableUpsert(RunnableUpsertContext context, EventBean[] events) {
+        this.context = context;
+        this.theEvent = null;
+        this.events = events;
     }
 
     public void run() {
         if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled() && (ExecutionPathDebugLog.isTimerDebugEnabled))) {
-            log.debug("Executing upsert work unit for event " + theEvent);
+            log.debug("Executing upsert work unit for " + (events == null ? "event " + theEvent : "batch of " + events.length + " events"));
         }
 
         int retryMax = context.getRetry() == null ? 1 : context.getRetry();
@@ -66,6 +76,14 @@ public class RunnableUpsert implements Runnable {
 
     private void tryUpsert() throws DatabaseConfigException, SQLException {
         Connection connection = context.getConnectionFactory().getConnection();
+        if (events != null) {
+            try {
+                tryUpsertBatch(connection);
+            } finally {
+                connection.close();
+            }
+            return;
+        }
         try {
             Object[] keys = new Object[context.getKeyGetters().length];
             for (int i = 0; i < context.getKeyGetters().length; i++) {
@@ -86,4 +104,23 @@ public class RunnableUpsert implements Runnable {
             connection.close();
         }
     }
+
+    private void tryUpsertBatch(Connection connection) {
+        List<Object[]> keys = new ArrayList<Object[]>(events.length);
+        List<Object[]> values = new ArrayList<Object[]>(events.length);
+        for (EventBean event : events) {
+            Object[] eventKeys = new Object[context.getKeyGetters().length];
+            for (int i = 0; i < context.getKeyGetters().length; i++) {
+                eventKeys[i] = context.getKeyGetters()[i].get(event);
+            }
+            keys.add(eventKeys);
+
+            Object[] eventValues = new Object[context.getValueGetters().length];
+            for (int i = 0; i < context.getValueGetters().length; i++) {
+                eventValues[i] = context.getValueGetters()[i].get(event);
+            }
+            values.add(eventValues);
+        }
+        context.getTable().updateInsertValues(connection, keys, values);
+    }
 }
@@ -30,4 +30,8 @@ public class RunnableUpsertFactory implements RunnableFactory {
     public Runnable makeRunnable(EventBean theEvent) {
         return new RunnableUpsert(context, theEvent);
     }
+
+    public Runnable makeRunnable(EventBean[] events) {
+        return new RunnableUpsert(context, events);
+    }
 }
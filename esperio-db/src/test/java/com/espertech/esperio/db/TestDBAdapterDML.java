@@ -14,6 +14,7 @@ import com.espertech.esper.client.Configuration;
 import com.espertech.esper.client.EPServiceProvider;
 import com.espertech.esper.client.EPServiceProviderManager;
 import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esperio.db.core.EventBatchCollector;
 import com.espertech.esperio.db.core.ExecutorServices;
 import junit.framework.TestCase;
 
@@ -74,4 +75,57 @@ public class TestDBAdapterDML extends TestCase {
 
         provider.destroy();
     }
-}
\ No newline at end of file
+
+    public void testDMLBatch() throws InterruptedException, SQLException, NamingException {
+        String esperIODBConfig = "<esperio-db-configuration>\n" +
+                "<jdbc-connection name=\"db1\">\n" +
+                "<drivermanager-connection class-name=\"com.mysql.jdbc.Driver\" url=\"jdbc:mysql://localhost/test\" user=\"root\" password=\"password\"/>\n" +
+                "<connection-settings auto-commit=\"true\" catalog=\"TEST\"/>" +
+                "</jdbc-connection>\n" +
+                "<dml connection=\"db1\" stream=\"SupportDBBean\" name=\"MyInsertQuery\" retry=\"10\" retry-interval-sec=\"0.1\" batch-size=\"2\">\n" +
+                "<sql>insert into mytestupsert(key1, key2, value1, value2)\n" +
+                "values (?, ?, ?, ?)</sql>\n" +
+                "<bindings>\n" +
+                "<parameter pos=\"1\" property=\"key1\"/>\n" +
+                "<parameter pos=\"2\" property=\"key2\"/>\n" +
+                "<parameter pos=\"3\" property=\"value1\"/>\n" +
+                "<parameter pos=\"4\" property=\"value2\"/>\n" +
+                "</bindings>\n" +
+                "</dml>\n" +
+                "</esperio-db-configuration>";
+
+        Configuration engineConfig = new Configuration();
+        engineConfig.addPluginLoader("EsperIODBAdapter", EsperIODBAdapterPlugin.class.getName(), new Properties(), esperIODBConfig);
+
+        engineConfig.addEventType("SupportDBBean", SupportDBBean.class);
+        engineConfig.addEventType("SupportBean", SupportBean.class);
+
+        EPServiceProvider provider = EPServiceProviderManager.getProvider(ENGINE_URI + "Batch", engineConfig);
+
+        provider.getEPAdministrator().createEPL("insert into SupportDBBean select 'A' as key1, intProp as key2, stringProp as value1, intProp as value2 from SupportBean");
+        provider.getEPRuntime().sendEvent(new SupportBean("a", 10));
+
+        Object[][] rows = SupportDatabaseService.readAll(TABLE_NAME);
+        assertEquals(0, rows.length);
+
+        provider.getEPRuntime().sendEvent(new SupportBean("b", 15));
+        rows = SupportDatabaseService.readAll(TABLE_NAME);
+        EPAssertionUtil.assertEqualsExactOrder(rows, new Object[][]{{"A", 10, "a", 10.0d}, {"A", 15, "b", 15.0d}});
+
+        provider.getEPRuntime().sendEvent(new SupportBean("c", 20));
+
+        // look up batch collector
+        Context context = provider.getContext();
+        EventBatchCollector collector = (EventBatchCollector) context.lookup("EsperIODBAdapter/EventBatchCollector/MyInsertQuery");
+        assertEquals(3, collector.getNumEventsReceived());
+        assertEquals(2, collector.getNumEventsCompleted());
+        assertEquals(1, collector.getNumBatchesCompleted());
+        assertEquals(0, collector.getNumBatchesInFlight());
+        assertEquals(1, collector.getNumEventsPending());
+
+        // pending events are written on destroy
+        provider.destroy();
+        rows = SupportDatabaseService.readAll(TABLE_NAME);
+        assertEquals(3, rows.length);
+    }
+}
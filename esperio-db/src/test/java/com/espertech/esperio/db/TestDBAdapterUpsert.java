@@ -16,6 +16,7 @@ import com.espertech.esperio.db.config.Column;
 import com.espertech.esperio.db.config.ConfigurationDBAdapter;
 import com.espertech.esperio.db.config.Executor;
 import com.espertech.esperio.db.config.UpsertQuery;
+import com.espertech.esperio.db.core.EventBatchCollector;
 import junit.framework.TestCase;
 
 import java.util.HashMap;
@@ -79,6 +80,96 @@ public class TestDBAdapterUpsert extends TestCase {
         dbAdapter.destroy();
     }
 
+    public void testUpsertBatch() throws InterruptedException {
+        UpsertQuery upsertQuery = makeUpsertQuery("MyTestUpsertBatch");
+        upsertQuery.setBatchSize(4);
+        EsperIODBAdapter dbAdapter = new EsperIODBAdapter(makeAdapterConfig(upsertQuery), ENGINE_URI + "Batch");
+        EPServiceProvider provider = makeProvider(ENGINE_URI + "Batch");
+        dbAdapter.start();
+
+        String[] fields = "key1,key2,value1,value2".split(",");
+        EPStatement stmt = provider.getEPAdministrator().createEPL("select * from sql:testdb ['select * from mytestupsert order by key1, key2']");
+
+        // first batch inserts new keys, the repeated key within the batch keeping the last values
+        provider.getEPRuntime().sendEvent(new SupportDBBean("A", 1, "a1", 1d));
+        provider.getEPRuntime().sendEvent(new SupportDBBean("B", 1, "b1", 2d));
+        provider.getEPRuntime().sendEvent(new SupportDBBean("A", 1, "a2", 3d));
+        assertFalse(stmt.iterator().hasNext());
+        provider.getEPRuntime().sendEvent(new SupportDBBean("C", 1, "c1", 4d));
+        EPAssertionUtil.assertPropsPerRow(stmt.iterator(), fields, new Object[][]
+                {{"A", 1, "a2", 3d}, {"B", 1, "b1", 2d}, {"C", 1, "c1", 4d}});
+
+        // second batch mixes existing and new keys, with repeated existing and new keys
+        provider.getEPRuntime().sendEvent(new SupportDBBean("B", 1, "b2", 5d));
+        provider.getEPRuntime().sendEvent(new SupportDBBean("D", 1, "d1", 6d));
+        provider.getEPRuntime().sendEvent(new SupportDBBean("B", 1, "b3", 7d));
+        provider.getEPRuntime().sendEvent(new SupportDBBean("D", 1, "d2", 8d));
+        EPAssertionUtil.assertPropsPerRow(stmt.iterator(), fields, new Object[][]
+                {{"A", 1, "a2", 3d}, {"B", 1, "b3", 7d}, {"C", 1, "c1", 4d}, {"D", 1, "d2", 8d}});
+
+        dbAdapter.destroy();
+        provider.destroy();
+    }
+
+    public void testUpsertBatchInterval() throws Exception {
+        UpsertQuery upsertQuery = makeUpsertQuery("MyTestUpsertInterval");
+        upsertQuery.setBatchIntervalSec(0.2);
+        EsperIODBAdapter dbAdapter = new EsperIODBAdapter(makeAdapterConfig(upsertQuery), ENGINE_URI + "Interval");
+        EPServiceProvider provider = makeProvider(ENGINE_URI + "Interval");
+        dbAdapter.start();
+
+        String[] fields = "key1,key2,value1,value2".split(",");
+        EPStatement stmt = provider.getEPAdministrator().createEPL("select * from sql:testdb ['select * from mytestupsert order by key1, key2']");
+
+        // without a batch size the events are written when the interval has passed
+        provider.getEPRuntime().sendEvent(new SupportDBBean("A", 1, "a1", 1d));
+        provider.getEPRuntime().sendEvent(new SupportDBBean("B", 2, "b1", 2d));
+        Thread.sleep(1000);
+        EPAssertionUtil.assertPropsPerRow(stmt.iterator(), fields, new Object[][]
+                {{"A", 1, "a1", 1d}, {"B", 2, "b1", 2d}});
+
+        provider.getEPRuntime().sendEvent(new SupportDBBean("A", 1, "a2", 3d));
+        Thread.sleep(1000);
+        EPAssertionUtil.assertPropsPerRow(stmt.iterator(), fields, new Object[][]
+                {{"A", 1, "a2", 3d}, {"B", 2, "b1", 2d}});
+
+        EventBatchCollector collector = (EventBatchCollector) provider.getContext().lookup("EsperIODBAdapter/EventBatchCollector/MyTestUpsertInterval");
+        assertEquals(3, collector.getNumEventsReceived());
+        assertEquals(3, collector.getNumEventsCompleted());
+        assertEquals(2, collector.getNumBatchesCompleted());
+        assertEquals(0, collector.getNumEventsPending());
+
+        dbAdapter.destroy();
+        provider.destroy();
+    }
+
+    private UpsertQuery makeUpsertQuery(String name) {
+        UpsertQuery upsertQuery = new UpsertQuery();
+        upsertQuery.setName(name);
+        upsertQuery.setStream("SupportDBBean");
+        upsertQuery.setConnection("conn1");
+        upsertQuery.getKeys().add(new Column("key1", "key1", "varchar"));
+        upsertQuery.getKeys().add(new Column("key2", "key2", "integer"));
+        upsertQuery.getValues().add(new Column("value1", "value1", "varchar"));
+        upsertQuery.getValues().add(new Column("value2", "value2", "double"));
+        upsertQuery.setTableName(TABLE_NAME);
+        return upsertQuery;
+    }
+
+    private ConfigurationDBAdapter makeAdapterConfig(UpsertQuery upsertQuery) {
+        ConfigurationDBAdapter adapterConfig = new ConfigurationDBAdapter();
+        adapterConfig.getJdbcConnections().put("conn1", SupportDatabaseService.makeDBConfig());
+        adapterConfig.getUpsertQueries().add(upsertQuery);
+        return adapterConfig;
+    }
+
+    private EPServiceProvider makeProvider(String engineURI) {
+        Configuration engineConfig = new Configuration();
+        engineConfig.addDatabaseReference("testdb", SupportDatabaseService.makeDBConfig());
+        engineConfig.addEventType("SupportDBBean", SupportDBBean.class);
+        return EPServiceProviderManager.getProvider(engineURI, engineConfig);
+    }
+
     private Map<String, Object> getUpsertType() {
         Map<String, Object> map = new HashMap<String, Object>();
         map.put("k1", "string");
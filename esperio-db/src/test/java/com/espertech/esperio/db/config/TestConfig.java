@@ -80,6 +80,8 @@ public class TestConfig extends TestCase {
         assertEquals("queue1", dmlQuery.getExecutorName());
         assertEquals((int) 2, (int) dmlQuery.getRetry());
         assertEquals(1d, dmlQuery.getRetryIntervalSec());
+        assertEquals((int) 100, (int) dmlQuery.getBatchSize());
+        assertEquals(0.5d, dmlQuery.getBatchIntervalSec());
         assertEquals(3, dmlQuery.getBindings().size());
         BindingParameter binding = dmlQuery.getBindings().get(0);
         assertEquals(1, binding.getPosition());
@@ -96,6 +98,8 @@ public class TestConfig extends TestCase {
         assertEquals("queue1", upsertQuery.getExecutorName());
         assertEquals((int) 3, (int) upsertQuery.getRetry());
         assertNull(upsertQuery.getRetryIntervalSec());
+        assertEquals((int) 50, (int) upsertQuery.getBatchSize());
+        assertNull(upsertQuery.getBatchIntervalSec());
         assertEquals(2, upsertQuery.getKeys().size());
         Column col = upsertQuery.getKeys().get(0);
         assertEquals("eventProperty1", col.getProperty());
@@ -103,6 +103,7 @@ public class ConfigurationSocketAdapterParser {
         String stream = getOptionalAttribute(node, "stream");
         String propertyOrder = getOptionalAttribute(node, "propertyOrder");
         String unescapeStr = getOptionalAttribute(node, "unescape");
+        String readerThreads = getOptionalAttribute(node, "readerThreads");
 
         SocketConfig socketConfig = new SocketConfig();
         socketConfig.setPort(Integer.parseInt(port));
@@ -116,6 +117,9 @@ public class ConfigurationSocketAdapterParser {
         if (unescapeStr != null) {
             socketConfig.setUnescape(Boolean.parseBoolean(unescapeStr));
         }
+        if (readerThreads != null) {
+            socketConfig.setReaderThreads(Integer.parseInt(readerThreads));
+        }
 
         configuration.getSockets().put(name, socketConfig);
     }
@@ -18,6 +18,7 @@ public class SocketConfig {
     private String propertyOrder;
     private String stream;
     private boolean unescape;
+    private Integer readerThreads;
 
     public SocketConfig() {
     }
@@ -77,4 +78,12 @@ public class SocketConfig {
     public void setUnescape(boolean unescape) {
         this.unescape = unescape;
     }
+
+    public Integer getReaderThreads() {
+        return readerThreads;
+    }
+
+    public void setReaderThreads(Integer readerThreads) {
+        this.readerThreads = readerThreads;
+    }
 }
@@ -11,13 +11,16 @@
 package com.espertech.esperio.socket.core;
 
 import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esperio.socket.config.DataType;
 import com.espertech.esperio.socket.config.SocketConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
 
 public class EsperSocketService {
 
@@ -27,6 +30,8 @@ public class EsperSocketService {
     private final SocketConfig serviceConfig;
     private ServerSocket serverSocket;
     private EsperSocketServiceRunnable runnable;
+    private ServerSocketChannel serverChannel;
+    private EsperSocketServiceNIORunnable nioRunnable;
     private Thread socketThread;
 
     public EsperSocketService(String serviceName, SocketConfig serviceConfig) {
@@ -39,6 +44,10 @@ public class EsperSocketService {
     }
 
     public void start(String serviceName, EPServiceProviderSPI engineSPI) throws IOException {
+        if (serviceConfig.getReaderThreads() != null) {
+            startNIO(engineSPI);
+            return;
+        }
 
         if (serviceConfig.getHostname() != null) {
             InetAddress inetAddress = InetAddress.getByName(serviceConfig.getHostname());
@@ -61,13 +70,54 @@ public class EsperSocketService {
         socketThread.start();
     }
 
+    private void startNIO(EPServiceProviderSPI engineSPI) throws IOException {
+        if (serviceConfig.getDataType() != DataType.PROPERTY_ORDERED_CSV) {
+            throw new IllegalArgumentException("Reader threads require the 'property_ordered_csv' data type");
+        }
+        if (serviceConfig.getReaderThreads() < 1) {
+            throw new IllegalArgumentException("Invalid value provided for 'readerThreads' parameter, expecting a positive number of threads");
+        }
+        if (serviceConfig.getStream() == null || serviceConfig.getStream().length() == 0) {
+            throw new IllegalArgumentException("Invalid null or empty value provided for required 'stream' parameter");
+        }
+        if (serviceConfig.getPropertyOrder() == null || serviceConfig.getPropertyOrder().length() == 0) {
+            throw new IllegalArgumentException("Invalid null or empty value provided for required 'propertyOrder' parameter");
+        }
+
+        InetSocketAddress address;
+        int backlog;
+        if (serviceConfig.getHostname() != null) {
+            address = new InetSocketAddress(InetAddress.getByName(serviceConfig.getHostname()), serviceConfig.getPort());
+            backlog = serviceConfig.getBacklog() == null ? 2 : serviceConfig.getBacklog();
+        } else {
+            address = new InetSocketAddress(serviceConfig.getPort());
+            backlog = serviceConfig.getBacklog() == null ? 0 : serviceConfig.getBacklog();
+        }
+        log.info("Esper socket adapter accepting connections on " + address + " with " + serviceConfig.getReaderThreads() + " reader threads for socket named '" + serviceName + "'");
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, backlog);
+
+        nioRunnable = new EsperSocketServiceNIORunnable(this.getServiceName(), this.serviceConfig, serverChannel, engineSPI);
+        socketThread = new Thread(nioRunnable);
+        socketThread.setDaemon(true);
+        socketThread.start();
+    }
+
     public void destroy() {
         log.info("Closing existing workers for service '" + this.getServiceName() + "'");
-        runnable.destroy();
+        if (nioRunnable != null) {
+            nioRunnable.destroy();
+        } else {
+            runnable.destroy();
+        }
 
         log.info("Closing server socket for service '" + this.getServiceName() + "' and port " + serviceConfig.getPort());
         try {
-            serverSocket.close();
+            if (serverChannel != null) {
+                serverChannel.close();
+            } else {
+                serverSocket.close();
+            }
         } catch (IOException e) {
             log.debug("Error closing server socket: " + e.getMessage(), e);
         }
@@ -0,0 +1,79 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esperio.socket.config.SocketConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Accepts connections and hands each to one of a fixed set of reader threads, round-robin.
+ */
+public class EsperSocketServiceNIORunnable implements Runnable {
+    private final static Logger log = LoggerFactory.getLogger(EsperSocketServiceNIORunnable.class);
+
+    private final String serviceName;
+    private final ServerSocketChannel serverChannel;
+    private final NIOReaderThread[] readers;
+    private int nextReader;
+    private volatile boolean shutdown;
+
+    public EsperSocketServiceNIORunnable(String serviceName, SocketConfig serviceConfig, ServerSocketChannel serverChannel, EPServiceProviderSPI engine) throws IOException {
+        this.serviceName = serviceName;
+        this.serverChannel = serverChannel;
+        this.readers = new NIOReaderThread[serviceConfig.getReaderThreads()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new NIOReaderThread(serviceName, engine, serviceConfig, i);
+            readers[i].setDaemon(true);
+        }
+    }
+
+    public void run() {
+        for (NIOReaderThread reader : readers) {
+            reader.start();
+        }
+        log.info("For service '" + serviceName + "' listening on port " + serverChannel.socket().getLocalPort() + " with " + readers.length + " reader threads");
+        while (!Thread.interrupted()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                log.info("Incoming connection service '" + serviceName + "' from " + channel.socket().getInetAddress());
+                readers[nextReader].add(channel);
+                nextReader = (nextReader + 1) % readers.length;
+            } catch (ClosedByInterruptException ex) {
+                break;
+            } catch (IOException e) {
+                if (!shutdown) {
+                    log.error("I/O error accepting connection for service '" + serviceName + "' : " + e.getMessage());
+                }
+                break;
+            }
+        }
+        log.info("For service '" + serviceName + "' listening on port " + serverChannel.socket().getLocalPort() + " ended socket thread.");
+    }
+
+    public void destroy() {
+        log.info("Stopping reader threads for service '" + serviceName + "'");
+        shutdown = true;
+        for (NIOReaderThread reader : readers) {
+            reader.setShutdown(true);
+            try {
+                reader.join(1000);
+            } catch (InterruptedException e) {
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esperio.socket.config.SocketConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Reads property-ordered CSV lines from any number of non-blocking connections using a single selector,
+ * sending the events read in one round of selection to the engine as a batch.
+ */
+public class NIOReaderThread extends Thread {
+
+    private final static Logger log = LoggerFactory.getLogger(NIOReaderThread.class);
+    private final static int INITIAL_BUFFER_SIZE = 8192;
+
+    private final String serviceName;
+    private final EPServiceProviderSPI engine;
+    private final SocketConfig socketConfig;
+    private final Selector selector;
+    private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<SocketChannel>();
+    private final List<EventBean> batch = new ArrayList<EventBean>();
+
+    private PropertyOrderedCSVLineParser parser;
+    private volatile boolean isShutdown;
+
+    public NIOReaderThread(String serviceName, EPServiceProviderSPI engine, SocketConfig socketConfig, int num) throws IOException {
+        super("esperio-socket-" + serviceName + "-reader-" + num);
+        this.serviceName = serviceName;
+        this.engine = engine;
+        this.socketConfig = socketConfig;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Hand over a connection to this reader.
+     *
+     * @param channel connection
+     */
+    public void add(SocketChannel channel) {
+        pending.add(channel);
+        selector.wakeup();
+    }
+
+    public void setShutdown(boolean shutdown) {
+        isShutdown = shutdown;
+        selector.wakeup();
+    }
+
+    public void run() {
+        try {
+            while (!isShutdown && !Thread.interrupted()) {
+                selector.select();
+                registerPending();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (key.isValid() && key.isReadable()) {
+                        read(key);
+                    }
+                }
+                sendBatch();
+            }
+        } catch (IOException ex) {
+            if (!isShutdown) {
+                log.error("I/O error: " + ex.getMessage(), ex);
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                closeChannel(channel);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    private void registerPending() {
+        SocketChannel channel;
+        while ((channel = pending.poll()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Connection());
+            } catch (IOException ex) {
+                log.error("I/O error registering connection for service '" + serviceName + "' : " + ex.getMessage(), ex);
+                closeChannel(channel);
+            }
+        }
+    }
+
+    private void read(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        int num;
+        try {
+            num = channel.read(connection.buffer);
+        } catch (IOException ex) {
+            if (!isShutdown) {
+                log.error("I/O error: " + ex.getMessage(), ex);
+            }
+            close(key);
+            return;
+        }
+
+        if (num == -1) {
+            log.debug("EOF received from connection");
+            // the last line may not be terminated
+            ByteBuffer buffer = connection.buffer;
+            if (buffer.position() > 0) {
+                handleLine(buffer, 0, buffer.position());
+            }
+            close(key);
+            return;
+        }
+        handleLines(connection);
+    }
+
+    // the buffer holds unread data between index zero and its position, scanned up to the position of the last read
+    private void handleLines(Connection connection) {
+        ByteBuffer buffer = connection.buffer;
+        int limit = buffer.position();
+        int lineStart = 0;
+        for (int i = connection.scanned; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                int lineEnd = i;
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                handleLine(buffer, lineStart, lineEnd);
+                lineStart = i + 1;
+            }
+        }
+
+        if (lineStart > 0) {
+            buffer.limit(limit);
+            buffer.position(lineStart);
+            buffer.compact();
+        } else if (!buffer.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            connection.buffer = larger;
+            buffer = larger;
+        }
+        connection.scanned = buffer.position();
+    }
+
+    private void handleLine(ByteBuffer buffer, int start, int end) {
+        if (parser == null) {
+            parser = PropertyOrderedCSVLineParser.make(WorkerThread.makeCacheEntry(engine, socketConfig.getStream()), socketConfig.getPropertyOrder(), socketConfig.isUnescape());
+            if (parser == null) {
+                return;
+            }
+        }
+        try {
+            batch.add(parser.parse(buffer, start, end));
+        } catch (Throwable t) {
+            log.error("Unexpected exception encountered parsing event " + parser.decode(buffer, start, end) + " service '" + serviceName + "' :" + t.getMessage(), t);
+        }
+    }
+
+    private void sendBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            engine.getEPRuntime().sendEvents(batch.toArray());
+        } catch (Throwable t) {
+            log.error("Unexpected exception encountered sending " + batch.size() + " events service '" + serviceName + "' :" + t.getMessage(), t);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        closeChannel((SocketChannel) key.channel());
+    }
+
+    private void closeChannel(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static class Connection {
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+        private int scanned;
+    }
+}
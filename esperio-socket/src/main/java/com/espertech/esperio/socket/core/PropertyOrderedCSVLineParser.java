@@ -0,0 +1,168 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Parses property-ordered CSV lines held in a byte buffer directly into the property values of an event,
+ * without first decoding the line into a string and a map of values.
+ * <p>
+ * Integer and long values are parsed from the bytes. Other values are decoded into a string for the
+ * type parser, the same as for the line-by-line reader.
+ * </p>
+ */
+public class PropertyOrderedCSVLineParser {
+    private final static int MAX_DIGITS = 18;
+
+    private final WriterCacheEntry cacheEntry;
+    private final int[] columnToWritable;
+    private final Class[] writableTypes;
+    private final boolean unescape;
+    private final Charset charset = Charset.defaultCharset();
+    private byte[] scratch = new byte[64];
+
+    private PropertyOrderedCSVLineParser(WriterCacheEntry cacheEntry, int[] columnToWritable, boolean unescape) {
+        this.cacheEntry = cacheEntry;
+        this.columnToWritable = columnToWritable;
+        this.unescape = unescape;
+        this.writableTypes = new Class[cacheEntry.getWritableProperties().length];
+        for (int i = 0; i < writableTypes.length; i++) {
+            writableTypes[i] = JavaClassHelper.getBoxedType(cacheEntry.getWritableProperties()[i].getType());
+        }
+    }
+
+    /**
+     * Returns a parser for the event type, or null if the event type does not exist or is not writable.
+     *
+     * @param cacheEntry    writer for the event type or null if not available
+     * @param propertyOrder comma-separated property names in the order of the values of each line
+     * @param unescape      whether to unescape values
+     * @return parser or null
+     */
+    public static PropertyOrderedCSVLineParser make(WriterCacheEntry cacheEntry, String propertyOrder, boolean unescape) {
+        if (cacheEntry == null) {
+            return null;
+        }
+        String[] properties = propertyOrder.split(",");
+        int[] columnToWritable = new int[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            columnToWritable[i] = -1;
+            String property = properties[i].trim();
+            for (int j = 0; j < cacheEntry.getWritableProperties().length; j++) {
+                if (cacheEntry.getWritableProperties()[j].getPropertyName().equals(property)) {
+                    columnToWritable[i] = j;
+                }
+            }
+        }
+        return new PropertyOrderedCSVLineParser(cacheEntry, columnToWritable, unescape);
+    }
+
+    /**
+     * Parse a line into an event.
+     *
+     * @param buffer buffer holding the line
+     * @param start  index of the first byte of the line
+     * @param end    index after the last byte of the line, excluding the line terminator
+     * @return event
+     */
+    public EventBean parse(ByteBuffer buffer, int start, int end) {
+        Object[] values = new Object[writableTypes.length];
+        int column = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == ',') {
+                if (column < columnToWritable.length && columnToWritable[column] != -1) {
+                    int writable = columnToWritable[column];
+                    values[writable] = parseField(buffer, fieldStart, i, writable);
+                }
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+        return cacheEntry.getEventBeanManufacturer().make(values);
+    }
+
+    /**
+     * Decode a range of the buffer into a string.
+     *
+     * @param buffer buffer
+     * @param start  start index
+     * @param end    end index, exclusive
+     * @return decoded text
+     */
+    public String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        int position = buffer.position();
+        buffer.position(start);
+        buffer.get(scratch, 0, length);
+        buffer.position(position);
+        return new String(scratch, 0, length, charset);
+    }
+
+    private Object parseField(ByteBuffer buffer, int start, int end, int writable) {
+        Class type = writableTypes[writable];
+        if (!unescape && (type == Integer.class || type == Long.class)) {
+            Object value = parseIntegral(buffer, start, end, type == Integer.class);
+            if (value != null) {
+                return value;
+            }
+        }
+        String text = decode(buffer, start, end);
+        if (unescape) {
+            text = UnescapeUtil.unescapeJavaString(text);
+        }
+        return cacheEntry.getParsers()[writable].parse(text);
+    }
+
+    // returns null for anything but plain digits, leaving such values and errors to the type parser
+    private static Object parseIntegral(ByteBuffer buffer, int start, int end, boolean isInt) {
+        while (start < end && buffer.get(start) <= ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) <= ' ') {
+            end--;
+        }
+        boolean negative = false;
+        if (start < end && (buffer.get(start) == '-' || buffer.get(start) == '+')) {
+            negative = buffer.get(start) == '-';
+            start++;
+        }
+        if (start == end || end - start > MAX_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (!isInt) {
+            return value;
+        }
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) value;
+    }
+}
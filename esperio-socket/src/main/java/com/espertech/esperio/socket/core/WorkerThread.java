@@ -159,7 +159,7 @@ public class WorkerThread extends Thread {
 
             WriterCacheEntry cacheEntry = streamCache.get(eventTypeName);
             if (cacheEntry == null) {
-                cacheEntry = makeCacheEntry(eventTypeName);
+                cacheEntry = makeCacheEntry(engine, eventTypeName);
                 streamCache.put(eventTypeName, cacheEntry);
             }
 
@@ -183,7 +183,7 @@ public class WorkerThread extends Thread {
         }
     }
 
-    private WriterCacheEntry makeCacheEntry(String eventTypeName) {
+    protected static WriterCacheEntry makeCacheEntry(EPServiceProviderSPI engine, String eventTypeName) {
 
         EventType eventType = engine.getEventAdapterService().getExistsTypeByName(eventTypeName);
         if (eventType == null) {
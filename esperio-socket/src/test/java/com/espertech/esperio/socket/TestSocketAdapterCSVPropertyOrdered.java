@@ -63,4 +63,69 @@ public class TestSocketAdapterCSVPropertyOrdered extends TestCase {
         adapter.destroy();
         provider.destroy();
     }
-}
\ No newline at end of file
+
+    public void testSendCSVReaderThreads() throws Exception {
+        ConfigurationSocketAdapter adapterConfig = new ConfigurationSocketAdapter();
+        int port = 6802;
+        String engineURI = this.getClass().getSimpleName() + "_nio";
+
+        SocketConfig socket = new SocketConfig();
+        socket.setDataType(DataType.PROPERTY_ORDERED_CSV);
+        socket.setPort(port);
+        socket.setStream("SupportBean");
+        socket.setPropertyOrder("stringProp,intProp");
+        socket.setReaderThreads(2);
+        adapterConfig.getSockets().put("SocketService", socket);
+
+        EsperIOSocketAdapter adapter = new EsperIOSocketAdapter(adapterConfig, engineURI);
+
+        Configuration engineConfig = new Configuration();
+        engineConfig.addEventType("SupportBean", SupportBean.class);
+        EPServiceProvider provider = EPServiceProviderManager.getProvider(engineURI, engineConfig);
+
+        adapter.start();
+
+        EPStatement stmt = provider.getEPAdministrator().createEPL("select * from SupportBean");
+        stmt.addListener(listener);
+
+        String[] fields = "stringProp,intProp".split(",");
+        SupportSocketClientCSV clientOne = new SupportSocketClientCSV(port);
+        SupportSocketClientCSV clientTwo = new SupportSocketClientCSV(port);
+
+        clientOne.send("E1,20" + newline);
+        Thread.sleep(200);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E1", 20});
+
+        // lines split across writes, carriage returns, negative numbers and a value for the type parser
+        clientTwo.send("E2,-3");
+        Thread.sleep(100);
+        clientTwo.send("0\r\nE3, 4 \n");
+        Thread.sleep(200);
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), fields, new Object[][]{{"E2", -30}, {"E3", 4}});
+        listener.reset();
+
+        // invalid lines are skipped
+        clientOne.send("E4,x" + newline + "E5,5" + newline);
+        Thread.sleep(200);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E5", 5});
+
+        // lines longer than the initial buffer
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longValue.append((char) ('a' + i % 26));
+        }
+        clientTwo.send(longValue + ",6" + newline);
+        Thread.sleep(200);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{longValue.toString(), 6});
+
+        // a final line without terminator is read at end of stream
+        clientOne.send("E7,7");
+        clientOne.close();
+        Thread.sleep(200);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E7", 7});
+
+        clientTwo.close();
+        adapter.destroy();
+        provider.destroy();
+    }
+}
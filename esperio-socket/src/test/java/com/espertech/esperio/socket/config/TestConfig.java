@@ -50,5 +50,6 @@ public class TestConfig extends TestCase {
         assertEquals(DataType.PROPERTY_ORDERED_CSV, socket.getDataType());
         assertEquals("MyEventType", socket.getStream());
         assertEquals("field1,field2", socket.getPropertyOrder());
+        assertEquals(4, (int) socket.getReaderThreads());
     }
 }